@@ -18,18 +18,19 @@ import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.settings.SettingsFilter;
 import org.opensearch.common.unit.TimeValue;
-import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.core.action.ActionResponse;
 import org.opensearch.core.common.io.stream.NamedWriteableRegistry;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.env.Environment;
 import org.opensearch.env.NodeEnvironment;
+import org.opensearch.flowframework.common.FlowFrameworkExecutors;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
 import org.opensearch.flowframework.rest.RestCreateWorkflowAction;
 import org.opensearch.flowframework.rest.RestDeleteWorkflowAction;
 import org.opensearch.flowframework.rest.RestDeprovisionWorkflowAction;
 import org.opensearch.flowframework.rest.RestGetWorkflowAction;
+import org.opensearch.flowframework.rest.RestGetWorkflowEventsAction;
 import org.opensearch.flowframework.rest.RestGetWorkflowStateAction;
 import org.opensearch.flowframework.rest.RestGetWorkflowStepAction;
 import org.opensearch.flowframework.rest.RestProvisionWorkflowAction;
@@ -42,6 +43,8 @@ import org.opensearch.flowframework.transport.DeleteWorkflowTransportAction;
 import org.opensearch.flowframework.transport.DeprovisionWorkflowAction;
 import org.opensearch.flowframework.transport.DeprovisionWorkflowTransportAction;
 import org.opensearch.flowframework.transport.GetWorkflowAction;
+import org.opensearch.flowframework.transport.GetWorkflowEventsAction;
+import org.opensearch.flowframework.transport.GetWorkflowEventsTransportAction;
 import org.opensearch.flowframework.transport.GetWorkflowStateAction;
 import org.opensearch.flowframework.transport.GetWorkflowStateTransportAction;
 import org.opensearch.flowframework.transport.GetWorkflowStepAction;
@@ -57,6 +60,8 @@ import org.opensearch.flowframework.transport.SearchWorkflowStateTransportAction
 import org.opensearch.flowframework.transport.SearchWorkflowTransportAction;
 import org.opensearch.flowframework.transport.handler.SearchHandler;
 import org.opensearch.flowframework.util.EncryptorUtils;
+import org.opensearch.flowframework.util.MasterKeyPreloader;
+import org.opensearch.flowframework.workflow.ProvisioningEventLog;
 import org.opensearch.flowframework.workflow.WorkflowProcessSorter;
 import org.opensearch.flowframework.workflow.WorkflowStepFactory;
 import org.opensearch.indices.SystemIndexDescriptor;
@@ -71,6 +76,7 @@ import org.opensearch.rest.RestController;
 import org.opensearch.rest.RestHandler;
 import org.opensearch.script.ScriptService;
 import org.opensearch.threadpool.ExecutorBuilder;
+import org.opensearch.threadpool.FixedExecutorBuilder;
 import org.opensearch.threadpool.ScalingExecutorBuilder;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.Client;
@@ -81,28 +87,45 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static org.opensearch.flowframework.common.CommonValue.CONFIG_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.DEPROVISION_WORKFLOW_THREAD_POOL;
 import static org.opensearch.flowframework.common.CommonValue.FLOW_FRAMEWORK_THREAD_POOL_PREFIX;
 import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW_THREAD_POOL;
+import static org.opensearch.flowframework.common.CommonValue.RESOURCES_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.TENANT_ID_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_THREAD_POOL;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.BOUNDED_THREAD_POOL_QUEUES;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.DATA_KEY_CACHE_ENABLED;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.DATA_KEY_CACHE_MAX_AGE;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.DATA_KEY_CACHE_MAX_BYTES;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.DATA_KEY_CACHE_MAX_MESSAGES;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.DEFAULT_THREAD_POOL_QUEUE_SIZE;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FLOW_FRAMEWORK_ENABLED;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FLOW_FRAMEWORK_MULTI_TENANCY_ENABLED;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MASTER_KEY_CACHE_SIZE;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MASTER_KEY_CACHE_TTL;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_ACTIVE_DEPROVISIONS_PER_TENANT;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_ACTIVE_PROVISIONS_PER_TENANT;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_STATE_WAIT_TIMEOUT;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_WORKFLOWS;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_WORKFLOW_STEPS;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MISSING_MASTER_KEY_CACHE_TTL;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.REMOTE_METADATA_ENDPOINT;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.REMOTE_METADATA_REGION;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.REMOTE_METADATA_SERVICE_NAME;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.REMOTE_METADATA_TYPE;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.RESOURCES_INDEX_ENABLED;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.TASK_REQUEST_RETRY_DURATION;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.TEMPLATE_CACHE_SIZE;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.VIRTUAL_THREADS_ENABLED;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.WORKFLOW_PLAN_CACHE_SIZE;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.WORKFLOW_REQUEST_TIMEOUT;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.defaultThreadPoolMax;
 import static org.opensearch.remote.metadata.common.CommonValue.REMOTE_METADATA_ENDPOINT_KEY;
 import static org.opensearch.remote.metadata.common.CommonValue.REMOTE_METADATA_REGION_KEY;
 import static org.opensearch.remote.metadata.common.CommonValue.REMOTE_METADATA_SERVICE_NAME_KEY;
@@ -115,6 +138,10 @@ import static org.opensearch.remote.metadata.common.CommonValue.TENANT_ID_FIELD_
  */
 public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemIndexPlugin {
 
+    // The settings under the prefix of a thread pool, sizing it when it is bounded or when it scales
+    private static final List<String> FIXED_THREAD_POOL_SETTINGS = List.of("size", "queue_size");
+    private static final List<String> SCALING_THREAD_POOL_SETTINGS = List.of("core", "max", "keep_alive");
+
     private FlowFrameworkSettings flowFrameworkSettings;
 
     /**
@@ -157,13 +184,23 @@ public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemI
             // TODO: Find a better thread pool or make one
             client.threadPool().executor(ThreadPool.Names.GENERIC)
         );
-        EncryptorUtils encryptorUtils = new EncryptorUtils(clusterService, client, sdkClient, xContentRegistry);
+        EncryptorUtils encryptorUtils = new EncryptorUtils(clusterService, client, sdkClient, xContentRegistry, settings);
+        // Whether the remote metadata client stores the system indices in the local cluster
+        boolean localMetadataStore = !FLOW_FRAMEWORK_MULTI_TENANCY_ENABLED.get(settings) || REMOTE_METADATA_TYPE.get(settings).isEmpty();
+        // Master keys can only be preloaded from a config index in the local cluster
+        if (localMetadataStore) {
+            clusterService.addListener(new MasterKeyPreloader(clusterService, encryptorUtils));
+        }
         FlowFrameworkIndicesHandler flowFrameworkIndicesHandler = new FlowFrameworkIndicesHandler(
             client,
             sdkClient,
             clusterService,
             encryptorUtils,
-            xContentRegistry
+            xContentRegistry,
+            // Resources can only be updated in place with a script when the state index is in the local cluster
+            localMetadataStore,
+            RESOURCES_INDEX_ENABLED.get(settings) && !FLOW_FRAMEWORK_MULTI_TENANCY_ENABLED.get(settings),
+            TEMPLATE_CACHE_SIZE.get(settings).getBytes()
         );
         WorkflowStepFactory workflowStepFactory = new WorkflowStepFactory(
             threadPool,
@@ -173,6 +210,8 @@ public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemI
             client
         );
         WorkflowProcessSorter workflowProcessSorter = new WorkflowProcessSorter(workflowStepFactory, threadPool, flowFrameworkSettings);
+        ProvisioningEventLog provisioningEventLog = new ProvisioningEventLog(threadPool);
+        FlowFrameworkExecutors flowFrameworkExecutors = new FlowFrameworkExecutors(threadPool, flowFrameworkSettings);
 
         SearchHandler searchHandler = new SearchHandler(
             settings,
@@ -185,6 +224,8 @@ public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemI
         return List.of(
             workflowStepFactory,
             workflowProcessSorter,
+            provisioningEventLog,
+            flowFrameworkExecutors,
             encryptorUtils,
             flowFrameworkIndicesHandler,
             searchHandler,
@@ -210,6 +251,7 @@ public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemI
             new RestDeprovisionWorkflowAction(flowFrameworkSettings),
             new RestSearchWorkflowAction(flowFrameworkSettings),
             new RestGetWorkflowStateAction(flowFrameworkSettings),
+            new RestGetWorkflowEventsAction(flowFrameworkSettings),
             new RestGetWorkflowAction(flowFrameworkSettings),
             new RestGetWorkflowStepAction(flowFrameworkSettings),
             new RestSearchWorkflowStateAction(flowFrameworkSettings)
@@ -225,6 +267,7 @@ public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemI
             new ActionHandler<>(DeprovisionWorkflowAction.INSTANCE, DeprovisionWorkflowTransportAction.class),
             new ActionHandler<>(SearchWorkflowAction.INSTANCE, SearchWorkflowTransportAction.class),
             new ActionHandler<>(GetWorkflowStateAction.INSTANCE, GetWorkflowStateTransportAction.class),
+            new ActionHandler<>(GetWorkflowEventsAction.INSTANCE, GetWorkflowEventsTransportAction.class),
             new ActionHandler<>(GetWorkflowAction.INSTANCE, GetWorkflowTransportAction.class),
             new ActionHandler<>(GetWorkflowStepAction.INSTANCE, GetWorkflowStepTransportAction.class),
             new ActionHandler<>(SearchWorkflowStateAction.INSTANCE, SearchWorkflowStateTransportAction.class),
@@ -244,6 +287,19 @@ public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemI
             FLOW_FRAMEWORK_MULTI_TENANCY_ENABLED,
             MAX_ACTIVE_PROVISIONS_PER_TENANT,
             MAX_ACTIVE_DEPROVISIONS_PER_TENANT,
+            WORKFLOW_PLAN_CACHE_SIZE,
+            MAX_STATE_WAIT_TIMEOUT,
+            BOUNDED_THREAD_POOL_QUEUES,
+            VIRTUAL_THREADS_ENABLED,
+            RESOURCES_INDEX_ENABLED,
+            DATA_KEY_CACHE_ENABLED,
+            DATA_KEY_CACHE_MAX_AGE,
+            DATA_KEY_CACHE_MAX_MESSAGES,
+            DATA_KEY_CACHE_MAX_BYTES,
+            MASTER_KEY_CACHE_SIZE,
+            MASTER_KEY_CACHE_TTL,
+            MISSING_MASTER_KEY_CACHE_TTL,
+            TEMPLATE_CACHE_SIZE,
             REMOTE_METADATA_TYPE,
             REMOTE_METADATA_ENDPOINT,
             REMOTE_METADATA_REGION,
@@ -254,36 +310,83 @@ public class FlowFrameworkPlugin extends Plugin implements ActionPlugin, SystemI
     @Override
     public List<ExecutorBuilder<?>> getExecutorBuilders(Settings settings) {
         return List.of(
-            new ScalingExecutorBuilder(
-                WORKFLOW_THREAD_POOL,
-                1,
-                Math.max(4, OpenSearchExecutors.allocatedProcessors(settings) - 1),
-                TimeValue.timeValueMinutes(1),
-                FLOW_FRAMEWORK_THREAD_POOL_PREFIX + WORKFLOW_THREAD_POOL
-            ),
-            new ScalingExecutorBuilder(
+            flowFrameworkExecutorBuilder(settings, WORKFLOW_THREAD_POOL, defaultThreadPoolMax(settings, 4), TimeValue.timeValueMinutes(1)),
+            flowFrameworkExecutorBuilder(
+                settings,
                 PROVISION_WORKFLOW_THREAD_POOL,
-                1,
-                Math.max(8, OpenSearchExecutors.allocatedProcessors(settings) - 1),
-                TimeValue.timeValueMinutes(5),
-                FLOW_FRAMEWORK_THREAD_POOL_PREFIX + PROVISION_WORKFLOW_THREAD_POOL
+                defaultThreadPoolMax(settings, 8),
+                TimeValue.timeValueMinutes(5)
             ),
-            new ScalingExecutorBuilder(
+            flowFrameworkExecutorBuilder(
+                settings,
                 DEPROVISION_WORKFLOW_THREAD_POOL,
-                1,
-                Math.max(4, OpenSearchExecutors.allocatedProcessors(settings) - 1),
-                TimeValue.timeValueMinutes(1),
-                FLOW_FRAMEWORK_THREAD_POOL_PREFIX + DEPROVISION_WORKFLOW_THREAD_POOL
+                defaultThreadPoolMax(settings, 4),
+                TimeValue.timeValueMinutes(1)
             )
         );
     }
 
+    /**
+     * Creates the builder of a flow framework thread pool, configurable with the node settings under its thread pool prefix
+     * @param settings the node settings
+     * @param name the name of the thread pool
+     * @param max the default max number of threads
+     * @param keepAlive the default keep alive of idle threads of a scaling pool
+     * @return a fixed pool builder with a bounded queue if {@link FlowFrameworkSettings#BOUNDED_THREAD_POOL_QUEUES} is set, otherwise a
+     * scaling pool builder
+     */
+    private static ExecutorBuilder<?> flowFrameworkExecutorBuilder(Settings settings, String name, int max, TimeValue keepAlive) {
+        String prefix = FLOW_FRAMEWORK_THREAD_POOL_PREFIX + name;
+        if (BOUNDED_THREAD_POOL_QUEUES.get(settings)) {
+            validateThreadPoolSettings(settings, prefix, FIXED_THREAD_POOL_SETTINGS, SCALING_THREAD_POOL_SETTINGS, true);
+            return new FixedExecutorBuilder(settings, name, max, DEFAULT_THREAD_POOL_QUEUE_SIZE, prefix);
+        }
+        validateThreadPoolSettings(settings, prefix, SCALING_THREAD_POOL_SETTINGS, FIXED_THREAD_POOL_SETTINGS, false);
+        return new ScalingExecutorBuilder(name, 1, max, keepAlive, prefix);
+    }
+
+    /**
+     * Rejects the settings of a thread pool which only apply to the other kind of pool, which would otherwise fail the node start
+     * as unknown settings without naming their replacement
+     * @param settings the node settings
+     * @param prefix the settings prefix of the thread pool
+     * @param supported the settings of the pool
+     * @param unsupported the settings of the other kind of pool
+     * @param bounded the value of {@link FlowFrameworkSettings#BOUNDED_THREAD_POOL_QUEUES}
+     */
+    private static void validateThreadPoolSettings(
+        Settings settings,
+        String prefix,
+        List<String> supported,
+        List<String> unsupported,
+        boolean bounded
+    ) {
+        for (String key : unsupported) {
+            if (settings.hasValue(prefix + "." + key)) {
+                throw new IllegalArgumentException(
+                    "Setting ["
+                        + prefix
+                        + "."
+                        + key
+                        + "] can not be set when ["
+                        + BOUNDED_THREAD_POOL_QUEUES.getKey()
+                        + "] is "
+                        + bounded
+                        + ", size the pool with "
+                        + supported.stream().map(k -> "[" + prefix + "." + k + "]").collect(Collectors.joining(", "))
+                        + " instead."
+                );
+            }
+        }
+    }
+
     @Override
     public Collection<SystemIndexDescriptor> getSystemIndexDescriptors(Settings settings) {
         return List.of(
             new SystemIndexDescriptor(CONFIG_INDEX, "Flow Framework Config index"),
             new SystemIndexDescriptor(GLOBAL_CONTEXT_INDEX, "Flow Framework Global Context index"),
-            new SystemIndexDescriptor(WORKFLOW_STATE_INDEX, "Flow Framework Workflow State index")
+            new SystemIndexDescriptor(WORKFLOW_STATE_INDEX, "Flow Framework Workflow State index"),
+            new SystemIndexDescriptor(RESOURCES_INDEX, "Flow Framework Resources index")
         );
     }
 
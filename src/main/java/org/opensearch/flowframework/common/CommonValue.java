@@ -44,6 +44,12 @@ public class CommonValue {
     public static final String CONFIG_INDEX_MAPPING = "mappings/config.json";
     /** Config index mapping version */
     public static final Integer CONFIG_INDEX_VERSION = 1;
+    /** Resources Index Name */
+    public static final String RESOURCES_INDEX = ".plugins-flow-framework-resources";
+    /** Resources index mapping file path */
+    public static final String RESOURCES_INDEX_MAPPING = "mappings/resources.json";
+    /** Resources index mapping version */
+    public static final Integer RESOURCES_INDEX_VERSION = 1;
     /** Master key field name */
     public static final String MASTER_KEY = "master_key";
     /** Create Time field  name */
@@ -78,12 +84,24 @@ public class CommonValue {
     public static final String UPDATE_WORKFLOW_FIELDS = "update_fields";
     /** The param name for specifying the timeout duration in seconds to wait for workflow completion */
     public static final String WAIT_FOR_COMPLETION_TIMEOUT = "wait_for_completion_timeout";
+    /** The param name for the comma separated states to wait for, used by the get workflow state API */
+    public static final String WAIT_FOR_STATE = "wait_for_state";
+    /** The param name for the state document sequence number after which to wait for a change, used by the get workflow state API */
+    public static final String WAIT_FOR_CHANGE_SINCE = "wait_for_change_since";
+    /** The param name for the longest time to wait, used by the get workflow state and events APIs */
+    public static final String STATE_WAIT_TIMEOUT = "timeout";
+    /** The param name for the sequence number of the last event read, used by the get workflow events API */
+    public static final String EVENTS_AFTER = "after";
+    /** The field name for the sequence number of the state document, returned by the get workflow state API */
+    public static final String SEQ_NO_FIELD = "seq_no";
     /** The field name for workflow steps. This field represents the name of the workflow steps to be fetched. */
     public static final String WORKFLOW_STEP = "workflow_step";
     /** The param name for default use case, used by the create workflow API */
     public static final String USE_CASE = "use_case";
     /** The param name for reprovisioning, used by the create workflow API */
     public static final String REPROVISION_WORKFLOW = "reprovision";
+    /** The param name for resuming a failed provisioning from its completed steps, used by the provision workflow API */
+    public static final String RESUME_WORKFLOW = "resume";
     /** The REST header containing the tenant id */
     public static final String TENANT_ID_HEADER = "x-tenant-id";
     /** The field name containing the tenant id */
@@ -217,6 +235,10 @@ public class CommonValue {
     public static final String USER_OUTPUTS_FIELD = "user_outputs";
     /** The template field name for template resources created */
     public static final String RESOURCES_CREATED_FIELD = "resources_created";
+    /** The template field name for workflow steps skipped after a failure */
+    public static final String SKIPPED_STEPS_FIELD = "skipped_steps";
+    /** The template field name for the id of the node provisioning a workflow */
+    public static final String PROVISIONING_NODE_FIELD = "provisioning_node";
     /** The parameter to clear workflow state when deleting template */
     public static final String CLEAR_STATUS = "clear_status";
     /** The field name for the step name where a resource is created */
@@ -255,4 +277,6 @@ public class CommonValue {
      */
     /** Version 2.19.0 */
     public static final Version VERSION_2_19_0 = Version.fromString("2.19.0");
+    /** Version 3.0.0 */
+    public static final Version VERSION_3_0_0 = Version.fromString("3.0.0");
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.common;
+
+import org.opensearch.common.unit.SizeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.concurrency.OpenSearchRejectedExecutionException;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Resolves the executors of the flow framework thread pools.
+ * <p>
+ * When virtual threads are enabled, work submitted to a flow framework pool runs on a new virtual thread instead, so that steps
+ * which wait on I/O, such as pausing between deprovision retries, do not hold a platform thread.
+ * As with the thread pool executors, the submitting thread's context is restored on the executing thread. The virtual threads of
+ * a pool are sized like the pool: at most its max number of threads run at once, and the other tasks wait for a running one to
+ * end. When the pool has a bounded queue, at most its queue size of tasks wait, and further tasks are rejected with 429 Too Many
+ * Requests. Work run on virtual threads is not counted in the stats of the thread pool it replaces.
+ */
+public class FlowFrameworkExecutors {
+
+    private final ThreadPool threadPool;
+    private final boolean virtualThreads;
+    private final Map<String, VirtualThreadExecutor> virtualThreadExecutors = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiate this class.
+     * @param threadPool the OpenSearch thread pool
+     * @param flowFrameworkSettings settings of flow framework, enabling virtual threads
+     */
+    public FlowFrameworkExecutors(ThreadPool threadPool, FlowFrameworkSettings flowFrameworkSettings) {
+        this.threadPool = threadPool;
+        this.virtualThreads = flowFrameworkSettings.isVirtualThreadsEnabled();
+    }
+
+    /**
+     * Gets the executor for a flow framework thread pool
+     * @param name the name of the flow framework thread pool
+     * @return the executor
+     */
+    public Executor executor(String name) {
+        if (!virtualThreads) {
+            return threadPool.executor(name);
+        }
+        return virtualThreadExecutors.computeIfAbsent(name, this::newVirtualThreadExecutor);
+    }
+
+    private VirtualThreadExecutor newVirtualThreadExecutor(String name) {
+        ThreadPool.Info info = threadPool.info(name);
+        SizeValue queueSize = info.getQueueSize();
+        return new VirtualThreadExecutor(
+            name,
+            info.getMax(),
+            queueSize == null || queueSize.singles() < 0 ? -1 : (int) queueSize.singles(),
+            threadPool.getThreadContext()
+        );
+    }
+
+    /**
+     * Gets the name of the virtual threads replacing a flow framework thread pool
+     * @param name the name of the flow framework thread pool
+     * @return the virtual thread name
+     */
+    static String virtualThreadName(String name) {
+        return "opensearch[" + name + "][virtual]";
+    }
+
+    /**
+     * Runs each task on its own virtual thread, with at most as many tasks running and waiting as the thread pool it replaces
+     */
+    private static class VirtualThreadExecutor implements Executor {
+        private final String name;
+        private final int maxRunning;
+        private final int maxQueued;
+        private final ThreadContext threadContext;
+        private final ExecutorService executorService;
+        private final Semaphore running;
+        // Null if the number of waiting tasks is unbounded
+        private final Semaphore admitted;
+
+        VirtualThreadExecutor(String name, int maxRunning, int maxQueued, ThreadContext threadContext) {
+            this.name = name;
+            this.maxRunning = maxRunning;
+            this.maxQueued = maxQueued;
+            this.threadContext = threadContext;
+            this.executorService = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(virtualThreadName(name)).factory());
+            this.running = new Semaphore(maxRunning);
+            this.admitted = maxQueued < 0 ? null : new Semaphore(maxRunning + maxQueued);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (admitted != null && !admitted.tryAcquire()) {
+                throw new OpenSearchRejectedExecutionException(
+                    "rejected execution of "
+                        + command
+                        + " on virtual threads of ["
+                        + name
+                        + "], "
+                        + maxRunning
+                        + " tasks running and "
+                        + maxQueued
+                        + " waiting"
+                );
+            }
+            Runnable task = threadContext.preserveContext(command);
+            try {
+                executorService.execute(() -> {
+                    try {
+                        // Waiting for a running task to end parks the virtual thread without holding a platform thread
+                        running.acquireUninterruptibly();
+                        try {
+                            task.run();
+                        } finally {
+                            running.release();
+                        }
+                    } finally {
+                        if (admitted != null) {
+                            admitted.release();
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                if (admitted != null) {
+                    admitted.release();
+                }
+                throw new OpenSearchRejectedExecutionException(
+                    "rejected execution of " + command + " on virtual threads of [" + name + "]"
+                );
+            }
+        }
+    }
+}
@@ -13,6 +13,9 @@ import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Setting.Property;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.core.common.unit.ByteSizeUnit;
+import org.opensearch.core.common.unit.ByteSizeValue;
 
 import static org.opensearch.remote.metadata.common.CommonValue.REMOTE_METADATA_ENDPOINT_KEY;
 import static org.opensearch.remote.metadata.common.CommonValue.REMOTE_METADATA_REGION_KEY;
@@ -37,6 +40,14 @@ public class FlowFrameworkSettings {
     private volatile Integer maxActiveProvisionsPerTenant;
     /** Max simultaneous deprovision requests */
     private volatile Integer maxActiveDeprovisionsPerTenant;
+    /** Max compiled workflow plans cached on a node */
+    private final int workflowPlanCacheSize;
+    /** Whether the flow framework thread pools reject work when their queue is full */
+    private final boolean boundedThreadPoolQueues;
+    /** Whether the work of the flow framework thread pools runs on virtual threads */
+    private final boolean virtualThreadsEnabled;
+    /** The longest time a status request may wait for the state of a workflow */
+    private final TimeValue maxStateWaitTimeout;
 
     /** The upper limit of max workflows that can be created  */
     public static final int MAX_WORKFLOWS_LIMIT = 10000;
@@ -152,6 +163,125 @@ public class FlowFrameworkSettings {
         Setting.Property.NodeScope,
         Setting.Property.Dynamic
     );
+
+    /** This setting sets the max number of compiled workflow plans cached on each node, 0 disables the cache */
+    public static final Setting<Integer> WORKFLOW_PLAN_CACHE_SIZE = Setting.intSetting(
+        "plugins.flow_framework.workflow_plan_cache_size",
+        100,
+        0,
+        Setting.Property.NodeScope
+    );
+
+    /** This setting sets the longest time a status request may wait for the state of a workflow, a longer timeout is rejected */
+    public static final Setting<TimeValue> MAX_STATE_WAIT_TIMEOUT = Setting.positiveTimeSetting(
+        "plugins.flow_framework.max_state_wait_timeout",
+        TimeValue.timeValueSeconds(60),
+        Setting.Property.NodeScope
+    );
+
+    /** The default queue size of the flow framework thread pools when their queues are bounded */
+    public static final int DEFAULT_THREAD_POOL_QUEUE_SIZE = 1000;
+
+    /**
+     * This setting bounds the queues of the flow framework thread pools, so that work submitted when a queue is full is rejected
+     * with 429 Too Many Requests. Bounded pools have a fixed number of threads, sized with the
+     * {@code thread_pool.flow_framework.<pool>.size} and {@code queue_size} settings. Otherwise pools scale with an unbounded queue,
+     * sized with the {@code thread_pool.flow_framework.<pool>.core}, {@code max} and {@code keep_alive} settings. The settings of one
+     * kind of pool are rejected at node start for the other, so changing this setting requires resizing the pools with their new keys.
+     */
+    public static final Setting<Boolean> BOUNDED_THREAD_POOL_QUEUES = Setting.boolSetting(
+        "plugins.flow_framework.bounded_thread_pool_queues",
+        false,
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * This setting runs the work of the flow framework thread pools on virtual threads, so that steps waiting on I/O do not hold
+     * platform threads
+     */
+    public static final Setting<Boolean> VIRTUAL_THREADS_ENABLED = Setting.boolSetting(
+        "plugins.flow_framework.virtual_threads_enabled",
+        false,
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * This setting stores each resource created by a workflow as its own document in the resources index, rather than in the
+     * resources created list of the workflow state document, so that steps of a workflow add resources without conflicting. The
+     * resources index is only used when multi-tenancy is disabled.
+     */
+    public static final Setting<Boolean> RESOURCES_INDEX_ENABLED = Setting.boolSetting(
+        "plugins.flow_framework.resources_index_enabled",
+        false,
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * This setting caches the data keys used to encrypt template credentials, so that a data key generated for one credential is
+     * reused to encrypt others rather than generating and wrapping a new one for each. Cached data keys are bounded by the
+     * {@code data_key_cache_max_age}, {@code data_key_cache_max_messages} and {@code data_key_cache_max_bytes} settings.
+     */
+    public static final Setting<Boolean> DATA_KEY_CACHE_ENABLED = Setting.boolSetting(
+        "plugins.flow_framework.data_key_cache_enabled",
+        false,
+        Setting.Property.NodeScope
+    );
+
+    /** This setting sets how long a cached data key is used to encrypt credentials */
+    public static final Setting<TimeValue> DATA_KEY_CACHE_MAX_AGE = Setting.positiveTimeSetting(
+        "plugins.flow_framework.data_key_cache_max_age",
+        TimeValue.timeValueMinutes(5),
+        Setting.Property.NodeScope
+    );
+
+    /** This setting sets the max number of credentials encrypted with a cached data key */
+    public static final Setting<Long> DATA_KEY_CACHE_MAX_MESSAGES = Setting.longSetting(
+        "plugins.flow_framework.data_key_cache_max_messages",
+        1000,
+        1,
+        Setting.Property.NodeScope
+    );
+
+    /** This setting sets the max number of bytes of credentials encrypted with a cached data key */
+    public static final Setting<ByteSizeValue> DATA_KEY_CACHE_MAX_BYTES = Setting.byteSizeSetting(
+        "plugins.flow_framework.data_key_cache_max_bytes",
+        new ByteSizeValue(1, ByteSizeUnit.MB),
+        new ByteSizeValue(1, ByteSizeUnit.BYTES),
+        new ByteSizeValue(Long.MAX_VALUE, ByteSizeUnit.BYTES),
+        Setting.Property.NodeScope
+    );
+
+    /** This setting sets the max number of master keys cached on each node, which are preloaded from the config index on startup */
+    public static final Setting<Integer> MASTER_KEY_CACHE_SIZE = Setting.intSetting(
+        "plugins.flow_framework.master_key_cache_size",
+        10000,
+        1,
+        Setting.Property.NodeScope
+    );
+
+    /** This setting sets how long a cached master key is kept once it is no longer used */
+    public static final Setting<TimeValue> MASTER_KEY_CACHE_TTL = Setting.positiveTimeSetting(
+        "plugins.flow_framework.master_key_cache_ttl",
+        TimeValue.timeValueHours(1),
+        Setting.Property.NodeScope
+    );
+
+    /** This setting sets how long a master key missing from the config index is remembered, failing requests without reading it */
+    public static final Setting<TimeValue> MISSING_MASTER_KEY_CACHE_TTL = Setting.positiveTimeSetting(
+        "plugins.flow_framework.missing_master_key_cache_ttl",
+        TimeValue.timeValueSeconds(10),
+        Setting.Property.NodeScope
+    );
+
+    /** This setting sets the max number of bytes of template source held by the parsed template cache of each node, 0 to disable it */
+    public static final Setting<ByteSizeValue> TEMPLATE_CACHE_SIZE = Setting.byteSizeSetting(
+        "plugins.flow_framework.template_cache_size",
+        new ByteSizeValue(10, ByteSizeUnit.MB),
+        new ByteSizeValue(0, ByteSizeUnit.BYTES),
+        new ByteSizeValue(Long.MAX_VALUE, ByteSizeUnit.BYTES),
+        Setting.Property.NodeScope
+    );
+
     /** This setting sets the remote metadata type */
     public static final Setting<String> REMOTE_METADATA_TYPE = Setting.simpleString(
         "plugins.flow_framework." + REMOTE_METADATA_TYPE_KEY,
@@ -197,6 +327,10 @@ public class FlowFrameworkSettings {
         this.isMultiTenancyEnabled = FLOW_FRAMEWORK_MULTI_TENANCY_ENABLED.get(settings);
         this.maxActiveProvisionsPerTenant = MAX_ACTIVE_PROVISIONS_PER_TENANT.get(settings);
         this.maxActiveDeprovisionsPerTenant = MAX_ACTIVE_DEPROVISIONS_PER_TENANT.get(settings);
+        this.workflowPlanCacheSize = WORKFLOW_PLAN_CACHE_SIZE.get(settings);
+        this.boundedThreadPoolQueues = BOUNDED_THREAD_POOL_QUEUES.get(settings);
+        this.virtualThreadsEnabled = VIRTUAL_THREADS_ENABLED.get(settings);
+        this.maxStateWaitTimeout = MAX_STATE_WAIT_TIMEOUT.get(settings);
         clusterService.getClusterSettings().addSettingsUpdateConsumer(FLOW_FRAMEWORK_ENABLED, it -> isFlowFrameworkEnabled = it);
         clusterService.getClusterSettings().addSettingsUpdateConsumer(TASK_REQUEST_RETRY_DURATION, it -> retryDuration = it);
         clusterService.getClusterSettings().addSettingsUpdateConsumer(MAX_WORKFLOW_STEPS, it -> maxWorkflowSteps = it);
@@ -271,4 +405,46 @@ public class FlowFrameworkSettings {
     public Integer getMaxActiveDeprovisionsPerTenant() {
         return maxActiveDeprovisionsPerTenant;
     }
+
+    /**
+     * Getter for the workflow plan cache size
+     * @return max compiled workflow plans cached
+     */
+    public int getWorkflowPlanCacheSize() {
+        return workflowPlanCacheSize;
+    }
+
+    /**
+     * Whether the flow framework thread pools have bounded queues
+     * @return true if work submitted to a full thread pool queue is rejected
+     */
+    public boolean isBoundedThreadPoolQueues() {
+        return boundedThreadPoolQueues;
+    }
+
+    /**
+     * Whether the work of the flow framework thread pools runs on virtual threads
+     * @return true if each task runs on a new virtual thread
+     */
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
+    /**
+     * Getter for the max state wait timeout
+     * @return the longest time a status request may wait for the state of a workflow
+     */
+    public TimeValue getMaxStateWaitTimeout() {
+        return maxStateWaitTimeout;
+    }
+
+    /**
+     * Gets the default max number of threads of a flow framework thread pool, scaled by the processors allocated to the node
+     * @param settings the node settings
+     * @param minimum the lower bound of the default
+     * @return the default max number of threads
+     */
+    public static int defaultThreadPoolMax(Settings settings, int minimum) {
+        return Math.max(minimum, OpenSearchExecutors.allocatedProcessors(settings) - 1);
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.common;
+
+import org.opensearch.OpenSearchException;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.core.action.ActionListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link PlainActionFuture} which notifies registered listeners when it completes.
+ * Lets process nodes and workflow steps chain continuations instead of parking a thread on {@link #actionGet()}.
+ *
+ * @param <T> The result type of the future
+ */
+public class ListenablePlainActionFuture<T> extends PlainActionFuture<T> {
+
+    private final List<ActionListener<T>> listeners = new ArrayList<>();
+    private boolean listenersNotified = false;
+
+    /**
+     * Create a new listenable future
+     * @param <T> The result type of the future
+     * @return a new future
+     */
+    public static <T> ListenablePlainActionFuture<T> newListenableFuture() {
+        return new ListenablePlainActionFuture<>();
+    }
+
+    /**
+     * Adds a listener which is notified when this future completes.
+     * If the future has already completed, the listener is notified immediately on the calling thread.
+     * Otherwise it is notified on the thread completing the future, so listeners must not block.
+     * @param listener the listener to notify
+     */
+    public void addListener(ActionListener<T> listener) {
+        synchronized (this) {
+            if (!listenersNotified) {
+                listeners.add(listener);
+                return;
+            }
+        }
+        notifyListener(this, listener);
+    }
+
+    @Override
+    protected void done(boolean success) {
+        super.done(success);
+        List<ActionListener<T>> toNotify;
+        synchronized (this) {
+            listenersNotified = true;
+            toNotify = new ArrayList<>(listeners);
+            listeners.clear();
+        }
+        for (ActionListener<T> listener : toNotify) {
+            notifyListener(this, listener);
+        }
+    }
+
+    /**
+     * Adds a listener to any {@link PlainActionFuture}.
+     * Listenable futures and completed futures notify without holding a thread. Any other future is waited on using a thread
+     * from the given executor, which preserves compatibility with steps that do not return a {@link ListenablePlainActionFuture}.
+     * @param <T> The result type of the future
+     * @param future the future to listen to
+     * @param listener the listener to notify
+     * @param executor the executor to wait on if the future can not notify listeners itself
+     */
+    public static <T> void addListener(PlainActionFuture<T> future, ActionListener<T> listener, Executor executor) {
+        if (future instanceof ListenablePlainActionFuture) {
+            ((ListenablePlainActionFuture<T>) future).addListener(listener);
+        } else if (future.isDone()) {
+            notifyListener(future, listener);
+        } else {
+            executor.execute(() -> {
+                T result;
+                try {
+                    result = future.actionGet();
+                } catch (Exception e) {
+                    listener.onFailure(e);
+                    return;
+                }
+                listener.onResponse(result);
+            });
+        }
+    }
+
+    private static <T> void notifyListener(PlainActionFuture<T> future, ActionListener<T> listener) {
+        T result;
+        try {
+            // The future is done, so a zero timeout never blocks and is permitted on transport threads
+            result = future.get(0L, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            listener.onFailure(cause instanceof Exception ? (Exception) cause : new OpenSearchException(cause));
+            return;
+        } catch (Exception e) {
+            listener.onFailure(e);
+            return;
+        }
+        listener.onResponse(result);
+    }
+}
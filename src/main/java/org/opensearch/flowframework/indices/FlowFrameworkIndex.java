@@ -16,6 +16,8 @@ import static org.opensearch.flowframework.common.CommonValue.CONFIG_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.CONFIG_INDEX_VERSION;
 import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX_VERSION;
+import static org.opensearch.flowframework.common.CommonValue.RESOURCES_INDEX;
+import static org.opensearch.flowframework.common.CommonValue.RESOURCES_INDEX_VERSION;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX_VERSION;
 
@@ -46,6 +48,14 @@ public enum FlowFrameworkIndex {
         CONFIG_INDEX,
         ThrowingSupplierWrapper.throwingSupplierWrapper(FlowFrameworkIndicesHandler::getConfigIndexMappings),
         CONFIG_INDEX_VERSION
+    ),
+    /**
+     * Resources Index
+     */
+    RESOURCES(
+        RESOURCES_INDEX,
+        ThrowingSupplierWrapper.throwingSupplierWrapper(FlowFrameworkIndicesHandler::getResourcesIndexMappings),
+        RESOURCES_INDEX_VERSION
     );
 
     private final String indexName;
@@ -14,16 +14,27 @@ import org.apache.logging.log4j.message.ParameterizedMessageFactory;
 import org.opensearch.ExceptionsHelper;
 import org.opensearch.OpenSearchStatusException;
 import org.opensearch.action.DocWriteRequest.OpType;
+import org.opensearch.action.DocWriteResponse;
 import org.opensearch.action.admin.indices.create.CreateIndexRequest;
 import org.opensearch.action.admin.indices.create.CreateIndexResponse;
 import org.opensearch.action.admin.indices.mapping.put.PutMappingRequest;
 import org.opensearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.opensearch.action.delete.DeleteRequest;
 import org.opensearch.action.delete.DeleteResponse;
 import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.support.ContextPreservingActionListener;
+import org.opensearch.action.support.WriteRequest;
+import org.opensearch.action.update.UpdateRequest;
 import org.opensearch.action.update.UpdateResponse;
 import org.opensearch.cluster.metadata.IndexMetadata;
+import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.CheckedSupplier;
+import org.opensearch.common.collect.Tuple;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.common.util.concurrent.ThreadContext.StoredContext;
 import org.opensearch.common.xcontent.XContentType;
@@ -33,6 +44,7 @@ import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.flowframework.common.WorkflowResources;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.model.ProvisioningProgress;
 import org.opensearch.flowframework.model.ResourceCreated;
@@ -43,23 +55,45 @@ import org.opensearch.flowframework.util.EncryptorUtils;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.flowframework.workflow.WorkflowData;
 import org.opensearch.index.IndexNotFoundException;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.index.reindex.DeleteByQueryAction;
+import org.opensearch.index.reindex.DeleteByQueryRequest;
+import org.opensearch.index.seqno.SequenceNumbers;
 import org.opensearch.remote.metadata.client.DeleteDataObjectRequest;
 import org.opensearch.remote.metadata.client.GetDataObjectRequest;
 import org.opensearch.remote.metadata.client.PutDataObjectRequest;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.remote.metadata.client.UpdateDataObjectRequest;
 import org.opensearch.remote.metadata.common.SdkClientUtils;
+import org.opensearch.script.Script;
+import org.opensearch.script.ScriptType;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.search.fetch.subphase.FetchSourceContext;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.Client;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import static org.opensearch.core.rest.RestStatus.INTERNAL_SERVER_ERROR;
 import static org.opensearch.core.xcontent.XContentParserUtils.ensureExpectedToken;
@@ -68,9 +102,19 @@ import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_IND
 import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX_MAPPING;
 import static org.opensearch.flowframework.common.CommonValue.META;
 import static org.opensearch.flowframework.common.CommonValue.NO_SCHEMA_VERSION;
+import static org.opensearch.flowframework.common.CommonValue.RESOURCES_INDEX;
+import static org.opensearch.flowframework.common.CommonValue.RESOURCES_INDEX_MAPPING;
+import static org.opensearch.flowframework.common.CommonValue.RESOURCE_ID;
+import static org.opensearch.flowframework.common.CommonValue.RESOURCE_TYPE;
 import static org.opensearch.flowframework.common.CommonValue.SCHEMA_VERSION_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.STATE_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.TENANT_ID_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_ID;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX_MAPPING;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STEP_ID;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STEP_NAME;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_WORKFLOW_STEPS_LIMIT;
 import static org.opensearch.flowframework.common.WorkflowResources.getResourceByWorkflowStep;
 
 /**
@@ -88,6 +132,31 @@ public class FlowFrameworkIndicesHandler {
     private final NamedXContentRegistry xContentRegistry;
     // Retries in case of simultaneous updates
     private static final int RETRIES = 5;
+    // Resource updates waiting for the in flight state update of their workflow, by workflow id.
+    // A workflow has an entry while one of its state updates is in flight.
+    private final Map<String, List<ResourceUpdate>> queuedResourceUpdates = new ConcurrentHashMap<>();
+    private final boolean scriptedResourceUpdates;
+    // Set once an update script is rejected because inline or update scripts are disallowed on the cluster
+    private volatile boolean updateScriptsDisallowed = false;
+    private final boolean resourcesIndexEnabled;
+    // The number of resource documents read by each search when assembling a workflow state
+    static final int RESOURCES_PAGE_SIZE = 1000;
+    // A step creates at most one resource of each type, so a workflow has at most this many resource documents
+    static final int MAX_INDEXED_RESOURCES = MAX_WORKFLOW_STEPS_LIMIT * WorkflowResources.getAllResourcesCreated().size();
+    private final InFlightWorkflowStates inFlightStates = new InFlightWorkflowStates();
+    private final TemplateCache templateCache;
+    // Status requests waiting for a change of the state of a workflow, by workflow id
+    private final Map<String, Set<StateWaiter>> stateWaiters = new ConcurrentHashMap<>();
+    /** The interval at which a waiting status request reads the state again, to see updates made by other nodes */
+    public static final TimeValue STATE_WAIT_RECHECK_INTERVAL = TimeValue.timeValueSeconds(1);
+    // Applies resource additions and removals to the resources created of a state document in place, in order. As the remote metadata
+    // client does for its updates, the document is left unchanged if it belongs to another tenant than the one of the updates.
+    private static final String UPDATE_RESOURCES_SCRIPT = "if (params.tenant_id != null && params.tenant_id != ctx._source.tenant_id) {"
+        + " ctx.op = 'none'; } else {"
+        + " if (ctx._source.resources_created == null) { ctx._source.resources_created = []; }"
+        + " for (def update : params.updates) {"
+        + " if (update.delete) { ctx._source.resources_created.removeIf(r -> r.equals(update.resource)); }"
+        + " else { ctx._source.resources_created.add(update.resource); } } }";
 
     /**
      * constructor
@@ -103,6 +172,81 @@ public class FlowFrameworkIndicesHandler {
         ClusterService clusterService,
         EncryptorUtils encryptorUtils,
         NamedXContentRegistry xContentRegistry
+    ) {
+        this(client, sdkClient, clusterService, encryptorUtils, xContentRegistry, false, false);
+    }
+
+    /**
+     * constructor
+     * @param client the open search client
+     * @param sdkClient the remote metadata client
+     * @param clusterService ClusterService
+     * @param encryptorUtils encryption utility
+     * @param xContentRegistry contentRegister to parse any response
+     * @param scriptedResourceUpdates whether to add and remove created resources with an update script on the local cluster,
+     *     rather than reading and conditionally rewriting the state document through the remote metadata client. Only valid when
+     *     the metadata store of the remote metadata client is the local cluster.
+     */
+    public FlowFrameworkIndicesHandler(
+        Client client,
+        SdkClient sdkClient,
+        ClusterService clusterService,
+        EncryptorUtils encryptorUtils,
+        NamedXContentRegistry xContentRegistry,
+        boolean scriptedResourceUpdates
+    ) {
+        this(client, sdkClient, clusterService, encryptorUtils, xContentRegistry, scriptedResourceUpdates, false);
+    }
+
+    /**
+     * constructor
+     * @param client the open search client
+     * @param sdkClient the remote metadata client
+     * @param clusterService ClusterService
+     * @param encryptorUtils encryption utility
+     * @param xContentRegistry contentRegister to parse any response
+     * @param scriptedResourceUpdates whether to add and remove created resources with an update script on the local cluster,
+     *     rather than reading and conditionally rewriting the state document through the remote metadata client. Only valid when
+     *     the metadata store of the remote metadata client is the local cluster.
+     * @param resourcesIndexEnabled whether to store each created resource as a document of the resources index on the local
+     *     cluster, rather than in the resources created list of the state document
+     */
+    public FlowFrameworkIndicesHandler(
+        Client client,
+        SdkClient sdkClient,
+        ClusterService clusterService,
+        EncryptorUtils encryptorUtils,
+        NamedXContentRegistry xContentRegistry,
+        boolean scriptedResourceUpdates,
+        boolean resourcesIndexEnabled
+    ) {
+        this(client, sdkClient, clusterService, encryptorUtils, xContentRegistry, scriptedResourceUpdates, resourcesIndexEnabled, 0);
+    }
+
+    /**
+     * constructor
+     * @param client the open search client
+     * @param sdkClient the remote metadata client
+     * @param clusterService ClusterService
+     * @param encryptorUtils encryption utility
+     * @param xContentRegistry contentRegister to parse any response
+     * @param scriptedResourceUpdates whether to add and remove created resources with an update script on the local cluster,
+     *     rather than reading and conditionally rewriting the state document through the remote metadata client. Only valid when
+     *     the metadata store of the remote metadata client is the local cluster.
+     * @param resourcesIndexEnabled whether to store each created resource as a document of the resources index on the local
+     *     cluster, rather than in the resources created list of the state document
+     * @param templateCacheSize the max size in bytes of the sources of the templates whose parsed form is cached, 0 to parse
+     *     each template read
+     */
+    public FlowFrameworkIndicesHandler(
+        Client client,
+        SdkClient sdkClient,
+        ClusterService clusterService,
+        EncryptorUtils encryptorUtils,
+        NamedXContentRegistry xContentRegistry,
+        boolean scriptedResourceUpdates,
+        boolean resourcesIndexEnabled,
+        long templateCacheSize
     ) {
         this.client = client;
         this.sdkClient = sdkClient;
@@ -112,6 +256,9 @@ public class FlowFrameworkIndicesHandler {
             indexMappingUpdated.put(mlIndex.getIndexName(), new AtomicBoolean(false));
         }
         this.xContentRegistry = xContentRegistry;
+        this.scriptedResourceUpdates = scriptedResourceUpdates;
+        this.resourcesIndexEnabled = resourcesIndexEnabled;
+        this.templateCache = new TemplateCache(templateCacheSize);
     }
 
     static {
@@ -147,6 +294,15 @@ public class FlowFrameworkIndicesHandler {
         return getIndexMappings(CONFIG_INDEX_MAPPING);
     }
 
+    /**
+     * Get resources index mapping
+     * @return resources index mapping
+     * @throws IOException if mapping file cannot be read correctly
+     */
+    public static String getResourcesIndexMappings() throws IOException {
+        return getIndexMappings(RESOURCES_INDEX_MAPPING);
+    }
+
     /**
      * Create global context index if it's absent
      * @param listener The action listener
@@ -171,6 +327,14 @@ public class FlowFrameworkIndicesHandler {
         initFlowFrameworkIndexIfAbsent(FlowFrameworkIndex.CONFIG, listener);
     }
 
+    /**
+     * Create resources index if it's absent
+     * @param listener The action listener
+     */
+    public void initResourcesIndexIfAbsent(ActionListener<Boolean> listener) {
+        initFlowFrameworkIndexIfAbsent(FlowFrameworkIndex.RESOURCES, listener);
+    }
+
     /**
      * Checks if the given index exists
      * @param indexName the name of the index
@@ -344,15 +508,36 @@ public class FlowFrameworkIndicesHandler {
     }
 
     private void putOrReplaceTemplateInGlobalContextIndex(String documentId, Template template, ActionListener<IndexResponse> listener) {
+        encryptorUtils.encryptTemplateCredentials(
+            template,
+            ActionListener.wrap(
+                encryptedTemplate -> putOrReplaceEncryptedTemplateInGlobalContextIndex(documentId, encryptedTemplate, listener),
+                e -> {
+                    String errorMessage = "Failed to encrypt template credentials";
+                    logger.error(errorMessage, e);
+                    listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(e)));
+                }
+            )
+        );
+    }
+
+    private void putOrReplaceEncryptedTemplateInGlobalContextIndex(
+        String documentId,
+        Template template,
+        ActionListener<IndexResponse> listener
+    ) {
         PutDataObjectRequest request = PutDataObjectRequest.builder()
             .index(GLOBAL_CONTEXT_INDEX)
             .id(documentId)
             .tenantId(template.getTenantId())
-            .dataObject(encryptorUtils.encryptTemplateCredentials(template))
+            .dataObject(template)
             .build();
         try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
             sdkClient.putDataObjectAsync(request).whenComplete((r, throwable) -> {
                 context.restore();
+                if (documentId != null) {
+                    templateCache.invalidate(template.getTenantId(), documentId);
+                }
                 if (throwable == null) {
                     try {
                         IndexResponse indexResponse = IndexResponse.fromXContent(r.parser());
@@ -424,6 +609,8 @@ public class FlowFrameworkIndicesHandler {
                     if (throwable == null) {
                         try {
                             IndexResponse indexResponse = IndexResponse.fromXContent(r.parser());
+                            inFlightStates.untrack(workflowId);
+                            notifyStateWaiters(workflowId);
                             listener.onResponse(indexResponse);
                         } catch (IOException e) {
                             logger.error("Failed to parse index response", e);
@@ -565,7 +752,80 @@ public class FlowFrameworkIndicesHandler {
     }
 
     /**
-     * Get a workflow state from the state index
+     * Get a parsed template from the template index. A template parsed before is reused while its document is unchanged, which
+     * is checked with a get of the document version only.
+     *
+     * @param documentId document id
+     * @param tenantId tenant id
+     * @param listener action listener, notified with an empty template if the document does not exist
+     * @param context the thread context
+     */
+    public void getParsedTemplate(String documentId, String tenantId, ActionListener<Optional<Template>> listener, StoredContext context) {
+        TemplateCache.Entry cached = templateCache.get(tenantId, documentId);
+        if (cached == null) {
+            getAndCacheTemplate(documentId, tenantId, listener, context);
+            return;
+        }
+        GetDataObjectRequest getRequest = GetDataObjectRequest.builder()
+            .index(GLOBAL_CONTEXT_INDEX)
+            .id(documentId)
+            .tenantId(tenantId)
+            .fetchSourceContext(FetchSourceContext.DO_NOT_FETCH_SOURCE)
+            .build();
+        sdkClient.getDataObjectAsync(getRequest).whenComplete((r, throwable) -> {
+            if (throwable == null) {
+                try {
+                    GetResponse getResponse = GetResponse.fromXContent(r.parser());
+                    if (getResponse.isExists() && cached.isCurrent(getResponse.getSeqNo(), getResponse.getPrimaryTerm())) {
+                        context.restore();
+                        listener.onResponse(Optional.of(cached.template()));
+                        return;
+                    }
+                } catch (IOException e) {
+                    logger.debug("Failed to parse get response of template {}", documentId, e);
+                }
+            }
+            templateCache.invalidate(tenantId, documentId);
+            getAndCacheTemplate(documentId, tenantId, listener, context);
+        });
+    }
+
+    private void getAndCacheTemplate(
+        String documentId,
+        String tenantId,
+        ActionListener<Optional<Template>> listener,
+        StoredContext context
+    ) {
+        getTemplate(documentId, tenantId, ActionListener.wrap(response -> {
+            if (!response.isExists()) {
+                listener.onResponse(Optional.empty());
+                return;
+            }
+            Template template = Template.parse(response.getSourceAsString());
+            templateCache.put(
+                tenantId,
+                documentId,
+                template,
+                response.getSeqNo(),
+                response.getPrimaryTerm(),
+                response.getSourceAsBytesRef().length()
+            );
+            listener.onResponse(Optional.of(template));
+        }, listener::onFailure), context);
+    }
+
+    /**
+     * Discards the parsed template of a document of the template index, after the document is deleted
+     * @param documentId document id
+     * @param tenantId tenant id
+     */
+    public void invalidateTemplate(String documentId, String tenantId) {
+        templateCache.invalidate(tenantId, documentId);
+    }
+
+    /**
+     * Get a workflow state from the state index. If the resources index is enabled, the resources created by the workflow are
+     * read from it and added to the state. The state of a workflow being provisioned by this node is served from memory.
      *
      * @param workflowId workflow id
      * @param tenantId tenant id
@@ -573,6 +833,62 @@ public class FlowFrameworkIndicesHandler {
      * @param context the thread context
      */
     public void getWorkflowState(String workflowId, String tenantId, ActionListener<WorkflowState> listener, StoredContext context) {
+        getWorkflowStateAndSeqNo(workflowId, tenantId, ActionListener.map(listener, Tuple::v1), context);
+    }
+
+    /**
+     * Get a workflow state, with the sequence number of its state document, as {@link #getWorkflowState}
+     *
+     * @param workflowId workflow id
+     * @param tenantId tenant id
+     * @param listener action listener, notified with the state and the sequence number
+     * @param context the thread context
+     */
+    public void getWorkflowStateAndSeqNo(
+        String workflowId,
+        String tenantId,
+        ActionListener<Tuple<WorkflowState, Long>> listener,
+        StoredContext context
+    ) {
+        InFlightWorkflowStates.Entry inFlight = inFlightStates.get(workflowId);
+        if (inFlight != null) {
+            Tuple<WorkflowState, Long> inFlightState = inFlight.stateAndSeqNo();
+            if (inFlightState != null && Objects.equals(tenantId, inFlightState.v1().getTenantId())) {
+                context.restore();
+                listener.onResponse(inFlightState);
+                return;
+            }
+            long generation = inFlight.generation();
+            getWorkflowStateFromIndex(workflowId, tenantId, ActionListener.wrap(stateAndSeqNo -> {
+                if (isProvisioningOnThisNode(stateAndSeqNo.v1())) {
+                    inFlight.fill(generation, stateAndSeqNo.v1(), stateAndSeqNo.v2());
+                } else {
+                    // The provisioning ended or moved to another node without this node updating the state
+                    inFlightStates.untrack(workflowId);
+                }
+                listener.onResponse(stateAndSeqNo);
+            }, listener::onFailure), context);
+        } else {
+            getWorkflowStateFromIndex(workflowId, tenantId, listener, context);
+        }
+    }
+
+    private boolean isProvisioningOnThisNode(WorkflowState workflowState) {
+        if (!State.PROVISIONING.toString().equals(workflowState.getState())) {
+            return false;
+        }
+        DiscoveryNode localNode = clusterService.localNode();
+        return workflowState.getProvisioningNode() == null
+            || localNode == null
+            || workflowState.getProvisioningNode().equals(localNode.getId());
+    }
+
+    private void getWorkflowStateFromIndex(
+        String workflowId,
+        String tenantId,
+        ActionListener<Tuple<WorkflowState, Long>> listener,
+        StoredContext context
+    ) {
         GetDataObjectRequest getRequest = GetDataObjectRequest.builder()
             .index(WORKFLOW_STATE_INDEX)
             .id(workflowId)
@@ -592,7 +908,11 @@ public class FlowFrameworkIndicesHandler {
                         ) {
                             ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.nextToken(), parser);
                             WorkflowState workflowState = WorkflowState.parse(parser);
-                            listener.onResponse(workflowState);
+                            if (resourcesIndexEnabled) {
+                                addIndexedResources(workflowId, workflowState, getResponse.getSeqNo(), listener);
+                            } else {
+                                listener.onResponse(new Tuple<>(workflowState, getResponse.getSeqNo()));
+                            }
                         } catch (Exception e) {
                             String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
                                 "Failed to parse workflowState: {}",
@@ -626,6 +946,248 @@ public class FlowFrameworkIndicesHandler {
         });
     }
 
+    /**
+     * Adds the resources of a workflow in the resources index to its state. Resources in the resources created list of the state
+     * document, written before the resources index was enabled, are kept unless a resource document replaces them.
+     * @param workflowId workflow id
+     * @param workflowState the workflow state read from the state index
+     * @param seqNo the sequence number of the state document
+     * @param listener action listener
+     */
+    private void addIndexedResources(
+        String workflowId,
+        WorkflowState workflowState,
+        long seqNo,
+        ActionListener<Tuple<WorkflowState, Long>> listener
+    ) {
+        searchIndexedResources(workflowId, null, new ArrayList<>(), ActionListener.wrap(indexedResources -> {
+            Map<String, ResourceCreated> resources = new LinkedHashMap<>();
+            for (ResourceCreated resource : workflowState.resourcesCreated()) {
+                resources.putIfAbsent(getResourceDocumentId(workflowId, resource), resource);
+            }
+            for (ResourceCreated resource : indexedResources) {
+                resources.put(getResourceDocumentId(workflowId, resource), resource);
+            }
+            WorkflowState mergedState = WorkflowState.builder(workflowState).resourcesCreated(new ArrayList<>(resources.values())).build();
+            listener.onResponse(new Tuple<>(mergedState, seqNo));
+        }, listener::onFailure));
+    }
+
+    /**
+     * Reads the resource documents of a workflow from the resources index, one page at a time. Reading fails rather than holding
+     * more than {@link #MAX_INDEXED_RESOURCES} resources in memory.
+     * @param workflowId workflow id
+     * @param searchAfter the sort values of the last document of the previous page, or null for the first page
+     * @param resources the resources read so far
+     * @param listener action listener, notified with all resources of the workflow
+     */
+    private void searchIndexedResources(
+        String workflowId,
+        Object[] searchAfter,
+        List<ResourceCreated> resources,
+        ActionListener<List<ResourceCreated>> listener
+    ) {
+        SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder().query(QueryBuilders.termQuery(WORKFLOW_ID, workflowId))
+            .size(RESOURCES_PAGE_SIZE)
+            .sort(WORKFLOW_STEP_ID)
+            .sort(RESOURCE_TYPE);
+        if (searchAfter != null) {
+            searchSourceBuilder.searchAfter(searchAfter);
+        }
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            client.search(
+                new SearchRequest(RESOURCES_INDEX).source(searchSourceBuilder),
+                ActionListener.runBefore(ActionListener.wrap(r -> {
+                    SearchHit[] hits = r.getHits().getHits();
+                    for (SearchHit hit : hits) {
+                        Map<String, Object> source = hit.getSourceAsMap();
+                        resources.add(
+                            new ResourceCreated(
+                                (String) source.get(WORKFLOW_STEP_NAME),
+                                (String) source.get(WORKFLOW_STEP_ID),
+                                (String) source.get(RESOURCE_TYPE),
+                                (String) source.get(RESOURCE_ID)
+                            )
+                        );
+                    }
+                    if (resources.size() > MAX_INDEXED_RESOURCES) {
+                        String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                            "Workflow {} has more than {} resources created",
+                            workflowId,
+                            MAX_INDEXED_RESOURCES
+                        ).getFormattedMessage();
+                        logger.error(errorMessage);
+                        listener.onFailure(new FlowFrameworkException(errorMessage, INTERNAL_SERVER_ERROR));
+                    } else if (hits.length == RESOURCES_PAGE_SIZE) {
+                        searchIndexedResources(workflowId, hits[hits.length - 1].getSortValues(), resources, listener);
+                    } else {
+                        listener.onResponse(resources);
+                    }
+                }, e -> {
+                    if (ExceptionsHelper.unwrapCause(e) instanceof IndexNotFoundException) {
+                        // No workflow has created a resource since the resources index was enabled
+                        listener.onResponse(resources);
+                        return;
+                    }
+                    String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                        "Failed to get resources created of workflow: {}",
+                        workflowId
+                    ).getFormattedMessage();
+                    logger.error(errorMessage, e);
+                    listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(e)));
+                }), context::restore)
+            );
+        }
+    }
+
+    /**
+     * Gets the id of the resources index document of a resource. A step creates at most one resource of each type, so writing
+     * a resource again replaces its document.
+     * <p>
+     * Step ids are chosen by users and may contain any character, so the id hashes the length of each field with its value
+     * rather than joining them with a separator, which distinct resources could share.
+     * @param workflowId workflow id
+     * @param resource the resource created
+     * @return the document id, a URL safe Base64 encoded SHA-256 hash of the workflow id, step id and resource type
+     */
+    static String getResourceDocumentId(String workflowId, ResourceCreated resource) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String field : new String[] { workflowId, resource.workflowStepId(), resource.resourceType() }) {
+                byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+                digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+                digest.update(bytes);
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to compute resource document id", e);
+        }
+    }
+
+    /**
+     * Waits until the state of a workflow satisfies a condition, or the timeout elapses, without holding a thread. The state is
+     * read again whenever this node updates it, and every {@link #STATE_WAIT_RECHECK_INTERVAL} to see updates made by other nodes.
+     *
+     * @param workflowId workflow id
+     * @param tenantId tenant id
+     * @param condition the condition on the state and the sequence number of its state document
+     * @param timeout the longest time to wait
+     * @param listener action listener, notified with the state and sequence number once the condition holds or the timeout
+     *     elapsed, or with the failure to read the state
+     */
+    public void awaitWorkflowState(
+        String workflowId,
+        String tenantId,
+        Predicate<Tuple<WorkflowState, Long>> condition,
+        TimeValue timeout,
+        ActionListener<Tuple<WorkflowState, Long>> listener
+    ) {
+        ThreadContext threadContext = client.threadPool().getThreadContext();
+        ActionListener<Tuple<WorkflowState, Long>> contextListener = new ContextPreservingActionListener<>(
+            threadContext.newRestorableContext(false),
+            listener
+        );
+        StateWaiter waiter = new StateWaiter(workflowId, tenantId, condition, System.nanoTime() + timeout.nanos(), contextListener);
+        stateWaiters.compute(workflowId, (id, waiters) -> {
+            Set<StateWaiter> workflowWaiters = waiters == null ? ConcurrentHashMap.newKeySet() : waiters;
+            workflowWaiters.add(waiter);
+            return workflowWaiters;
+        });
+        waiter.run();
+    }
+
+    /**
+     * Reads the state of a workflow again for the status requests waiting on it, after this node updated it
+     * @param workflowId workflow id
+     */
+    private void notifyStateWaiters(String workflowId) {
+        Set<StateWaiter> waiters = stateWaiters.get(workflowId);
+        if (waiters != null) {
+            for (StateWaiter waiter : List.copyOf(waiters)) {
+                waiter.run();
+            }
+        }
+    }
+
+    /**
+     * A status request waiting for the state of a workflow to satisfy a condition
+     */
+    private class StateWaiter implements Runnable {
+        private final String workflowId;
+        private final String tenantId;
+        private final Predicate<Tuple<WorkflowState, Long>> condition;
+        private final long deadlineNanos;
+        private final ActionListener<Tuple<WorkflowState, Long>> listener;
+        private final AtomicBoolean done = new AtomicBoolean(false);
+        // Guarded by this
+        private Scheduler.ScheduledCancellable recheck;
+
+        StateWaiter(
+            String workflowId,
+            String tenantId,
+            Predicate<Tuple<WorkflowState, Long>> condition,
+            long deadlineNanos,
+            ActionListener<Tuple<WorkflowState, Long>> listener
+        ) {
+            this.workflowId = workflowId;
+            this.tenantId = tenantId;
+            this.condition = condition;
+            this.deadlineNanos = deadlineNanos;
+            this.listener = listener;
+        }
+
+        @Override
+        public void run() {
+            if (done.get()) {
+                return;
+            }
+            try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+                getWorkflowStateAndSeqNo(workflowId, tenantId, ActionListener.wrap(this::onState, this::onFailure), context);
+            }
+        }
+
+        private void onState(Tuple<WorkflowState, Long> stateAndSeqNo) {
+            long remainingNanos = deadlineNanos - System.nanoTime();
+            if (condition.test(stateAndSeqNo) || remainingNanos <= 0) {
+                if (finish()) {
+                    listener.onResponse(stateAndSeqNo);
+                }
+                return;
+            }
+            TimeValue delay = TimeValue.timeValueNanos(Math.min(remainingNanos, STATE_WAIT_RECHECK_INTERVAL.nanos()));
+            synchronized (this) {
+                if (!done.get()) {
+                    if (recheck != null) {
+                        recheck.cancel();
+                    }
+                    recheck = client.threadPool().schedule(this, delay, ThreadPool.Names.GENERIC);
+                }
+            }
+        }
+
+        private void onFailure(Exception e) {
+            if (finish()) {
+                listener.onFailure(e);
+            }
+        }
+
+        private boolean finish() {
+            if (!done.compareAndSet(false, true)) {
+                return false;
+            }
+            stateWaiters.computeIfPresent(workflowId, (id, waiters) -> {
+                waiters.remove(this);
+                return waiters.isEmpty() ? null : waiters;
+            });
+            synchronized (this) {
+                if (recheck != null) {
+                    recheck.cancel();
+                }
+            }
+            return true;
+        }
+    }
+
     /**
      * Check workflow provisioning state and executes the consumer
      *
@@ -726,6 +1288,10 @@ public class FlowFrameworkIndicesHandler {
                         try {
                             response = UpdateResponse.fromXContent(r.parser());
                             logger.info("Updated workflow state doc: {}", documentId);
+                            onStateUpdated(
+                                documentId,
+                                updatedDocument instanceof WorkflowState ? ((WorkflowState) updatedDocument).getState() : null
+                            );
                             listener.onResponse(response);
                         } catch (Exception e) {
                             logger.error("Failed to parse update response", e);
@@ -741,6 +1307,10 @@ public class FlowFrameworkIndicesHandler {
                             documentId
                         ).getFormattedMessage();
                         logger.error(errorMessage, exception);
+                        onStateUpdateFailed(
+                            documentId,
+                            updatedDocument instanceof WorkflowState ? ((WorkflowState) updatedDocument).getState() : null
+                        );
                         listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
                     }
                 });
@@ -794,6 +1364,7 @@ public class FlowFrameworkIndicesHandler {
                         try {
                             UpdateResponse response = UpdateResponse.fromXContent(r.parser());
                             logger.info("Updated workflow state doc: {}", documentId);
+                            onStateUpdated(documentId, updatedFields.get(STATE_FIELD));
                             listener.onResponse(response);
                         } catch (Exception e) {
                             logger.error("Failed to parse update response", e);
@@ -809,6 +1380,7 @@ public class FlowFrameworkIndicesHandler {
                             documentId
                         ).getFormattedMessage();
                         logger.error(errorMessage, exception);
+                        onStateUpdateFailed(documentId, updatedFields.get(STATE_FIELD));
                         listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
                     }
                 });
@@ -824,6 +1396,37 @@ public class FlowFrameworkIndicesHandler {
         }
     }
 
+    /**
+     * Tracks the in flight state of a workflow after an update of its state document
+     * @param workflowId the workflow id
+     * @param state the state written by the update, or null if the update did not change the state
+     */
+    private void onStateUpdated(String workflowId, Object state) {
+        if (state == null) {
+            inFlightStates.invalidate(workflowId);
+        } else if (State.PROVISIONING.toString().equals(state.toString())) {
+            inFlightStates.track(workflowId);
+        } else {
+            inFlightStates.untrack(workflowId);
+        }
+        notifyStateWaiters(workflowId);
+    }
+
+    /**
+     * Stops serving the in flight state of a workflow from memory after a failed update of its state document, which may or may
+     * not have been written
+     * @param workflowId the workflow id
+     * @param state the state the update attempted to write, or null if the update did not change the state
+     */
+    private void onStateUpdateFailed(String workflowId, Object state) {
+        if (state == null || State.PROVISIONING.toString().equals(state.toString())) {
+            inFlightStates.invalidate(workflowId);
+        } else {
+            // The provisioning ended, even if its terminal state was not written
+            inFlightStates.untrack(workflowId);
+        }
+    }
+
     /**
      * Deletes a document in the workflow state index
      * @param documentId the document ID
@@ -852,6 +1455,11 @@ public class FlowFrameworkIndicesHandler {
                         try {
                             DeleteResponse response = DeleteResponse.fromXContent(r.parser());
                             logger.info("Deleted workflow state doc: {}", documentId);
+                            inFlightStates.untrack(documentId);
+                            notifyStateWaiters(documentId);
+                            if (resourcesIndexEnabled) {
+                                deleteIndexedResources(documentId);
+                            }
                             listener.onResponse(response);
                         } catch (Exception e) {
                             logger.error("Failed to parse delete response", e);
@@ -897,15 +1505,10 @@ public class FlowFrameworkIndicesHandler {
         }
         String resourceName = getResourceByWorkflowStep(workflowStepName);
         ResourceCreated newResource = new ResourceCreated(workflowStepName, nodeId, resourceName, resourceId);
-        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
-            getAndUpdateResourceInStateDocumentWithRetries(
-                workflowId,
-                tenantId,
-                newResource,
-                OpType.INDEX,
-                RETRIES,
-                ActionListener.runBefore(listener, context::restore)
-            );
+        if (resourcesIndexEnabled) {
+            indexResource(workflowId, newResource, listener);
+        } else {
+            enqueueResourceUpdate(workflowId, new ResourceUpdate(tenantId, newResource, OpType.INDEX, listener));
         }
     }
 
@@ -925,15 +1528,105 @@ public class FlowFrameworkIndicesHandler {
         if (!validateStateIndexExists(workflowId, listener)) {
             return;
         }
+        if (resourcesIndexEnabled) {
+            deleteIndexedResource(workflowId, tenantId, resourceToDelete, listener);
+        } else {
+            enqueueResourceUpdate(workflowId, new ResourceUpdate(tenantId, resourceToDelete, OpType.DELETE, listener));
+        }
+    }
+
+    /**
+     * Writes a resource to its own document of the resources index. Steps of a workflow write different documents, so they do
+     * not conflict with each other.
+     * @param workflowId The workflow id
+     * @param resource The resource created
+     * @param listener the ActionListener for this step to handle completing the future after the write
+     */
+    private void indexResource(String workflowId, ResourceCreated resource, ActionListener<WorkflowData> listener) {
+        initResourcesIndexIfAbsent(ActionListener.wrap(indexCreated -> {
+            Map<String, Object> source = new HashMap<>(resource.resourceMap());
+            source.put(WORKFLOW_ID, workflowId);
+            IndexRequest indexRequest = new IndexRequest(RESOURCES_INDEX).id(getResourceDocumentId(workflowId, resource))
+                .source(source)
+                // Make the resource visible to the next read of the workflow state, such as a deprovision
+                .setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
+            try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+                client.index(
+                    indexRequest,
+                    ActionListener.runBefore(
+                        ActionListener.wrap(
+                            r -> handleResourceDocumentSuccess(workflowId, resource, listener),
+                            e -> handleResourceDocumentException(workflowId, resource, listener, e)
+                        ),
+                        context::restore
+                    )
+                );
+            }
+        }, listener::onFailure));
+    }
+
+    /**
+     * Deletes the document of a resource from the resources index, and then removes the resource from the resources created
+     * list of the state document, which holds the resources created before the resources index was enabled
+     * @param workflowId The workflow id
+     * @param tenantId The tenant id
+     * @param resource The resource to delete
+     * @param listener the ActionListener for this step to handle completing the future after the update
+     */
+    private void deleteIndexedResource(
+        String workflowId,
+        String tenantId,
+        ResourceCreated resource,
+        ActionListener<WorkflowData> listener
+    ) {
+        DeleteRequest deleteRequest = new DeleteRequest(RESOURCES_INDEX, getResourceDocumentId(workflowId, resource)).setRefreshPolicy(
+            WriteRequest.RefreshPolicy.WAIT_UNTIL
+        );
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            client.delete(deleteRequest, ActionListener.runBefore(ActionListener.wrap(r -> {
+                enqueueResourceUpdate(workflowId, new ResourceUpdate(tenantId, resource, OpType.DELETE, listener));
+            }, e -> {
+                if (ExceptionsHelper.unwrapCause(e) instanceof IndexNotFoundException) {
+                    enqueueResourceUpdate(workflowId, new ResourceUpdate(tenantId, resource, OpType.DELETE, listener));
+                } else {
+                    handleResourceDocumentException(workflowId, resource, listener, e);
+                }
+            }), context::restore));
+        }
+    }
+
+    private void handleResourceDocumentException(
+        String workflowId,
+        ResourceCreated resource,
+        ActionListener<WorkflowData> listener,
+        Exception e
+    ) {
+        String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+            "Failed to update {} entry : {}. {}",
+            RESOURCES_INDEX,
+            getResourceDocumentId(workflowId, resource),
+            e.getMessage()
+        ).getFormattedMessage();
+        logger.error(errorMessage, e);
+        listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(e)));
+    }
+
+    /**
+     * Deletes all resource documents of a workflow from the resources index, once its state document is deleted
+     * @param workflowId The workflow id
+     */
+    private void deleteIndexedResources(String workflowId) {
+        DeleteByQueryRequest deleteByQueryRequest = new DeleteByQueryRequest(RESOURCES_INDEX).setQuery(
+            QueryBuilders.termQuery(WORKFLOW_ID, workflowId)
+        );
         try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
-            getAndUpdateResourceInStateDocumentWithRetries(
-                workflowId,
-                tenantId,
-                resourceToDelete,
-                OpType.DELETE,
-                RETRIES,
-                ActionListener.runBefore(listener, context::restore)
-            );
+            client.execute(DeleteByQueryAction.INSTANCE, deleteByQueryRequest, ActionListener.runBefore(ActionListener.wrap(r -> {
+                logger.info("Deleted {} resource docs of workflow {}", r.getDeleted(), workflowId);
+            }, e -> {
+                if (!(ExceptionsHelper.unwrapCause(e) instanceof IndexNotFoundException)) {
+                    logger.error("Failed to delete resource docs of workflow {}", workflowId, e);
+                }
+            }), context::restore));
         }
     }
 
@@ -952,21 +1645,159 @@ public class FlowFrameworkIndicesHandler {
     }
 
     /**
-     * Performs a get and update of a State Index document adding or removing a resource with strong consistency and retries
+     * Writes a resource update to the state document of its workflow, coalescing it with other updates of the same workflow.
+     * If no state update of the workflow is in flight the update is written immediately. Otherwise it is queued, and all
+     * updates queued while a state update is in flight are written together by the next one, so that concurrent steps of a
+     * workflow do not conflict with each other on its state document.
+     * @param workflowId The workflow document id in the state index
+     * @param update The resource update, whose listener is completed once the state update including it succeeds or fails
+     */
+    private void enqueueResourceUpdate(String workflowId, ResourceUpdate update) {
+        // Complete the listener in the caller's context, as the state update runs in a stashed context
+        StoredContext callerContext = client.threadPool().getThreadContext().newStoredContext(true);
+        ResourceUpdate contextUpdate = new ResourceUpdate(
+            update.tenantId,
+            update.resource,
+            update.operation,
+            ActionListener.runBefore(update.listener, callerContext::restore)
+        );
+        AtomicBoolean writeNow = new AtomicBoolean(false);
+        queuedResourceUpdates.compute(workflowId, (id, queued) -> {
+            if (queued == null) {
+                writeNow.set(true);
+                return new ArrayList<>();
+            }
+            queued.add(contextUpdate);
+            return queued;
+        });
+        if (writeNow.get()) {
+            writeResourceUpdates(workflowId, List.of(contextUpdate));
+        }
+    }
+
+    /**
+     * Writes the next batch of queued resource updates of a workflow, if any, once its in flight state update completed
+     * @param workflowId The workflow document id in the state index
+     */
+    private void writeQueuedResourceUpdates(String workflowId) {
+        List<ResourceUpdate> batch = new ArrayList<>();
+        queuedResourceUpdates.computeIfPresent(workflowId, (id, queued) -> {
+            if (queued.isEmpty()) {
+                return null;
+            }
+            batch.addAll(queued);
+            return new ArrayList<>();
+        });
+        if (!batch.isEmpty()) {
+            writeResourceUpdates(workflowId, batch);
+        }
+    }
+
+    private void writeResourceUpdates(String workflowId, List<ResourceUpdate> updates) {
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            if (scriptedResourceUpdates && !updateScriptsDisallowed) {
+                updateResourcesInStateDocumentWithScript(workflowId, updates);
+            } else {
+                getAndUpdateResourcesInStateDocumentWithRetries(workflowId, updates.get(0).tenantId, updates, RETRIES);
+            }
+        } catch (Exception e) {
+            // Fail the batch rather than leaving the workflow queue waiting for a state update which was never sent
+            logger.error("Failed to write resource updates for {}", workflowId, e);
+            completeResourceUpdates(workflowId, updates, u -> u.listener.onFailure(e));
+        }
+    }
+
+    /**
+     * Adds or removes resources of a State Index document with a single scripted partial update, without reading it first.
+     * Version conflicts with concurrent writers are retried on the shard. The remote metadata client has no scripted updates, so
+     * this is only used when its metadata store is the local cluster, where it writes the same index. If the cluster disallows
+     * inline or update scripts, the updates are instead written with a get and update through the remote metadata client, as are
+     * all later updates.
+     * @param workflowId The document id to update
+     * @param updates The resources to add to or remove from the resources created list, in order
+     */
+    private void updateResourcesInStateDocumentWithScript(String workflowId, List<ResourceUpdate> updates) {
+        List<Map<String, Object>> scriptUpdates = new ArrayList<>(updates.size());
+        for (ResourceUpdate update : updates) {
+            scriptUpdates.add(Map.of("delete", update.operation == OpType.DELETE, "resource", update.resource.resourceMap()));
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("updates", scriptUpdates);
+        String tenantId = updates.get(0).tenantId;
+        if (tenantId != null) {
+            params.put(TENANT_ID_FIELD, tenantId);
+        }
+        Script script = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, UPDATE_RESOURCES_SCRIPT, params);
+        UpdateRequest updateRequest = new UpdateRequest(WORKFLOW_STATE_INDEX, workflowId).script(script).retryOnConflict(RETRIES);
+        client.update(updateRequest, ActionListener.wrap(r -> {
+            if (r.getResult() == DocWriteResponse.Result.NOOP) {
+                // The state document belongs to another tenant
+                completeResourceUpdates(
+                    workflowId,
+                    updates,
+                    u -> u.listener.onFailure(
+                        new FlowFrameworkException("Workflow state not found for " + workflowId, RestStatus.NOT_FOUND)
+                    )
+                );
+            } else {
+                completeResourceUpdates(
+                    workflowId,
+                    updates,
+                    u -> handleStateUpdateSuccess(workflowId, u.resource, u.operation, r.getSeqNo(), u.listener)
+                );
+            }
+        }, e -> {
+            if (ExceptionsHelper.status(e) == RestStatus.NOT_FOUND) {
+                completeResourceUpdates(
+                    workflowId,
+                    updates,
+                    u -> u.listener.onFailure(
+                        new FlowFrameworkException("Workflow state not found for " + workflowId, RestStatus.NOT_FOUND)
+                    )
+                );
+            } else if (isScriptDisallowed(e)) {
+                if (!updateScriptsDisallowed) {
+                    logger.warn("Update scripts are disallowed, updating resources created with a get and update instead", e);
+                    updateScriptsDisallowed = true;
+                }
+                getAndUpdateResourcesInStateDocumentWithRetries(workflowId, tenantId, updates, RETRIES);
+            } else {
+                handleStateUpdateException(workflowId, tenantId, updates, 0, e);
+            }
+        }));
+    }
+
+    /**
+     * Whether an update failed because the cluster does not allow its script to be compiled, as when the script.allowed_types or
+     * script.allowed_contexts settings exclude inline or update scripts. The script service rejects these with an illegal argument,
+     * a bad request, while the update script itself only fails with a script exception.
+     * @param e the failure of the update
+     * @return true if the script was disallowed
+     */
+    private static boolean isScriptDisallowed(Exception e) {
+        if (ExceptionsHelper.status(e) != RestStatus.BAD_REQUEST) {
+            return false;
+        }
+        for (Throwable cause = ExceptionsHelper.unwrapCause(e); cause != null; cause = cause.getCause()) {
+            if (cause instanceof IllegalArgumentException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Performs a get and update of a State Index document adding or removing resources with strong consistency and retries
      * @param workflowId The document id to update
-     * @param tenantId
-     * @param resource The resource to add or remove from the resources created list
-     * @param operation The operation to perform on the resource (INDEX to append to the list or DELETE to remove)
+     * @param tenantId The tenant id
+     * @param updates The resources to add to or remove from the resources created list, in order
      * @param retries The number of retries on update version conflicts
-     * @param listener The listener to complete on success or failure
      */
-    private void getAndUpdateResourceInStateDocumentWithRetries(
+    private void getAndUpdateResourcesInStateDocumentWithRetries(
         String workflowId,
         String tenantId,
-        ResourceCreated resource,
-        OpType operation,
-        int retries,
-        ActionListener<WorkflowData> listener
+        List<ResourceUpdate> updates,
+        int retries
     ) {
         GetDataObjectRequest getRequest = GetDataObjectRequest.builder()
             .index(WORKFLOW_STATE_INDEX)
@@ -977,14 +1808,18 @@ public class FlowFrameworkIndicesHandler {
             if (throwable == null) {
                 try {
                     GetResponse getResponse = GetResponse.fromXContent(r.parser());
-                    handleStateGetResponse(workflowId, tenantId, resource, operation, retries, listener, getResponse);
+                    handleStateGetResponse(workflowId, tenantId, updates, retries, getResponse);
                 } catch (Exception e) {
                     logger.error("Failed to parse get response", e);
-                    listener.onFailure(new FlowFrameworkException("Failed to parse get response", INTERNAL_SERVER_ERROR));
+                    completeResourceUpdates(
+                        workflowId,
+                        updates,
+                        u -> u.listener.onFailure(new FlowFrameworkException("Failed to parse get response", INTERNAL_SERVER_ERROR))
+                    );
                 }
             } else {
                 Exception ex = SdkClientUtils.unwrapAndConvertToException(throwable);
-                handleStateUpdateException(workflowId, tenantId, resource, operation, 0, listener, ex);
+                handleStateUpdateException(workflowId, tenantId, updates, 0, ex);
             }
         });
     }
@@ -992,23 +1827,27 @@ public class FlowFrameworkIndicesHandler {
     private void handleStateGetResponse(
         String workflowId,
         String tenantId,
-        ResourceCreated resource,
-        OpType operation,
+        List<ResourceUpdate> updates,
         int retries,
-        ActionListener<WorkflowData> listener,
         GetResponse getResponse
     ) {
         if (!getResponse.isExists()) {
-            listener.onFailure(new FlowFrameworkException("Workflow state not found for " + workflowId, RestStatus.NOT_FOUND));
+            completeResourceUpdates(
+                workflowId,
+                updates,
+                u -> u.listener.onFailure(new FlowFrameworkException("Workflow state not found for " + workflowId, RestStatus.NOT_FOUND))
+            );
             return;
         }
         try {
             WorkflowState currentState = WorkflowState.parse(getResponse.getSourceAsString());
             List<ResourceCreated> resourcesCreated = new ArrayList<>(currentState.resourcesCreated());
-            if (operation == OpType.DELETE) {
-                resourcesCreated.removeIf(r -> r.resourceMap().equals(resource.resourceMap()));
-            } else {
-                resourcesCreated.add(resource);
+            for (ResourceUpdate update : updates) {
+                if (update.operation == OpType.DELETE) {
+                    resourcesCreated.removeIf(r -> r.resourceMap().equals(update.resource.resourceMap()));
+                } else {
+                    resourcesCreated.add(update.resource);
+                }
             }
             WorkflowState newState = WorkflowState.builder(currentState).resourcesCreated(resourcesCreated).build();
             UpdateDataObjectRequest updateRequest = UpdateDataObjectRequest.builder()
@@ -1021,10 +1860,15 @@ public class FlowFrameworkIndicesHandler {
                 .build();
             sdkClient.updateDataObjectAsync(updateRequest).whenComplete((r, throwable) -> {
                 if (throwable == null) {
-                    handleStateUpdateSuccess(workflowId, resource, operation, listener);
+                    long seqNo = getUpdateSeqNo(() -> UpdateResponse.fromXContent(r.parser()));
+                    completeResourceUpdates(
+                        workflowId,
+                        updates,
+                        u -> handleStateUpdateSuccess(workflowId, u.resource, u.operation, seqNo, u.listener)
+                    );
                 } else {
                     Exception e = SdkClientUtils.unwrapAndConvertToException(throwable);
-                    handleStateUpdateException(workflowId, tenantId, resource, operation, retries, listener, e);
+                    handleStateUpdateException(workflowId, tenantId, updates, retries, e);
                 }
             });
         } catch (Exception e) {
@@ -1033,16 +1877,64 @@ public class FlowFrameworkIndicesHandler {
                 workflowId
             ).getFormattedMessage();
             logger.error(errorMessage, e);
-            listener.onFailure(new FlowFrameworkException(errorMessage, INTERNAL_SERVER_ERROR));
+            completeResourceUpdates(
+                workflowId,
+                updates,
+                u -> u.listener.onFailure(new FlowFrameworkException(errorMessage, INTERNAL_SERVER_ERROR))
+            );
         }
     }
 
+    private static long getUpdateSeqNo(CheckedSupplier<UpdateResponse, Exception> updateResponse) {
+        try {
+            return updateResponse.get().getSeqNo();
+        } catch (Exception e) {
+            logger.debug("Failed to parse update response", e);
+            return SequenceNumbers.UNASSIGNED_SEQ_NO;
+        }
+    }
+
+    private void handleResourceDocumentSuccess(String workflowId, ResourceCreated newResource, ActionListener<WorkflowData> listener) {
+        // The state document is not written
+        inFlightStates.update(workflowId, resourceUpdate(workflowId, newResource, OpType.INDEX));
+        respondResourceUpdated(workflowId, newResource, OpType.INDEX, listener);
+    }
+
     private void handleStateUpdateSuccess(
         String workflowId,
         ResourceCreated newResource,
         OpType operation,
+        long seqNo,
         ActionListener<WorkflowData> listener
     ) {
+        inFlightStates.update(workflowId, resourceUpdate(workflowId, newResource, operation), seqNo);
+        respondResourceUpdated(workflowId, newResource, operation, listener);
+    }
+
+    private UnaryOperator<WorkflowState> resourceUpdate(String workflowId, ResourceCreated resource, OpType operation) {
+        return state -> {
+            List<ResourceCreated> resourcesCreated = new ArrayList<>(state.resourcesCreated());
+            if (operation == OpType.DELETE) {
+                resourcesCreated.removeIf(r -> r.resourceMap().equals(resource.resourceMap()));
+            } else {
+                if (resourcesIndexEnabled) {
+                    // The resource replaces its document
+                    String documentId = getResourceDocumentId(workflowId, resource);
+                    resourcesCreated.removeIf(r -> documentId.equals(getResourceDocumentId(workflowId, r)));
+                }
+                resourcesCreated.add(resource);
+            }
+            return WorkflowState.builder(state).resourcesCreated(resourcesCreated).build();
+        };
+    }
+
+    private void respondResourceUpdated(
+        String workflowId,
+        ResourceCreated newResource,
+        OpType operation,
+        ActionListener<WorkflowData> listener
+    ) {
+        notifyStateWaiters(workflowId);
         String resourceName = newResource.resourceType();
         String resourceId = newResource.resourceId();
         String nodeId = newResource.workflowStepId();
@@ -1057,29 +1949,60 @@ public class FlowFrameworkIndicesHandler {
         listener.onResponse(new WorkflowData(Map.of(resourceName, resourceId), workflowId, nodeId));
     }
 
-    private void handleStateUpdateException(
-        String workflowId,
-        String tenantId,
-        ResourceCreated newResource,
-        OpType operation,
-        int retries,
-        ActionListener<WorkflowData> listener,
-        Exception e
-    ) {
+    private void handleStateUpdateException(String workflowId, String tenantId, List<ResourceUpdate> updates, int retries, Exception e) {
         if (e instanceof OpenSearchStatusException && ((OpenSearchStatusException) e).status() == RestStatus.CONFLICT && retries > 0) {
             // Retry if we haven't exhausted retries
-            getAndUpdateResourceInStateDocumentWithRetries(workflowId, tenantId, newResource, operation, retries - 1, listener);
+            getAndUpdateResourcesInStateDocumentWithRetries(workflowId, tenantId, updates, retries - 1);
             return;
         }
-        String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
-            "Failed to update workflow state for {} on step {} to {} resource {} {}",
-            workflowId,
-            newResource.workflowStepId(),
-            operation.equals(OpType.DELETE) ? "delete" : "add",
-            newResource.resourceType(),
-            newResource.resourceId()
-        ).getFormattedMessage();
-        logger.error(errorMessage, e);
-        listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(e)));
+        completeResourceUpdates(workflowId, updates, u -> {
+            String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                "Failed to update workflow state for {} on step {} to {} resource {} {}",
+                workflowId,
+                u.resource.workflowStepId(),
+                u.operation.equals(OpType.DELETE) ? "delete" : "add",
+                u.resource.resourceType(),
+                u.resource.resourceId()
+            ).getFormattedMessage();
+            logger.error(errorMessage, e);
+            u.listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(e)));
+        });
+    }
+
+    /**
+     * Completes the listeners of a batch of resource updates, then writes the updates queued in the meantime
+     * @param workflowId The workflow document id in the state index
+     * @param updates The resource updates of the completed state update
+     * @param completion Completes the listener of a resource update
+     */
+    private void completeResourceUpdates(String workflowId, List<ResourceUpdate> updates, Consumer<ResourceUpdate> completion) {
+        try {
+            for (ResourceUpdate update : updates) {
+                try {
+                    completion.accept(update);
+                } catch (Exception e) {
+                    logger.error("Failed to complete resource update listener for {}", workflowId, e);
+                }
+            }
+        } finally {
+            writeQueuedResourceUpdates(workflowId);
+        }
+    }
+
+    /**
+     * A resource to add to or remove from the resources created of a workflow state, with the listener awaiting the update
+     */
+    private static class ResourceUpdate {
+        private final String tenantId;
+        private final ResourceCreated resource;
+        private final OpType operation;
+        private final ActionListener<WorkflowData> listener;
+
+        ResourceUpdate(String tenantId, ResourceCreated resource, OpType operation, ActionListener<WorkflowData> listener) {
+            this.tenantId = tenantId;
+            this.resource = resource;
+            this.operation = operation;
+            this.listener = listener;
+        }
     }
 }
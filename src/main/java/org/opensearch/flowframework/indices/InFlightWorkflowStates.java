@@ -0,0 +1,198 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.indices;
+
+import org.opensearch.common.collect.Tuple;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.flowframework.model.WorkflowState;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * The states of the workflows being provisioned by this node, kept in memory so that polling their status does not read the
+ * state index.
+ * <p>
+ * While a workflow is provisioning, its state is only updated by the node provisioning it. A workflow is tracked from the state
+ * update starting its provisioning until the update ending it. Its state is read from the state index by the first request after
+ * it is tracked, or after an update which can not be applied in memory, and then kept up to date as resources are added and
+ * removed. A state read which started before an update completed is not kept, as it may not include the update.
+ * <p>
+ * A kept state expires after {@link #MAX_STATE_AGE}, and is then read again from the state index, so that a state which was
+ * changed by another node, for example when this node lost track of a provisioning which was resumed elsewhere, is not served
+ * indefinitely.
+ */
+class InFlightWorkflowStates {
+
+    /** How long a state read from the state index is kept before it is read again */
+    static final TimeValue MAX_STATE_AGE = TimeValue.timeValueSeconds(30);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+    private final long maxStateAgeNanos;
+
+    /**
+     * Instantiates a new InFlightWorkflowStates whose states expire after {@link #MAX_STATE_AGE}
+     */
+    InFlightWorkflowStates() {
+        this(System::nanoTime, MAX_STATE_AGE);
+    }
+
+    /**
+     * Instantiates a new InFlightWorkflowStates
+     * @param nanoClock the clock measuring the age of the states, in nanoseconds
+     * @param maxStateAge how long a state read from the state index is kept
+     */
+    InFlightWorkflowStates(LongSupplier nanoClock, TimeValue maxStateAge) {
+        this.nanoClock = nanoClock;
+        this.maxStateAgeNanos = maxStateAge.nanos();
+    }
+
+    /**
+     * Starts tracking a workflow, discarding any state kept for it
+     * @param workflowId the workflow id
+     */
+    void track(String workflowId) {
+        entries.put(workflowId, new Entry(nanoClock, maxStateAgeNanos));
+    }
+
+    /**
+     * Stops tracking a workflow, so that its state is read from the state index
+     * @param workflowId the workflow id
+     */
+    void untrack(String workflowId) {
+        entries.remove(workflowId);
+    }
+
+    /**
+     * Gets the entry of a workflow
+     * @param workflowId the workflow id
+     * @return the entry, or null if the workflow is not tracked
+     */
+    Entry get(String workflowId) {
+        return entries.get(workflowId);
+    }
+
+    /**
+     * Applies a completed update, which did not write the state document, to the state of a tracked workflow
+     * @param workflowId the workflow id
+     * @param update the update of the state
+     */
+    void update(String workflowId, UnaryOperator<WorkflowState> update) {
+        Entry entry = entries.get(workflowId);
+        if (entry != null) {
+            entry.update(update, null);
+        }
+    }
+
+    /**
+     * Applies a completed update of the state document to the state of a tracked workflow
+     * @param workflowId the workflow id
+     * @param update the update of the state
+     * @param seqNo the sequence number of the state document written by the update, or a negative value if unknown, in which
+     *     case the state is read again from the state index
+     */
+    void update(String workflowId, UnaryOperator<WorkflowState> update, long seqNo) {
+        Entry entry = entries.get(workflowId);
+        if (entry != null) {
+            entry.update(seqNo < 0 ? state -> null : update, seqNo);
+        }
+    }
+
+    /**
+     * Discards the state kept for a tracked workflow after a completed update, so that it is read again from the state index
+     * @param workflowId the workflow id
+     */
+    void invalidate(String workflowId) {
+        update(workflowId, state -> null, -1);
+    }
+
+    /**
+     * Returns the number of tracked workflows
+     * @return the number of tracked workflows
+     */
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * The state of a tracked workflow with the sequence number of its state document, and the number of updates applied to it
+     */
+    static class Entry {
+        private final LongSupplier nanoClock;
+        private final long maxStateAgeNanos;
+        private WorkflowState state;
+        private long seqNo;
+        private long generation;
+        private long filledAtNanos;
+
+        private Entry(LongSupplier nanoClock, long maxStateAgeNanos) {
+            this.nanoClock = nanoClock;
+            this.maxStateAgeNanos = maxStateAgeNanos;
+        }
+
+        /**
+         * Gets the state of the workflow
+         * @return the state, or null if it must be read from the state index
+         */
+        synchronized WorkflowState state() {
+            discardIfExpired();
+            return state;
+        }
+
+        /**
+         * Gets the state of the workflow with the sequence number of its state document
+         * @return the state and sequence number, or null if the state must be read from the state index
+         */
+        synchronized Tuple<WorkflowState, Long> stateAndSeqNo() {
+            discardIfExpired();
+            return state == null ? null : new Tuple<>(state, seqNo);
+        }
+
+        /**
+         * Gets the number of updates of the workflow, to be passed to {@link #fill} once the state is read
+         * @return the number of updates
+         */
+        synchronized long generation() {
+            return generation;
+        }
+
+        /**
+         * Keeps the state read from the state index, unless the workflow was updated since the read started
+         * @param generation the number of updates when the read started
+         * @param state the state read
+         * @param seqNo the sequence number of the state document read
+         */
+        synchronized void fill(long generation, WorkflowState state, long seqNo) {
+            if (this.generation == generation && this.state == null) {
+                this.state = state;
+                this.seqNo = seqNo;
+                this.filledAtNanos = nanoClock.getAsLong();
+            }
+        }
+
+        private void discardIfExpired() {
+            if (state != null && nanoClock.getAsLong() - filledAtNanos > maxStateAgeNanos) {
+                state = null;
+            }
+        }
+
+        private synchronized void update(UnaryOperator<WorkflowState> update, Long seqNo) {
+            generation++;
+            if (state != null) {
+                state = update.apply(state);
+                if (seqNo != null) {
+                    this.seqNo = seqNo;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.indices;
+
+import org.opensearch.common.Nullable;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.collect.Tuple;
+import org.opensearch.flowframework.model.Template;
+
+/**
+ * The templates parsed by this node, so that reading a template again does not parse its source.
+ * <p>
+ * Templates are keyed by tenant and workflow id, and weighed by the size of their source, the least recently used ones being
+ * evicted. Each template is kept with the sequence number and primary term of the document it was parsed from, so that it is only
+ * used while the document is unchanged. Templates are also discarded when this node writes or deletes their document.
+ */
+class TemplateCache {
+
+    private final Cache<Tuple<String, String>, Entry> cache;
+
+    /**
+     * Instantiates a new TemplateCache
+     * @param maxSizeInBytes the max size of the sources of the cached templates, 0 to disable the cache
+     */
+    TemplateCache(long maxSizeInBytes) {
+        this.cache = maxSizeInBytes > 0
+            ? CacheBuilder.<Tuple<String, String>, Entry>builder()
+                .setMaximumWeight(maxSizeInBytes)
+                .weigher((key, entry) -> entry.sizeInBytes)
+                .build()
+            : null;
+    }
+
+    /**
+     * Gets a cached template
+     * @param tenantId the tenant id
+     * @param workflowId the workflow id
+     * @return the entry, or null if the template is not cached
+     */
+    Entry get(@Nullable String tenantId, String workflowId) {
+        return cache == null ? null : cache.get(new Tuple<>(tenantId, workflowId));
+    }
+
+    /**
+     * Caches a template parsed from its document
+     * @param tenantId the tenant id
+     * @param workflowId the workflow id
+     * @param template the template
+     * @param seqNo the sequence number of the document
+     * @param primaryTerm the primary term of the document
+     * @param sizeInBytes the size of the document source
+     */
+    void put(@Nullable String tenantId, String workflowId, Template template, long seqNo, long primaryTerm, long sizeInBytes) {
+        // Without a sequence number, as when read from a remote metadata store, a template could not be validated
+        if (cache != null && seqNo >= 0 && primaryTerm > 0) {
+            cache.put(new Tuple<>(tenantId, workflowId), new Entry(template, seqNo, primaryTerm, sizeInBytes));
+        }
+    }
+
+    /**
+     * Discards a cached template
+     * @param tenantId the tenant id
+     * @param workflowId the workflow id
+     */
+    void invalidate(@Nullable String tenantId, String workflowId) {
+        if (cache != null) {
+            cache.invalidate(new Tuple<>(tenantId, workflowId));
+        }
+    }
+
+    /**
+     * Returns the number of cached templates
+     * @return the number of cached templates
+     */
+    int size() {
+        return cache == null ? 0 : cache.count();
+    }
+
+    /**
+     * A cached template with the sequence number and primary term of its document
+     */
+    static class Entry {
+        private final Template template;
+        private final long seqNo;
+        private final long primaryTerm;
+        private final long sizeInBytes;
+
+        private Entry(Template template, long seqNo, long primaryTerm, long sizeInBytes) {
+            this.template = template;
+            this.seqNo = seqNo;
+            this.primaryTerm = primaryTerm;
+            this.sizeInBytes = sizeInBytes;
+        }
+
+        /**
+         * Gets the template
+         * @return the template
+         */
+        Template template() {
+            return template;
+        }
+
+        /**
+         * Whether the template was parsed from the given version of its document
+         * @param seqNo the sequence number of the document
+         * @param primaryTerm the primary term of the document
+         * @return true if the template is current
+         */
+        boolean isCurrent(long seqNo, long primaryTerm) {
+            return this.seqNo == seqNo && this.primaryTerm == primaryTerm;
+        }
+    }
+}
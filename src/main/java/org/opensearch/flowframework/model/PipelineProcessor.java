@@ -8,6 +8,9 @@
  */
 package org.opensearch.flowframework.model;
 
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
@@ -25,7 +28,7 @@ import static org.opensearch.flowframework.util.ParseUtils.parseStringToStringMa
 /**
  * This represents a processor associated with search and ingest pipelines in the {@link Template}.
  */
-public class PipelineProcessor implements ToXContentObject {
+public class PipelineProcessor implements ToXContentObject, Writeable {
 
     /** The type field name for pipeline processors */
     public static final String TYPE_FIELD = "type";
@@ -45,6 +48,21 @@ public class PipelineProcessor implements ToXContentObject {
         this.params = params;
     }
 
+    /**
+     * Instantiates a new PipelineProcessor from an input stream
+     * @param input the input stream to read from
+     * @throws IOException if the processor cannot be read from the input stream
+     */
+    public PipelineProcessor(StreamInput input) throws IOException {
+        this(input.readString(), input.readMap(StreamInput::readString, StreamInput::readString));
+    }
+
+    @Override
+    public void writeTo(StreamOutput output) throws IOException {
+        output.writeString(type);
+        output.writeMap(params, StreamOutput::writeString, StreamOutput::writeString);
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         XContentBuilder xContentBuilder = builder.startObject();
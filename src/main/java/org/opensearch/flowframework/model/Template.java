@@ -14,11 +14,15 @@ import org.opensearch.common.xcontent.json.JsonXContent;
 import org.opensearch.common.xcontent.yaml.YamlXContent;
 import org.opensearch.commons.authuser.User;
 import org.opensearch.core.common.Strings;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.flowframework.common.CommonValue;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.util.ParseUtils;
 
@@ -46,7 +50,7 @@ import static org.opensearch.flowframework.common.CommonValue.VERSION_FIELD;
 /**
  * The Template is the central data structure which configures workflows. This object is used to parse JSON communicated via REST API.
  */
-public class Template implements ToXContentObject {
+public class Template implements ToXContentObject, Writeable {
 
     /** The template field name for template workflows */
     public static final String WORKFLOWS_FIELD = "workflows";
@@ -122,6 +126,74 @@ public class Template implements ToXContentObject {
         this.tenantId = tenantId;
     }
 
+    /**
+     * Instantiates a new Template from an input stream
+     * @param input the input stream to read from
+     * @throws IOException if the template cannot be read from the input stream
+     */
+    public Template(StreamInput input) throws IOException {
+        this(
+            input.readOptionalString(),
+            input.readOptionalString(),
+            input.readOptionalString(),
+            input.readBoolean() ? input.readVersion() : null,
+            input.readList(StreamInput::readVersion),
+            input.readMap(StreamInput::readString, Workflow::new),
+            input.readBoolean() ? input.readMap() : null,
+            input.readOptionalWriteable(User::new),
+            input.readOptionalInstant(),
+            input.readOptionalInstant(),
+            input.readOptionalInstant(),
+            input.readOptionalString()
+        );
+    }
+
+    @Override
+    public void writeTo(StreamOutput output) throws IOException {
+        output.writeOptionalString(name);
+        output.writeOptionalString(description);
+        output.writeOptionalString(useCase);
+        output.writeBoolean(templateVersion != null);
+        if (templateVersion != null) {
+            output.writeVersion(templateVersion);
+        }
+        output.writeCollection(compatibilityVersion, StreamOutput::writeVersion);
+        output.writeMap(workflows, StreamOutput::writeString, (out, workflow) -> workflow.writeTo(out));
+        output.writeBoolean(uiMetadata != null);
+        if (uiMetadata != null) {
+            output.writeMap(uiMetadata);
+        }
+        output.writeOptionalWriteable(user);
+        output.writeOptionalInstant(createdTime);
+        output.writeOptionalInstant(lastUpdatedTime);
+        output.writeOptionalInstant(lastProvisionedTime);
+        output.writeOptionalString(tenantId);
+    }
+
+    /**
+     * Reads a template written by {@link #writeTemplate}
+     * @param input the input stream to read from
+     * @return the template
+     * @throws IOException if the template cannot be read from the input stream
+     */
+    public static Template readTemplate(StreamInput input) throws IOException {
+        return input.getVersion().onOrAfter(CommonValue.VERSION_3_0_0) ? new Template(input) : parse(input.readString());
+    }
+
+    /**
+     * Writes a template in its binary format, or as JSON to nodes before 3.0.0
+     * @param output the output stream to write to
+     * @param template the template
+     * @throws IOException if the template cannot be written to the output stream
+     */
+    public static void writeTemplate(StreamOutput output, Template template) throws IOException {
+        if (output.getVersion().onOrAfter(CommonValue.VERSION_3_0_0)) {
+            template.writeTo(output);
+        } else {
+            output.writeString(template.toJson());
+        }
+    }
+
     /**
      * Class for constructing a Builder for Template
      */
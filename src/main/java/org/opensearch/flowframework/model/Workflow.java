@@ -8,6 +8,9 @@
  */
 package org.opensearch.flowframework.model;
 
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
@@ -28,7 +31,7 @@ import static org.opensearch.core.xcontent.XContentParserUtils.ensureExpectedTok
 /**
  * This represents an object in the workflows section of a {@link Template}.
  */
-public class Workflow implements ToXContentObject {
+public class Workflow implements ToXContentObject, Writeable {
 
     /** The template field name for workflow user params */
     public static final String USER_PARAMS_FIELD = "user_params";
@@ -54,6 +57,26 @@ public class Workflow implements ToXContentObject {
         this.edges = List.copyOf(edges);
     }
 
+    /**
+     * Instantiates a new Workflow from an input stream
+     * @param input the input stream to read from
+     * @throws IOException if the workflow cannot be read from the input stream
+     */
+    public Workflow(StreamInput input) throws IOException {
+        this(
+            input.readMap(StreamInput::readString, StreamInput::readString),
+            input.readList(WorkflowNode::new),
+            input.readList(WorkflowEdge::new)
+        );
+    }
+
+    @Override
+    public void writeTo(StreamOutput output) throws IOException {
+        output.writeMap(userParams, StreamOutput::writeString, StreamOutput::writeString);
+        output.writeList(nodes);
+        output.writeList(edges);
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         XContentBuilder xContentBuilder = builder.startObject();
@@ -8,6 +8,9 @@
  */
 package org.opensearch.flowframework.model;
 
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
@@ -22,7 +25,7 @@ import static org.opensearch.core.xcontent.XContentParserUtils.ensureExpectedTok
 /**
  * This represents an edge between process nodes (steps) in a workflow graph in the {@link Template}.
  */
-public class WorkflowEdge implements ToXContentObject {
+public class WorkflowEdge implements ToXContentObject, Writeable {
 
     /** The template field name for source node */
     public static final String SOURCE_FIELD = "source";
@@ -43,6 +46,21 @@ public class WorkflowEdge implements ToXContentObject {
         this.destination = destination;
     }
 
+    /**
+     * Instantiates a new WorkflowEdge from an input stream
+     * @param input the input stream to read from
+     * @throws IOException if the edge cannot be read from the input stream
+     */
+    public WorkflowEdge(StreamInput input) throws IOException {
+        this(input.readString(), input.readString());
+    }
+
+    @Override
+    public void writeTo(StreamOutput output) throws IOException {
+        output.writeString(source);
+        output.writeString(destination);
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         XContentBuilder xContentBuilder = builder.startObject();
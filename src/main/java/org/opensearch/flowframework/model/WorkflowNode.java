@@ -12,11 +12,15 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessageFactory;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.util.EncryptedCredentials;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.flowframework.workflow.ProcessNode;
 import org.opensearch.flowframework.workflow.WorkflowData;
@@ -48,7 +52,7 @@ import static org.opensearch.flowframework.util.ParseUtils.parseStringToStringMa
  * where its type is used to determine the correct {@link WorkflowStep} object,
  * and its inputs are used to populate the {@link WorkflowData} input.
  */
-public class WorkflowNode implements ToXContentObject {
+public class WorkflowNode implements ToXContentObject, Writeable {
     /** The template field name for node id */
     public static final String ID_FIELD = "id";
     /** The template field name for node type */
@@ -63,6 +67,10 @@ public class WorkflowNode implements ToXContentObject {
     public static final String NODE_TIMEOUT_FIELD = "node_timeout";
     /** The default timeout value if the template doesn't override it */
     public static final TimeValue NODE_TIMEOUT_DEFAULT_VALUE = new TimeValue(10, SECONDS);
+    /** The field overriding the initial delay between polls of an ML task started by this node */
+    public static final String TASK_POLL_INITIAL_DELAY_FIELD = "task_poll_initial_delay";
+    /** The field overriding the max delay between polls of an ML task started by this node */
+    public static final String TASK_POLL_MAX_DELAY_FIELD = "task_poll_max_delay";
 
     private final String id; // unique id
     private final String type; // maps to a WorkflowStep
@@ -70,6 +78,13 @@ public class WorkflowNode implements ToXContentObject {
     private final Map<String, Object> userInputs; // maps to WorkflowData
     private static final Logger logger = LogManager.getLogger(WorkflowNode.class);
 
+    // Tags of the user input values which are not written as generic values on the transport layer
+    private static final byte GENERIC_INPUT = 0;
+    private static final byte GUARDRAILS_INPUT = 1;
+    private static final byte PROCESSORS_INPUT = 2;
+    private static final byte STRING_ARRAY_INPUT = 3;
+    private static final byte MAP_ARRAY_INPUT = 4;
+
     /**
      * Create this node with the id and type, and any user input.
      *
@@ -85,6 +100,68 @@ public class WorkflowNode implements ToXContentObject {
         this.userInputs = Map.copyOf(userInputs);
     }
 
+    /**
+     * Instantiates a new WorkflowNode from an input stream
+     * @param input the input stream to read from
+     * @throws IOException if the node cannot be read from the input stream
+     */
+    public WorkflowNode(StreamInput input) throws IOException {
+        this(
+            input.readString(),
+            input.readString(),
+            input.readMap(StreamInput::readString, StreamInput::readString),
+            input.readMap(StreamInput::readString, WorkflowNode::readUserInput)
+        );
+    }
+
+    @Override
+    public void writeTo(StreamOutput output) throws IOException {
+        output.writeString(id);
+        output.writeString(type);
+        output.writeMap(previousNodeInputs, StreamOutput::writeString, StreamOutput::writeString);
+        output.writeMap(userInputs, StreamOutput::writeString, WorkflowNode::writeUserInput);
+    }
+
+    /**
+     * Writes a user input value. Encrypted credentials are written encrypted, as they are to XContent.
+     */
+    private static void writeUserInput(StreamOutput output, Object value) throws IOException {
+        if (value instanceof Guardrails) {
+            output.writeByte(GUARDRAILS_INPUT);
+            ((Guardrails) value).writeTo(output);
+        } else if (value instanceof PipelineProcessor[]) {
+            output.writeByte(PROCESSORS_INPUT);
+            output.writeArray((PipelineProcessor[]) value);
+        } else if (value instanceof String[]) {
+            output.writeByte(STRING_ARRAY_INPUT);
+            output.writeStringArray((String[]) value);
+        } else if (value instanceof Map<?, ?>[]) {
+            output.writeByte(MAP_ARRAY_INPUT);
+            output.writeArray(StreamOutput::writeGenericValue, (Map<?, ?>[]) value);
+        } else {
+            output.writeByte(GENERIC_INPUT);
+            output.writeGenericValue(value instanceof EncryptedCredentials ? ((EncryptedCredentials) value).encrypted() : value);
+        }
+    }
+
+    private static Object readUserInput(StreamInput input) throws IOException {
+        byte tag = input.readByte();
+        switch (tag) {
+            case GENERIC_INPUT:
+                return input.readGenericValue();
+            case GUARDRAILS_INPUT:
+                return new Guardrails(input);
+            case PROCESSORS_INPUT:
+                return input.readArray(PipelineProcessor::new, PipelineProcessor[]::new);
+            case STRING_ARRAY_INPUT:
+                return input.readStringArray();
+            case MAP_ARRAY_INPUT:
+                return input.readArray(in -> (Map<?, ?>) in.readGenericValue(), Map[]::new);
+            default:
+                throw new IOException("Unknown user input tag [" + tag + "]");
+        }
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         XContentBuilder xContentBuilder = builder.startObject();
@@ -102,6 +179,8 @@ public class WorkflowNode implements ToXContentObject {
             } else if (GUARDRAILS_FIELD.equals(e.getKey())) {
                 Guardrails g = (Guardrails) e.getValue();
                 xContentBuilder.value(g);
+            } else if (e.getValue() instanceof EncryptedCredentials) {
+                xContentBuilder.value((EncryptedCredentials) e.getValue());
             } else if (e.getValue() instanceof Map<?, ?>) {
                 buildStringToStringMap(xContentBuilder, (Map<?, ?>) e.getValue());
             } else if (e.getValue() instanceof Object[]) {
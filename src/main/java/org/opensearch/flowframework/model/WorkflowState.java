@@ -34,10 +34,12 @@ import java.util.Map;
 
 import static org.opensearch.core.xcontent.XContentParserUtils.ensureExpectedToken;
 import static org.opensearch.flowframework.common.CommonValue.ERROR_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_NODE_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_PROGRESS_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_END_TIME_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_START_TIME_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.RESOURCES_CREATED_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.SKIPPED_STEPS_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.STATE_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.TENANT_ID_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.USER_FIELD;
@@ -61,6 +63,8 @@ public class WorkflowState implements ToXContentObject, Writeable {
     private Map<String, Object> userOutputs;
     private List<ResourceCreated> resourcesCreated;
     private String tenantId;
+    private List<String> skippedSteps;
+    private String provisioningNode;
 
     /**
      * Instantiate the object representing the workflow state
@@ -125,6 +129,10 @@ public class WorkflowState implements ToXContentObject, Writeable {
         if (input.getVersion().onOrAfter(CommonValue.VERSION_2_19_0)) {
             this.tenantId = input.readOptionalString();
         }
+        if (input.getVersion().onOrAfter(CommonValue.VERSION_3_0_0)) {
+            this.skippedSteps = input.readOptionalStringList();
+            this.provisioningNode = input.readOptionalString();
+        }
     }
 
     /**
@@ -158,6 +166,8 @@ public class WorkflowState implements ToXContentObject, Writeable {
         private Map<String, Object> userOutputs = null;
         private List<ResourceCreated> resourcesCreated = null;
         private String tenantId = null;
+        private List<String> skippedSteps = null;
+        private String provisioningNode = null;
 
         /**
          * Empty Constructor for the Builder object
@@ -179,6 +189,8 @@ public class WorkflowState implements ToXContentObject, Writeable {
             this.userOutputs = existingState.userOutputs();
             this.resourcesCreated = existingState.resourcesCreated();
             this.tenantId = existingState.getTenantId();
+            this.skippedSteps = existingState.skippedSteps();
+            this.provisioningNode = existingState.getProvisioningNode();
         }
 
         /**
@@ -281,6 +293,26 @@ public class WorkflowState implements ToXContentObject, Writeable {
             return this;
         }
 
+        /**
+         * Builder method for adding skipped steps
+         * @param skippedSteps the ids of the steps skipped after a failure
+         * @return the Builder object
+         */
+        public Builder skippedSteps(List<String> skippedSteps) {
+            this.skippedSteps = skippedSteps;
+            return this;
+        }
+
+        /**
+         * Builder method for adding the provisioning node
+         * @param provisioningNode the id of the node provisioning the workflow
+         * @return the Builder object
+         */
+        public Builder provisioningNode(String provisioningNode) {
+            this.provisioningNode = provisioningNode;
+            return this;
+        }
+
         /**
          * Allows building a workflowState
          * @return WorkflowState workflowState Object containing all needed fields
@@ -297,6 +329,8 @@ public class WorkflowState implements ToXContentObject, Writeable {
             workflowState.userOutputs = this.userOutputs;
             workflowState.resourcesCreated = this.resourcesCreated;
             workflowState.tenantId = this.tenantId;
+            workflowState.skippedSteps = this.skippedSteps;
+            workflowState.provisioningNode = this.provisioningNode;
             return workflowState;
         }
     }
@@ -339,12 +373,30 @@ public class WorkflowState implements ToXContentObject, Writeable {
         if (stateWithNewFields.getTenantId() != null) {
             builder.tenantId(stateWithNewFields.getTenantId());
         }
+        if (stateWithNewFields.skippedSteps() != null) {
+            builder.skippedSteps(stateWithNewFields.skippedSteps());
+        }
+        if (stateWithNewFields.getProvisioningNode() != null) {
+            builder.provisioningNode(stateWithNewFields.getProvisioningNode());
+        }
         return builder.build();
     }
 
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
-        XContentBuilder xContentBuilder = builder.startObject();
+        builder.startObject();
+        innerToXContent(builder, params);
+        return builder.endObject();
+    }
+
+    /**
+     * Writes the fields of the workflow state to an object which is already started
+     * @param xContentBuilder the builder of the started object
+     * @param params the params
+     * @return the builder
+     * @throws IOException if the fields cannot be written
+     */
+    public XContentBuilder innerToXContent(XContentBuilder xContentBuilder, Params params) throws IOException {
         if (workflowId != null) {
             xContentBuilder.field(WORKFLOW_ID_FIELD, workflowId);
         }
@@ -375,7 +427,13 @@ public class WorkflowState implements ToXContentObject, Writeable {
         if (tenantId != null) {
             xContentBuilder.field(TENANT_ID_FIELD, tenantId);
         }
-        return xContentBuilder.endObject();
+        if (skippedSteps != null) {
+            xContentBuilder.field(SKIPPED_STEPS_FIELD, skippedSteps);
+        }
+        if (provisioningNode != null) {
+            xContentBuilder.field(PROVISIONING_NODE_FIELD, provisioningNode);
+        }
+        return xContentBuilder;
     }
 
     @Override
@@ -408,6 +466,10 @@ public class WorkflowState implements ToXContentObject, Writeable {
         if (output.getVersion().onOrAfter(CommonValue.VERSION_2_19_0)) {
             output.writeOptionalString(tenantId);
         }
+        if (output.getVersion().onOrAfter(CommonValue.VERSION_3_0_0)) {
+            output.writeOptionalStringCollection(skippedSteps);
+            output.writeOptionalString(provisioningNode);
+        }
     }
 
     /**
@@ -428,6 +490,8 @@ public class WorkflowState implements ToXContentObject, Writeable {
         Map<String, Object> userOutputs = new HashMap<>();
         List<ResourceCreated> resourcesCreated = new ArrayList<>();
         String tenantId = null;
+        List<String> skippedSteps = null;
+        String provisioningNode = null;
 
         ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.currentToken(), parser);
         while (parser.nextToken() != XContentParser.Token.END_OBJECT) {
@@ -456,6 +520,10 @@ public class WorkflowState implements ToXContentObject, Writeable {
                     user = User.parse(parser);
                     break;
                 case USER_OUTPUTS_FIELD:
+                    // Cleared by a fresh provisioning
+                    if (parser.currentToken() == XContentParser.Token.VALUE_NULL) {
+                        break;
+                    }
                     ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.currentToken(), parser);
                     while (parser.nextToken() != XContentParser.Token.END_OBJECT) {
                         String userOutputsFieldName = parser.currentName();
@@ -490,6 +558,16 @@ public class WorkflowState implements ToXContentObject, Writeable {
                 case TENANT_ID_FIELD:
                     tenantId = parser.text();
                     break;
+                case SKIPPED_STEPS_FIELD:
+                    skippedSteps = new ArrayList<>();
+                    ensureExpectedToken(XContentParser.Token.START_ARRAY, parser.currentToken(), parser);
+                    while (parser.nextToken() != XContentParser.Token.END_ARRAY) {
+                        skippedSteps.add(parser.text());
+                    }
+                    break;
+                case PROVISIONING_NODE_FIELD:
+                    provisioningNode = parser.text();
+                    break;
                 default:
                     throw new FlowFrameworkException(
                         "Unable to parse field [" + fieldName + "] in a workflowState object.",
@@ -507,6 +585,8 @@ public class WorkflowState implements ToXContentObject, Writeable {
             .userOutputs(userOutputs)
             .resourcesCreated(resourcesCreated)
             .tenantId(tenantId)
+            .skippedSteps(skippedSteps)
+            .provisioningNode(provisioningNode)
             .build();
     }
 
@@ -606,6 +686,22 @@ public class WorkflowState implements ToXContentObject, Writeable {
         return tenantId;
     }
 
+    /**
+     * The ids of the steps which never started because a previous step failed
+     * @return the skipped steps, or null if none were recorded
+     */
+    public List<String> skippedSteps() {
+        return skippedSteps;
+    }
+
+    /**
+     * The id of the node which last started provisioning the workflow, and keeps its provisioning events
+     * @return the provisioning node id, or null if not recorded
+     */
+    public String getProvisioningNode() {
+        return provisioningNode;
+    }
+
     @Override
     public String toString() {
         return "WorkflowState [workflowId="
@@ -620,6 +716,8 @@ public class WorkflowState implements ToXContentObject, Writeable {
             + userOutputs
             + ", resourcesCreated="
             + resourcesCreated
+            + ", skippedSteps="
+            + skippedSteps
             + "]";
     }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.rest;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.ToXContent;
+import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.transport.GetWorkflowEventsAction;
+import org.opensearch.flowframework.transport.GetWorkflowEventsRequest;
+import org.opensearch.flowframework.util.TenantAwareHelper;
+import org.opensearch.flowframework.workflow.ProvisioningEvent;
+import org.opensearch.rest.BaseRestHandler;
+import org.opensearch.rest.BytesRestResponse;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.transport.client.node.NodeClient;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import static org.opensearch.flowframework.common.CommonValue.EVENTS_AFTER;
+import static org.opensearch.flowframework.common.CommonValue.STATE_WAIT_TIMEOUT;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_ID;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_URI;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.FLOW_FRAMEWORK_ENABLED;
+
+/**
+ * Rest Action to follow the provisioning of a workflow. Responds with the events after the given sequence number as newline
+ * delimited JSON, waiting for the next event if there is none yet. Clients pass the sequence number of the last event received
+ * to the next request, until a terminal event.
+ */
+public class RestGetWorkflowEventsAction extends BaseRestHandler {
+
+    private static final String GET_WORKFLOW_EVENTS_ACTION = "get_workflow_events";
+    private static final Logger logger = LogManager.getLogger(RestGetWorkflowEventsAction.class);
+    private static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+    private static final TimeValue DEFAULT_EVENTS_TIMEOUT = TimeValue.timeValueSeconds(30);
+    private FlowFrameworkSettings flowFrameworkFeatureEnabledSetting;
+
+    /**
+     * Instantiates a new RestGetWorkflowEventsAction
+     * @param flowFrameworkFeatureEnabledSetting Whether this API is enabled
+     */
+    public RestGetWorkflowEventsAction(FlowFrameworkSettings flowFrameworkFeatureEnabledSetting) {
+        this.flowFrameworkFeatureEnabledSetting = flowFrameworkFeatureEnabledSetting;
+    }
+
+    @Override
+    public String getName() {
+        return GET_WORKFLOW_EVENTS_ACTION;
+    }
+
+    @Override
+    protected BaseRestHandler.RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
+        String workflowId = request.param(WORKFLOW_ID);
+        long after = request.paramAsLong(EVENTS_AFTER, -1);
+        TimeValue timeout = request.paramAsTime(STATE_WAIT_TIMEOUT, DEFAULT_EVENTS_TIMEOUT);
+        try {
+            if (!flowFrameworkFeatureEnabledSetting.isFlowFrameworkEnabled()) {
+                throw new FlowFrameworkException(
+                    "This API is disabled. To enable it, update the setting [" + FLOW_FRAMEWORK_ENABLED.getKey() + "] to true.",
+                    RestStatus.FORBIDDEN
+                );
+            }
+            String tenantId = TenantAwareHelper.getTenantID(flowFrameworkFeatureEnabledSetting.isMultiTenancyEnabled(), request);
+
+            // Always consume content to silently ignore it
+            request.content();
+
+            // Validate params
+            if (workflowId == null) {
+                throw new FlowFrameworkException("workflow_id cannot be null", RestStatus.BAD_REQUEST);
+            }
+            if (after < -1) {
+                throw new FlowFrameworkException(EVENTS_AFTER + " must be an event sequence number", RestStatus.BAD_REQUEST);
+            }
+            if (timeout.nanos() < 0) {
+                throw new FlowFrameworkException(STATE_WAIT_TIMEOUT + " must not be negative", RestStatus.BAD_REQUEST);
+            }
+
+            GetWorkflowEventsRequest getEventsRequest = new GetWorkflowEventsRequest(workflowId, tenantId, after, timeout);
+            return channel -> client.execute(GetWorkflowEventsAction.INSTANCE, getEventsRequest, ActionListener.wrap(response -> {
+                channel.sendResponse(new BytesRestResponse(RestStatus.OK, NDJSON_CONTENT_TYPE, toNdjson(response.getEvents())));
+            }, exception -> {
+                try {
+                    FlowFrameworkException ex = exception instanceof FlowFrameworkException
+                        ? (FlowFrameworkException) exception
+                        : new FlowFrameworkException("Failed to get workflow events.", ExceptionsHelper.status(exception));
+                    XContentBuilder exceptionBuilder = ex.toXContent(channel.newErrorBuilder(), ToXContent.EMPTY_PARAMS);
+                    channel.sendResponse(new BytesRestResponse(ex.getRestStatus(), exceptionBuilder));
+                } catch (IOException e) {
+                    String errorMessage = "IOException: Failed to send back get workflow events exception";
+                    logger.error(errorMessage, e);
+                    channel.sendResponse(new BytesRestResponse(ExceptionsHelper.status(e), errorMessage));
+                }
+            }));
+        } catch (FlowFrameworkException ex) {
+            return channel -> channel.sendResponse(
+                new BytesRestResponse(ex.getRestStatus(), ex.toXContent(channel.newErrorBuilder(), ToXContent.EMPTY_PARAMS))
+            );
+        }
+    }
+
+    /**
+     * Writes events as newline delimited JSON
+     * @param events the events
+     * @return one line of JSON for each event
+     * @throws IOException if an event can not be written
+     */
+    static BytesReference toNdjson(List<ProvisioningEvent> events) throws IOException {
+        BytesStreamOutput out = new BytesStreamOutput();
+        for (ProvisioningEvent event : events) {
+            try (XContentBuilder builder = JsonXContent.contentBuilder()) {
+                event.toXContent(builder, ToXContent.EMPTY_PARAMS);
+                BytesReference.bytes(builder).writeTo(out);
+            }
+            out.writeByte((byte) '\n');
+        }
+        return out.bytes();
+    }
+
+    @Override
+    public List<Route> routes() {
+        return List.of(new Route(RestRequest.Method.GET, String.format(Locale.ROOT, "%s/{%s}/%s", WORKFLOW_URI, WORKFLOW_ID, "_events")));
+    }
+}
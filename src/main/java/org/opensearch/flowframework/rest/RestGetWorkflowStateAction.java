@@ -11,27 +11,37 @@ package org.opensearch.flowframework.rest;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.ExceptionsHelper;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.Strings;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.model.State;
 import org.opensearch.flowframework.transport.GetWorkflowStateAction;
 import org.opensearch.flowframework.transport.GetWorkflowStateRequest;
 import org.opensearch.flowframework.util.TenantAwareHelper;
+import org.opensearch.index.seqno.SequenceNumbers;
 import org.opensearch.rest.BaseRestHandler;
 import org.opensearch.rest.BytesRestResponse;
 import org.opensearch.rest.RestRequest;
 import org.opensearch.transport.client.node.NodeClient;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 
+import static org.opensearch.flowframework.common.CommonValue.STATE_WAIT_TIMEOUT;
+import static org.opensearch.flowframework.common.CommonValue.WAIT_FOR_CHANGE_SINCE;
+import static org.opensearch.flowframework.common.CommonValue.WAIT_FOR_STATE;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_ID;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_URI;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FLOW_FRAMEWORK_ENABLED;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MAX_STATE_WAIT_TIMEOUT;
 
 /**
  * Rest Action to facilitate requests to get a workflow status
@@ -40,6 +50,7 @@ public class RestGetWorkflowStateAction extends BaseRestHandler {
 
     private static final String GET_WORKFLOW_STATE_ACTION = "get_workflow_state";
     private static final Logger logger = LogManager.getLogger(RestGetWorkflowStateAction.class);
+    private static final TimeValue DEFAULT_STATE_WAIT_TIMEOUT = TimeValue.timeValueSeconds(30);
     private FlowFrameworkSettings flowFrameworkFeatureEnabledSetting;
 
     /**
@@ -59,6 +70,11 @@ public class RestGetWorkflowStateAction extends BaseRestHandler {
     protected BaseRestHandler.RestChannelConsumer prepareRequest(RestRequest request, NodeClient client) throws IOException {
         String workflowId = request.param(WORKFLOW_ID);
         boolean all = request.paramAsBoolean("all", false);
+        String[] waitForStates = request.paramAsStringArray(WAIT_FOR_STATE, Strings.EMPTY_ARRAY);
+        long waitForChangeSince = request.paramAsLong(WAIT_FOR_CHANGE_SINCE, SequenceNumbers.UNASSIGNED_SEQ_NO);
+        TimeValue maxTimeout = flowFrameworkFeatureEnabledSetting.getMaxStateWaitTimeout();
+        TimeValue defaultTimeout = DEFAULT_STATE_WAIT_TIMEOUT.compareTo(maxTimeout) > 0 ? maxTimeout : DEFAULT_STATE_WAIT_TIMEOUT;
+        TimeValue timeout = request.paramAsTime(STATE_WAIT_TIMEOUT, defaultTimeout);
         try {
             if (!flowFrameworkFeatureEnabledSetting.isFlowFrameworkEnabled()) {
                 throw new FlowFrameworkException(
@@ -76,8 +92,43 @@ public class RestGetWorkflowStateAction extends BaseRestHandler {
             if (workflowId == null) {
                 throw new FlowFrameworkException("workflow_id cannot be null", RestStatus.BAD_REQUEST);
             }
+            List<String> states = new ArrayList<>();
+            for (String state : waitForStates) {
+                try {
+                    states.add(State.valueOf(state.trim().toUpperCase(Locale.ROOT)).name());
+                } catch (IllegalArgumentException e) {
+                    throw new FlowFrameworkException(
+                        "Invalid " + WAIT_FOR_STATE + " [" + state + "], must be one of " + Arrays.toString(State.values()),
+                        RestStatus.BAD_REQUEST
+                    );
+                }
+            }
+            if (waitForChangeSince < SequenceNumbers.UNASSIGNED_SEQ_NO) {
+                throw new FlowFrameworkException(WAIT_FOR_CHANGE_SINCE + " must be a sequence number", RestStatus.BAD_REQUEST);
+            }
+            if (timeout.nanos() < 0) {
+                throw new FlowFrameworkException(STATE_WAIT_TIMEOUT + " must not be negative", RestStatus.BAD_REQUEST);
+            }
+            if (timeout.compareTo(maxTimeout) > 0) {
+                throw new FlowFrameworkException(
+                    STATE_WAIT_TIMEOUT
+                        + " must not exceed "
+                        + maxTimeout
+                        + ". Change the setting ["
+                        + MAX_STATE_WAIT_TIMEOUT.getKey()
+                        + "] to increase this.",
+                    RestStatus.BAD_REQUEST
+                );
+            }
 
-            GetWorkflowStateRequest getWorkflowRequest = new GetWorkflowStateRequest(workflowId, all, tenantId);
+            GetWorkflowStateRequest getWorkflowRequest = new GetWorkflowStateRequest(
+                workflowId,
+                all,
+                tenantId,
+                states,
+                waitForChangeSince,
+                timeout
+            );
             return channel -> client.execute(GetWorkflowStateAction.INSTANCE, getWorkflowRequest, ActionListener.wrap(response -> {
                 XContentBuilder builder = response.toXContent(channel.newBuilder(), ToXContent.EMPTY_PARAMS);
                 channel.sendResponse(new BytesRestResponse(RestStatus.OK, builder));
@@ -150,6 +150,7 @@ public class DeleteWorkflowTransportAction extends HandledTransportAction<Workfl
             if (throwable == null) {
                 try {
                     DeleteResponse response = DeleteResponse.fromXContent(r.parser());
+                    flowFrameworkIndicesHandler.invalidateTemplate(workflowId, tenantId);
                     listener.onResponse(response);
                 } catch (Exception e) {
                     logger.error("Failed to parse delete response", e);
@@ -25,6 +25,7 @@ import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.Strings;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.flowframework.common.FlowFrameworkExecutors;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
@@ -78,6 +79,7 @@ public class DeprovisionWorkflowTransportAction extends HandledTransportAction<W
     private final WorkflowStepFactory workflowStepFactory;
     private final FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
     private final FlowFrameworkSettings flowFrameworkSettings;
+    private final FlowFrameworkExecutors flowFrameworkExecutors;
     private volatile Boolean filterByEnabled;
     private final ClusterService clusterService;
     private final NamedXContentRegistry xContentRegistry;
@@ -95,6 +97,7 @@ public class DeprovisionWorkflowTransportAction extends HandledTransportAction<W
      * @param clusterService the cluster service
      * @param xContentRegistry contentRegister to parse get response
      * @param settings the plugin settings
+     * @param flowFrameworkExecutors the executors of the flow framework thread pools
      */
     @Inject
     public DeprovisionWorkflowTransportAction(
@@ -108,7 +111,8 @@ public class DeprovisionWorkflowTransportAction extends HandledTransportAction<W
         FlowFrameworkSettings flowFrameworkSettings,
         ClusterService clusterService,
         NamedXContentRegistry xContentRegistry,
-        Settings settings
+        Settings settings,
+        FlowFrameworkExecutors flowFrameworkExecutors
     ) {
         super(DeprovisionWorkflowAction.NAME, transportService, actionFilters, WorkflowRequest::new);
         this.threadPool = threadPool;
@@ -117,6 +121,7 @@ public class DeprovisionWorkflowTransportAction extends HandledTransportAction<W
         this.workflowStepFactory = workflowStepFactory;
         this.flowFrameworkIndicesHandler = flowFrameworkIndicesHandler;
         this.flowFrameworkSettings = flowFrameworkSettings;
+        this.flowFrameworkExecutors = flowFrameworkExecutors;
         filterByEnabled = FILTER_BY_BACKEND_ROLES.get(settings);
         this.xContentRegistry = xContentRegistry;
         this.clusterService = clusterService;
@@ -180,7 +185,7 @@ public class DeprovisionWorkflowTransportAction extends HandledTransportAction<W
 
             Set<String> deleteAllowedResources = Strings.tokenizeByCommaToSet(allowDelete);
             // Retrieve resources from workflow state and deprovision
-            threadPool.executor(DEPROVISION_WORKFLOW_THREAD_POOL)
+            flowFrameworkExecutors.executor(DEPROVISION_WORKFLOW_THREAD_POOL)
                 .execute(
                     () -> executeDeprovisionSequence(
                         workflowId,
@@ -278,6 +283,8 @@ public class DeprovisionWorkflowTransportAction extends HandledTransportAction<W
                     if (t.getCause() instanceof OpenSearchStatusException
                         && ((OpenSearchStatusException) t.getCause()).status() == RestStatus.NOT_FOUND) {
                         logger.info("Successful (not found) {} for {}", deprovisionNode.id(), resourceNameAndId);
+                        // Remove from state index resource list, ignoring failures as we catch up at the end
+                        flowFrameworkIndicesHandler.deleteResourceFromStateIndex(workflowId, tenantId, resource, stateUpdateFuture);
                         // Remove from list so we don't try again
                         iter.remove();
                     } else {
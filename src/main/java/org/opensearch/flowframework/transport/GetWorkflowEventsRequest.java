@@ -0,0 +1,125 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.transport;
+
+import org.opensearch.action.ActionRequest;
+import org.opensearch.action.ActionRequestValidationException;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+
+import java.io.IOException;
+
+/**
+ * Transport Request to get the provisioning events of a workflow
+ */
+public class GetWorkflowEventsRequest extends ActionRequest {
+
+    private final String workflowId;
+    private final String tenantId;
+    private final long after;
+    private final TimeValue timeout;
+    private final boolean forwarded;
+
+    /**
+     * Instantiates a new GetWorkflowEventsRequest
+     * @param workflowId the workflow id
+     * @param tenantId the tenant id
+     * @param after the sequence number of the last event read, or -1 to read from the first event
+     * @param timeout the longest time to wait for an event
+     */
+    public GetWorkflowEventsRequest(String workflowId, String tenantId, long after, TimeValue timeout) {
+        this(workflowId, tenantId, after, timeout, false);
+    }
+
+    private GetWorkflowEventsRequest(String workflowId, String tenantId, long after, TimeValue timeout, boolean forwarded) {
+        this.workflowId = workflowId;
+        this.tenantId = tenantId;
+        this.after = after;
+        this.timeout = timeout;
+        this.forwarded = forwarded;
+    }
+
+    /**
+     * Instantiates a new GetWorkflowEventsRequest from an input stream
+     * @param in The input stream to read from
+     * @throws IOException If the stream cannot be read properly
+     */
+    public GetWorkflowEventsRequest(StreamInput in) throws IOException {
+        super(in);
+        this.workflowId = in.readString();
+        this.tenantId = in.readOptionalString();
+        this.after = in.readLong();
+        this.timeout = in.readTimeValue();
+        this.forwarded = in.readBoolean();
+    }
+
+    /**
+     * Gets the workflow id
+     * @return the workflow id
+     */
+    public String getWorkflowId() {
+        return this.workflowId;
+    }
+
+    /**
+     * Gets the tenant id
+     * @return the tenant id
+     */
+    public String getTenantId() {
+        return this.tenantId;
+    }
+
+    /**
+     * Gets the sequence number of the last event read
+     * @return the sequence number, or -1 to read from the first event
+     */
+    public long getAfter() {
+        return this.after;
+    }
+
+    /**
+     * Gets the longest time to wait for an event
+     * @return the timeout
+     */
+    public TimeValue getTimeout() {
+        return this.timeout;
+    }
+
+    /**
+     * Whether this request was forwarded to the node provisioning the workflow, and must not be forwarded again
+     * @return true if the request was forwarded
+     */
+    public boolean isForwarded() {
+        return this.forwarded;
+    }
+
+    /**
+     * Copies this request to forward it to the node provisioning the workflow
+     * @return the forwarded request
+     */
+    public GetWorkflowEventsRequest forwarded() {
+        return new GetWorkflowEventsRequest(workflowId, tenantId, after, timeout, true);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        out.writeString(workflowId);
+        out.writeOptionalString(tenantId);
+        out.writeLong(after);
+        out.writeTimeValue(timeout);
+        out.writeBoolean(forwarded);
+    }
+
+    @Override
+    public ActionRequestValidationException validate() {
+        return null;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.transport;
+
+import org.opensearch.core.action.ActionResponse;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.flowframework.workflow.ProvisioningEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Transport Response from getting the provisioning events of a workflow
+ */
+public class GetWorkflowEventsResponse extends ActionResponse {
+
+    /** The events, in the order they were recorded */
+    private final List<ProvisioningEvent> events;
+
+    /**
+     * Instantiates a new GetWorkflowEventsResponse
+     * @param events the events, in the order they were recorded
+     */
+    public GetWorkflowEventsResponse(List<ProvisioningEvent> events) {
+        this.events = events;
+    }
+
+    /**
+     * Instantiates a new GetWorkflowEventsResponse from an input stream
+     * @param in the input stream to read from
+     * @throws IOException if the events cannot be read from the input stream
+     */
+    public GetWorkflowEventsResponse(StreamInput in) throws IOException {
+        super(in);
+        this.events = in.readList(ProvisioningEvent::new);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeList(events);
+    }
+
+    /**
+     * Gets the events
+     * @return the events, in the order they were recorded
+     */
+    public List<ProvisioningEvent> getEvents() {
+        return events;
+    }
+}
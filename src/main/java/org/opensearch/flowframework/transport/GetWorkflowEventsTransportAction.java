@@ -0,0 +1,194 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.transport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessageFactory;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.support.ActionFilters;
+import org.opensearch.action.support.ContextPreservingActionListener;
+import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.inject.Inject;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.commons.authuser.User;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
+import org.opensearch.flowframework.util.ParseUtils;
+import org.opensearch.flowframework.util.ProvisioningNodeRouter;
+import org.opensearch.flowframework.util.TenantAwareHelper;
+import org.opensearch.flowframework.workflow.ProvisioningEventLog;
+import org.opensearch.remote.metadata.client.SdkClient;
+import org.opensearch.tasks.Task;
+import org.opensearch.transport.TransportService;
+import org.opensearch.transport.client.Client;
+
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES;
+import static org.opensearch.flowframework.util.ParseUtils.resolveUserAndExecute;
+
+/**
+ * Transport Action to get the provisioning events of a workflow. The events are kept in memory by the node provisioning the
+ * workflow, so a node which has no events of the workflow forwards the request to the provisioning node recorded in its state.
+ */
+public class GetWorkflowEventsTransportAction extends HandledTransportAction<GetWorkflowEventsRequest, GetWorkflowEventsResponse> {
+
+    private final Logger logger = LogManager.getLogger(GetWorkflowEventsTransportAction.class);
+
+    private final ProvisioningEventLog provisioningEventLog;
+    private final FlowFrameworkSettings flowFrameworkSettings;
+    private final Client client;
+    private final SdkClient sdkClient;
+    private final NamedXContentRegistry xContentRegistry;
+    private volatile Boolean filterByEnabled;
+    private final ClusterService clusterService;
+    private final TransportService transportService;
+    private final FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
+
+    /**
+     * Instantiates a new GetWorkflowEventsTransportAction
+     * @param transportService The TransportService
+     * @param actionFilters action filters
+     * @param provisioningEventLog the log of provisioning events
+     * @param flowFrameworkSettings the plugin settings
+     * @param client The client used to make the request to OS
+     * @param sdkClient the Multitenant Client
+     * @param xContentRegistry contentRegister to parse get response
+     * @param clusterService the cluster service
+     * @param settings the plugin settings
+     * @param flowFrameworkIndicesHandler the handler of the state index, reading the provisioning node of the workflow
+     */
+    @Inject
+    public GetWorkflowEventsTransportAction(
+        TransportService transportService,
+        ActionFilters actionFilters,
+        ProvisioningEventLog provisioningEventLog,
+        FlowFrameworkSettings flowFrameworkSettings,
+        Client client,
+        SdkClient sdkClient,
+        NamedXContentRegistry xContentRegistry,
+        ClusterService clusterService,
+        Settings settings,
+        FlowFrameworkIndicesHandler flowFrameworkIndicesHandler
+    ) {
+        super(GetWorkflowEventsAction.NAME, transportService, actionFilters, GetWorkflowEventsRequest::new);
+        this.provisioningEventLog = provisioningEventLog;
+        this.flowFrameworkSettings = flowFrameworkSettings;
+        this.client = client;
+        this.sdkClient = sdkClient;
+        this.xContentRegistry = xContentRegistry;
+        filterByEnabled = FILTER_BY_BACKEND_ROLES.get(settings);
+        this.clusterService = clusterService;
+        this.transportService = transportService;
+        this.flowFrameworkIndicesHandler = flowFrameworkIndicesHandler;
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(FILTER_BY_BACKEND_ROLES, it -> filterByEnabled = it);
+    }
+
+    @Override
+    protected void doExecute(Task task, GetWorkflowEventsRequest request, ActionListener<GetWorkflowEventsResponse> listener) {
+        String tenantId = request.getTenantId();
+        if (!TenantAwareHelper.validateTenantId(flowFrameworkSettings.isMultiTenancyEnabled(), tenantId, listener)) {
+            return;
+        }
+        String workflowId = request.getWorkflowId();
+        User user = ParseUtils.getUserContext(client);
+
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            resolveUserAndExecute(
+                user,
+                workflowId,
+                tenantId,
+                filterByEnabled,
+                true,
+                flowFrameworkSettings.isMultiTenancyEnabled(),
+                listener,
+                () -> readEvents(request, listener, context),
+                client,
+                sdkClient,
+                clusterService,
+                xContentRegistry
+            );
+        } catch (Exception e) {
+            String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage("Failed to get events of workflow: {}", workflowId)
+                .getFormattedMessage();
+            logger.error(errorMessage, e);
+            listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(e)));
+        }
+    }
+
+    /**
+     * Reads the events of the workflow, waiting for the next one without holding a thread. If this node has no events of the
+     * workflow, the request is forwarded to the node provisioning it.
+     * @param request the get workflow events request
+     * @param listener the action listener
+     * @param context the thread context
+     */
+    private void readEvents(
+        GetWorkflowEventsRequest request,
+        ActionListener<GetWorkflowEventsResponse> listener,
+        ThreadContext.StoredContext context
+    ) {
+        String workflowId = request.getWorkflowId();
+        context.restore();
+        ActionListener<GetWorkflowEventsResponse> contextListener = new ContextPreservingActionListener<>(
+            client.threadPool().getThreadContext().newRestorableContext(false),
+            listener
+        );
+        provisioningEventLog.read(workflowId, request.getAfter(), request.getTimeout(), ActionListener.wrap(events -> {
+            if (events != null) {
+                contextListener.onResponse(new GetWorkflowEventsResponse(events));
+            } else if (request.isForwarded()) {
+                contextListener.onFailure(noEventsException(workflowId));
+            } else {
+                forwardToProvisioningNode(request, contextListener);
+            }
+        }, contextListener::onFailure));
+    }
+
+    /**
+     * Forwards the request to the node provisioning the workflow, as recorded in the workflow state
+     * @param request the get workflow events request
+     * @param listener the action listener
+     */
+    private void forwardToProvisioningNode(GetWorkflowEventsRequest request, ActionListener<GetWorkflowEventsResponse> listener) {
+        String workflowId = request.getWorkflowId();
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            flowFrameworkIndicesHandler.getWorkflowState(workflowId, request.getTenantId(), ActionListener.wrap(workflowState -> {
+                DiscoveryNode node = ProvisioningNodeRouter.getRemoteProvisioningNode(clusterService, workflowState);
+                if (node == null) {
+                    listener.onFailure(noEventsException(workflowId));
+                    return;
+                }
+                logger.debug("Forwarding events request of workflow {} to provisioning node {}", workflowId, node.getId());
+                ProvisioningNodeRouter.forward(
+                    transportService,
+                    node,
+                    GetWorkflowEventsAction.NAME,
+                    request.forwarded(),
+                    GetWorkflowEventsResponse::new,
+                    listener
+                );
+            }, listener::onFailure), context);
+        }
+    }
+
+    private static FlowFrameworkException noEventsException(String workflowId) {
+        String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+            "No provisioning events of workflow {}, it is not being provisioned and was not recently provisioned",
+            workflowId
+        ).getFormattedMessage();
+        return new FlowFrameworkException(errorMessage, RestStatus.NOT_FOUND);
+    }
+}
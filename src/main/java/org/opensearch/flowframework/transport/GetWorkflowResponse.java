@@ -28,11 +28,11 @@ public class GetWorkflowResponse extends ActionResponse implements ToXContentObj
     /**
      * Instantiates a new GetWorkflowResponse from an input stream
      * @param in the input stream to read from
-     * @throws IOException if the template json cannot be read from the input stream
+     * @throws IOException if the template cannot be read from the input stream
      */
     public GetWorkflowResponse(StreamInput in) throws IOException {
         super(in);
-        this.template = Template.parse(in.readString());
+        this.template = Template.readTemplate(in);
     }
 
     /**
@@ -45,7 +45,7 @@ public class GetWorkflowResponse extends ActionResponse implements ToXContentObj
 
     @Override
     public void writeTo(StreamOutput out) throws IOException {
-        out.writeString(template.toJson());
+        Template.writeTemplate(out, template);
     }
 
     @Override
@@ -11,11 +11,15 @@ package org.opensearch.flowframework.transport;
 import org.opensearch.action.ActionRequest;
 import org.opensearch.action.ActionRequestValidationException;
 import org.opensearch.common.Nullable;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
 import org.opensearch.flowframework.common.CommonValue;
+import org.opensearch.index.seqno.SequenceNumbers;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Transport Request to get a workflow status
@@ -35,6 +39,26 @@ public class GetWorkflowStateRequest extends ActionRequest {
 
     private String tenantId;
 
+    /**
+     * The states to wait for, or empty to not wait for a state
+     */
+    private List<String> waitForStates;
+
+    /**
+     * The state document sequence number after which to wait for a change, or unassigned to not wait for a change
+     */
+    private long waitForChangeSince;
+
+    /**
+     * The longest time to wait
+     */
+    private TimeValue timeout;
+
+    /**
+     * Whether the request was forwarded to the node provisioning the workflow
+     */
+    private boolean forwarded;
+
     /**
      * Instantiates a new GetWorkflowStateRequest
      * @param workflowId the documentId of the workflow
@@ -42,9 +66,32 @@ public class GetWorkflowStateRequest extends ActionRequest {
      * @param tenantId the tenant id
      */
     public GetWorkflowStateRequest(@Nullable String workflowId, boolean all, String tenantId) {
+        this(workflowId, all, tenantId, Collections.emptyList(), SequenceNumbers.UNASSIGNED_SEQ_NO, TimeValue.ZERO);
+    }
+
+    /**
+     * Instantiates a new GetWorkflowStateRequest which waits for the state of the workflow
+     * @param workflowId the documentId of the workflow
+     * @param all whether the get request is looking for all fields in status
+     * @param tenantId the tenant id
+     * @param waitForStates the states to wait for, or empty to not wait for a state
+     * @param waitForChangeSince the state document sequence number after which to wait for a change, or unassigned to not wait
+     * @param timeout the longest time to wait
+     */
+    public GetWorkflowStateRequest(
+        @Nullable String workflowId,
+        boolean all,
+        String tenantId,
+        List<String> waitForStates,
+        long waitForChangeSince,
+        TimeValue timeout
+    ) {
         this.workflowId = workflowId;
         this.all = all;
         this.tenantId = tenantId;
+        this.waitForStates = waitForStates;
+        this.waitForChangeSince = waitForChangeSince;
+        this.timeout = timeout;
     }
 
     /**
@@ -59,6 +106,16 @@ public class GetWorkflowStateRequest extends ActionRequest {
         if (in.getVersion().onOrAfter(CommonValue.VERSION_2_19_0)) {
             this.tenantId = in.readOptionalString();
         }
+        if (in.getVersion().onOrAfter(CommonValue.VERSION_3_0_0)) {
+            this.waitForStates = in.readStringList();
+            this.waitForChangeSince = in.readZLong();
+            this.timeout = in.readTimeValue();
+            this.forwarded = in.readBoolean();
+        } else {
+            this.waitForStates = Collections.emptyList();
+            this.waitForChangeSince = SequenceNumbers.UNASSIGNED_SEQ_NO;
+            this.timeout = TimeValue.ZERO;
+        }
     }
 
     /**
@@ -86,6 +143,63 @@ public class GetWorkflowStateRequest extends ActionRequest {
         return this.tenantId;
     }
 
+    /**
+     * Gets the states to wait for
+     * @return the states to wait for, or empty to not wait for a state
+     */
+    public List<String> getWaitForStates() {
+        return this.waitForStates;
+    }
+
+    /**
+     * Gets the state document sequence number after which to wait for a change
+     * @return the sequence number, or unassigned to not wait for a change
+     */
+    public long getWaitForChangeSince() {
+        return this.waitForChangeSince;
+    }
+
+    /**
+     * Gets the longest time to wait
+     * @return the timeout
+     */
+    public TimeValue getTimeout() {
+        return this.timeout;
+    }
+
+    /**
+     * Gets whether the request waits for the state of the workflow
+     * @return true if the request waits for a state or a change
+     */
+    public boolean isWait() {
+        return !waitForStates.isEmpty() || waitForChangeSince != SequenceNumbers.UNASSIGNED_SEQ_NO;
+    }
+
+    /**
+     * Whether this request was forwarded to the node provisioning the workflow, and must not be forwarded again
+     * @return true if the request was forwarded
+     */
+    public boolean isForwarded() {
+        return this.forwarded;
+    }
+
+    /**
+     * Copies this request to forward it to the node provisioning the workflow
+     * @return the forwarded request
+     */
+    public GetWorkflowStateRequest forwarded() {
+        GetWorkflowStateRequest request = new GetWorkflowStateRequest(
+            workflowId,
+            all,
+            tenantId,
+            waitForStates,
+            waitForChangeSince,
+            timeout
+        );
+        request.forwarded = true;
+        return request;
+    }
+
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         super.writeTo(out);
@@ -94,6 +208,12 @@ public class GetWorkflowStateRequest extends ActionRequest {
         if (out.getVersion().onOrAfter(CommonValue.VERSION_2_19_0)) {
             out.writeOptionalString(tenantId);
         }
+        if (out.getVersion().onOrAfter(CommonValue.VERSION_3_0_0)) {
+            out.writeStringCollection(waitForStates);
+            out.writeZLong(waitForChangeSince);
+            out.writeTimeValue(timeout);
+            out.writeBoolean(forwarded);
+        }
     }
 
     @Override
@@ -13,10 +13,14 @@ import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.common.io.stream.StreamOutput;
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
+import org.opensearch.flowframework.common.CommonValue;
 import org.opensearch.flowframework.model.WorkflowState;
+import org.opensearch.index.seqno.SequenceNumbers;
 
 import java.io.IOException;
 
+import static org.opensearch.flowframework.common.CommonValue.SEQ_NO_FIELD;
+
 /**
  * Transport Response from getting a workflow status
  */
@@ -26,6 +30,8 @@ public class GetWorkflowStateResponse extends ActionResponse implements ToXConte
     private final WorkflowState workflowState;
     /** Flag to indicate if the entire state should be returned */
     private final boolean allStatus;
+    /** The sequence number of the state document */
+    private final long seqNo;
 
     /**
      * Instantiates a new GetWorkflowStateResponse from an input stream
@@ -36,6 +42,7 @@ public class GetWorkflowStateResponse extends ActionResponse implements ToXConte
         super(in);
         workflowState = new WorkflowState(in);
         allStatus = in.readBoolean();
+        seqNo = in.getVersion().onOrAfter(CommonValue.VERSION_3_0_0) ? in.readZLong() : SequenceNumbers.UNASSIGNED_SEQ_NO;
     }
 
     /**
@@ -44,7 +51,18 @@ public class GetWorkflowStateResponse extends ActionResponse implements ToXConte
      * @param allStatus whether to return all fields in state index
      */
     public GetWorkflowStateResponse(WorkflowState workflowState, boolean allStatus) {
+        this(workflowState, allStatus, SequenceNumbers.UNASSIGNED_SEQ_NO);
+    }
+
+    /**
+     * Instatiates a new GetWorkflowStateResponse with the sequence number of the state document
+     * @param workflowState the workflow state object
+     * @param allStatus whether to return all fields in state index
+     * @param seqNo the sequence number of the state document to return, or unassigned to not return it
+     */
+    public GetWorkflowStateResponse(WorkflowState workflowState, boolean allStatus, long seqNo) {
         this.allStatus = allStatus;
+        this.seqNo = seqNo;
         if (allStatus) {
             this.workflowState = workflowState;
         } else {
@@ -53,6 +71,7 @@ public class GetWorkflowStateResponse extends ActionResponse implements ToXConte
                 .error(workflowState.getError())
                 .state(workflowState.getState())
                 .resourcesCreated(workflowState.resourcesCreated())
+                .skippedSteps(workflowState.skippedSteps())
                 .build();
         }
     }
@@ -61,11 +80,20 @@ public class GetWorkflowStateResponse extends ActionResponse implements ToXConte
     public void writeTo(StreamOutput out) throws IOException {
         workflowState.writeTo(out);
         out.writeBoolean(allStatus);
+        if (out.getVersion().onOrAfter(CommonValue.VERSION_3_0_0)) {
+            out.writeZLong(seqNo);
+        }
     }
 
     @Override
     public XContentBuilder toXContent(XContentBuilder xContentBuilder, Params params) throws IOException {
-        return workflowState.toXContent(xContentBuilder, params);
+        if (seqNo == SequenceNumbers.UNASSIGNED_SEQ_NO) {
+            return workflowState.toXContent(xContentBuilder, params);
+        }
+        // The sequence number is returned alongside the state fields, to be passed back to wait for a change
+        xContentBuilder.startObject();
+        workflowState.innerToXContent(xContentBuilder, params);
+        return xContentBuilder.field(SEQ_NO_FIELD, seqNo).endObject();
     }
 
     /**
@@ -83,4 +111,12 @@ public class GetWorkflowStateResponse extends ActionResponse implements ToXConte
     public boolean isAllStatus() {
         return allStatus;
     }
+
+    /**
+     * Gets the sequence number of the state document.
+     * @return the sequence number, or unassigned if unknown
+     */
+    public long getSeqNo() {
+        return seqNo;
+    }
 }
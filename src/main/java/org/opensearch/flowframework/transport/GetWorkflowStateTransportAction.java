@@ -14,9 +14,14 @@ import org.apache.logging.log4j.message.ParameterizedMessageFactory;
 import org.opensearch.ExceptionsHelper;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.support.HandledTransportAction;
+import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.collect.Tuple;
 import org.opensearch.common.inject.Inject;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.commons.authuser.User;
 import org.opensearch.core.action.ActionListener;
@@ -24,13 +29,19 @@ import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
+import org.opensearch.flowframework.model.State;
+import org.opensearch.flowframework.model.WorkflowState;
 import org.opensearch.flowframework.util.ParseUtils;
+import org.opensearch.flowframework.util.ProvisioningNodeRouter;
 import org.opensearch.flowframework.util.TenantAwareHelper;
+import org.opensearch.index.seqno.SequenceNumbers;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.tasks.Task;
 import org.opensearch.transport.TransportService;
 import org.opensearch.transport.client.Client;
 
+import java.util.function.Consumer;
+
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES;
 import static org.opensearch.flowframework.util.ParseUtils.resolveUserAndExecute;
 
@@ -39,11 +50,22 @@ import static org.opensearch.flowframework.util.ParseUtils.resolveUserAndExecute
 /**
  * Transport Action to get a specific workflow. Currently, we only support the action with _status
  * in the API path but will add the ability to get the workflow and not just the status in the future
+ * <p>
+ * Requests about a workflow being provisioned are forwarded to the node provisioning it, which serves its state from memory and
+ * is notified of its changes. The provisioning node is only recorded in the state document, so the first request a node receives
+ * about a workflow provisioned elsewhere still reads the state index to find it. The node is then remembered for up to
+ * {@link #MAX_ROUTE_AGE}, and later requests are forwarded without reading the state index until the provisioning node answers
+ * with a state other than provisioning, fails to answer, or leaves the cluster.
  */
 public class GetWorkflowStateTransportAction extends HandledTransportAction<GetWorkflowStateRequest, GetWorkflowStateResponse> {
 
     private final Logger logger = LogManager.getLogger(GetWorkflowStateTransportAction.class);
 
+    /** The largest number of workflows provisioned on other nodes whose provisioning node is remembered */
+    static final int MAX_ROUTES = 10_000;
+    /** How long the provisioning node of a workflow is remembered, which bounds how long a stale node keeps receiving requests */
+    static final TimeValue MAX_ROUTE_AGE = TimeValue.timeValueSeconds(30);
+
     private final FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
     private final FlowFrameworkSettings flowFrameworkSettings;
     private final Client client;
@@ -51,6 +73,12 @@ public class GetWorkflowStateTransportAction extends HandledTransportAction<GetW
     private final NamedXContentRegistry xContentRegistry;
     private volatile Boolean filterByEnabled;
     private final ClusterService clusterService;
+    private final TransportService transportService;
+    // The id of the remote node provisioning each workflow, by tenant and workflow ID
+    private final Cache<Tuple<String, String>, String> provisioningNodes = CacheBuilder.<Tuple<String, String>, String>builder()
+        .setMaximumWeight(MAX_ROUTES)
+        .setExpireAfterWrite(MAX_ROUTE_AGE)
+        .build();
 
     /**
      * Instantiates a new GetWorkflowStateTransportAction
@@ -84,6 +112,7 @@ public class GetWorkflowStateTransportAction extends HandledTransportAction<GetW
         this.xContentRegistry = xContentRegistry;
         filterByEnabled = FILTER_BY_BACKEND_ROLES.get(settings);
         this.clusterService = clusterService;
+        this.transportService = transportService;
         clusterService.getClusterSettings().addSettingsUpdateConsumer(FILTER_BY_BACKEND_ROLES, it -> filterByEnabled = it);
     }
 
@@ -135,9 +164,109 @@ public class GetWorkflowStateTransportAction extends HandledTransportAction<GetW
         ThreadContext.StoredContext context
     ) {
         String workflowId = request.getWorkflowId();
-        flowFrameworkIndicesHandler.getWorkflowState(workflowId, tenantId, ActionListener.wrap(workflowState -> {
-            GetWorkflowStateResponse workflowStateResponse = new GetWorkflowStateResponse(workflowState, request.getAll());
+        ActionListener<Tuple<WorkflowState, Long>> stateListener = ActionListener.wrap(stateAndSeqNo -> {
+            // The sequence number is only returned to callers waiting for a change, which pass it back to wait for the next one
+            GetWorkflowStateResponse workflowStateResponse = new GetWorkflowStateResponse(
+                stateAndSeqNo.v1(),
+                request.getAll(),
+                request.isWait() ? stateAndSeqNo.v2() : SequenceNumbers.UNASSIGNED_SEQ_NO
+            );
             listener.onResponse(workflowStateResponse);
+        }, listener::onFailure);
+        if (!request.isForwarded() && forwardToKnownProvisioningNode(request, tenantId, listener, context)) {
+            return;
+        }
+        flowFrameworkIndicesHandler.getWorkflowStateAndSeqNo(workflowId, tenantId, ActionListener.wrap(stateAndSeqNo -> {
+            DiscoveryNode provisioningNode = request.isForwarded() || !State.PROVISIONING.name().equals(stateAndSeqNo.v1().getState())
+                ? null
+                : ProvisioningNodeRouter.getRemoteProvisioningNode(clusterService, stateAndSeqNo.v1());
+            if (provisioningNode != null) {
+                provisioningNodes.put(new Tuple<>(tenantId, workflowId), provisioningNode.getId());
+                forward(request, tenantId, provisioningNode, listener, listener::onFailure);
+            } else if (request.isWait()) {
+                // Waits without holding a thread, responding with the current state once the timeout elapses
+                flowFrameworkIndicesHandler.awaitWorkflowState(
+                    workflowId,
+                    tenantId,
+                    current -> request.getWaitForStates().contains(current.v1().getState())
+                        || (request.getWaitForChangeSince() != SequenceNumbers.UNASSIGNED_SEQ_NO
+                            && current.v2() > request.getWaitForChangeSince()),
+                    request.getTimeout(),
+                    stateListener
+                );
+            } else {
+                stateListener.onResponse(stateAndSeqNo);
+            }
         }, listener::onFailure), context);
     }
+
+    /**
+     * Forwards a request to the node remembered as provisioning the workflow, without reading the state index
+     * @param request the get workflow state request
+     * @param tenantId the tenant id
+     * @param listener the action listener
+     * @param context the thread context
+     * @return true if the request was forwarded, false if no provisioning node is remembered
+     */
+    private boolean forwardToKnownProvisioningNode(
+        GetWorkflowStateRequest request,
+        String tenantId,
+        ActionListener<GetWorkflowStateResponse> listener,
+        ThreadContext.StoredContext context
+    ) {
+        Tuple<String, String> key = new Tuple<>(tenantId, request.getWorkflowId());
+        String nodeId = provisioningNodes.get(key);
+        DiscoveryNode provisioningNode = nodeId == null ? null : clusterService.state().nodes().get(nodeId);
+        if (provisioningNode == null) {
+            if (nodeId != null) {
+                provisioningNodes.invalidate(key);
+            }
+            return false;
+        }
+        context.restore();
+        // The remembered node may have stopped provisioning the workflow, so its failures are retried by reading the state index
+        forward(request, tenantId, provisioningNode, listener, e -> {
+            logger.debug("Failed to forward state request of workflow {} to node {}", request.getWorkflowId(), nodeId, e);
+            try (ThreadContext.StoredContext ignored = client.threadPool().getThreadContext().stashContext()) {
+                executeGetWorkflowStateRequest(request.forwarded(), tenantId, listener, context);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Forwards a request to the node provisioning the workflow, forgetting that node once it stops provisioning the workflow
+     * @param request the get workflow state request
+     * @param tenantId the tenant id
+     * @param provisioningNode the node provisioning the workflow
+     * @param listener the action listener
+     * @param onFailure handles a failure to get the state from the provisioning node
+     */
+    private void forward(
+        GetWorkflowStateRequest request,
+        String tenantId,
+        DiscoveryNode provisioningNode,
+        ActionListener<GetWorkflowStateResponse> listener,
+        Consumer<Exception> onFailure
+    ) {
+        String workflowId = request.getWorkflowId();
+        Tuple<String, String> key = new Tuple<>(tenantId, workflowId);
+        logger.debug("Forwarding state request of workflow {} to provisioning node {}", workflowId, provisioningNode.getId());
+        ProvisioningNodeRouter.forward(
+            transportService,
+            provisioningNode,
+            GetWorkflowStateAction.NAME,
+            request.forwarded(),
+            GetWorkflowStateResponse::new,
+            ActionListener.wrap(response -> {
+                if (!State.PROVISIONING.name().equals(response.getWorkflowState().getState())) {
+                    provisioningNodes.invalidate(key);
+                }
+                listener.onResponse(response);
+            }, e -> {
+                provisioningNodes.invalidate(key);
+                onFailure.accept(e);
+            })
+        );
+    }
 }
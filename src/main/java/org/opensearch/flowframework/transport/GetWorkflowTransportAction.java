@@ -111,14 +111,11 @@ public class GetWorkflowTransportAction extends HandledTransportAction<WorkflowR
                     workflowId,
                     tenantId,
                     filterByEnabled,
-                    false,
                     flowFrameworkSettings.isMultiTenancyEnabled(),
                     listener,
                     () -> executeGetRequest(request, tenantId, listener, context),
                     client,
-                    sdkClient,
-                    clusterService,
-                    xContentRegistry
+                    flowFrameworkIndicesHandler
                 );
             } catch (Exception e) {
                 String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
@@ -150,8 +147,8 @@ public class GetWorkflowTransportAction extends HandledTransportAction<WorkflowR
     ) {
         String workflowId = request.getWorkflowId();
         logger.info("Querying workflow from global context: {}", workflowId);
-        flowFrameworkIndicesHandler.getTemplate(workflowId, tenantId, ActionListener.wrap(response -> {
-            if (!response.isExists()) {
+        flowFrameworkIndicesHandler.getParsedTemplate(workflowId, tenantId, ActionListener.wrap(parsedTemplate -> {
+            if (parsedTemplate.isEmpty()) {
                 String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
                     "Failed to retrieve template ({}) from global context.",
                     workflowId
@@ -161,7 +158,7 @@ public class GetWorkflowTransportAction extends HandledTransportAction<WorkflowR
             } else {
                 // Remove any secured field from response
                 User user = ParseUtils.getUserContext(client);
-                Template template = encryptorUtils.redactTemplateSecuredFields(user, Template.parse(response.getSourceAsString()));
+                Template template = encryptorUtils.redactTemplateSecuredFields(user, parsedTemplate.get());
                 listener.onResponse(new GetWorkflowResponse(template));
             }
         }, exception -> {
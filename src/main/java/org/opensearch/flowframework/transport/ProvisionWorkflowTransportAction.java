@@ -22,19 +22,30 @@ import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.commons.authuser.User;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.concurrency.OpenSearchRejectedExecutionException;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.flowframework.common.FlowFrameworkExecutors;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.common.ListenablePlainActionFuture;
+import org.opensearch.flowframework.common.WorkflowResources;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
 import org.opensearch.flowframework.model.ProvisioningProgress;
+import org.opensearch.flowframework.model.ResourceCreated;
 import org.opensearch.flowframework.model.State;
 import org.opensearch.flowframework.model.Template;
 import org.opensearch.flowframework.model.Workflow;
+import org.opensearch.flowframework.model.WorkflowState;
 import org.opensearch.flowframework.util.EncryptorUtils;
 import org.opensearch.flowframework.util.TenantAwareHelper;
 import org.opensearch.flowframework.util.WorkflowTimeoutUtility;
 import org.opensearch.flowframework.workflow.ProcessNode;
+import org.opensearch.flowframework.workflow.ProvisioningEvent;
+import org.opensearch.flowframework.workflow.ProvisioningEventLog;
+import org.opensearch.flowframework.workflow.WorkflowCompletionListener;
+import org.opensearch.flowframework.workflow.WorkflowData;
+import org.opensearch.flowframework.workflow.WorkflowDataStep;
 import org.opensearch.flowframework.workflow.WorkflowProcessSorter;
 import org.opensearch.plugins.PluginsService;
 import org.opensearch.remote.metadata.client.SdkClient;
@@ -43,23 +54,33 @@ import org.opensearch.transport.TransportService;
 import org.opensearch.transport.client.Client;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.opensearch.flowframework.common.CommonValue.ERROR_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_NODE_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_PROGRESS_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_END_TIME_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_START_TIME_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW_THREAD_POOL;
 import static org.opensearch.flowframework.common.CommonValue.RESOURCES_CREATED_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.RESUME_WORKFLOW;
+import static org.opensearch.flowframework.common.CommonValue.SKIPPED_STEPS_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.STATE_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.USER_OUTPUTS_FIELD;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES;
 import static org.opensearch.flowframework.util.ParseUtils.getUserContext;
 import static org.opensearch.flowframework.util.ParseUtils.resolveUserAndExecute;
@@ -76,11 +97,13 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
     private final WorkflowProcessSorter workflowProcessSorter;
     private final FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
     private final FlowFrameworkSettings flowFrameworkSettings;
+    private final FlowFrameworkExecutors flowFrameworkExecutors;
     private final EncryptorUtils encryptorUtils;
     private final PluginsService pluginsService;
     private volatile Boolean filterByEnabled;
     private final ClusterService clusterService;
     private final NamedXContentRegistry xContentRegistry;
+    private final ProvisioningEventLog provisioningEventLog;
 
     /**
      * Instantiates a new ProvisionWorkflowTransportAction
@@ -96,6 +119,8 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
      * @param clusterService the cluster service
      * @param xContentRegistry the named content registry
      * @param settings the plugin settings
+     * @param provisioningEventLog the log of provisioning events, followed by clients
+     * @param flowFrameworkExecutors the executors of the flow framework thread pools
      */
     @Inject
     public ProvisionWorkflowTransportAction(
@@ -110,7 +135,9 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
         PluginsService pluginsService,
         ClusterService clusterService,
         NamedXContentRegistry xContentRegistry,
-        Settings settings
+        Settings settings,
+        ProvisioningEventLog provisioningEventLog,
+        FlowFrameworkExecutors flowFrameworkExecutors
     ) {
         super(ProvisionWorkflowAction.NAME, transportService, actionFilters, WorkflowRequest::new);
         this.client = client;
@@ -118,11 +145,13 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
         this.workflowProcessSorter = workflowProcessSorter;
         this.flowFrameworkIndicesHandler = flowFrameworkIndicesHandler;
         this.flowFrameworkSettings = flowFrameworkSettings;
+        this.flowFrameworkExecutors = flowFrameworkExecutors;
         this.encryptorUtils = encryptorUtils;
         this.pluginsService = pluginsService;
         filterByEnabled = FILTER_BY_BACKEND_ROLES.get(settings);
         this.xContentRegistry = xContentRegistry;
         this.clusterService = clusterService;
+        this.provisioningEventLog = provisioningEventLog;
         clusterService.getClusterSettings().addSettingsUpdateConsumer(FILTER_BY_BACKEND_ROLES, it -> filterByEnabled = it);
     }
 
@@ -148,14 +177,11 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
                 workflowId,
                 tenantId,
                 filterByEnabled,
-                false,
                 flowFrameworkSettings.isMultiTenancyEnabled(),
                 listener,
                 () -> executeProvisionRequest(request, tenantId, listener, context),
                 client,
-                sdkClient,
-                clusterService,
-                xContentRegistry
+                flowFrameworkIndicesHandler
             );
         } catch (Exception e) {
             String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
@@ -170,7 +196,7 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
     /**
      * Execute the provision request
      * 1. Retrieve template from global context
-     * 2. Decrypt template
+     * 2. Keep template credentials encrypted until steps consume them
      * 3. Sort and validate graph
      * 4. Update state index
      * 5. Execute workflow asynchronously
@@ -189,10 +215,10 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
     ) {
         String workflowId = request.getWorkflowId();
         logger.info("Querying workflow from global context: {}", workflowId);
-        flowFrameworkIndicesHandler.getTemplate(workflowId, tenantId, ActionListener.wrap(response -> {
+        flowFrameworkIndicesHandler.getParsedTemplate(workflowId, tenantId, ActionListener.wrap(template -> {
             context.restore();
 
-            if (!response.isExists()) {
+            if (template.isEmpty()) {
                 String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
                     "Failed to retrieve template ({}) from global context.",
                     workflowId
@@ -202,105 +228,226 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
                 return;
             }
 
-            // Parse template from document source
-            Template parsedTemplate = Template.parse(response.getSourceAsString());
+            // Keep credentials encrypted until the steps consuming them run
+            provisionTemplate(request, tenantId, encryptorUtils.lazilyDecryptTemplateCredentials(template.get()), listener);
+        }, exception -> handleProvisionRequestFailure(workflowId, exception, listener)), context);
+    }
 
-            // Decrypt template
-            final Template template = encryptorUtils.decryptTemplateCredentials(parsedTemplate);
+    /**
+     * Sorts and validates the graph of a template, then updates the state index and executes the workflow
+     * @param request the workflow request
+     * @param tenantId the tenant id
+     * @param template the template, whose credentials are decrypted by the steps consuming them
+     * @param listener the action listener
+     * @throws Exception if the graph is invalid
+     */
+    private void provisionTemplate(WorkflowRequest request, String tenantId, Template template, ActionListener<WorkflowResponse> listener)
+        throws Exception {
+        String workflowId = request.getWorkflowId();
 
-            // Sort and validate graph
-            Workflow provisionWorkflow = template.workflows().get(PROVISION_WORKFLOW);
-            List<ProcessNode> provisionProcessSequence = workflowProcessSorter.sortProcessNodes(
-                provisionWorkflow,
-                workflowId,
-                request.getParams(),
-                tenantId
-            );
-            workflowProcessSorter.validate(provisionProcessSequence, pluginsService);
-
-            flowFrameworkIndicesHandler.getProvisioningProgress(workflowId, tenantId, progress -> {
-                if (ProvisioningProgress.NOT_STARTED.equals(progress.orElse(null))) {
-                    // update state index
-                    flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
-                        workflowId,
-                        tenantId,
-                        Map.ofEntries(
-                            Map.entry(STATE_FIELD, State.PROVISIONING),
-                            Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.IN_PROGRESS),
-                            Map.entry(PROVISION_START_TIME_FIELD, Instant.now().toEpochMilli()),
-                            Map.entry(RESOURCES_CREATED_FIELD, Collections.emptyList())
-                        ),
-                        ActionListener.wrap(updateResponse -> {
-                            logger.info("updated workflow {} state to {}", request.getWorkflowId(), State.PROVISIONING);
-                            if (request.getWaitForCompletionTimeout() == TimeValue.MINUS_ONE) {
-                                executeWorkflowAsync(workflowId, tenantId, provisionProcessSequence, listener);
-                            } else {
-                                executeWorkflowSync(
-                                    workflowId,
-                                    tenantId,
-                                    provisionProcessSequence,
-                                    listener,
-                                    request.getWaitForCompletionTimeout().getMillis()
-                                );
-                            }
-                            // update last provisioned field in template
-                            Template newTemplate = Template.builder(template).lastProvisionedTime(Instant.now()).build();
-                            flowFrameworkIndicesHandler.updateTemplateInGlobalContext(
-                                request.getWorkflowId(),
-                                newTemplate,
-                                ActionListener.wrap(templateResponse -> {
-                                    if (request.getWaitForCompletionTimeout() == TimeValue.MINUS_ONE) {
-                                        listener.onResponse(new WorkflowResponse(request.getWorkflowId()));
-                                    } else {
-                                        logger.info("Waiting for workflow completion");
-                                    }
-                                }, exception -> {
-                                    String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
-                                        "Failed to update use case template {}",
-                                        request.getWorkflowId()
-                                    ).getFormattedMessage();
-                                    logger.error(errorMessage, exception);
-                                    if (exception instanceof FlowFrameworkException) {
-                                        listener.onFailure(exception);
-                                    } else {
-                                        listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
-                                    }
-                                }),
-                                // We've already checked workflow is not started, ignore second check
-                                true
-                            );
-                        }, exception -> {
-                            String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
-                                "Failed to update workflow state: {}",
-                                workflowId
-                            ).getFormattedMessage();
-                            logger.error(errorMessage, exception);
-                            listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
-                        })
-                    );
-                } else {
+        // Sort and validate graph
+        Workflow provisionWorkflow = template.workflows().get(PROVISION_WORKFLOW);
+        List<ProcessNode> provisionProcessSequence = workflowProcessSorter.sortProcessNodes(
+            provisionWorkflow,
+            workflowId,
+            request.getParams(),
+            tenantId
+        );
+        workflowProcessSorter.validate(provisionProcessSequence, pluginsService);
+
+        if (Boolean.parseBoolean(request.getParams().get(RESUME_WORKFLOW))) {
+            resumeProvisioning(request, tenantId, template, provisionWorkflow, listener);
+            return;
+        }
+
+        flowFrameworkIndicesHandler.getProvisioningProgress(workflowId, tenantId, progress -> {
+            if (ProvisioningProgress.NOT_STARTED.equals(progress.orElse(null))) {
+                // update state index
+                Map<String, Object> provisioningState = new HashMap<>();
+                provisioningState.put(STATE_FIELD, State.PROVISIONING);
+                provisioningState.put(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.IN_PROGRESS);
+                provisioningState.put(PROVISION_START_TIME_FIELD, Instant.now().toEpochMilli());
+                provisioningState.put(RESOURCES_CREATED_FIELD, Collections.emptyList());
+                provisioningState.put(PROVISIONING_NODE_FIELD, clusterService.localNode().getId());
+                // Checkpoints of a previous execution are only valid for a resume, which would otherwise skip the steps they name.
+                // A partial update merges objects, so the checkpoints are replaced with null rather than an empty object.
+                provisioningState.put(USER_OUTPUTS_FIELD, null);
+                flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
+                    workflowId,
+                    tenantId,
+                    provisioningState,
+                    ActionListener.wrap(updateResponse -> {
+                        logger.info("updated workflow {} state to {}", request.getWorkflowId(), State.PROVISIONING);
+                        startProvisioning(request, tenantId, template, provisionProcessSequence, listener);
+                    }, exception -> handleStateUpdateFailure(workflowId, exception, listener))
+                );
+            } else {
+                String errorMessage = "The workflow provisioning state is "
+                    + (progress.isPresent() ? progress.get().toString() : "unknown")
+                    + " and can not be provisioned unless its state is NOT_STARTED: "
+                    + workflowId
+                    + ". Deprovision the workflow to reset the state.";
+                logger.info(errorMessage);
+                listener.onFailure(new FlowFrameworkException(errorMessage, RestStatus.BAD_REQUEST));
+            }
+        }, listener);
+    }
+
+    private void handleProvisionRequestFailure(String workflowId, Exception exception, ActionListener<WorkflowResponse> listener) {
+        if (exception instanceof FlowFrameworkException) {
+            logger.error("Workflow validation failed for workflow {}", workflowId);
+            listener.onFailure(exception);
+        } else {
+            String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                "Failed to retrieve template from global context for workflow {}",
+                workflowId
+            ).getFormattedMessage();
+            logger.error(errorMessage, exception);
+            listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
+        }
+    }
+
+    /**
+     * Resumes a failed provisioning, executing only the steps which did not complete in the previous execution
+     * @param request the workflow request
+     * @param tenantId the tenant id
+     * @param template the template, whose credentials are decrypted by the steps consuming them
+     * @param provisionWorkflow the provision workflow of the template
+     * @param listener the action listener
+     */
+    private void resumeProvisioning(
+        WorkflowRequest request,
+        String tenantId,
+        Template template,
+        Workflow provisionWorkflow,
+        ActionListener<WorkflowResponse> listener
+    ) {
+        String workflowId = request.getWorkflowId();
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            flowFrameworkIndicesHandler.getWorkflowState(workflowId, tenantId, ActionListener.wrap(workflowState -> {
+                if (!ProvisioningProgress.FAILED.toString().equals(workflowState.getProvisioningProgress())) {
                     String errorMessage = "The workflow provisioning state is "
-                        + (progress.isPresent() ? progress.get().toString() : "unknown")
-                        + " and can not be provisioned unless its state is NOT_STARTED: "
-                        + workflowId
-                        + ". Deprovision the workflow to reset the state.";
+                        + workflowState.getProvisioningProgress()
+                        + " and can not be resumed unless its state is FAILED: "
+                        + workflowId;
                     logger.info(errorMessage);
                     listener.onFailure(new FlowFrameworkException(errorMessage, RestStatus.BAD_REQUEST));
+                    return;
+                }
+                Map<String, Map<String, String>> checkpoints = getCheckpoints(workflowState);
+                List<ProcessNode> resumeProcessSequence = workflowProcessSorter.createResumeSequence(
+                    provisionWorkflow,
+                    workflowId,
+                    request.getParams(),
+                    tenantId,
+                    checkpoints
+                );
+                logger.info("Resuming workflow {}, skipping completed steps {}", workflowId, checkpoints.keySet());
+
+                // Keep resources created and checkpoints, remove the error and skipped steps of the failed execution
+                WorkflowState newState = WorkflowState.builder(workflowState)
+                    .error(null)
+                    .skippedSteps(Collections.emptyList())
+                    .state(State.PROVISIONING.toString())
+                    .provisioningProgress(ProvisioningProgress.IN_PROGRESS.toString())
+                    .provisionStartTime(Instant.now())
+                    .provisionEndTime(null)
+                    .provisioningNode(clusterService.localNode().getId())
+                    .build();
+                flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(workflowId, tenantId, newState, ActionListener.wrap(r -> {
+                    logger.info("updated workflow {} state to {}", workflowId, State.PROVISIONING);
+                    startProvisioning(request, tenantId, template, resumeProcessSequence, listener);
+                }, exception -> handleStateUpdateFailure(workflowId, exception, listener)));
+            }, listener::onFailure), context);
+        }
+    }
+
+    /**
+     * Gets the checkpointed outputs of the steps which completed in a previous execution.
+     * A step whose resource was recorded in the resources created, but whose checkpoint was not written before the previous
+     * execution failed, is also completed, with its created resources as outputs, so that its resource is not created again.
+     * @param workflowState the workflow state
+     * @return a map of step id to step outputs
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, String>> getCheckpoints(WorkflowState workflowState) {
+        Map<String, Map<String, String>> checkpoints = new HashMap<>();
+        if (workflowState.userOutputs() != null) {
+            for (Map.Entry<String, Object> e : workflowState.userOutputs().entrySet()) {
+                if (e.getValue() instanceof Map) {
+                    checkpoints.put(e.getKey(), (Map<String, String>) e.getValue());
                 }
-            }, listener);
+            }
+        }
+        Map<String, Map<String, String>> resourceCheckpoints = new HashMap<>();
+        if (workflowState.resourcesCreated() != null) {
+            for (ResourceCreated resource : workflowState.resourcesCreated()) {
+                if (!checkpoints.containsKey(resource.workflowStepId())) {
+                    resourceCheckpoints.computeIfAbsent(resource.workflowStepId(), k -> new HashMap<>())
+                        .put(resource.resourceType(), resource.resourceId());
+                }
+            }
+        }
+        checkpoints.putAll(resourceCheckpoints);
+        return checkpoints;
+    }
+
+    /**
+     * Executes a workflow after its state was updated to provisioning and updates the last provisioned time of the template
+     * @param request the workflow request
+     * @param tenantId the tenant id
+     * @param template the template
+     * @param processSequence the sorted workflow to execute
+     * @param listener the action listener
+     */
+    private void startProvisioning(
+        WorkflowRequest request,
+        String tenantId,
+        Template template,
+        List<ProcessNode> processSequence,
+        ActionListener<WorkflowResponse> listener
+    ) {
+        String workflowId = request.getWorkflowId();
+        try {
+            if (request.getWaitForCompletionTimeout() == TimeValue.MINUS_ONE) {
+                executeWorkflowAsync(workflowId, tenantId, processSequence, listener);
+            } else {
+                executeWorkflowSync(workflowId, tenantId, processSequence, listener, request.getWaitForCompletionTimeout().getMillis());
+            }
+        } catch (Exception exception) {
+            // A bounded provision thread pool rejects the workflow with 429 Too Many Requests when its queue is full
+            handleWorkflowFailure(tenantId, workflowId, "", exception, Collections.emptyList());
+            listener.onFailure(new FlowFrameworkException("Failed to execute workflow " + workflowId, ExceptionsHelper.status(exception)));
+            return;
+        }
+        // update last provisioned field in template
+        Template newTemplate = Template.builder(template).lastProvisionedTime(Instant.now()).build();
+        flowFrameworkIndicesHandler.updateTemplateInGlobalContext(workflowId, newTemplate, ActionListener.wrap(templateResponse -> {
+            if (request.getWaitForCompletionTimeout() == TimeValue.MINUS_ONE) {
+                listener.onResponse(new WorkflowResponse(workflowId));
+            } else {
+                logger.info("Waiting for workflow completion");
+            }
         }, exception -> {
+            String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage("Failed to update use case template {}", workflowId)
+                .getFormattedMessage();
+            logger.error(errorMessage, exception);
             if (exception instanceof FlowFrameworkException) {
-                logger.error("Workflow validation failed for workflow {}", workflowId);
                 listener.onFailure(exception);
             } else {
-                String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
-                    "Failed to retrieve template from global context for workflow {}",
-                    workflowId
-                ).getFormattedMessage();
-                logger.error(errorMessage, exception);
                 listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
             }
-        }), context);
+        }),
+            // We've already checked the workflow provisioning state, ignore second check
+            true
+        );
+    }
+
+    private void handleStateUpdateFailure(String workflowId, Exception exception, ActionListener<WorkflowResponse> listener) {
+        String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage("Failed to update workflow state: {}", workflowId)
+            .getFormattedMessage();
+        logger.error(errorMessage, exception);
+        listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
     }
 
     /**
@@ -308,6 +455,7 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
      * @param workflowId The id of the workflow
      * @param workflowSequence The sorted workflow to execute
      * @param listener ActionListener for any failures that don't get caught earlier in below step
+     * @throws OpenSearchRejectedExecutionException if the provision thread pool is at capacity
      */
     private void executeWorkflowAsync(
         String workflowId,
@@ -315,13 +463,7 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
         List<ProcessNode> workflowSequence,
         ActionListener<WorkflowResponse> listener
     ) {
-        try {
-            client.threadPool().executor(PROVISION_WORKFLOW_THREAD_POOL).execute(() -> {
-                executeWorkflow(workflowSequence, workflowId, tenantId, listener, false);
-            });
-        } catch (Exception exception) {
-            listener.onFailure(new FlowFrameworkException("Failed to execute workflow " + workflowId, ExceptionsHelper.status(exception)));
-        }
+        provisionExecutor().execute(() -> { executeWorkflow(workflowSequence, workflowId, tenantId, listener, false); });
     }
 
     /**
@@ -332,6 +474,7 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
      * @param workflowSequence The sorted workflow to execute
      * @param listener ActionListener for any failures or responses
      * @param timeout The timeout duration in milliseconds
+     * @throws OpenSearchRejectedExecutionException if the provision thread pool is at capacity
      */
     private void executeWorkflowSync(
         String workflowId,
@@ -358,11 +501,15 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
             } catch (Exception ex) {
                 WorkflowTimeoutUtility.handleFailure(workflowId, ex, isResponseSent, listener);
             }
-        }, client.threadPool().executor(PROVISION_WORKFLOW_THREAD_POOL));
+        }, provisionExecutor());
 
         WorkflowTimeoutUtility.scheduleTimeoutHandler(client, client.threadPool(), workflowId, tenantId, listener, timeout, isResponseSent);
     }
 
+    private Executor provisionExecutor() {
+        return flowFrameworkExecutors.executor(PROVISION_WORKFLOW_THREAD_POOL);
+    }
+
     /**
      * Executes the given workflow sequence
      * @param workflowSequence The topologically sorted workflow to execute
@@ -379,8 +526,11 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
         boolean isSyncExecution
     ) {
         String currentStepId = "";
+        provisioningEventLog.start(workflowId);
+        // Completed by each step once its checkpoint is written, or once it fails
+        List<PlainActionFuture<Void>> checkpointFutures = new ArrayList<>();
         try {
-            Map<String, PlainActionFuture<?>> workflowFutureMap = new LinkedHashMap<>();
+            Map<String, PlainActionFuture<WorkflowData>> workflowFutureMap = new LinkedHashMap<>();
             for (ProcessNode processNode : workflowSequence) {
                 List<ProcessNode> predecessors = processNode.predecessors();
 
@@ -396,82 +546,272 @@ public class ProvisionWorkflowTransportAction extends HandledTransportAction<Wor
                         )
                 );
 
-                workflowFutureMap.put(processNode.id(), processNode.execute());
+                currentStepId = processNode.id();
+                boolean isStep = !(processNode.workflowStep() instanceof WorkflowDataStep);
+                if (isStep) {
+                    // Registered before execution so that the start of the step is recorded
+                    recordStepEvents(workflowId, processNode);
+                }
+                PlainActionFuture<WorkflowData> stepFuture = processNode.execute();
+                if (isStep) {
+                    String stepId = processNode.id();
+                    ListenablePlainActionFuture<Void> checkpointFuture = ListenablePlainActionFuture.newListenableFuture();
+                    checkpointFutures.add(checkpointFuture);
+                    ListenablePlainActionFuture.addListener(
+                        stepFuture,
+                        ActionListener.wrap(
+                            output -> checkpointStep(workflowId, tenantId, stepId, output, checkpointFuture),
+                            e -> checkpointFuture.onResponse(null)
+                        ),
+                        client.threadPool().generic()
+                    );
+                }
+                workflowFutureMap.put(processNode.id(), stepFuture);
             }
 
-            // Attempt to complete each workflow step future, may throw a ExecutionException if any step completes exceptionally
-            for (Map.Entry<String, PlainActionFuture<?>> e : workflowFutureMap.entrySet()) {
-                currentStepId = e.getKey();
-                e.getValue().actionGet();
+            // Completion is handled by a listener so this thread can return to the pool while the steps run
+            WorkflowCompletionListener.listen(
+                workflowFutureMap,
+                client.threadPool().getThreadContext(),
+                client.threadPool().generic(),
+                () -> afterCheckpoints(checkpointFutures, () -> handleWorkflowCompletion(tenantId, workflowId, listener, isSyncExecution)),
+                (stepId, ex) -> {
+                    List<String> skippedSteps = ProcessNode.cancel(workflowSequence, ex);
+                    afterCheckpoints(checkpointFutures, () -> handleWorkflowFailure(tenantId, workflowId, stepId, ex, skippedSteps));
+                }
+            );
+        } catch (Exception ex) {
+            String failedStepId = currentStepId;
+            List<String> skippedSteps = ProcessNode.cancel(workflowSequence, ex);
+            afterCheckpoints(checkpointFutures, () -> handleWorkflowFailure(tenantId, workflowId, failedStepId, ex, skippedSteps));
+        }
+    }
+
+    /**
+     * Runs the update of the workflow state once provisioning completed or failed, after the checkpoints of the completed steps were
+     * written, so that the checkpoints are not updated after the terminal state. Steps which failed or were cancelled complete their
+     * checkpoint futures without a write.
+     * @param checkpointFutures the checkpoint futures of the steps of the workflow
+     * @param terminalStateUpdate the update of the workflow state, run with the thread context of the caller
+     */
+    private void afterCheckpoints(List<PlainActionFuture<Void>> checkpointFutures, Runnable terminalStateUpdate) {
+        Supplier<ThreadContext.StoredContext> contextSupplier = client.threadPool().getThreadContext().newRestorableContext(false);
+        AtomicInteger pendingCheckpoints = new AtomicInteger(checkpointFutures.size() + 1);
+        Runnable onCheckpoint = () -> {
+            if (pendingCheckpoints.decrementAndGet() == 0) {
+                try (ThreadContext.StoredContext context = contextSupplier.get()) {
+                    terminalStateUpdate.run();
+                }
             }
+        };
+        for (PlainActionFuture<Void> checkpointFuture : checkpointFutures) {
+            ListenablePlainActionFuture.addListener(
+                checkpointFuture,
+                ActionListener.wrap(r -> onCheckpoint.run(), e -> onCheckpoint.run()),
+                client.threadPool().generic()
+            );
+        }
+        onCheckpoint.run();
+    }
 
-            logger.info("Provisioning completed successfully for workflow {}", workflowId);
-            // Need to call TenantAwareHelper.releaseProvision in cases listener.onFailure is not called
-            flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
+    /**
+     * Records the start and end of a step in the provisioning event log. Steps skipped because provisioning failed are recorded
+     * with the failure of the workflow.
+     * @param workflowId The workflowId associated with the step
+     * @param processNode The process node of the step, not yet executed
+     */
+    private void recordStepEvents(String workflowId, ProcessNode processNode) {
+        String stepId = processNode.id();
+        String stepName = processNode.workflowStep().getName();
+        AtomicLong startNanos = new AtomicLong();
+        processNode.addStartListener(() -> {
+            startNanos.set(System.nanoTime());
+            provisioningEventLog.record(workflowId, ProvisioningEvent.stepStarted(stepId, stepName));
+        });
+        ListenablePlainActionFuture.addListener(processNode.future(), ActionListener.wrap(output -> {
+            Map<String, String> resources = new HashMap<>();
+            for (String resourceType : WorkflowResources.getAllResourcesCreated()) {
+                Object resourceId = output.getContent().get(resourceType);
+                if (resourceId instanceof String) {
+                    resources.put(resourceType, (String) resourceId);
+                }
+            }
+            provisioningEventLog.record(
                 workflowId,
-                tenantId,
-                Map.ofEntries(
-                    Map.entry(STATE_FIELD, State.COMPLETED),
-                    Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.DONE),
-                    Map.entry(PROVISION_END_TIME_FIELD, Instant.now().toEpochMilli())
-                ),
-                ActionListener.wrap(updateResponse -> {
-                    logger.info("updated workflow {} state to {}", workflowId, State.COMPLETED);
-                    if (isSyncExecution) {
-                        client.execute(
-                            GetWorkflowStateAction.INSTANCE,
-                            new GetWorkflowStateRequest(workflowId, false, tenantId),
-                            ActionListener.wrap(response -> {
-                                // We've completed provisioning and responding synchronously
-                                TenantAwareHelper.releaseProvision(tenantId);
-                                listener.onResponse(new WorkflowResponse(workflowId, response.getWorkflowState()));
-                            }, exception -> {
-                                String errorMessage = "Failed to get workflow state.";
-                                logger.error(errorMessage, exception);
-                                if (exception instanceof FlowFrameworkException) {
-                                    listener.onFailure(exception);
-                                } else {
-                                    listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
-                                }
-                            })
-                        );
-                    } else {
-                        // We've completed provisioning asynchronously
-                        TenantAwareHelper.releaseProvision(tenantId);
-                    }
-                }, exception -> {
-                    // We've completed provisioning asynchronously but failed state update
-                    TenantAwareHelper.releaseProvision(tenantId);
-                    logger.error("Failed to update workflow state for workflow {}", workflowId, exception);
-                })
+                ProvisioningEvent.stepCompleted(stepId, stepName, elapsedMillis(startNanos), resources)
             );
-        } catch (Exception ex) {
-            RestStatus status;
-            if (ex instanceof FlowFrameworkException) {
-                status = ((FlowFrameworkException) ex).getRestStatus();
-            } else {
-                status = ExceptionsHelper.status(ex);
+        }, e -> {
+            if (!processNode.isSkipped()) {
+                provisioningEventLog.record(
+                    workflowId,
+                    ProvisioningEvent.stepFailed(
+                        ProvisioningEvent.Type.STEP_FAILED,
+                        stepId,
+                        stepName,
+                        elapsedMillis(startNanos),
+                        getErrorMessage(stepId, e)
+                    )
+                );
+            }
+        }), client.threadPool().generic());
+    }
+
+    private static long elapsedMillis(AtomicLong startNanos) {
+        long start = startNanos.get();
+        return start == 0 ? -1 : TimeValue.nsecToMSec(System.nanoTime() - start);
+    }
+
+    /**
+     * Records the outputs of a completed step in the workflow state, so that a failed provisioning can be resumed without executing it again.
+     * Steps with outputs which can not be restored from the state index are not checkpointed and will be executed again.
+     * @param workflowId The workflowId associated with the step
+     * @param tenantId The tenant id
+     * @param stepId The id of the completed step
+     * @param output The outputs of the step
+     * @param checkpointFuture Completed once the checkpoint is written or failed to be written, or if the step is not checkpointed
+     */
+    private void checkpointStep(
+        String workflowId,
+        String tenantId,
+        String stepId,
+        WorkflowData output,
+        PlainActionFuture<Void> checkpointFuture
+    ) {
+        Map<String, String> checkpoint = new HashMap<>();
+        for (Map.Entry<String, Object> e : output.getContent().entrySet()) {
+            if (!(e.getValue() instanceof String)) {
+                logger.debug("Not checkpointing step {} of workflow {}, output {} is not a string", stepId, workflowId, e.getKey());
+                checkpointFuture.onResponse(null);
+                return;
             }
-            logger.error("Provisioning failed for workflow {} during step {}.", workflowId, currentStepId, ex);
-            String errorMessage = (ex.getCause() == null ? ex.getMessage() : ex.getCause().getClass().getName())
-                + " during step "
-                + currentStepId
-                + ", restStatus: "
-                + status.toString();
+            checkpoint.put(e.getKey(), (String) e.getValue());
+        }
+        try {
             flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
                 workflowId,
                 tenantId,
-                Map.ofEntries(
-                    Map.entry(STATE_FIELD, State.FAILED),
-                    Map.entry(ERROR_FIELD, errorMessage),
-                    Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.FAILED),
-                    Map.entry(PROVISION_END_TIME_FIELD, Instant.now().toEpochMilli())
-                ),
-                ActionListener.wrap(updateResponse -> {
-                    logger.info("updated workflow {} state to {}", workflowId, State.FAILED);
-                }, exceptionState -> { logger.error("Failed to update workflow state for workflow {}", workflowId, exceptionState); })
+                Map.of(USER_OUTPUTS_FIELD, Map.of(stepId, checkpoint)),
+                ActionListener.runAfter(
+                    ActionListener.wrap(
+                        updateResponse -> logger.debug("Checkpointed step {} of workflow {}", stepId, workflowId),
+                        exception -> logger.warn("Failed to checkpoint step {} of workflow {}", stepId, workflowId, exception)
+                    ),
+                    () -> checkpointFuture.onResponse(null)
+                )
+            );
+        } catch (Exception e) {
+            logger.warn("Failed to checkpoint step {} of workflow {}", stepId, workflowId, e);
+            checkpointFuture.onResponse(null);
+        }
+    }
+
+    /**
+     * Updates the workflow state once all steps have completed successfully
+     * @param tenantId The tenant id
+     * @param workflowId The workflowId associated with the workflow that completed
+     * @param listener The ActionListener to handle the workflow response or failure
+     * @param isSyncExecution Flag indicating whether the workflow was executed synchronously
+     */
+    private void handleWorkflowCompletion(
+        String tenantId,
+        String workflowId,
+        ActionListener<WorkflowResponse> listener,
+        boolean isSyncExecution
+    ) {
+        logger.info("Provisioning completed successfully for workflow {}", workflowId);
+        provisioningEventLog.record(workflowId, ProvisioningEvent.workflow(ProvisioningEvent.Type.WORKFLOW_COMPLETED, null));
+        // Need to call TenantAwareHelper.releaseProvision in cases listener.onFailure is not called
+        flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
+            workflowId,
+            tenantId,
+            Map.ofEntries(
+                Map.entry(STATE_FIELD, State.COMPLETED),
+                Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.DONE),
+                Map.entry(PROVISION_END_TIME_FIELD, Instant.now().toEpochMilli())
+            ),
+            ActionListener.wrap(updateResponse -> {
+                logger.info("updated workflow {} state to {}", workflowId, State.COMPLETED);
+                if (isSyncExecution) {
+                    client.execute(
+                        GetWorkflowStateAction.INSTANCE,
+                        new GetWorkflowStateRequest(workflowId, false, tenantId),
+                        ActionListener.wrap(response -> {
+                            // We've completed provisioning and responding synchronously
+                            TenantAwareHelper.releaseProvision(tenantId);
+                            listener.onResponse(new WorkflowResponse(workflowId, response.getWorkflowState()));
+                        }, exception -> {
+                            String errorMessage = "Failed to get workflow state.";
+                            logger.error(errorMessage, exception);
+                            if (exception instanceof FlowFrameworkException) {
+                                listener.onFailure(exception);
+                            } else {
+                                listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
+                            }
+                        })
+                    );
+                } else {
+                    // We've completed provisioning asynchronously
+                    TenantAwareHelper.releaseProvision(tenantId);
+                }
+            }, exception -> {
+                // We've completed provisioning asynchronously but failed state update
+                TenantAwareHelper.releaseProvision(tenantId);
+                logger.error("Failed to update workflow state for workflow {}", workflowId, exception);
+            })
+        );
+    }
+
+    /**
+     * Updates the workflow state when a step fails
+     * @param tenantId The tenant id
+     * @param workflowId The workflowId associated with the workflow that failed
+     * @param stepId The id of the step that failed
+     * @param ex The exception that caused the failure
+     * @param skippedSteps The ids of the steps which never started because the workflow was cancelled
+     */
+    private void handleWorkflowFailure(String tenantId, String workflowId, String stepId, Exception ex, List<String> skippedSteps) {
+        logger.error("Provisioning failed for workflow {} during step {}.", workflowId, stepId, ex);
+        String errorMessage = getErrorMessage(stepId, ex);
+        for (String skippedStep : skippedSteps) {
+            provisioningEventLog.record(
+                workflowId,
+                ProvisioningEvent.stepFailed(ProvisioningEvent.Type.STEP_SKIPPED, skippedStep, null, -1, errorMessage)
             );
         }
+        provisioningEventLog.record(workflowId, ProvisioningEvent.workflow(ProvisioningEvent.Type.WORKFLOW_FAILED, errorMessage));
+        flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
+            workflowId,
+            tenantId,
+            Map.ofEntries(
+                Map.entry(STATE_FIELD, State.FAILED),
+                Map.entry(ERROR_FIELD, errorMessage),
+                Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.FAILED),
+                Map.entry(PROVISION_END_TIME_FIELD, Instant.now().toEpochMilli()),
+                Map.entry(SKIPPED_STEPS_FIELD, skippedSteps)
+            ),
+            ActionListener.wrap(updateResponse -> {
+                logger.info("updated workflow {} state to {}", workflowId, State.FAILED);
+            }, exceptionState -> { logger.error("Failed to update workflow state for workflow {}", workflowId, exceptionState); })
+        );
     }
 
+    /**
+     * Gets the error message of a failed step, as recorded in the workflow state
+     * @param stepId The id of the step that failed
+     * @param ex The exception that caused the failure
+     * @return the error message
+     */
+    private static String getErrorMessage(String stepId, Exception ex) {
+        RestStatus status;
+        if (ex instanceof FlowFrameworkException) {
+            status = ((FlowFrameworkException) ex).getRestStatus();
+        } else {
+            status = ExceptionsHelper.status(ex);
+        }
+        return (ex.getCause() == null ? ex.getMessage() : ex.getCause().getClass().getName())
+            + " during step "
+            + stepId
+            + ", restStatus: "
+            + status.toString();
+    }
 }
@@ -22,8 +22,10 @@ import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.commons.authuser.User;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.concurrency.OpenSearchRejectedExecutionException;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.flowframework.common.FlowFrameworkExecutors;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
@@ -37,6 +39,8 @@ import org.opensearch.flowframework.util.EncryptorUtils;
 import org.opensearch.flowframework.util.TenantAwareHelper;
 import org.opensearch.flowframework.util.WorkflowTimeoutUtility;
 import org.opensearch.flowframework.workflow.ProcessNode;
+import org.opensearch.flowframework.workflow.WorkflowCompletionListener;
+import org.opensearch.flowframework.workflow.WorkflowData;
 import org.opensearch.flowframework.workflow.WorkflowProcessSorter;
 import org.opensearch.flowframework.workflow.WorkflowStepFactory;
 import org.opensearch.plugins.PluginsService;
@@ -53,16 +57,19 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import static org.opensearch.flowframework.common.CommonValue.ERROR_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_NODE_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISIONING_PROGRESS_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_END_TIME_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_START_TIME_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW_THREAD_POOL;
 import static org.opensearch.flowframework.common.CommonValue.RESOURCES_CREATED_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.SKIPPED_STEPS_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.STATE_FIELD;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES;
 import static org.opensearch.flowframework.util.ParseUtils.getUserContext;
@@ -82,6 +89,7 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
     private final WorkflowProcessSorter workflowProcessSorter;
     private final FlowFrameworkIndicesHandler flowFrameworkIndicesHandler;
     private final FlowFrameworkSettings flowFrameworkSettings;
+    private final FlowFrameworkExecutors flowFrameworkExecutors;
     private final PluginsService pluginsService;
     private final EncryptorUtils encryptorUtils;
     private volatile Boolean filterByEnabled;
@@ -104,6 +112,7 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
      * @param clusterService The Cluster Service
      * @param xContentRegistry The XContent Registry
      * @param settings  The plugin settings
+     * @param flowFrameworkExecutors the executors of the flow framework thread pools
      */
     @Inject
     public ReprovisionWorkflowTransportAction(
@@ -120,7 +129,8 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
         PluginsService pluginsService,
         ClusterService clusterService,
         NamedXContentRegistry xContentRegistry,
-        Settings settings
+        Settings settings,
+        FlowFrameworkExecutors flowFrameworkExecutors
     ) {
         super(ReprovisionWorkflowAction.NAME, transportService, actionFilters, ReprovisionWorkflowRequest::new);
         this.threadPool = threadPool;
@@ -130,6 +140,7 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
         this.workflowProcessSorter = workflowProcessSorter;
         this.flowFrameworkIndicesHandler = flowFrameworkIndicesHandler;
         this.flowFrameworkSettings = flowFrameworkSettings;
+        this.flowFrameworkExecutors = flowFrameworkExecutors;
         this.encryptorUtils = encryptorUtils;
         this.pluginsService = pluginsService;
         filterByEnabled = FILTER_BY_BACKEND_ROLES.get(settings);
@@ -207,8 +218,8 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
             // Generate reprovision sequence
             List<ResourceCreated> resourceCreated = response.getWorkflowState().resourcesCreated();
 
-            // Original template is retrieved from index, attempt to decrypt any exisiting credentials before processing
-            Template originalTemplate = encryptorUtils.decryptTemplateCredentials(request.getOriginalTemplate());
+            // Original template is retrieved from index, its credentials are only decrypted to compare them with the updated template
+            Template originalTemplate = encryptorUtils.lazilyDecryptTemplateCredentials(request.getOriginalTemplate());
             Template updatedTemplate = request.getUpdatedTemplate();
 
             // Validate updated template prior to execution
@@ -266,7 +277,8 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
                     Map.entry(STATE_FIELD, State.PROVISIONING),
                     Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.IN_PROGRESS),
                     Map.entry(PROVISION_START_TIME_FIELD, Instant.now().toEpochMilli()),
-                    Map.entry(RESOURCES_CREATED_FIELD, resourceCreated)
+                    Map.entry(RESOURCES_CREATED_FIELD, resourceCreated),
+                    Map.entry(PROVISIONING_NODE_FIELD, clusterService.localNode().getId())
                 ),
                 ActionListener.wrap(updateResponse -> {
 
@@ -276,16 +288,25 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
                     Template updatedTemplateWithProvisionedTime = Template.builder(updatedTemplate)
                         .lastProvisionedTime(Instant.now())
                         .build();
-                    if (request.getWaitForCompletionTimeout() == TimeValue.MINUS_ONE) {
-                        executeWorkflowAsync(workflowId, updatedTemplateWithProvisionedTime, reprovisionProcessSequence, listener);
-                    } else {
-                        executeWorkflowSync(
-                            workflowId,
-                            updatedTemplate,
-                            reprovisionProcessSequence,
-                            listener,
-                            request.getWaitForCompletionTimeout().getMillis()
+                    try {
+                        if (request.getWaitForCompletionTimeout() == TimeValue.MINUS_ONE) {
+                            executeWorkflowAsync(workflowId, updatedTemplateWithProvisionedTime, reprovisionProcessSequence, listener);
+                        } else {
+                            executeWorkflowSync(
+                                workflowId,
+                                updatedTemplate,
+                                reprovisionProcessSequence,
+                                listener,
+                                request.getWaitForCompletionTimeout().getMillis()
+                            );
+                        }
+                    } catch (Exception exception) {
+                        // A bounded provision thread pool rejects the workflow with 429 Too Many Requests when its queue is full
+                        handleWorkflowFailure(updatedTemplate, workflowId, "", exception, Collections.emptyList());
+                        listener.onFailure(
+                            new FlowFrameworkException("Failed to execute workflow " + workflowId, ExceptionsHelper.status(exception))
                         );
+                        return;
                     }
 
                     if (request.getWaitForCompletionTimeout() == TimeValue.MINUS_ONE) {
@@ -321,6 +342,7 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
      * @param template The updated template to store upon successful execution
      * @param workflowSequence The sorted workflow to execute
      * @param listener ActionListener for any failures that don't get caught earlier in below step
+     * @throws OpenSearchRejectedExecutionException if the provision thread pool is at capacity
      */
     private void executeWorkflowAsync(
         String workflowId,
@@ -328,14 +350,14 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
         List<ProcessNode> workflowSequence,
         ActionListener<WorkflowResponse> listener
     ) {
-        try {
-            threadPool.executor(PROVISION_WORKFLOW_THREAD_POOL).execute(() -> {
-                updateTemplate(template, workflowId);
-                executeWorkflow(template, workflowSequence, workflowId, listener, false);
-            });
-        } catch (Exception exception) {
-            listener.onFailure(new FlowFrameworkException("Failed to execute workflow " + workflowId, ExceptionsHelper.status(exception)));
-        }
+        provisionExecutor().execute(() -> {
+            updateTemplate(template, workflowId);
+            executeWorkflow(template, workflowSequence, workflowId, listener, false);
+        });
+    }
+
+    private Executor provisionExecutor() {
+        return flowFrameworkExecutors.executor(PROVISION_WORKFLOW_THREAD_POOL);
     }
 
     private void executeWorkflowSync(
@@ -363,7 +385,7 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
             } catch (Exception ex) {
                 WorkflowTimeoutUtility.handleFailure(workflowId, ex, isResponseSent, listener);
             }
-        }, threadPool.executor(PROVISION_WORKFLOW_THREAD_POOL));
+        }, provisionExecutor());
         WorkflowTimeoutUtility.scheduleTimeoutHandler(
             client,
             threadPool,
@@ -403,7 +425,7 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
     ) {
         String currentStepId = "";
         try {
-            Map<String, PlainActionFuture<?>> workflowFutureMap = new LinkedHashMap<>();
+            Map<String, PlainActionFuture<WorkflowData>> workflowFutureMap = new LinkedHashMap<>();
             for (ProcessNode processNode : workflowSequence) {
                 List<ProcessNode> predecessors = processNode.predecessors();
                 logger.info(
@@ -419,84 +441,115 @@ public class ReprovisionWorkflowTransportAction extends HandledTransportAction<R
                         )
                 );
 
+                currentStepId = processNode.id();
                 workflowFutureMap.put(processNode.id(), processNode.execute());
             }
 
-            // Attempt to complete each workflow step future, may throw a ExecutionException if any step completes exceptionally
-            for (Map.Entry<String, PlainActionFuture<?>> e : workflowFutureMap.entrySet()) {
-                currentStepId = e.getKey();
-                e.getValue().actionGet();
-            }
-
-            logger.info("Reprovisioning completed successfully for workflow {}", workflowId);
-            // Need to call TenantAwareHelper.releaseProvision in cases listener.onFailure is not called
-            String tenantId = template.getTenantId();
-            flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
-                workflowId,
-                tenantId,
-                Map.ofEntries(
-                    Map.entry(STATE_FIELD, State.COMPLETED),
-                    Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.DONE),
-                    Map.entry(PROVISION_END_TIME_FIELD, Instant.now().toEpochMilli())
-                ),
-                ActionListener.wrap(updateResponse -> {
-
-                    logger.info("updated workflow {} state to {}", workflowId, State.COMPLETED);
-                    if (isSyncExecution) {
-                        client.execute(
-                            GetWorkflowStateAction.INSTANCE,
-                            new GetWorkflowStateRequest(workflowId, false, template.getTenantId()),
-                            ActionListener.wrap(response -> {
-                                // We've completed provisioning and responding synchronously
-                                TenantAwareHelper.releaseProvision(tenantId);
-                                listener.onResponse(new WorkflowResponse(workflowId, response.getWorkflowState()));
-                            }, exception -> {
-                                String errorMessage = "Failed to get workflow state.";
-                                logger.error(errorMessage, exception);
-                                if (exception instanceof FlowFrameworkException) {
-                                    listener.onFailure(exception);
-                                } else {
-                                    listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
-                                }
-                            })
-                        );
-                    } else {
-                        // We've completed provisioning asynchronously
-                        TenantAwareHelper.releaseProvision(tenantId);
-                    }
-                }, exception -> {
-                    // We've completed provisioning asynchronously but failed state update
-                    TenantAwareHelper.releaseProvision(tenantId);
-                    logger.error("Failed to update workflow state for workflow {}", workflowId, exception);
-                })
+            // Completion is handled by a listener so this thread can return to the pool while the steps run
+            WorkflowCompletionListener.listen(
+                workflowFutureMap,
+                threadPool.getThreadContext(),
+                threadPool.generic(),
+                () -> handleWorkflowCompletion(template, workflowId, listener, isSyncExecution),
+                (stepId, ex) -> handleWorkflowFailure(template, workflowId, stepId, ex, ProcessNode.cancel(workflowSequence, ex))
             );
         } catch (Exception ex) {
-            RestStatus status;
-            if (ex instanceof FlowFrameworkException) {
-                status = ((FlowFrameworkException) ex).getRestStatus();
-            } else {
-                status = ExceptionsHelper.status(ex);
-            }
-            logger.error("Reprovisioning failed for workflow {} during step {}.", workflowId, currentStepId, ex);
-            String errorMessage = (ex.getCause() == null ? ex.getMessage() : ex.getCause().getClass().getName())
-                + " during step "
-                + currentStepId
-                + ", restStatus: "
-                + status.toString();
-            flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
-                workflowId,
-                template.getTenantId(),
-                Map.ofEntries(
-                    Map.entry(STATE_FIELD, State.FAILED),
-                    Map.entry(ERROR_FIELD, errorMessage),
-                    Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.FAILED),
-                    Map.entry(PROVISION_END_TIME_FIELD, Instant.now().toEpochMilli())
-                ),
-                ActionListener.wrap(updateResponse -> {
-                    logger.info("updated workflow {} state to {}", workflowId, State.FAILED);
-                }, exceptionState -> { logger.error("Failed to update workflow state for workflow {}", workflowId, exceptionState); })
-            );
+            handleWorkflowFailure(template, workflowId, currentStepId, ex, ProcessNode.cancel(workflowSequence, ex));
         }
     }
 
+    /**
+     * Updates the workflow state once all steps have completed successfully
+     * @param template The template being reprovisioned
+     * @param workflowId The workflowId associated with the workflow that completed
+     * @param listener The ActionListener to handle the workflow response or failure
+     * @param isSyncExecution Flag indicating whether the workflow was executed synchronously
+     */
+    private void handleWorkflowCompletion(
+        Template template,
+        String workflowId,
+        ActionListener<WorkflowResponse> listener,
+        boolean isSyncExecution
+    ) {
+        logger.info("Reprovisioning completed successfully for workflow {}", workflowId);
+        // Need to call TenantAwareHelper.releaseProvision in cases listener.onFailure is not called
+        String tenantId = template.getTenantId();
+        flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
+            workflowId,
+            tenantId,
+            Map.ofEntries(
+                Map.entry(STATE_FIELD, State.COMPLETED),
+                Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.DONE),
+                Map.entry(PROVISION_END_TIME_FIELD, Instant.now().toEpochMilli())
+            ),
+            ActionListener.wrap(updateResponse -> {
+
+                logger.info("updated workflow {} state to {}", workflowId, State.COMPLETED);
+                if (isSyncExecution) {
+                    client.execute(
+                        GetWorkflowStateAction.INSTANCE,
+                        new GetWorkflowStateRequest(workflowId, false, template.getTenantId()),
+                        ActionListener.wrap(response -> {
+                            // We've completed provisioning and responding synchronously
+                            TenantAwareHelper.releaseProvision(tenantId);
+                            listener.onResponse(new WorkflowResponse(workflowId, response.getWorkflowState()));
+                        }, exception -> {
+                            String errorMessage = "Failed to get workflow state.";
+                            logger.error(errorMessage, exception);
+                            if (exception instanceof FlowFrameworkException) {
+                                listener.onFailure(exception);
+                            } else {
+                                listener.onFailure(new FlowFrameworkException(errorMessage, ExceptionsHelper.status(exception)));
+                            }
+                        })
+                    );
+                } else {
+                    // We've completed provisioning asynchronously
+                    TenantAwareHelper.releaseProvision(tenantId);
+                }
+            }, exception -> {
+                // We've completed provisioning asynchronously but failed state update
+                TenantAwareHelper.releaseProvision(tenantId);
+                logger.error("Failed to update workflow state for workflow {}", workflowId, exception);
+            })
+        );
+    }
+
+    /**
+     * Updates the workflow state when a step fails
+     * @param template The template being reprovisioned
+     * @param workflowId The workflowId associated with the workflow that failed
+     * @param stepId The id of the step that failed
+     * @param ex The exception that caused the failure
+     * @param skippedSteps The ids of the steps which never started because the workflow was cancelled
+     */
+    private void handleWorkflowFailure(Template template, String workflowId, String stepId, Exception ex, List<String> skippedSteps) {
+        RestStatus status;
+        if (ex instanceof FlowFrameworkException) {
+            status = ((FlowFrameworkException) ex).getRestStatus();
+        } else {
+            status = ExceptionsHelper.status(ex);
+        }
+        logger.error("Reprovisioning failed for workflow {} during step {}.", workflowId, stepId, ex);
+        String errorMessage = (ex.getCause() == null ? ex.getMessage() : ex.getCause().getClass().getName())
+            + " during step "
+            + stepId
+            + ", restStatus: "
+            + status.toString();
+        flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
+            workflowId,
+            template.getTenantId(),
+            Map.ofEntries(
+                Map.entry(STATE_FIELD, State.FAILED),
+                Map.entry(ERROR_FIELD, errorMessage),
+                Map.entry(PROVISIONING_PROGRESS_FIELD, ProvisioningProgress.FAILED),
+                Map.entry(PROVISION_END_TIME_FIELD, Instant.now().toEpochMilli()),
+                Map.entry(SKIPPED_STEPS_FIELD, skippedSteps)
+            ),
+            ActionListener.wrap(updateResponse -> {
+                logger.info("updated workflow {} state to {}", workflowId, State.FAILED);
+            }, exceptionState -> { logger.error("Failed to update workflow state for workflow {}", workflowId, exceptionState); })
+        );
+    }
+
 }
@@ -172,8 +172,7 @@ public class WorkflowRequest extends ActionRequest {
     public WorkflowRequest(StreamInput in) throws IOException {
         super(in);
         this.workflowId = in.readOptionalString();
-        String templateJson = in.readOptionalString();
-        this.template = templateJson == null ? null : Template.parse(templateJson);
+        this.template = in.readOptionalWriteable(Template::readTemplate);
         this.validation = in.readStringArray();
         boolean provisionOrUpdateOrReprovision = in.readBoolean();
         this.params = provisionOrUpdateOrReprovision
@@ -264,7 +263,10 @@ public class WorkflowRequest extends ActionRequest {
     public void writeTo(StreamOutput out) throws IOException {
         super.writeTo(out);
         out.writeOptionalString(workflowId);
-        out.writeOptionalString(template == null ? null : template.toJson());
+        out.writeBoolean(template != null);
+        if (template != null) {
+            Template.writeTemplate(out, template);
+        }
         out.writeStringArray(validation);
         out.writeBoolean(provision || updateFields || reprovision);
         if (provision) {
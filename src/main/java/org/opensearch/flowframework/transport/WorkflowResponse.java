@@ -87,6 +87,7 @@ public class WorkflowResponse extends ActionResponse implements ToXContentObject
             .error(workflowState.getError())
             .state(workflowState.getState())
             .resourcesCreated(workflowState.resourcesCreated())
+            .skippedSteps(workflowState.skippedSteps())
             .build();
 
     }
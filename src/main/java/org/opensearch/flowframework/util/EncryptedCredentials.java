@@ -0,0 +1,100 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.util;
+
+import org.opensearch.common.Nullable;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The encrypted credentials of a workflow node, decrypted by the step consuming them rather than when the template is read.
+ * <p>
+ * The credentials are decrypted on each call to {@link #decrypt()} and the plain text is never kept, as a template holding them may
+ * outlive the execution consuming them. They are written encrypted to XContent, so that a template holding them is indexed without
+ * encrypting them again, and never appear in plain text in logs.
+ */
+public class EncryptedCredentials implements ToXContentObject {
+
+    private final Map<String, String> encryptedCredentials;
+    private final String tenantId;
+    private final EncryptorUtils encryptorUtils;
+
+    /**
+     * Instantiates a new EncryptedCredentials
+     * @param encryptedCredentials the encrypted credentials
+     * @param tenantId the tenant id, whose master key encrypted the credentials
+     * @param encryptorUtils the encryption utility decrypting the credentials
+     */
+    EncryptedCredentials(Map<String, String> encryptedCredentials, @Nullable String tenantId, EncryptorUtils encryptorUtils) {
+        this.encryptedCredentials = Collections.unmodifiableMap(new HashMap<>(encryptedCredentials));
+        this.tenantId = tenantId;
+        this.encryptorUtils = encryptorUtils;
+    }
+
+    /**
+     * Gets the encrypted credentials
+     * @return the encrypted credentials
+     */
+    public Map<String, String> encrypted() {
+        return encryptedCredentials;
+    }
+
+    /**
+     * Decrypts the credentials, waiting for the master key if it is not cached yet
+     * @return the decrypted credentials
+     */
+    public Map<String, String> decrypt() {
+        return encryptorUtils.decryptCredentials(encryptedCredentials, tenantId);
+    }
+
+    /**
+     * Returns user inputs with any {@link EncryptedCredentials} replaced by the decrypted credentials
+     * @param userInputs the user inputs of a workflow node
+     * @return the user inputs with decrypted credentials
+     */
+    public static Map<String, Object> decryptUserInputs(Map<String, Object> userInputs) {
+        if (userInputs.values().stream().noneMatch(EncryptedCredentials.class::isInstance)) {
+            return userInputs;
+        }
+        Map<String, Object> decryptedUserInputs = new HashMap<>(userInputs);
+        decryptedUserInputs.replaceAll(
+            (key, value) -> value instanceof EncryptedCredentials ? ((EncryptedCredentials) value).decrypt() : value
+        );
+        return decryptedUserInputs;
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        return builder.map(encryptedCredentials);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        EncryptedCredentials other = (EncryptedCredentials) obj;
+        return encryptedCredentials.equals(other.encryptedCredentials) && Objects.equals(tenantId, other.tenantId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(encryptedCredentials, tenantId);
+    }
+
+    @Override
+    public String toString() {
+        return "EncryptedCredentials" + encryptedCredentials.keySet();
+    }
+}
@@ -12,11 +12,20 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.ExceptionsHelper;
 import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.search.ClearScrollRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchScrollRequest;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.Nullable;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.commons.authuser.User;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.unit.ByteSizeValue;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.XContentParser;
@@ -25,10 +34,13 @@ import org.opensearch.flowframework.model.Config;
 import org.opensearch.flowframework.model.Template;
 import org.opensearch.flowframework.model.Workflow;
 import org.opensearch.flowframework.model.WorkflowNode;
+import org.opensearch.index.query.QueryBuilders;
 import org.opensearch.remote.metadata.client.GetDataObjectRequest;
 import org.opensearch.remote.metadata.client.PutDataObjectRequest;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.remote.metadata.common.SdkClientUtils;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
 import org.opensearch.search.fetch.subphase.FetchSourceContext;
 import org.opensearch.transport.client.Client;
 
@@ -45,22 +57,33 @@ import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 import com.amazonaws.encryptionsdk.AwsCrypto;
 import com.amazonaws.encryptionsdk.CommitmentPolicy;
+import com.amazonaws.encryptionsdk.CryptoMaterialsManager;
 import com.amazonaws.encryptionsdk.CryptoResult;
+import com.amazonaws.encryptionsdk.DefaultCryptoMaterialsManager;
+import com.amazonaws.encryptionsdk.caching.CachingCryptoMaterialsManager;
+import com.amazonaws.encryptionsdk.caching.LocalCryptoMaterialsCache;
 import com.amazonaws.encryptionsdk.jce.JceMasterKey;
 
 import static org.opensearch.core.xcontent.XContentParserUtils.ensureExpectedToken;
 import static org.opensearch.flowframework.common.CommonValue.CONFIG_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.CREDENTIAL_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.MASTER_KEY;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.DATA_KEY_CACHE_ENABLED;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.DATA_KEY_CACHE_MAX_AGE;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.DATA_KEY_CACHE_MAX_BYTES;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.DATA_KEY_CACHE_MAX_MESSAGES;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MASTER_KEY_CACHE_SIZE;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MASTER_KEY_CACHE_TTL;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MISSING_MASTER_KEY_CACHE_TTL;
 
 /**
  * Encryption utility class
@@ -75,28 +98,69 @@ public class EncryptorUtils {
     // https://github.com/aws/aws-encryption-sdk-java/issues/1879
     private static final String WRAPPING_ALGORITHM = "AES/GCM/NOPADDING";
 
-    // concurrent map can't have null as a key. This key is to support single tenancy
-    private static final String DEFAULT_TENANT_ID = "";
+    // The page size and scroll keep alive of the search preloading master keys
+    private static final int PRELOAD_PAGE_SIZE = 1000;
+    private static final TimeValue PRELOAD_SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
+
+    // The max number of data keys cached for each tenant
+    private static final int DATA_KEY_CACHE_CAPACITY = 100;
 
     private final ClusterService clusterService;
     private final Client client;
     private final SdkClient sdkClient;
-    private final Map<String, String> tenantMasterKeys;
+    // Keyed by the id of the master key document in the config index
+    private final Cache<String, CryptoContext> cryptoContexts;
+    private final Cache<String, Boolean> missingMasterKeys;
+    private final int masterKeyCacheSize;
     private final NamedXContentRegistry xContentRegistry;
+    private final boolean dataKeyCacheEnabled;
+    private final TimeValue dataKeyCacheMaxAge;
+    private final long dataKeyCacheMaxMessages;
+    private final ByteSizeValue dataKeyCacheMaxBytes;
 
     /**
-     * Instantiates a new EncryptorUtils object
+     * Instantiates a new EncryptorUtils object which does not cache data keys
      * @param clusterService the cluster service
      * @param client the node client
      * @param sdkClient the Multitenant Client
      * @param xContentRegistry the OpenSearch XContent Registry
      */
     public EncryptorUtils(ClusterService clusterService, Client client, SdkClient sdkClient, NamedXContentRegistry xContentRegistry) {
-        this.tenantMasterKeys = new ConcurrentHashMap<>();
+        this(clusterService, client, sdkClient, xContentRegistry, Settings.EMPTY);
+    }
+
+    /**
+     * Instantiates a new EncryptorUtils object
+     * @param clusterService the cluster service
+     * @param client the node client
+     * @param sdkClient the Multitenant Client
+     * @param xContentRegistry the OpenSearch XContent Registry
+     * @param settings the node settings, bounding the master key cache and enabling and bounding the data key cache
+     */
+    public EncryptorUtils(
+        ClusterService clusterService,
+        Client client,
+        SdkClient sdkClient,
+        NamedXContentRegistry xContentRegistry,
+        Settings settings
+    ) {
+        this.masterKeyCacheSize = MASTER_KEY_CACHE_SIZE.get(settings);
+        this.cryptoContexts = CacheBuilder.<String, CryptoContext>builder()
+            .setMaximumWeight(masterKeyCacheSize)
+            .setExpireAfterAccess(MASTER_KEY_CACHE_TTL.get(settings))
+            .build();
+        this.missingMasterKeys = CacheBuilder.<String, Boolean>builder()
+            .setMaximumWeight(masterKeyCacheSize)
+            .setExpireAfterWrite(MISSING_MASTER_KEY_CACHE_TTL.get(settings))
+            .build();
         this.clusterService = clusterService;
         this.client = client;
         this.sdkClient = sdkClient;
         this.xContentRegistry = xContentRegistry;
+        this.dataKeyCacheEnabled = DATA_KEY_CACHE_ENABLED.get(settings);
+        this.dataKeyCacheMaxAge = DATA_KEY_CACHE_MAX_AGE.get(settings);
+        this.dataKeyCacheMaxMessages = DATA_KEY_CACHE_MAX_MESSAGES.get(settings);
+        this.dataKeyCacheMaxBytes = DATA_KEY_CACHE_MAX_BYTES.get(settings);
     }
 
     /**
@@ -105,7 +169,32 @@ public class EncryptorUtils {
      * @param masterKey the master key
      */
     void setMasterKey(@Nullable String tenantId, String masterKey) {
-        this.tenantMasterKeys.put(Objects.requireNonNullElse(tenantId, DEFAULT_TENANT_ID), masterKey);
+        cacheMasterKey(masterKeyId(tenantId), masterKey);
+    }
+
+    private void cacheMasterKey(String masterKeyId, String masterKey) {
+        cryptoContexts.put(masterKeyId, createCryptoContext(masterKey));
+        missingMasterKeys.invalidate(masterKeyId);
+    }
+
+    /**
+     * Builds the crypto context of a master key, with a materials manager caching data keys if the data key cache is enabled
+     * @param masterKey the master key
+     * @return the crypto context
+     */
+    private CryptoContext createCryptoContext(String masterKey) {
+        byte[] bytes = Base64.getDecoder().decode(masterKey);
+        JceMasterKey jceMasterKey = JceMasterKey.getInstance(new SecretKeySpec(bytes, ALGORITHM), PROVIDER, "", WRAPPING_ALGORITHM);
+        CryptoMaterialsManager materialsManager = dataKeyCacheEnabled
+            ? CachingCryptoMaterialsManager.newBuilder()
+                .withMasterKeyProvider(jceMasterKey)
+                .withCache(new LocalCryptoMaterialsCache(DATA_KEY_CACHE_CAPACITY))
+                .withMaxAge(dataKeyCacheMaxAge.millis(), TimeUnit.MILLISECONDS)
+                .withMessageUseLimit(dataKeyCacheMaxMessages)
+                .withByteUseLimit(dataKeyCacheMaxBytes.getBytes())
+                .build()
+            : new DefaultCryptoMaterialsManager(jceMasterKey);
+        return new CryptoContext(masterKey, materialsManager);
     }
 
     /**
@@ -114,7 +203,28 @@ public class EncryptorUtils {
      * @return the master key
      */
     String getMasterKey(@Nullable String tenantId) {
-        return tenantMasterKeys.get(Objects.requireNonNullElse(tenantId, DEFAULT_TENANT_ID));
+        CryptoContext cryptoContext = getCryptoContext(tenantId);
+        return cryptoContext == null ? null : cryptoContext.masterKey;
+    }
+
+    private CryptoContext getCryptoContext(@Nullable String tenantId) {
+        return cryptoContexts.get(masterKeyId(tenantId));
+    }
+
+    /**
+     * Returns the hit, miss and eviction counts of the master key cache
+     * @return the master key cache stats
+     */
+    public Cache.CacheStats getMasterKeyCacheStats() {
+        return cryptoContexts.stats();
+    }
+
+    /**
+     * Returns the hit, miss and eviction counts of the cache of master keys missing from the config index
+     * @return the missing master key cache stats
+     */
+    public Cache.CacheStats getMissingMasterKeyCacheStats() {
+        return missingMasterKeys.stats();
     }
 
     /**
@@ -128,46 +238,152 @@ public class EncryptorUtils {
     }
 
     /**
-     * Encrypts template credentials
+     * Encrypts template credentials, waiting for the master key if it is not cached yet
      * @param template the template to encrypt
      * @return template with encrypted credentials
      */
     public Template encryptTemplateCredentials(Template template) {
-        return processTemplateCredentials(template, this::encrypt);
+        return processTemplateCredentials(template, CryptoContext::encrypt, EncryptedCredentials::encrypted);
+    }
+
+    /**
+     * Encrypts template credentials, fetching the master key asynchronously if it is not cached yet
+     * @param template the template to encrypt
+     * @param listener notified with the template with encrypted credentials
+     */
+    public void encryptTemplateCredentials(Template template, ActionListener<Template> listener) {
+        processTemplateCredentials(template, CryptoContext::encrypt, EncryptedCredentials::encrypted, listener);
+    }
+
+    /**
+     * Replaces the encrypted credentials of a template with {@link EncryptedCredentials}, which are decrypted by the step
+     * consuming them. No credential is decrypted, and the master key is not fetched, until a step needs it.
+     * @param template the template with encrypted credentials
+     * @return template with credentials decrypted on first use
+     */
+    public Template lazilyDecryptTemplateCredentials(Template template) {
+        if (!hasCredentials(template)) {
+            return template;
+        }
+        return replaceTemplateCredentials(
+            template,
+            credentials -> credentials instanceof EncryptedCredentials
+                ? credentials
+                : new EncryptedCredentials(asCredentialMap(credentials), template.getTenantId(), this)
+        );
+    }
+
+    /**
+     * Decrypts the given credentials
+     * @param encryptedCredentials the credentials to decrypt
+     * @param tenantId The tenant id. If null, decrypts for the default tenant id.
+     * @return the decrypted credentials
+     */
+    Map<String, String> decryptCredentials(Map<String, String> encryptedCredentials, @Nullable String tenantId) {
+        return cipherCredentials(encryptedCredentials, awaitCryptoContext(tenantId), CryptoContext::decrypt);
+    }
+
+    private Template processTemplateCredentials(
+        Template template,
+        BiFunction<CryptoContext, String, String> cipherFunction,
+        Function<EncryptedCredentials, Map<String, String>> encryptedCredentialsFunction
+    ) {
+        CryptoContext cryptoContext = hasCredentials(template) ? awaitCryptoContext(template.getTenantId()) : null;
+        return replaceTemplateCredentials(
+            template,
+            credentials -> cipherCredentials(credentials, cryptoContext, cipherFunction, encryptedCredentialsFunction)
+        );
+    }
+
+    private void processTemplateCredentials(
+        Template template,
+        BiFunction<CryptoContext, String, String> cipherFunction,
+        Function<EncryptedCredentials, Map<String, String>> encryptedCredentialsFunction,
+        ActionListener<Template> listener
+    ) {
+        CompletableFuture<Void> masterKeyFuture = hasCredentials(template)
+            ? initializeMasterKeyIfAbsent(template.getTenantId())
+            : CompletableFuture.completedFuture(null);
+        masterKeyFuture.whenComplete((v, throwable) -> {
+            if (throwable != null) {
+                listener.onFailure(SdkClientUtils.unwrapAndConvertToException(throwable));
+                return;
+            }
+            Template processedTemplate;
+            try {
+                CryptoContext cryptoContext = getCryptoContext(template.getTenantId());
+                processedTemplate = replaceTemplateCredentials(
+                    template,
+                    credentials -> cipherCredentials(credentials, cryptoContext, cipherFunction, encryptedCredentialsFunction)
+                );
+            } catch (Exception e) {
+                listener.onFailure(e);
+                return;
+            }
+            listener.onResponse(processedTemplate);
+        });
+    }
+
+    private static Map<String, String> cipherCredentials(
+        Object credentials,
+        CryptoContext cryptoContext,
+        BiFunction<CryptoContext, String, String> cipherFunction,
+        Function<EncryptedCredentials, Map<String, String>> encryptedCredentialsFunction
+    ) {
+        if (credentials instanceof EncryptedCredentials) {
+            return encryptedCredentialsFunction.apply((EncryptedCredentials) credentials);
+        }
+        return cipherCredentials(asCredentialMap(credentials), cryptoContext, cipherFunction);
+    }
+
+    private static Map<String, String> cipherCredentials(
+        Map<String, String> credentials,
+        CryptoContext cryptoContext,
+        BiFunction<CryptoContext, String, String> cipherFunction
+    ) {
+        // Apply the cipher funcion on all values within credential field
+        Map<String, String> processedCredentials = new HashMap<>(credentials);
+        processedCredentials.replaceAll((key, cred) -> cipherFunction.apply(cryptoContext, cred));
+        return processedCredentials;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> asCredentialMap(Object credentials) {
+        return (Map<String, String>) credentials;
     }
 
     /**
-     * Decrypts template credentials
-     * @param template the template to decrypt
-     * @return template with decrypted credentials
+     * Checks whether a template has credentials to encrypt or decrypt with the master key
+     * @param template the template
+     * @return true if a node of the template has credentials which are not {@link EncryptedCredentials}
      */
-    public Template decryptTemplateCredentials(Template template) {
-        return processTemplateCredentials(template, this::decrypt);
+    private static boolean hasCredentials(Template template) {
+        return template.workflows()
+            .values()
+            .stream()
+            .flatMap(workflow -> workflow.nodes().stream())
+            .map(node -> node.userInputs().get(CREDENTIAL_FIELD))
+            .anyMatch(credentials -> credentials != null && !(credentials instanceof EncryptedCredentials));
     }
 
     // TODO : Improve processTemplateCredentials to encrypt different fields based on the WorkflowStep type
     /**
-     * Applies the given cipher function on template credentials
+     * Replaces the credential field of template nodes
      * @param template the template to process
-     * @param cipherFunction the encryption/decryption function to apply on credential values
-     * @return template with encrypted credentials
+     * @param credentialsFunction the function returning the value replacing the credential field of a node
+     * @return template with replaced credentials
      */
-    private Template processTemplateCredentials(Template template, BiFunction<String, String, String> cipherFunction) {
+    private Template replaceTemplateCredentials(Template template, UnaryOperator<Object> credentialsFunction) {
         Map<String, Workflow> processedWorkflows = new HashMap<>();
         for (Map.Entry<String, Workflow> entry : template.workflows().entrySet()) {
 
             List<WorkflowNode> processedNodes = new ArrayList<>();
             for (WorkflowNode node : entry.getValue().nodes()) {
                 if (node.userInputs().containsKey(CREDENTIAL_FIELD)) {
-                    // Apply the cipher funcion on all values within credential field
-                    @SuppressWarnings("unchecked")
-                    Map<String, String> credentials = new HashMap<>((Map<String, String>) node.userInputs().get(CREDENTIAL_FIELD));
-                    credentials.replaceAll((key, cred) -> cipherFunction.apply(cred, template.getTenantId()));
-
                     // Replace credentials field in node user inputs
                     Map<String, Object> processedUserInputs = new HashMap<>();
                     processedUserInputs.putAll(node.userInputs());
-                    processedUserInputs.replace(CREDENTIAL_FIELD, credentials);
+                    processedUserInputs.replace(CREDENTIAL_FIELD, credentialsFunction.apply(node.userInputs().get(CREDENTIAL_FIELD)));
 
                     // build new node to add to processed nodes
                     WorkflowNode processedWorkflowNode = new WorkflowNode(
@@ -196,25 +412,7 @@ public class EncryptorUtils {
      * @return the encrypted credential
      */
     String encrypt(final String credential, @Nullable String tenantId) {
-        CountDownLatch latch = new CountDownLatch(1);
-        initializeMasterKeyIfAbsent(tenantId).whenComplete((v, throwable) -> latch.countDown());
-        try {
-            if (!latch.await(5, TimeUnit.SECONDS)) {
-                throw new FlowFrameworkException("Timeout while initializing master key", RestStatus.INTERNAL_SERVER_ERROR);
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new FlowFrameworkException("Interrupted while initializing master key", RestStatus.REQUEST_TIMEOUT);
-        }
-
-        final AwsCrypto crypto = AwsCrypto.builder().withCommitmentPolicy(CommitmentPolicy.RequireEncryptRequireDecrypt).build();
-        byte[] bytes = Base64.getDecoder().decode(getMasterKey(tenantId));
-        JceMasterKey jceMasterKey = JceMasterKey.getInstance(new SecretKeySpec(bytes, ALGORITHM), PROVIDER, "", WRAPPING_ALGORITHM);
-        final CryptoResult<byte[], JceMasterKey> encryptResult = crypto.encryptData(
-            jceMasterKey,
-            credential.getBytes(StandardCharsets.UTF_8)
-        );
-        return Base64.getEncoder().encodeToString(encryptResult.getResult());
+        return awaitCryptoContext(tenantId).encrypt(credential);
     }
 
     /**
@@ -224,6 +422,19 @@ public class EncryptorUtils {
      * @return the decrypted credential
      */
     String decrypt(final String encryptedCredential, @Nullable String tenantId) {
+        return awaitCryptoContext(tenantId).decrypt(encryptedCredential);
+    }
+
+    /**
+     * Gets the crypto context of a tenant, waiting for its master key to be fetched if it is not cached yet
+     * @param tenantId The tenant id. If null, gets the context of the default tenant id.
+     * @return the crypto context
+     */
+    private CryptoContext awaitCryptoContext(@Nullable String tenantId) {
+        CryptoContext cryptoContext = getCryptoContext(tenantId);
+        if (cryptoContext != null) {
+            return cryptoContext;
+        }
         CountDownLatch latch = new CountDownLatch(1);
         initializeMasterKeyIfAbsent(tenantId).whenComplete((v, throwable) -> latch.countDown());
         try {
@@ -234,15 +445,11 @@ public class EncryptorUtils {
             Thread.currentThread().interrupt();
             throw new FlowFrameworkException("Interrupted while initializing master key", RestStatus.REQUEST_TIMEOUT);
         }
-        final AwsCrypto crypto = AwsCrypto.builder().withCommitmentPolicy(CommitmentPolicy.RequireEncryptRequireDecrypt).build();
-        byte[] bytes = Base64.getDecoder().decode(getMasterKey(tenantId));
-        JceMasterKey jceMasterKey = JceMasterKey.getInstance(new SecretKeySpec(bytes, ALGORITHM), PROVIDER, "", WRAPPING_ALGORITHM);
-
-        final CryptoResult<byte[], JceMasterKey> decryptedResult = crypto.decryptData(
-            jceMasterKey,
-            Base64.getDecoder().decode(encryptedCredential)
-        );
-        return new String(decryptedResult.getResult(), StandardCharsets.UTF_8);
+        cryptoContext = getCryptoContext(tenantId);
+        if (cryptoContext == null) {
+            throw new FlowFrameworkException("Master key has not been initialized", RestStatus.INTERNAL_SERVER_ERROR);
+        }
+        return cryptoContext;
     }
 
     // TODO : Improve redactTemplateCredentials to redact different fields
@@ -314,7 +521,7 @@ public class EncryptorUtils {
     }
 
     private void generateAndIndexNewMasterKey(String tenantId, ActionListener<Boolean> listener) {
-        String masterKeyId = tenantId == null ? MASTER_KEY : MASTER_KEY + "_" + hashString(tenantId);
+        String masterKeyId = masterKeyId(tenantId);
         Config config = new Config(generateMasterKey(), Instant.now());
         PutDataObjectRequest putRequest = PutDataObjectRequest.builder()
             .index(CONFIG_INDEX)
@@ -340,23 +547,104 @@ public class EncryptorUtils {
     }
 
     /**
-     * Called by encrypt and decrypt functions to retrieve master key from tenantMasterKeys map if set. If not, checks config system index (which must exist), fetches key and puts in tenantMasterKeys map.
+     * Called by encrypt and decrypt functions to retrieve master key from cryptoContexts cache if set. If not, checks config system index (which must exist), fetches key and puts its crypto context in cryptoContexts cache.
+     * A key recently found missing from the config index fails without reading it again.
      * @param tenantId The tenant id. If null, initializes the key for the default id.
      * @return a future that will complete when the key is initialized (or throws an exception)
      */
     CompletableFuture<Void> initializeMasterKeyIfAbsent(@Nullable String tenantId) {
-        // Happy case, key already in map
-        if (this.tenantMasterKeys.containsKey(Objects.requireNonNullElse(tenantId, DEFAULT_TENANT_ID))) {
+        // Happy case, key already in cache
+        if (getCryptoContext(tenantId) != null) {
             return CompletableFuture.completedFuture(null);
         }
-        // Key not in map
+        // Key not in cache
         if (!clusterService.state().metadata().hasIndex(CONFIG_INDEX)) {
             return CompletableFuture.failedFuture(
                 new FlowFrameworkException("Config Index has not been initialized", RestStatus.INTERNAL_SERVER_ERROR)
             );
         }
-        // Fetch from config index and store in map
-        return cacheMasterKeyFromConfigIndex(tenantId);
+        String masterKeyId = masterKeyId(tenantId);
+        if (missingMasterKeys.get(masterKeyId) != null) {
+            return CompletableFuture.failedFuture(
+                new FlowFrameworkException("Master key has not been initialized in config index", RestStatus.NOT_FOUND)
+            );
+        }
+        // Fetch from config index and store in cache
+        return cacheMasterKeyFromConfigIndex(tenantId).whenComplete((v, throwable) -> {
+            if (throwable instanceof FlowFrameworkException && ((FlowFrameworkException) throwable).status() == RestStatus.NOT_FOUND) {
+                missingMasterKeys.put(masterKeyId, Boolean.TRUE);
+            }
+        });
+    }
+
+    /**
+     * Loads the master keys of the config index into the cache, up to the cache size, so that the first requests of tenants
+     * do not read their key. Keys already cached are kept.
+     * @param listener notified with the number of master keys loaded
+     */
+    public void preloadMasterKeys(ActionListener<Integer> listener) {
+        SearchRequest searchRequest = new SearchRequest(CONFIG_INDEX).scroll(PRELOAD_SCROLL_KEEP_ALIVE)
+            .source(new SearchSourceBuilder().query(QueryBuilders.matchAllQuery()).size(PRELOAD_PAGE_SIZE).fetchSource(true));
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            client.search(
+                searchRequest,
+                ActionListener.runBefore(
+                    ActionListener.wrap(response -> preloadMasterKeys(response, 0, listener), listener::onFailure),
+                    context::restore
+                )
+            );
+        }
+    }
+
+    private void preloadMasterKeys(SearchResponse response, int loaded, ActionListener<Integer> listener) {
+        int count = loaded;
+        for (SearchHit hit : response.getHits().getHits()) {
+            if (count >= masterKeyCacheSize) {
+                break;
+            }
+            if (hit.getId().startsWith(MASTER_KEY) && cryptoContexts.get(hit.getId()) == null) {
+                try (XContentParser parser = ParseUtils.createXContentParserFromRegistry(xContentRegistry, hit.getSourceRef())) {
+                    ensureExpectedToken(XContentParser.Token.START_OBJECT, parser.nextToken(), parser);
+                    cacheMasterKey(hit.getId(), Config.parse(parser).masterKey());
+                    count++;
+                } catch (Exception e) {
+                    logger.warn("Failed to preload master key {}", hit.getId(), e);
+                }
+            }
+        }
+        String scrollId = response.getScrollId();
+        if (response.getHits().getHits().length == 0 || count >= masterKeyCacheSize) {
+            clearPreloadScroll(scrollId);
+            listener.onResponse(count);
+            return;
+        }
+        final int preloaded = count;
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            client.searchScroll(
+                new SearchScrollRequest(scrollId).scroll(PRELOAD_SCROLL_KEEP_ALIVE),
+                ActionListener.runBefore(ActionListener.wrap(next -> preloadMasterKeys(next, preloaded, listener), e -> {
+                    clearPreloadScroll(scrollId);
+                    listener.onFailure(e);
+                }), context::restore)
+            );
+        }
+    }
+
+    private void clearPreloadScroll(String scrollId) {
+        if (scrollId == null) {
+            return;
+        }
+        ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+        clearScrollRequest.addScrollId(scrollId);
+        try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+            client.clearScroll(
+                clearScrollRequest,
+                ActionListener.runBefore(
+                    ActionListener.wrap(r -> {}, e -> logger.debug("Failed to clear master key preload scroll", e)),
+                    context::restore
+                )
+            );
+        }
     }
 
     private CompletableFuture<Void> cacheMasterKeyFromConfigIndex(String tenantId) {
@@ -364,7 +652,7 @@ public class EncryptorUtils {
         final CompletableFuture<Void> resultFuture = new CompletableFuture<>();
         try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
             FetchSourceContext fetchSourceContext = new FetchSourceContext(true);
-            String masterKeyId = tenantId == null ? MASTER_KEY : MASTER_KEY + "_" + hashString(tenantId);
+            String masterKeyId = masterKeyId(tenantId);
             sdkClient.getDataObjectAsync(
                 GetDataObjectRequest.builder()
                     .index(CONFIG_INDEX)
@@ -412,6 +700,15 @@ public class EncryptorUtils {
         }
     }
 
+    /**
+     * Returns the id of the master key document of a tenant in the config index
+     * @param tenantId The tenant id. If null, returns the id of the key of the default tenant.
+     * @return the document id
+     */
+    private String masterKeyId(@Nullable String tenantId) {
+        return tenantId == null ? MASTER_KEY : MASTER_KEY + "_" + hashString(tenantId);
+    }
+
     private String hashString(String input) {
         try {
             // Create a MessageDigest instance for SHA-256
@@ -428,4 +725,32 @@ public class EncryptorUtils {
         }
     }
 
+    /**
+     * The master key of a tenant with the crypto client and materials manager built from it. It is immutable and built once
+     * when the key is cached, so that encrypting or decrypting a credential only runs the cipher.
+     */
+    private static final class CryptoContext {
+        private final String masterKey;
+        private final AwsCrypto crypto;
+        private final CryptoMaterialsManager materialsManager;
+
+        CryptoContext(String masterKey, CryptoMaterialsManager materialsManager) {
+            this.masterKey = masterKey;
+            this.crypto = AwsCrypto.builder().withCommitmentPolicy(CommitmentPolicy.RequireEncryptRequireDecrypt).build();
+            this.materialsManager = materialsManager;
+        }
+
+        String encrypt(String credential) {
+            final CryptoResult<byte[], ?> encryptResult = crypto.encryptData(materialsManager, credential.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(encryptResult.getResult());
+        }
+
+        String decrypt(String encryptedCredential) {
+            final CryptoResult<byte[], ?> decryptedResult = crypto.decryptData(
+                materialsManager,
+                Base64.getDecoder().decode(encryptedCredential)
+            );
+            return new String(decryptedResult.getResult(), StandardCharsets.UTF_8);
+        }
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.cluster.ClusterChangedEvent;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.ClusterStateListener;
+import org.opensearch.cluster.routing.IndexRoutingTable;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.gateway.GatewayService;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.opensearch.flowframework.common.CommonValue.CONFIG_INDEX;
+
+/**
+ * Loads the master keys of the config index into the cache of the {@link EncryptorUtils} once the config index is available after
+ * the node starts, so that the first requests of each tenant do not wait for a read of its key.
+ * <p>
+ * Preloading is best effort: a failed load is retried on a later cluster state change, up to {@link #MAX_ATTEMPTS} times, and keys
+ * which are not preloaded are read when first used.
+ */
+public class MasterKeyPreloader implements ClusterStateListener {
+
+    private static final Logger logger = LogManager.getLogger(MasterKeyPreloader.class);
+
+    /** The number of times loading the master keys is attempted */
+    static final int MAX_ATTEMPTS = 3;
+
+    private final ClusterService clusterService;
+    private final EncryptorUtils encryptorUtils;
+    private final AtomicBoolean loading = new AtomicBoolean(false);
+    private final AtomicInteger attempts = new AtomicInteger(0);
+
+    /**
+     * Instantiates a new MasterKeyPreloader
+     * @param clusterService the cluster service, notifying this preloader of cluster state changes
+     * @param encryptorUtils the encryption utility caching the master keys
+     */
+    public MasterKeyPreloader(ClusterService clusterService, EncryptorUtils encryptorUtils) {
+        this.clusterService = clusterService;
+        this.encryptorUtils = encryptorUtils;
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        if (!isConfigIndexAvailable(event.state()) || !loading.compareAndSet(false, true)) {
+            return;
+        }
+        int attempt = attempts.incrementAndGet();
+        encryptorUtils.preloadMasterKeys(ActionListener.wrap(count -> {
+            logger.info("Preloaded {} master keys", count);
+            clusterService.removeListener(this);
+        }, e -> {
+            if (attempt >= MAX_ATTEMPTS) {
+                logger.warn("Failed to preload master keys, keys will be read when first used", e);
+                clusterService.removeListener(this);
+            } else {
+                logger.debug("Failed to preload master keys, retrying on the next cluster state change", e);
+                loading.set(false);
+            }
+        }));
+    }
+
+    private static boolean isConfigIndexAvailable(ClusterState state) {
+        if (state.blocks().hasGlobalBlock(GatewayService.STATE_NOT_RECOVERED_BLOCK) || !state.metadata().hasIndex(CONFIG_INDEX)) {
+            return false;
+        }
+        IndexRoutingTable routingTable = state.routingTable().index(CONFIG_INDEX);
+        return routingTable != null && routingTable.allPrimaryShardsActive();
+    }
+}
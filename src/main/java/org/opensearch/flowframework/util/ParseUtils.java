@@ -33,6 +33,7 @@ import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
 import org.opensearch.flowframework.model.Template;
 import org.opensearch.flowframework.model.WorkflowState;
 import org.opensearch.flowframework.workflow.WorkflowData;
@@ -339,6 +340,58 @@ public class ParseUtils {
         }
     }
 
+    /**
+     * Resolve user and execute the function on a template, whose parsed form may be reused from previous reads
+     * @param requestedUser the user to execute the request
+     * @param workflowId workflow id
+     * @param tenantId tenant id
+     * @param filterByEnabled filter by enabled setting
+     * @param isMultitenancyEnabled whether multitenancy is enabled
+     * @param listener action listener
+     * @param function workflow function
+     * @param client node client
+     * @param flowFrameworkIndicesHandler the indices handler reading the template
+     */
+    public static void resolveUserAndExecute(
+        User requestedUser,
+        String workflowId,
+        String tenantId,
+        Boolean filterByEnabled,
+        boolean isMultitenancyEnabled,
+        ActionListener<? extends ActionResponse> listener,
+        Runnable function,
+        Client client,
+        FlowFrameworkIndicesHandler flowFrameworkIndicesHandler
+    ) {
+        try {
+            if (!isMultitenancyEnabled && (requestedUser == null || filterByEnabled == Boolean.FALSE)) {
+                function.run();
+                return;
+            }
+            try (ThreadContext.StoredContext context = client.threadPool().getThreadContext().stashContext()) {
+                flowFrameworkIndicesHandler.getParsedTemplate(workflowId, tenantId, ActionListener.wrap(template -> {
+                    if (template.isEmpty()) {
+                        String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
+                            "Failed to retrieve template ({}) from global context.",
+                            workflowId
+                        ).getFormattedMessage();
+                        logger.error(errorMessage);
+                        listener.onFailure(new FlowFrameworkException(errorMessage, RestStatus.NOT_FOUND));
+                        return;
+                    }
+                    if (TenantAwareHelper.validateTenantResource(isMultitenancyEnabled, tenantId, template.get().getTenantId(), listener)) {
+                        checkUserAndExecute(requestedUser, template.get().getUser(), workflowId, filterByEnabled, listener, function);
+                    }
+                }, exception -> {
+                    logger.error("Failed to get workflow: {}", workflowId, exception);
+                    listener.onFailure(exception);
+                }), context);
+            }
+        } catch (Exception e) {
+            listener.onFailure(e);
+        }
+    }
+
     /**
      * Check if requested user has backend role required to access the resource
      * @param requestedUser the user to execute the request
@@ -504,17 +557,7 @@ public class ParseUtils {
                         return;
                     }
                 }
-                if (!filterByEnabled || checkUserPermissions(requestUser, resourceUser, workflowId) || isAdmin(requestUser)) {
-                    function.run();
-                } else {
-                    logger.debug("User: " + requestUser.getName() + " does not have permissions to access workflow: " + workflowId);
-                    listener.onFailure(
-                        new FlowFrameworkException(
-                            "User does not have permissions to access workflow: " + workflowId,
-                            RestStatus.BAD_REQUEST
-                        )
-                    );
-                }
+                checkUserAndExecute(requestUser, resourceUser, workflowId, filterByEnabled, listener, function);
             } catch (Exception e) {
                 logger.error("Failed to parse workflow: {}", workflowId, e);
                 listener.onFailure(e);
@@ -529,6 +572,24 @@ public class ParseUtils {
         }
     }
 
+    private static void checkUserAndExecute(
+        User requestUser,
+        User resourceUser,
+        String workflowId,
+        Boolean filterByEnabled,
+        ActionListener<? extends ActionResponse> listener,
+        Runnable function
+    ) {
+        if (!filterByEnabled || checkUserPermissions(requestUser, resourceUser, workflowId) || isAdmin(requestUser)) {
+            function.run();
+        } else {
+            logger.debug("User: " + requestUser.getName() + " does not have permissions to access workflow: " + workflowId);
+            listener.onFailure(
+                new FlowFrameworkException("User does not have permissions to access workflow: " + workflowId, RestStatus.BAD_REQUEST)
+            );
+        }
+    }
+
     /**
      * Creates a XContentParser from a given Registry
      *
@@ -0,0 +1,77 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.util;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.action.ActionListenerResponseHandler;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.transport.TransportResponse;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.model.WorkflowState;
+import org.opensearch.transport.TransportRequest;
+import org.opensearch.transport.TransportService;
+
+/**
+ * Helper class routing requests about a workflow to the node provisioning it, which keeps its provisioning events and is notified
+ * of its state changes in memory.
+ */
+public class ProvisioningNodeRouter {
+
+    private ProvisioningNodeRouter() {}
+
+    /**
+     * Finds the node provisioning a workflow, if it is another node of the cluster
+     * @param clusterService the cluster service
+     * @param workflowState the workflow state, recording the id of the node which last started provisioning the workflow
+     * @return the provisioning node, or null if it is this node, is not recorded, or left the cluster
+     */
+    public static DiscoveryNode getRemoteProvisioningNode(ClusterService clusterService, WorkflowState workflowState) {
+        String nodeId = workflowState.getProvisioningNode();
+        if (nodeId == null || nodeId.equals(clusterService.localNode().getId())) {
+            return null;
+        }
+        return clusterService.state().nodes().get(nodeId);
+    }
+
+    /**
+     * Forwards a request to another node, failing the listener with the status and message of the failure on that node
+     * @param <T> the response type
+     * @param transportService the transport service
+     * @param node the node to send the request to
+     * @param actionName the name of the transport action handling the request
+     * @param request the request
+     * @param reader the reader of the response
+     * @param listener the listener notified with the response of the node
+     */
+    public static <T extends TransportResponse> void forward(
+        TransportService transportService,
+        DiscoveryNode node,
+        String actionName,
+        TransportRequest request,
+        Writeable.Reader<T> reader,
+        ActionListener<T> listener
+    ) {
+        transportService.sendRequest(
+            node,
+            actionName,
+            request,
+            new ActionListenerResponseHandler<>(ActionListener.wrap(listener::onResponse, e -> {
+                Throwable cause = ExceptionsHelper.unwrapCause(e);
+                listener.onFailure(
+                    cause instanceof FlowFrameworkException
+                        ? (FlowFrameworkException) cause
+                        : new FlowFrameworkException(cause.getMessage(), cause, ExceptionsHelper.status(cause))
+                );
+            }), reader)
+        );
+    }
+}
@@ -20,6 +20,7 @@ import org.opensearch.common.xcontent.XContentType;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.bytes.BytesArray;
 import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.flowframework.common.ListenablePlainActionFuture;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.exception.WorkflowStepException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
@@ -67,7 +68,7 @@ public abstract class AbstractCreatePipelineStep implements WorkflowStep {
         String tenantId
     ) {
 
-        PlainActionFuture<WorkflowData> createPipelineFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> createPipelineFuture = ListenablePlainActionFuture.newListenableFuture();
 
         Set<String> requiredKeys = Set.of(PIPELINE_ID, CONFIGURATIONS);
 
@@ -19,7 +19,7 @@ import org.opensearch.core.common.bytes.BytesArray;
 import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.MediaTypeRegistry;
-import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.common.ListenablePlainActionFuture;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.exception.WorkflowStepException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
@@ -32,7 +32,6 @@ import org.opensearch.ml.common.model.TextEmbeddingModelConfig.FrameworkType;
 import org.opensearch.ml.common.model.TextEmbeddingModelConfig.TextEmbeddingModelConfigBuilder;
 import org.opensearch.ml.common.transport.register.MLRegisterModelInput;
 import org.opensearch.ml.common.transport.register.MLRegisterModelInput.MLRegisterModelInputBuilder;
-import org.opensearch.threadpool.ThreadPool;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
@@ -67,18 +66,16 @@ public abstract class AbstractRegisterLocalModelStep extends AbstractRetryableWo
 
     /**
      * Instantiate this class
-     * @param threadPool The OpenSearch thread pool
      * @param mlClient client to instantiate MLClient
      * @param flowFrameworkIndicesHandler FlowFrameworkIndicesHandler class to update system indices
-     * @param flowFrameworkSettings settings of flow framework
+     * @param mlTaskPoller the node level poller of ML task status
      */
     protected AbstractRegisterLocalModelStep(
-        ThreadPool threadPool,
         MachineLearningNodeClient mlClient,
         FlowFrameworkIndicesHandler flowFrameworkIndicesHandler,
-        FlowFrameworkSettings flowFrameworkSettings
+        MLTaskPoller mlTaskPoller
     ) {
-        super(threadPool, mlClient, flowFrameworkIndicesHandler, flowFrameworkSettings);
+        super(flowFrameworkIndicesHandler, mlTaskPoller);
         this.mlClient = mlClient;
         this.flowFrameworkIndicesHandler = flowFrameworkIndicesHandler;
     }
@@ -93,7 +90,7 @@ public abstract class AbstractRegisterLocalModelStep extends AbstractRetryableWo
         String tenantId
     ) {
 
-        PlainActionFuture<WorkflowData> registerLocalModelFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> registerLocalModelFuture = ListenablePlainActionFuture.newListenableFuture();
 
         try {
             Map<String, Object> inputs = ParseUtils.getInputsFromPreviousSteps(
@@ -0,0 +1,131 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.flowframework.model.Workflow;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.opensearch.core.xcontent.ToXContent.EMPTY_PARAMS;
+
+/**
+ * The immutable, tenant independent result of sorting and validating a workflow.
+ * Holds everything needed to create the process nodes of a workflow execution, so that executing the same workflow again
+ * does not need to re-sort the graph or re-resolve step metadata.
+ */
+public class CompiledWorkflowPlan {
+
+    private final WorkflowGraph graph;
+    private final int[] order;
+    private final long[] criticalPaths;
+    private final List<Supplier<WorkflowStep>> stepSuppliers;
+    private final List<TimeValue> timeouts;
+    private final String graphValidationError;
+
+    /**
+     * Instantiate this class.
+     *
+     * @param graph the graph index of the workflow
+     * @param order the node indices in execution order
+     * @param criticalPaths the critical path of each node, by node index
+     * @param stepSuppliers the suppliers of the step of each node, by node index
+     * @param timeouts the timeout of each node, by node index
+     * @param graphValidationError the reason the workflow inputs and outputs are invalid, or null if they are valid
+     */
+    public CompiledWorkflowPlan(
+        WorkflowGraph graph,
+        int[] order,
+        long[] criticalPaths,
+        List<Supplier<WorkflowStep>> stepSuppliers,
+        List<TimeValue> timeouts,
+        String graphValidationError
+    ) {
+        this.graph = graph;
+        this.order = order.clone();
+        this.criticalPaths = criticalPaths.clone();
+        this.stepSuppliers = List.copyOf(stepSuppliers);
+        this.timeouts = List.copyOf(timeouts);
+        this.graphValidationError = graphValidationError;
+    }
+
+    /**
+     * Returns the graph index of the workflow
+     * @return the workflow graph
+     */
+    public WorkflowGraph graph() {
+        return graph;
+    }
+
+    /**
+     * Returns the node indices in execution order
+     * @return a copy of the execution order
+     */
+    public int[] order() {
+        return order.clone();
+    }
+
+    /**
+     * Returns the critical path of a node, the longest path of estimated step costs from it to the end of the workflow
+     * @param index the node index
+     * @return the critical path of the node
+     */
+    public long criticalPath(int index) {
+        return criticalPaths[index];
+    }
+
+    /**
+     * Returns the supplier of the step for a node
+     * @param index the node index
+     * @return the step supplier
+     */
+    public Supplier<WorkflowStep> stepSupplier(int index) {
+        return stepSuppliers.get(index);
+    }
+
+    /**
+     * Returns the timeout for a node
+     * @param index the node index
+     * @return the node timeout
+     */
+    public TimeValue timeout(int index) {
+        return timeouts.get(index);
+    }
+
+    /**
+     * Returns the reason the workflow failed input and output validation
+     * @return the validation error message, or null if the workflow is valid
+     */
+    public String graphValidationError() {
+        return graphValidationError;
+    }
+
+    /**
+     * Computes a stable hash of a workflow's nodes, edges and user params, used as the plan cache key
+     * @param workflow the workflow
+     * @return a URL safe Base64 encoded SHA-256 hash of the workflow's JSON representation
+     * @throws IOException if the workflow can not be serialized
+     */
+    public static String hash(Workflow workflow) throws IOException {
+        String json = workflow.toXContent(JsonXContent.contentBuilder(), EMPTY_PARAMS).toString();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getUrlEncoder().encodeToString(digest.digest(json.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to compute workflow hash", e);
+        }
+    }
+}
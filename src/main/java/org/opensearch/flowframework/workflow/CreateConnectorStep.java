@@ -14,9 +14,11 @@ import org.opensearch.ExceptionsHelper;
 import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.common.ListenablePlainActionFuture;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.exception.WorkflowStepException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
+import org.opensearch.flowframework.util.EncryptedCredentials;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.ml.client.MachineLearningNodeClient;
 import org.opensearch.ml.common.connector.ConnectorAction;
@@ -79,7 +81,7 @@ public class CreateConnectorStep implements WorkflowStep {
         Map<String, String> params,
         String tenantId
     ) {
-        PlainActionFuture<WorkflowData> createConnectorFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> createConnectorFuture = ListenablePlainActionFuture.newListenableFuture();
 
         ActionListener<MLCreateConnectorResponse> actionListener = new ActionListener<>() {
 
@@ -136,7 +138,7 @@ public class CreateConnectorStep implements WorkflowStep {
 
             try {
                 parameters = getParameterMap(inputs.get(PARAMETERS_FIELD));
-                credentials = getStringToStringMap(inputs.get(CREDENTIAL_FIELD), CREDENTIAL_FIELD);
+                credentials = getCredentialMap(inputs.get(CREDENTIAL_FIELD), outputs, params);
                 actions = getConnectorActionList(inputs.get(ACTIONS_FIELD));
                 // TODO: check for un-needed substitution? ${{create_connector. and remove field so we don't need almost duplicate templates
             } catch (IllegalArgumentException iae) {
@@ -181,6 +183,22 @@ public class CreateConnectorStep implements WorkflowStep {
         return parameters;
     }
 
+    /**
+     * Gets the connector credentials, decrypting them if they were kept encrypted until this step
+     * @param credentials the credential input
+     * @param outputs the outputs of previous steps, to substitute in decrypted credentials
+     * @param params the params, to substitute in decrypted credentials
+     * @return the credentials
+     */
+    private static Map<String, String> getCredentialMap(Object credentials, Map<String, WorkflowData> outputs, Map<String, String> params) {
+        if (credentials instanceof EncryptedCredentials) {
+            Map<String, String> decryptedCredentials = new HashMap<>(((EncryptedCredentials) credentials).decrypt());
+            decryptedCredentials.replaceAll((key, value) -> (String) ParseUtils.conditionallySubstitute(value, outputs, params));
+            return decryptedCredentials;
+        }
+        return getStringToStringMap(credentials, CREDENTIAL_FIELD);
+    }
+
     private static List<ConnectorAction> getConnectorActionList(Object array) {
         if (!(array instanceof Map[])) {
             throw new IllegalArgumentException("[" + ACTIONS_FIELD + "] must be an array of key-value maps.");
@@ -15,6 +15,7 @@ import org.opensearch.ExceptionsHelper;
 import org.opensearch.action.ingest.DeletePipelineRequest;
 import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.flowframework.common.ListenablePlainActionFuture;
 import org.opensearch.flowframework.exception.WorkflowStepException;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.transport.client.Client;
@@ -61,7 +62,7 @@ public class DeleteIngestPipelineStep implements WorkflowStep {
         Map<String, String> params,
         String tenantId
     ) {
-        PlainActionFuture<WorkflowData> deletePipelineFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> deletePipelineFuture = ListenablePlainActionFuture.newListenableFuture();
 
         try {
             Map<String, Object> inputs = ParseUtils.getInputsFromPreviousSteps(
@@ -0,0 +1,319 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.support.ContextPreservingActionListener;
+import org.opensearch.common.Randomness;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.commons.ConfigConstants;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.util.ParseUtils;
+import org.opensearch.index.query.QueryBuilders;
+import org.opensearch.ml.client.MachineLearningNodeClient;
+import org.opensearch.ml.common.MLTask;
+import org.opensearch.ml.common.MLTaskState;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.builder.SearchSourceBuilder;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.opensearch.ml.common.CommonValue.ML_TASK_INDEX;
+
+/**
+ * Polls ML tasks until they reach a terminal state, on behalf of every workflow step on the node.
+ * <p>
+ * Outstanding tasks are tracked by task ID, and a single periodic task on the generic thread pool requests the status of each
+ * task once it is due, so that waiting on a task does not hold a thread. Each task is polled on its own
+ * {@link TaskPollingBackoff}, or every {@link FlowFrameworkSettings#getRetryDuration()} if it has none. At most one status
+ * request per task is in flight; a tick which finds a request still pending skips that task. The periodic task only runs
+ * while tasks are outstanding.
+ * <p>
+ * On each tick, the status of the tasks without a tenant is read with one search of the ML task index per user and
+ * {@link #MAX_TASKS_PER_SEARCH} tasks, rather than one get task request per task. Tasks of a tenant, tasks not yet visible to
+ * search, and all tasks of a search which failed, for example because the user may not read the task index, are looked up
+ * individually.
+ * <p>
+ * The periodic task runs in an empty thread context rather than the one of the caller which started it. Each task is looked up
+ * in the thread context of the caller which started polling it, and the tasks of a search are all polled by callers
+ * authenticated as the same user, in the thread context of one of them. Each caller is notified in its own context.
+ */
+public class MLTaskPoller {
+
+    private static final Logger logger = LogManager.getLogger(MLTaskPoller.class);
+
+    /** The maximum number of tasks whose status is read by a single search */
+    public static final int MAX_TASKS_PER_SEARCH = 1000;
+    /** The longest interval between ticks, which bounds how late a task is polled after it is due */
+    public static final TimeValue MAX_TICK_INTERVAL = TimeValue.timeValueMillis(100);
+
+    private final ThreadPool threadPool;
+    private final MachineLearningNodeClient mlClient;
+    private final FlowFrameworkSettings flowFrameworkSettings;
+    private final Map<String, PolledTask> tasks = new ConcurrentHashMap<>();
+
+    // Guarded by this
+    private Scheduler.Cancellable ticker;
+
+    /**
+     * Instantiate this class.
+     *
+     * @param threadPool The OpenSearch thread pool used to schedule the polling
+     * @param mlClient Machine Learning client to get the task status
+     * @param flowFrameworkSettings settings of flow framework, providing the interval between polls
+     */
+    public MLTaskPoller(ThreadPool threadPool, MachineLearningNodeClient mlClient, FlowFrameworkSettings flowFrameworkSettings) {
+        this.threadPool = threadPool;
+        this.mlClient = mlClient;
+        this.flowFrameworkSettings = flowFrameworkSettings;
+    }
+
+    /**
+     * Polls an ML task until it reaches a terminal state. The status is requested immediately, and then after each delay.
+     * Polling on behalf of this caller stops early once its step future is done, for example when the workflow is cancelled.
+     * If the task is already polled for another caller, the existing schedule is kept.
+     * @param taskId the ML task ID
+     * @param tenantId the tenant ID
+     * @param backoff the backoff between polls, or null to poll every retry duration
+     * @param stepFuture the future of the workflow step waiting on the task
+     * @param listener notified with the task once it is completed, failed or cancelled, or with the failure to get its status
+     */
+    public void poll(String taskId, String tenantId, TaskPollingBackoff backoff, Future<?> stepFuture, ActionListener<MLTask> listener) {
+        ThreadContext threadContext = threadPool.getThreadContext();
+        Waiter waiter = new Waiter(stepFuture, new ContextPreservingActionListener<>(threadContext.newRestorableContext(false), listener));
+        String user = threadContext.getTransient(ConfigConstants.OPENSEARCH_SECURITY_USER_INFO_THREAD_CONTEXT);
+        PolledTask task = tasks.compute(taskId, (id, existing) -> {
+            PolledTask polledTask = existing == null
+                ? new PolledTask(id, tenantId, backoff, user, threadContext.newRestorableContext(false))
+                : existing;
+            polledTask.waiters.add(waiter);
+            return polledTask;
+        });
+        startTicker();
+        getTask(task);
+    }
+
+    /**
+     * Returns the number of tasks which have not yet reached a terminal state
+     * @return the number of outstanding tasks
+     */
+    public int outstandingTasks() {
+        return tasks.size();
+    }
+
+    private synchronized void startTicker() {
+        if (ticker == null) {
+            TimeValue retryDuration = flowFrameworkSettings.getRetryDuration();
+            TimeValue interval = retryDuration.nanos() < MAX_TICK_INTERVAL.nanos() ? retryDuration : MAX_TICK_INTERVAL;
+            // The ticker polls the tasks of every caller, so it must not run with the headers of the caller starting it
+            try (ThreadContext.StoredContext ignored = threadPool.getThreadContext().stashContext()) {
+                ticker = threadPool.scheduleWithFixedDelay(this::tick, interval, ThreadPool.Names.GENERIC);
+            }
+        }
+    }
+
+    private void tick() {
+        // Tasks due for a search, by the user polling them. A null key groups the tasks polled without security.
+        Map<String, List<PolledTask>> batches = new HashMap<>();
+        long now = System.nanoTime();
+        for (PolledTask task : tasks.values()) {
+            // Stop polling for callers which are no longer waiting
+            tasks.computeIfPresent(task.taskId, (id, polledTask) -> {
+                polledTask.waiters.removeIf(waiter -> waiter.stepFuture.isDone());
+                return polledTask.waiters.isEmpty() ? null : polledTask;
+            });
+            if (tasks.get(task.taskId) != task || task.nextPollNanos - now > 0) {
+                continue;
+            }
+            if (task.tenantId != null) {
+                // Searching the task index is not scoped to a tenant
+                getTask(task);
+            } else if (task.inFlight.compareAndSet(false, true)) {
+                batches.computeIfAbsent(task.user, user -> new ArrayList<>()).add(task);
+            }
+        }
+        for (List<PolledTask> batch : batches.values()) {
+            for (int i = 0; i < batch.size(); i += MAX_TASKS_PER_SEARCH) {
+                searchTasks(batch.subList(i, Math.min(batch.size(), i + MAX_TASKS_PER_SEARCH)));
+            }
+        }
+        synchronized (this) {
+            if (tasks.isEmpty() && ticker != null) {
+                ticker.cancel();
+                ticker = null;
+            }
+        }
+    }
+
+    /**
+     * Reads the status of a batch of tasks, which are already marked in flight, with a single search of the ML task index. The
+     * search runs in the thread context of the caller polling the first task, as every task of the batch is polled by the same user.
+     * @param batch the tasks to look up
+     */
+    private void searchTasks(List<PolledTask> batch) {
+        String[] taskIds = batch.stream().map(task -> task.taskId).toArray(String[]::new);
+        SearchRequest searchRequest = new SearchRequest(ML_TASK_INDEX).source(
+            new SearchSourceBuilder().query(QueryBuilders.idsQuery().addIds(taskIds)).size(taskIds.length)
+        );
+        try (ThreadContext.StoredContext ignored = batch.get(0).context.get()) {
+            mlClient.searchTask(searchRequest, ActionListener.wrap(response -> onSearchResponse(batch, response), exception -> {
+                logger.debug("Failed to search ML tasks, getting {} tasks individually", batch.size(), exception);
+                getTasks(batch);
+            }));
+        } catch (Exception e) {
+            logger.debug("Failed to search ML tasks, getting {} tasks individually", batch.size(), e);
+            getTasks(batch);
+        }
+    }
+
+    private void onSearchResponse(List<PolledTask> batch, SearchResponse response) {
+        Map<String, SearchHit> hits = new HashMap<>();
+        for (SearchHit hit : response.getHits().getHits()) {
+            hits.put(hit.getId(), hit);
+        }
+        List<PolledTask> missing = new ArrayList<>();
+        for (PolledTask task : batch) {
+            SearchHit hit = hits.get(task.taskId);
+            MLTask mlTask = null;
+            if (hit != null) {
+                try (XContentParser parser = ParseUtils.jsonToParser(hit.getSourceAsString())) {
+                    mlTask = MLTask.parse(parser);
+                } catch (IOException e) {
+                    logger.debug("Failed to parse ML task {}", task.taskId, e);
+                }
+            }
+            if (mlTask == null) {
+                missing.add(task);
+                continue;
+            }
+            onStatus(task, mlTask);
+        }
+        getTasks(missing);
+    }
+
+    private void getTasks(List<PolledTask> batch) {
+        for (PolledTask task : batch) {
+            task.inFlight.set(false);
+            getTask(task);
+        }
+    }
+
+    private void getTask(PolledTask task) {
+        if (!task.inFlight.compareAndSet(false, true)) {
+            return;
+        }
+        try (ThreadContext.StoredContext ignored = task.context.get()) {
+            mlClient.getTask(task.taskId, task.tenantId, ActionListener.wrap(response -> onStatus(task, response), exception -> {
+                task.inFlight.set(false);
+                complete(task, null, exception);
+            }));
+        } catch (Exception e) {
+            task.inFlight.set(false);
+            complete(task, null, e);
+        }
+    }
+
+    private void onStatus(PolledTask task, MLTask response) {
+        if (isTerminal(response.getState())) {
+            task.inFlight.set(false);
+            complete(task, response, null);
+            return;
+        }
+        // Only the thread holding the in flight request updates the schedule
+        long delayNanos = task.backoff == null
+            ? flowFrameworkSettings.getRetryDuration().nanos()
+            : task.backoff.delayNanos(task.attempts++, Randomness.get());
+        task.nextPollNanos = System.nanoTime() + delayNanos;
+        task.inFlight.set(false);
+    }
+
+    private void complete(PolledTask task, MLTask response, Exception exception) {
+        List<Waiter> toNotify = new ArrayList<>();
+        tasks.computeIfPresent(task.taskId, (id, polledTask) -> {
+            if (polledTask != task) {
+                return polledTask;
+            }
+            toNotify.addAll(polledTask.waiters);
+            return null;
+        });
+        for (Waiter waiter : toNotify) {
+            try {
+                if (exception == null) {
+                    waiter.listener.onResponse(response);
+                } else {
+                    waiter.listener.onFailure(exception);
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to notify listener of ML task {}", task.taskId, e);
+            }
+        }
+    }
+
+    private static boolean isTerminal(MLTaskState state) {
+        switch (state) {
+            case COMPLETED:
+            case FAILED:
+            case COMPLETED_WITH_ERROR:
+            case CANCELLED:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static class PolledTask {
+        private final String taskId;
+        private final String tenantId;
+        private final TaskPollingBackoff backoff;
+        // The user of the caller which started polling the task, if security is enabled
+        private final String user;
+        // The thread context of the caller which started polling the task, in which its status is requested
+        private final Supplier<ThreadContext.StoredContext> context;
+        // Only modified within a compute function of the task map
+        private final List<Waiter> waiters = new ArrayList<>();
+        private final AtomicBoolean inFlight = new AtomicBoolean(false);
+        // Only modified while holding the in flight request
+        private int attempts;
+        private volatile long nextPollNanos = System.nanoTime();
+
+        PolledTask(String taskId, String tenantId, TaskPollingBackoff backoff, String user, Supplier<ThreadContext.StoredContext> context) {
+            this.taskId = taskId;
+            this.tenantId = tenantId;
+            this.backoff = backoff;
+            this.user = user;
+            this.context = context;
+        }
+    }
+
+    private static class Waiter {
+        private final Future<?> stepFuture;
+        private final ActionListener<MLTask> listener;
+
+        Waiter(Future<?> stepFuture, ActionListener<MLTask> listener) {
+            this.stepFuture = stepFuture;
+            this.listener = listener;
+        }
+    }
+}
@@ -10,18 +10,47 @@ package org.opensearch.flowframework.workflow;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.OpenSearchTimeoutException;
 import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.FutureUtils;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.common.ListenablePlainActionFuture;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.threadpool.Scheduler;
 import org.opensearch.threadpool.ThreadPool;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Representation of a process node in a workflow graph.
  * Tracks predecessor nodes which must be completed before it can start execution.
+ * <p>
+ * Execution is continuation-based: a node counts down its unresolved predecessors and is only scheduled on the thread pool
+ * once the last one completes. No thread is held while waiting on predecessors or on the step itself.
+ * <p>
+ * The nodes of a workflow share a {@link WorkflowCancellationToken}. When a step fails the token is cancelled, nodes which have not
+ * started are skipped, and steps which are still running are cancelled.
+ * <p>
+ * Node timeouts are timers rather than blocking waits. Nodes created by the {@link WorkflowProcessSorter} share a
+ * {@link WorkflowTimeoutWheel}, so pending timeouts do not each occupy a task on the thread pool scheduler.
+ * <p>
+ * The nodes of a workflow created by the {@link WorkflowProcessSorter} also share a {@link WorkflowReadyQueue}, so that nodes which
+ * become ready when their predecessors complete are dispatched to the thread pool in order of their critical path.
  */
 public class ProcessNode {
 
@@ -37,8 +66,22 @@ public class ProcessNode {
     private final String threadPoolName;
     private final TimeValue nodeTimeout;
     private final String tenantId;
+    private final WorkflowCancellationToken cancellationToken;
+    private final WorkflowTimeoutWheel timeoutWheel;
+    private final WorkflowReadyQueue readyQueue;
 
-    private final PlainActionFuture<WorkflowData> future = PlainActionFuture.newFuture();
+    private final ListenablePlainActionFuture<WorkflowData> future = ListenablePlainActionFuture.newListenableFuture();
+    private final AtomicBoolean executed = new AtomicBoolean(false);
+    // Transitions once from PENDING to either RUNNING or SKIPPED
+    private final AtomicReference<NodeState> state = new AtomicReference<>(NodeState.PENDING);
+    private final AtomicReference<PlainActionFuture<WorkflowData>> stepFuture = new AtomicReference<>();
+    private final List<Runnable> startListeners = new CopyOnWriteArrayList<>();
+
+    private enum NodeState {
+        PENDING,
+        RUNNING,
+        SKIPPED
+    }
 
     /**
      * Create this node linked to its executing process, including input data and any predecessor nodes.
@@ -65,6 +108,144 @@ public class ProcessNode {
         String threadPoolName,
         TimeValue nodeTimeout,
         String tenantId
+    ) {
+        this(
+            id,
+            workflowStep,
+            previousNodeInputs,
+            params,
+            input,
+            predecessors,
+            threadPool,
+            threadPoolName,
+            nodeTimeout,
+            tenantId,
+            new WorkflowCancellationToken()
+        );
+    }
+
+    /**
+     * Create this node linked to its executing process, including input data and any predecessor nodes.
+     *
+     * @param id A string identifying the workflow step
+     * @param workflowStep A java class implementing {@link WorkflowStep} to be executed when it's this node's turn.
+     * @param previousNodeInputs A map of expected inputs coming from predecessor nodes used in graph validation
+     * @param params Params passed on the REST path
+     * @param input Input required by the node encoded in a {@link WorkflowData} instance.
+     * @param predecessors Nodes preceding this one in the workflow
+     * @param threadPool The OpenSearch thread pool
+     * @param threadPoolName The thread pool to use
+     * @param nodeTimeout The timeout value for executing on this node
+     * @param tenantId The tenantId
+     * @param cancellationToken The cancellation token shared by the nodes of the workflow
+     */
+    public ProcessNode(
+        String id,
+        WorkflowStep workflowStep,
+        Map<String, String> previousNodeInputs,
+        Map<String, String> params,
+        WorkflowData input,
+        List<ProcessNode> predecessors,
+        ThreadPool threadPool,
+        String threadPoolName,
+        TimeValue nodeTimeout,
+        String tenantId,
+        WorkflowCancellationToken cancellationToken
+    ) {
+        this(
+            id,
+            workflowStep,
+            previousNodeInputs,
+            params,
+            input,
+            predecessors,
+            threadPool,
+            threadPoolName,
+            nodeTimeout,
+            tenantId,
+            cancellationToken,
+            null
+        );
+    }
+
+    /**
+     * Create this node linked to its executing process, including input data and any predecessor nodes.
+     *
+     * @param id A string identifying the workflow step
+     * @param workflowStep A java class implementing {@link WorkflowStep} to be executed when it's this node's turn.
+     * @param previousNodeInputs A map of expected inputs coming from predecessor nodes used in graph validation
+     * @param params Params passed on the REST path
+     * @param input Input required by the node encoded in a {@link WorkflowData} instance.
+     * @param predecessors Nodes preceding this one in the workflow
+     * @param threadPool The OpenSearch thread pool
+     * @param threadPoolName The thread pool to use
+     * @param nodeTimeout The timeout value for executing on this node
+     * @param tenantId The tenantId
+     * @param cancellationToken The cancellation token shared by the nodes of the workflow
+     * @param timeoutWheel The timing wheel tracking the node timeout, or null to schedule it directly on the thread pool
+     */
+    public ProcessNode(
+        String id,
+        WorkflowStep workflowStep,
+        Map<String, String> previousNodeInputs,
+        Map<String, String> params,
+        WorkflowData input,
+        List<ProcessNode> predecessors,
+        ThreadPool threadPool,
+        String threadPoolName,
+        TimeValue nodeTimeout,
+        String tenantId,
+        WorkflowCancellationToken cancellationToken,
+        WorkflowTimeoutWheel timeoutWheel
+    ) {
+        this(
+            id,
+            workflowStep,
+            previousNodeInputs,
+            params,
+            input,
+            predecessors,
+            threadPool,
+            threadPoolName,
+            nodeTimeout,
+            tenantId,
+            cancellationToken,
+            timeoutWheel,
+            null
+        );
+    }
+
+    /**
+     * Create this node linked to its executing process, including input data and any predecessor nodes.
+     *
+     * @param id A string identifying the workflow step
+     * @param workflowStep A java class implementing {@link WorkflowStep} to be executed when it's this node's turn.
+     * @param previousNodeInputs A map of expected inputs coming from predecessor nodes used in graph validation
+     * @param params Params passed on the REST path
+     * @param input Input required by the node encoded in a {@link WorkflowData} instance.
+     * @param predecessors Nodes preceding this one in the workflow
+     * @param threadPool The OpenSearch thread pool
+     * @param threadPoolName The thread pool to use
+     * @param nodeTimeout The timeout value for executing on this node
+     * @param tenantId The tenantId
+     * @param cancellationToken The cancellation token shared by the nodes of the workflow
+     * @param timeoutWheel The timing wheel tracking the node timeout, or null to schedule it directly on the thread pool
+     * @param readyQueue The queue dispatching the ready nodes of the workflow by priority, or null to dispatch this node directly
+     */
+    public ProcessNode(
+        String id,
+        WorkflowStep workflowStep,
+        Map<String, String> previousNodeInputs,
+        Map<String, String> params,
+        WorkflowData input,
+        List<ProcessNode> predecessors,
+        ThreadPool threadPool,
+        String threadPoolName,
+        TimeValue nodeTimeout,
+        String tenantId,
+        WorkflowCancellationToken cancellationToken,
+        WorkflowTimeoutWheel timeoutWheel,
+        WorkflowReadyQueue readyQueue
     ) {
         this.id = id;
         this.workflowStep = workflowStep;
@@ -76,6 +257,9 @@ public class ProcessNode {
         this.threadPoolName = threadPoolName;
         this.nodeTimeout = nodeTimeout;
         this.tenantId = tenantId;
+        this.cancellationToken = cancellationToken;
+        this.timeoutWheel = timeoutWheel;
+        this.readyQueue = readyQueue;
     }
 
     /**
@@ -119,11 +303,10 @@ public class ProcessNode {
     }
 
     /**
-     * Returns a {@link CompletableFuture} if this process is executing.
-     * Relies on the node having been sorted and executed in an order such that all predecessor nodes have begun execution first (and thus populated this value).
+     * Returns the future tracking this node's execution.
+     * Successor nodes register a listener on this future rather than blocking on it.
      *
      * @return A future indicating the processing state of this node.
-     * Returns {@code null} if it has not begun executing, should not happen if a workflow is sorted and executed topologically.
      */
     public PlainActionFuture<WorkflowData> future() {
         return future;
@@ -156,46 +339,217 @@ public class ProcessNode {
         return tenantId;
     }
 
+    /**
+     * Returns the cancellation token shared by the nodes of the workflow.
+     * @return The node's cancellation token
+     */
+    public WorkflowCancellationToken cancellationToken() {
+        return cancellationToken;
+    }
+
+    /**
+     * Returns whether this node was skipped because the workflow was cancelled before its step started.
+     * @return true if the node's step never started
+     */
+    public boolean isSkipped() {
+        return state.get() == NodeState.SKIPPED;
+    }
+
+    /**
+     * Adds a listener run when this node's step starts, on the thread starting it. Listeners must not block.
+     * @param listener the listener
+     */
+    public void addStartListener(Runnable listener) {
+        this.startListeners.add(listener);
+    }
+
+    /**
+     * Cancels the execution of a workflow after a failure
+     * @param processNodes the process nodes of the workflow
+     * @param cause the failure which caused the cancellation
+     * @return the ids of the nodes which were skipped because their step never started
+     */
+    public static List<String> cancel(List<ProcessNode> processNodes, Exception cause) {
+        for (ProcessNode processNode : processNodes) {
+            processNode.cancellationToken().cancel(cause);
+        }
+        return processNodes.stream().filter(ProcessNode::isSkipped).map(ProcessNode::id).collect(Collectors.toList());
+    }
+
     /**
      * Execute this node in the sequence.
-     * Initializes the node's {@link CompletableFuture} and completes it when the process completes.
+     * Registers a continuation on each predecessor's future and schedules the step once the last predecessor completes.
+     * Completes the node's future when the step completes, fails, or exceeds the node timeout.
      *
      * @return this node's future.
      * This is returned immediately, while process execution continues asynchronously.
      */
     public PlainActionFuture<WorkflowData> execute() {
-        if (this.future.isDone()) {
+        if (this.future.isDone() || !this.executed.compareAndSet(false, true)) {
             throw new IllegalStateException("Process Node [" + this.id + "] already executed.");
         }
+        Supplier<ThreadContext.StoredContext> contextSupplier = threadPool.getThreadContext().newRestorableContext(false);
+        this.cancellationToken.addListener(this::onCancel);
 
-        CompletableFuture.runAsync(() -> {
-            try {
-                // get the input data from predecessor(s)
-                Map<String, WorkflowData> inputMap = new HashMap<>();
-                for (ProcessNode node : predecessors) {
-                    WorkflowData wd = node.future().actionGet();
-                    inputMap.put(wd.getNodeId(), wd);
+        if (predecessors.isEmpty()) {
+            schedule(new HashMap<>(), contextSupplier);
+            return this.future;
+        }
+
+        // get the input data from predecessor(s), starting this node when the last one completes
+        Map<String, WorkflowData> inputMap = Collections.synchronizedMap(new HashMap<>());
+        AtomicInteger pendingPredecessors = new AtomicInteger(predecessors.size());
+        for (ProcessNode node : predecessors) {
+            ListenablePlainActionFuture.addListener(node.future(), ActionListener.wrap(wd -> {
+                inputMap.put(wd.getNodeId(), wd);
+                if (pendingPredecessors.decrementAndGet() == 0) {
+                    Map<String, WorkflowData> predecessorOutputs;
+                    synchronized (inputMap) {
+                        predecessorOutputs = new HashMap<>(inputMap);
+                    }
+                    schedule(predecessorOutputs, contextSupplier);
                 }
+            }, this.future::onFailure), threadPool.generic());
+        }
+        return this.future;
+    }
 
-                // record start time for this step.
-                logger.info("Starting {}.", this.id);
-                PlainActionFuture<WorkflowData> stepFuture = this.workflowStep.execute(
-                    this.id,
-                    this.input,
-                    inputMap,
-                    this.previousNodeInputs,
-                    this.params,
-                    this.tenantId
-                );
-                // If completed exceptionally, this is a no-op
-                future.onResponse(stepFuture.actionGet(this.nodeTimeout));
-                // record end time passing workflow steps
-                logger.info("Finished {}.", this.id);
+    /**
+     * Dispatches this node's step to the thread pool once all its inputs are available, through the ready queue of the workflow if
+     * it has one
+     * @param inputMap the outputs of the predecessor nodes
+     * @param contextSupplier the thread context captured when the node was executed
+     */
+    private void schedule(Map<String, WorkflowData> inputMap, Supplier<ThreadContext.StoredContext> contextSupplier) {
+        if (this.future.isDone()) {
+            return;
+        }
+        Runnable step = () -> {
+            if (!this.state.compareAndSet(NodeState.PENDING, NodeState.RUNNING)) {
+                // The workflow was cancelled while this node was queued
+                return;
+            }
+            try (ThreadContext.StoredContext context = contextSupplier.get()) {
+                executeStep(inputMap);
             } catch (Exception e) {
-                this.future.onFailure(e);
+                failStep(e);
             }
-        }, threadPool.executor(this.threadPoolName));
-        return this.future;
+        };
+        try {
+            Executor executor = threadPool.executor(this.threadPoolName);
+            if (this.readyQueue == null) {
+                executor.execute(step);
+            } else {
+                this.readyQueue.submit(this.id, executor, step, this::failStep);
+            }
+        } catch (Exception e) {
+            failStep(e);
+        }
+    }
+
+    private void executeStep(Map<String, WorkflowData> inputMap) {
+        // record start time for this step.
+        logger.info("Starting {}.", this.id);
+        for (Runnable startListener : this.startListeners) {
+            try {
+                startListener.run();
+            } catch (Exception e) {
+                logger.warn("Start listener of {} failed", this.id, e);
+            }
+        }
+        PlainActionFuture<WorkflowData> stepFuture = this.workflowStep.execute(
+            this.id,
+            this.input,
+            inputMap,
+            this.previousNodeInputs,
+            this.params,
+            this.tenantId
+        );
+        this.stepFuture.set(stepFuture);
+        if (this.cancellationToken.isCancelled()) {
+            // The workflow was cancelled while the step was starting
+            FutureUtils.cancel(stepFuture);
+        }
+        Scheduler.Cancellable timeoutTask = null;
+        if (this.nodeTimeout.millis() > 0 && !stepFuture.isDone()) {
+            timeoutTask = scheduleTimeout(
+                () -> failStep(
+                    new OpenSearchTimeoutException(new TimeoutException("Timeout waiting for " + this.nodeTimeout + " on node " + this.id))
+                )
+            );
+        }
+        final Scheduler.Cancellable scheduledTimeout = timeoutTask;
+        // Timeouts and waits on foreign futures use the generic pool so they can never queue behind the steps they guard.
+        // If completed exceptionally or timed out, completing the future is a no-op
+        ListenablePlainActionFuture.addListener(stepFuture, ActionListener.wrap(workflowData -> {
+            cancelTimeout(scheduledTimeout);
+            this.future.onResponse(workflowData);
+            // record end time passing workflow steps
+            logger.info("Finished {}.", this.id);
+        }, e -> {
+            cancelTimeout(scheduledTimeout);
+            failStep(e);
+        }), threadPool.generic());
+    }
+
+    /**
+     * Schedules the node timeout on the timing wheel if one was provided, otherwise directly on the thread pool
+     * @param onTimeout the task failing this node
+     * @return the scheduled timeout
+     */
+    private Scheduler.Cancellable scheduleTimeout(Runnable onTimeout) {
+        if (this.timeoutWheel != null) {
+            return this.timeoutWheel.schedule(onTimeout, this.nodeTimeout);
+        }
+        return threadPool.schedule(onTimeout, this.nodeTimeout, ThreadPool.Names.GENERIC);
+    }
+
+    /**
+     * Fails this node after its step failed or timed out, cancels the step if it is still running, and cancels the rest of the workflow
+     * @param e the step failure
+     */
+    private void failStep(Exception e) {
+        // Fail this node first so the workflow reports this failure rather than the cancellation of another node
+        this.future.onFailure(e);
+        PlainActionFuture<WorkflowData> runningStep = this.stepFuture.get();
+        if (runningStep != null) {
+            // A timed out step is still running, completing its future stops steps polling for its completion
+            FutureUtils.cancel(runningStep);
+        }
+        this.cancellationToken.cancel(e);
+    }
+
+    /**
+     * Skips this node if its step has not started, otherwise cancels the running step
+     */
+    private void onCancel() {
+        Exception cause = this.cancellationToken.cause();
+        RestStatus status = cause instanceof FlowFrameworkException
+            ? ((FlowFrameworkException) cause).getRestStatus()
+            : ExceptionsHelper.status(cause);
+        if (this.state.compareAndSet(NodeState.PENDING, NodeState.SKIPPED)) {
+            // This node may already have failed with the failure of a predecessor, in which case completing the future is a no-op
+            logger.info("Skipping {}, workflow execution was cancelled.", this.id);
+            this.future.onFailure(
+                new FlowFrameworkException("Workflow step " + this.id + " was skipped because workflow execution was cancelled", status)
+            );
+        } else if (!this.future.isDone()) {
+            logger.info("Cancelling {}, workflow execution was cancelled.", this.id);
+            this.future.onFailure(
+                new FlowFrameworkException("Workflow step " + this.id + " was cancelled because workflow execution was cancelled", status)
+            );
+            PlainActionFuture<WorkflowData> runningStep = this.stepFuture.get();
+            if (runningStep != null) {
+                // Completes the step future, which stops steps polling for its completion
+                FutureUtils.cancel(runningStep);
+            }
+        }
+    }
+
+    private static void cancelTimeout(Scheduler.Cancellable timeoutTask) {
+        if (timeoutTask != null) {
+            timeoutTask.cancel();
+        }
     }
 
     @Override
@@ -0,0 +1,293 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.opensearch.common.Nullable;
+import org.opensearch.core.common.io.stream.StreamInput;
+import org.opensearch.core.common.io.stream.StreamOutput;
+import org.opensearch.core.common.io.stream.Writeable;
+import org.opensearch.core.xcontent.ToXContentObject;
+import org.opensearch.core.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.opensearch.flowframework.common.CommonValue.ERROR_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_ID;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STEP_ID;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STEP_NAME;
+
+/**
+ * An event of the provisioning of a workflow, recorded in the {@link ProvisioningEventLog} as its steps start and end
+ */
+public class ProvisioningEvent implements ToXContentObject, Writeable {
+
+    /** The sequence number field, increasing with each event of a provisioning */
+    public static final String SEQUENCE_FIELD = "sequence";
+    /** The event type field */
+    public static final String TYPE_FIELD = "type";
+    /** The field for the time of the event, in epoch milliseconds */
+    public static final String TIMESTAMP_FIELD = "timestamp";
+    /** The field for the time the step or workflow took, in milliseconds */
+    public static final String DURATION_FIELD = "duration_ms";
+    /** The field for the resources created by a step, by resource type */
+    public static final String RESOURCES_FIELD = "resources";
+
+    /**
+     * The type of a provisioning event
+     */
+    public enum Type {
+        /** Provisioning started */
+        WORKFLOW_STARTED,
+        /** A step started */
+        STEP_STARTED,
+        /** A step completed */
+        STEP_COMPLETED,
+        /** A step failed, was cancelled or timed out */
+        STEP_FAILED,
+        /** A step never started because provisioning failed */
+        STEP_SKIPPED,
+        /** Provisioning completed */
+        WORKFLOW_COMPLETED,
+        /** Provisioning failed */
+        WORKFLOW_FAILED;
+
+        /**
+         * Whether the event ends the provisioning
+         * @return true for the last event of a provisioning
+         */
+        public boolean isTerminal() {
+            return this == WORKFLOW_COMPLETED || this == WORKFLOW_FAILED;
+        }
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final String workflowId;
+    private final String stepId;
+    private final String stepName;
+    private final long timestamp;
+    private final long durationMillis;
+    private final Map<String, String> resources;
+    private final String error;
+
+    private ProvisioningEvent(
+        long sequence,
+        Type type,
+        String workflowId,
+        @Nullable String stepId,
+        @Nullable String stepName,
+        long timestamp,
+        long durationMillis,
+        Map<String, String> resources,
+        @Nullable String error
+    ) {
+        this.sequence = sequence;
+        this.type = type;
+        this.workflowId = workflowId;
+        this.stepId = stepId;
+        this.stepName = stepName;
+        this.timestamp = timestamp;
+        this.durationMillis = durationMillis;
+        this.resources = Map.copyOf(resources);
+        this.error = error;
+    }
+
+    /**
+     * Instantiates a new ProvisioningEvent from an input stream
+     * @param in the input stream to read from
+     * @throws IOException if the event cannot be read from the input stream
+     */
+    public ProvisioningEvent(StreamInput in) throws IOException {
+        this(
+            in.readLong(),
+            in.readEnum(Type.class),
+            in.readString(),
+            in.readOptionalString(),
+            in.readOptionalString(),
+            in.readLong(),
+            in.readLong(),
+            in.readMap(StreamInput::readString, StreamInput::readString),
+            in.readOptionalString()
+        );
+    }
+
+    /**
+     * Creates the event of a step starting
+     * @param stepId the step id
+     * @param stepName the step type
+     * @return the event
+     */
+    public static ProvisioningEvent stepStarted(String stepId, String stepName) {
+        return new ProvisioningEvent(-1, Type.STEP_STARTED, "", stepId, stepName, now(), -1, Collections.emptyMap(), null);
+    }
+
+    /**
+     * Creates the event of a step completing
+     * @param stepId the step id
+     * @param stepName the step type
+     * @param durationMillis the time the step took
+     * @param resources the resources created by the step, by resource type
+     * @return the event
+     */
+    public static ProvisioningEvent stepCompleted(String stepId, String stepName, long durationMillis, Map<String, String> resources) {
+        return new ProvisioningEvent(-1, Type.STEP_COMPLETED, "", stepId, stepName, now(), durationMillis, resources, null);
+    }
+
+    /**
+     * Creates the event of a step failing, or being skipped
+     * @param type {@link Type#STEP_FAILED} or {@link Type#STEP_SKIPPED}
+     * @param stepId the step id
+     * @param stepName the step type, or null if unknown
+     * @param durationMillis the time the step ran, or -1 if it never started
+     * @param error the error message
+     * @return the event
+     */
+    public static ProvisioningEvent stepFailed(Type type, String stepId, @Nullable String stepName, long durationMillis, String error) {
+        return new ProvisioningEvent(-1, type, "", stepId, stepName, now(), durationMillis, Collections.emptyMap(), error);
+    }
+
+    /**
+     * Creates the event of the provisioning of a workflow starting, completing or failing. The time the provisioning took is set
+     * when a terminal event is recorded.
+     * @param type a workflow event type
+     * @param error the error message of a failed provisioning
+     * @return the event
+     */
+    public static ProvisioningEvent workflow(Type type, @Nullable String error) {
+        return new ProvisioningEvent(-1, type, "", null, null, now(), -1, Collections.emptyMap(), error);
+    }
+
+    /**
+     * Returns this event recorded for a workflow
+     * @param sequence the sequence number of the event
+     * @param workflowId the workflow id
+     * @param startTimestamp the time the provisioning started, to set the duration of a terminal event
+     * @return the recorded event
+     */
+    ProvisioningEvent recorded(long sequence, String workflowId, long startTimestamp) {
+        long duration = type.isTerminal() ? Math.max(0, timestamp - startTimestamp) : durationMillis;
+        return new ProvisioningEvent(sequence, type, workflowId, stepId, stepName, timestamp, duration, resources, error);
+    }
+
+    private static long now() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeLong(sequence);
+        out.writeEnum(type);
+        out.writeString(workflowId);
+        out.writeOptionalString(stepId);
+        out.writeOptionalString(stepName);
+        out.writeLong(timestamp);
+        out.writeLong(durationMillis);
+        out.writeMap(resources, StreamOutput::writeString, StreamOutput::writeString);
+        out.writeOptionalString(error);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        builder.field(SEQUENCE_FIELD, sequence);
+        builder.field(TYPE_FIELD, type.name());
+        builder.field(WORKFLOW_ID, workflowId);
+        if (stepId != null) {
+            builder.field(WORKFLOW_STEP_ID, stepId);
+        }
+        if (stepName != null) {
+            builder.field(WORKFLOW_STEP_NAME, stepName);
+        }
+        builder.field(TIMESTAMP_FIELD, timestamp);
+        if (durationMillis >= 0) {
+            builder.field(DURATION_FIELD, durationMillis);
+        }
+        if (!resources.isEmpty()) {
+            builder.field(RESOURCES_FIELD, resources);
+        }
+        if (error != null) {
+            builder.field(ERROR_FIELD, error);
+        }
+        return builder.endObject();
+    }
+
+    /**
+     * Gets the sequence number of the event
+     * @return the sequence number
+     */
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the event type
+     * @return the type
+     */
+    public Type type() {
+        return type;
+    }
+
+    /**
+     * Gets the workflow id
+     * @return the workflow id
+     */
+    public String workflowId() {
+        return workflowId;
+    }
+
+    /**
+     * Gets the step id
+     * @return the step id, or null for a workflow event
+     */
+    public String stepId() {
+        return stepId;
+    }
+
+    /**
+     * Gets the step type
+     * @return the step type, or null for a workflow event or a skipped step
+     */
+    public String stepName() {
+        return stepName;
+    }
+
+    /**
+     * Gets the time of the event
+     * @return the time in epoch milliseconds
+     */
+    public long timestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Gets the time the step or workflow took
+     * @return the duration in milliseconds, or -1 for an event starting it
+     */
+    public long durationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Gets the resources created by a step
+     * @return the resource ids by resource type
+     */
+    public Map<String, String> resources() {
+        return resources;
+    }
+
+    /**
+     * Gets the error message of a failure
+     * @return the error message, or null
+     */
+    public String error() {
+        return error;
+    }
+}
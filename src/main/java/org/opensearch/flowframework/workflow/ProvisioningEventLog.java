@@ -0,0 +1,215 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The events of the workflows provisioned by this node, kept in memory for clients following the progress of a provisioning.
+ * <p>
+ * Recording an event never blocks provisioning on a reader. Each workflow keeps a bounded number of events, dropping the oldest
+ * ones, and readers waiting for events are notified on the generic thread pool. A reader which falls behind misses the dropped
+ * events, which it can detect by a gap in their sequence numbers. The events of a workflow are kept for a while after its
+ * provisioning ends, so that readers can fetch the last ones.
+ */
+public class ProvisioningEventLog {
+
+    private static final Logger logger = LogManager.getLogger(ProvisioningEventLog.class);
+
+    /** The number of events kept for each workflow */
+    public static final int MAX_EVENTS_PER_WORKFLOW = 1000;
+    /** How long the events of a workflow are kept after its provisioning ends */
+    public static final TimeValue RETENTION = TimeValue.timeValueMinutes(5);
+
+    private final ThreadPool threadPool;
+    private final Map<String, WorkflowEvents> workflows = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new ProvisioningEventLog
+     * @param threadPool the thread pool, notifying readers and expiring the events of ended provisionings
+     */
+    public ProvisioningEventLog(ThreadPool threadPool) {
+        this.threadPool = threadPool;
+    }
+
+    /**
+     * Starts recording the provisioning of a workflow, discarding the events of a previous provisioning
+     * @param workflowId the workflow id
+     */
+    public void start(String workflowId) {
+        WorkflowEvents previous = workflows.put(workflowId, new WorkflowEvents());
+        if (previous != null) {
+            previous.close();
+        }
+        record(workflowId, ProvisioningEvent.workflow(ProvisioningEvent.Type.WORKFLOW_STARTED, null));
+    }
+
+    /**
+     * Records an event of a workflow being provisioned. A terminal event ends the provisioning, and the events are discarded
+     * after the {@link #RETENTION}.
+     * @param workflowId the workflow id
+     * @param event the event
+     */
+    public void record(String workflowId, ProvisioningEvent event) {
+        WorkflowEvents events = workflows.get(workflowId);
+        if (events == null) {
+            return;
+        }
+        List<Reader> ready = events.append(workflowId, event);
+        for (Reader reader : ready) {
+            threadPool.generic().execute(reader::respond);
+        }
+        if (event.type().isTerminal()) {
+            threadPool.schedule(() -> workflows.remove(workflowId, events), RETENTION, ThreadPool.Names.GENERIC);
+        }
+    }
+
+    /**
+     * Reads the events of a workflow after a sequence number, waiting for the next event if there is none yet
+     * @param workflowId the workflow id
+     * @param after the sequence number of the last event read, or -1 to read from the first event kept
+     * @param timeout the longest time to wait for an event
+     * @param listener notified with the events, which are empty if none was recorded before the timeout, or null if this node is
+     *     not provisioning the workflow and did not recently provision it
+     */
+    public void read(String workflowId, long after, TimeValue timeout, ActionListener<List<ProvisioningEvent>> listener) {
+        WorkflowEvents events = workflows.get(workflowId);
+        if (events == null) {
+            listener.onResponse(null);
+            return;
+        }
+        Reader reader = new Reader(events, after, listener);
+        if (events.register(reader) && timeout.nanos() > 0) {
+            reader.timeout = threadPool.schedule(reader::respond, timeout, ThreadPool.Names.GENERIC);
+        } else {
+            reader.respond();
+        }
+    }
+
+    /**
+     * The events of the provisioning of a workflow and the readers waiting for the next one
+     */
+    private static class WorkflowEvents {
+        // Guarded by this
+        private final Deque<ProvisioningEvent> events = new ArrayDeque<>();
+        private final List<Reader> readers = new ArrayList<>();
+        private long nextSequence;
+        private long startTimestamp;
+        private boolean ended;
+
+        synchronized List<Reader> append(String workflowId, ProvisioningEvent event) {
+            if (ended) {
+                return Collections.emptyList();
+            }
+            if (events.size() == MAX_EVENTS_PER_WORKFLOW) {
+                events.removeFirst();
+            }
+            if (nextSequence == 0) {
+                startTimestamp = event.timestamp();
+            }
+            events.addLast(event.recorded(nextSequence++, workflowId, startTimestamp));
+            ended = event.type().isTerminal();
+            List<Reader> ready = new ArrayList<>(readers);
+            readers.clear();
+            return ready;
+        }
+
+        /**
+         * Registers a reader if there are no events for it yet
+         * @param reader the reader
+         * @return true if the reader waits for an event
+         */
+        synchronized boolean register(Reader reader) {
+            if (ended || nextSequence - 1 > reader.after) {
+                return false;
+            }
+            readers.add(reader);
+            return true;
+        }
+
+        synchronized void unregister(Reader reader) {
+            readers.remove(reader);
+        }
+
+        synchronized List<ProvisioningEvent> after(long sequence) {
+            List<ProvisioningEvent> result = new ArrayList<>();
+            Iterator<ProvisioningEvent> it = events.descendingIterator();
+            while (it.hasNext()) {
+                ProvisioningEvent event = it.next();
+                if (event.sequence() <= sequence) {
+                    break;
+                }
+                result.add(event);
+            }
+            Collections.reverse(result);
+            return result;
+        }
+
+        /**
+         * Ends a provisioning which was replaced by a new one, responding to its readers
+         */
+        void close() {
+            List<Reader> waiting;
+            synchronized (this) {
+                ended = true;
+                waiting = new ArrayList<>(readers);
+                readers.clear();
+            }
+            waiting.forEach(Reader::respond);
+        }
+    }
+
+    /**
+     * A reader waiting for the next event of a workflow
+     */
+    private static class Reader {
+        private final WorkflowEvents events;
+        private final long after;
+        private final ActionListener<List<ProvisioningEvent>> listener;
+        private final AtomicBoolean responded = new AtomicBoolean(false);
+        private volatile Scheduler.ScheduledCancellable timeout;
+
+        Reader(WorkflowEvents events, long after, ActionListener<List<ProvisioningEvent>> listener) {
+            this.events = events;
+            this.after = after;
+            this.listener = listener;
+        }
+
+        void respond() {
+            if (!responded.compareAndSet(false, true)) {
+                return;
+            }
+            events.unregister(this);
+            Scheduler.ScheduledCancellable scheduledTimeout = timeout;
+            if (scheduledTimeout != null) {
+                scheduledTimeout.cancel();
+            }
+            try {
+                listener.onResponse(events.after(after));
+            } catch (Exception e) {
+                logger.warn("Failed to respond with provisioning events", e);
+            }
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.opensearch.ExceptionsHelper;
 import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.common.Nullable;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.flowframework.common.ListenablePlainActionFuture;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.exception.WorkflowStepException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
@@ -90,7 +91,7 @@ public class RegisterAgentStep implements WorkflowStep {
 
         String workflowId = currentNodeInputs.getWorkflowId();
 
-        PlainActionFuture<WorkflowData> registerAgentModelFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> registerAgentModelFuture = ListenablePlainActionFuture.newListenableFuture();
 
         ActionListener<MLRegisterAgentResponse> actionListener = new ActionListener<>() {
             @Override
@@ -15,6 +15,7 @@ import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.util.CollectionUtils;
 import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.common.ListenablePlainActionFuture;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.exception.WorkflowStepException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
@@ -73,7 +74,7 @@ public class RegisterModelGroupStep implements WorkflowStep {
         Map<String, String> params,
         String tenantId
     ) {
-        PlainActionFuture<WorkflowData> registerModelGroupFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> registerModelGroupFuture = ListenablePlainActionFuture.newListenableFuture();
 
         ActionListener<MLRegisterModelGroupResponse> actionListener = new ActionListener<>() {
             @Override
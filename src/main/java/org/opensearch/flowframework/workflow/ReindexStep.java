@@ -17,6 +17,7 @@ import org.opensearch.common.Booleans;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.Strings;
 import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.common.ListenablePlainActionFuture;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.exception.WorkflowStepException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
@@ -72,7 +73,7 @@ public class ReindexStep implements WorkflowStep {
         String tenantId
     ) {
 
-        PlainActionFuture<WorkflowData> reIndexFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<WorkflowData> reIndexFuture = ListenablePlainActionFuture.newListenableFuture();
 
         Set<String> requiredKeys = Set.of(SOURCE_INDEX, DESTINATION_INDEX);
 
@@ -0,0 +1,114 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+
+import java.util.Map;
+import java.util.Random;
+
+import static org.opensearch.flowframework.model.WorkflowNode.TASK_POLL_INITIAL_DELAY_FIELD;
+import static org.opensearch.flowframework.model.WorkflowNode.TASK_POLL_MAX_DELAY_FIELD;
+import static org.opensearch.flowframework.model.WorkflowNode.USER_INPUTS_FIELD;
+
+/**
+ * An exponential backoff with full jitter for polling the status of an ML task.
+ * <p>
+ * The delay before each poll is drawn uniformly between zero and a ceiling, which starts at the initial delay and doubles after
+ * every poll up to the max delay. Quick tasks are therefore seen soon after they complete, while long running tasks are polled
+ * rarely, and the polls of tasks started together spread out over time.
+ */
+public class TaskPollingBackoff {
+
+    private final TimeValue initialDelay;
+    private final TimeValue maxDelay;
+
+    /**
+     * Instantiate this class.
+     *
+     * @param initialDelay the ceiling of the delay before the first poll after the initial probe
+     * @param maxDelay the largest ceiling of the delay between polls
+     */
+    public TaskPollingBackoff(TimeValue initialDelay, TimeValue maxDelay) {
+        if (initialDelay.nanos() <= 0 || maxDelay.nanos() < initialDelay.nanos()) {
+            throw new IllegalArgumentException("Task polling initial delay must be positive and not exceed the max delay");
+        }
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+    }
+
+    /**
+     * Returns the ceiling of the delay before the first poll after the initial probe
+     * @return the initial delay
+     */
+    public TimeValue initialDelay() {
+        return initialDelay;
+    }
+
+    /**
+     * Returns the largest ceiling of the delay between polls
+     * @return the max delay
+     */
+    public TimeValue maxDelay() {
+        return maxDelay;
+    }
+
+    /**
+     * Draws the delay before the next poll
+     * @param attempt the number of polls since the initial probe
+     * @param random the source of the jitter
+     * @return the delay in nanoseconds, between zero and the ceiling for the attempt
+     */
+    public long delayNanos(int attempt, Random random) {
+        long initialNanos = initialDelay.nanos();
+        long maxNanos = maxDelay.nanos();
+        // Shifting by as many bits as the initial delay has leading zeros, less the sign bit, would overflow
+        long ceiling = attempt < Long.numberOfLeadingZeros(initialNanos) - 1 ? Math.min(maxNanos, initialNanos << attempt) : maxNanos;
+        return random.nextLong(ceiling + 1);
+    }
+
+    /**
+     * Applies the node level overrides of the user inputs to the backoff of the step type
+     * @param nodeId the workflow node id, used in error messages
+     * @param userInputs the user inputs of the workflow node
+     * @param defaultBackoff the backoff of the step type
+     * @return the backoff to poll with
+     * @throws FlowFrameworkException if an override is not a valid time value, or the resulting delays are invalid
+     */
+    public static TaskPollingBackoff fromUserInputs(String nodeId, Map<String, ?> userInputs, TaskPollingBackoff defaultBackoff) {
+        TimeValue initial = parseDelay(nodeId, userInputs, TASK_POLL_INITIAL_DELAY_FIELD, defaultBackoff.initialDelay());
+        TimeValue max = parseDelay(nodeId, userInputs, TASK_POLL_MAX_DELAY_FIELD, defaultBackoff.maxDelay());
+        if (initial == defaultBackoff.initialDelay() && max == defaultBackoff.maxDelay()) {
+            return defaultBackoff;
+        }
+        try {
+            return new TaskPollingBackoff(initial, max);
+        } catch (IllegalArgumentException e) {
+            throw new FlowFrameworkException(
+                "Invalid task polling delays for node [" + nodeId + "]: " + e.getMessage(),
+                RestStatus.BAD_REQUEST
+            );
+        }
+    }
+
+    private static TimeValue parseDelay(String nodeId, Map<String, ?> userInputs, String field, TimeValue defaultValue) {
+        Object value = userInputs.get(field);
+        if (value == null) {
+            return defaultValue;
+        }
+        String fieldName = String.join(".", nodeId, USER_INPUTS_FIELD, field);
+        try {
+            return TimeValue.parseTimeValue(value.toString(), fieldName);
+        } catch (IllegalArgumentException e) {
+            throw new FlowFrameworkException(e.getMessage(), RestStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A cancellation token shared by the process nodes of a single workflow execution.
+ * The first step failure cancels the token, which stops pending nodes from starting and cancels the steps still running.
+ */
+public class WorkflowCancellationToken {
+
+    private static final Logger logger = LogManager.getLogger(WorkflowCancellationToken.class);
+
+    private final AtomicReference<Exception> cause = new AtomicReference<>();
+    private final List<Runnable> listeners = new ArrayList<>();
+
+    /**
+     * Instantiate this class.
+     */
+    public WorkflowCancellationToken() {}
+
+    /**
+     * Cancels the workflow execution and notifies the registered listeners. Only the first call has any effect.
+     * @param cause the failure which caused the cancellation
+     * @return true if this call cancelled the token, false if it was already cancelled
+     */
+    public boolean cancel(Exception cause) {
+        if (!this.cause.compareAndSet(null, cause)) {
+            return false;
+        }
+        List<Runnable> toNotify;
+        synchronized (this) {
+            toNotify = new ArrayList<>(listeners);
+            listeners.clear();
+        }
+        for (Runnable listener : toNotify) {
+            notifyListener(listener);
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the workflow execution was cancelled
+     * @return true if the token was cancelled
+     */
+    public boolean isCancelled() {
+        return cause.get() != null;
+    }
+
+    /**
+     * Returns the failure which cancelled the workflow execution
+     * @return the cause of the cancellation, or null if the token was not cancelled
+     */
+    public Exception cause() {
+        return cause.get();
+    }
+
+    /**
+     * Adds a listener which is run once when the token is cancelled.
+     * If the token was already cancelled, the listener is run immediately on the calling thread.
+     * Otherwise it is run on the thread cancelling the token, so listeners must not block.
+     * @param listener the listener to run on cancellation
+     */
+    public void addListener(Runnable listener) {
+        synchronized (this) {
+            if (cause.get() == null) {
+                listeners.add(listener);
+                return;
+            }
+        }
+        notifyListener(listener);
+    }
+
+    private static void notifyListener(Runnable listener) {
+        try {
+            listener.run();
+        } catch (Exception e) {
+            logger.warn("Failed to notify workflow cancellation listener", e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.flowframework.common.ListenablePlainActionFuture;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Composite completion listener over the futures of an executing workflow.
+ * Notifies once when every step has completed successfully, or as soon as the first step fails, without holding a thread
+ * while the steps run.
+ */
+public class WorkflowCompletionListener {
+
+    private final Runnable onSuccess;
+    private final BiConsumer<String, Exception> onFailure;
+    private final Supplier<ThreadContext.StoredContext> contextSupplier;
+    private final AtomicInteger pendingSteps;
+    private final AtomicBoolean notified = new AtomicBoolean(false);
+
+    private WorkflowCompletionListener(
+        int stepCount,
+        Runnable onSuccess,
+        BiConsumer<String, Exception> onFailure,
+        Supplier<ThreadContext.StoredContext> contextSupplier
+    ) {
+        this.pendingSteps = new AtomicInteger(stepCount);
+        this.onSuccess = onSuccess;
+        this.onFailure = onFailure;
+        this.contextSupplier = contextSupplier;
+    }
+
+    /**
+     * Listens for the completion of all the given step futures.
+     * The callbacks are invoked exactly once, with the thread context of the caller restored, on the thread completing the last
+     * step (on success) or the first failed step (on failure).
+     *
+     * @param stepFutures a map of step id to the future tracking that step's execution
+     * @param threadContext the thread context to capture for the callbacks
+     * @param executor the executor to wait on for futures which can not notify listeners themselves
+     * @param onSuccess invoked when all steps have completed successfully
+     * @param onFailure invoked with the id of the first step to fail and its exception
+     */
+    public static void listen(
+        Map<String, PlainActionFuture<WorkflowData>> stepFutures,
+        ThreadContext threadContext,
+        Executor executor,
+        Runnable onSuccess,
+        BiConsumer<String, Exception> onFailure
+    ) {
+        WorkflowCompletionListener completionListener = new WorkflowCompletionListener(
+            stepFutures.size(),
+            onSuccess,
+            onFailure,
+            threadContext.newRestorableContext(false)
+        );
+        if (stepFutures.isEmpty()) {
+            completionListener.notifySuccess();
+            return;
+        }
+        for (Map.Entry<String, PlainActionFuture<WorkflowData>> e : stepFutures.entrySet()) {
+            String stepId = e.getKey();
+            ListenablePlainActionFuture.addListener(e.getValue(), ActionListener.wrap(workflowData -> {
+                if (completionListener.pendingSteps.decrementAndGet() == 0) {
+                    completionListener.notifySuccess();
+                }
+            }, ex -> completionListener.notifyFailure(stepId, ex)), executor);
+        }
+    }
+
+    private void notifySuccess() {
+        if (notified.compareAndSet(false, true)) {
+            try (ThreadContext.StoredContext context = contextSupplier.get()) {
+                onSuccess.run();
+            }
+        }
+    }
+
+    private void notifyFailure(String stepId, Exception e) {
+        if (notified.compareAndSet(false, true)) {
+            try (ThreadContext.StoredContext context = contextSupplier.get()) {
+                onFailure.accept(stepId, e);
+            }
+        }
+    }
+}
@@ -11,17 +11,18 @@ package org.opensearch.flowframework.workflow;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.flowframework.common.ListenablePlainActionFuture;
 import org.opensearch.flowframework.model.ResourceCreated;
 
 import java.util.Map;
 
 /**
- * Internal step to pass created resources to dependent nodes. Only used in reprovisioning
+ * Internal step to pass created resources or checkpointed outputs to dependent nodes. Only used in reprovisioning and resuming provisioning
  */
 public class WorkflowDataStep implements WorkflowStep {
 
     private static final Logger logger = LogManager.getLogger(WorkflowDataStep.class);
-    private final ResourceCreated resourceCreated;
+    private final Map<String, Object> content;
 
     /** The name of this step */
     public static final String NAME = "workflow_data_step";
@@ -31,7 +32,15 @@ public class WorkflowDataStep implements WorkflowStep {
      * @param resourceCreated the created resource
      */
     public WorkflowDataStep(ResourceCreated resourceCreated) {
-        this.resourceCreated = resourceCreated;
+        this.content = Map.of(resourceCreated.resourceType(), resourceCreated.resourceId());
+    }
+
+    /**
+     * Instantiate this class
+     * @param checkpoint the outputs of a previous execution of the step
+     */
+    public WorkflowDataStep(Map<String, String> checkpoint) {
+        this.content = Map.copyOf(checkpoint);
     }
 
     @Override
@@ -43,14 +52,8 @@ public class WorkflowDataStep implements WorkflowStep {
         Map<String, String> params,
         String tenantId
     ) {
-        PlainActionFuture<WorkflowData> workflowDataFuture = PlainActionFuture.newFuture();
-        workflowDataFuture.onResponse(
-            new WorkflowData(
-                Map.of(resourceCreated.resourceType(), resourceCreated.resourceId()),
-                currentNodeInputs.getWorkflowId(),
-                currentNodeId
-            )
-        );
+        PlainActionFuture<WorkflowData> workflowDataFuture = ListenablePlainActionFuture.newListenableFuture();
+        workflowDataFuture.onResponse(new WorkflowData(content, currentNodeInputs.getWorkflowId(), currentNodeId));
         return workflowDataFuture;
     }
 
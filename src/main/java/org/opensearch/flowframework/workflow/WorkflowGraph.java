@@ -0,0 +1,292 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.model.WorkflowEdge;
+import org.opensearch.flowframework.model.WorkflowNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.IntToLongFunction;
+
+/**
+ * An index of the nodes and edges of a workflow.
+ * Nodes are numbered by their position in the template, and predecessors and successors are stored in compressed sparse row
+ * arrays, so sorting and predecessor lookups are O(V+E) rather than scanning every edge for every node.
+ * <p>
+ * Only the id and type of each node are kept, never its user inputs, so that a graph cached in a compiled plan does not hold
+ * the inputs, such as credentials, of the workflow it was built from.
+ */
+public class WorkflowGraph {
+
+    private static final Logger logger = LogManager.getLogger(WorkflowGraph.class);
+
+    private final String[] ids;
+    private final String[] types;
+    private final List<WorkflowEdge> edges;
+    private final Map<String, Integer> nodeIndex;
+    // Edge endpoints as node indices, in edge list order
+    private final int[] edgeSources;
+    // Successors of node i are successors[successorOffsets[i]] until successors[successorOffsets[i + 1]], likewise predecessors
+    private final int[] successorOffsets;
+    private final int[] successors;
+    private final int[] predecessorOffsets;
+    private final int[] predecessors;
+
+    private WorkflowGraph(String[] ids, String[] types, List<WorkflowEdge> edges, Map<String, Integer> nodeIndex, int[] edgeSources) {
+        this.ids = ids;
+        this.types = types;
+        this.edges = edges;
+        this.nodeIndex = nodeIndex;
+        this.edgeSources = edgeSources;
+
+        int n = ids.length;
+        int[] edgeDestinations = new int[edges.size()];
+        this.successorOffsets = new int[n + 1];
+        this.predecessorOffsets = new int[n + 1];
+        for (int e = 0; e < edges.size(); e++) {
+            edgeDestinations[e] = nodeIndex.get(edges.get(e).destination());
+            successorOffsets[edgeSources[e] + 1]++;
+            predecessorOffsets[edgeDestinations[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            successorOffsets[i + 1] += successorOffsets[i];
+            predecessorOffsets[i + 1] += predecessorOffsets[i];
+        }
+        this.successors = new int[edges.size()];
+        this.predecessors = new int[edges.size()];
+        int[] successorFill = Arrays.copyOf(successorOffsets, n);
+        int[] predecessorFill = Arrays.copyOf(predecessorOffsets, n);
+        for (int e = 0; e < edges.size(); e++) {
+            successors[successorFill[edgeSources[e]]++] = edgeDestinations[e];
+            predecessors[predecessorFill[edgeDestinations[e]]++] = edgeSources[e];
+        }
+    }
+
+    /**
+     * Validates the nodes and edges of a workflow and builds the graph index
+     * @param workflowNodes the workflow nodes, in template order
+     * @param workflowEdges the workflow edges
+     * @return the graph
+     * @throws FlowFrameworkException if node ids are duplicated or an edge does not connect two distinct nodes
+     */
+    public static WorkflowGraph build(List<WorkflowNode> workflowNodes, List<WorkflowEdge> workflowEdges) {
+        Map<String, Integer> nodeIndex = new HashMap<>();
+        String[] ids = new String[workflowNodes.size()];
+        String[] types = new String[workflowNodes.size()];
+        for (int i = 0; i < workflowNodes.size(); i++) {
+            WorkflowNode node = workflowNodes.get(i);
+            if (nodeIndex.putIfAbsent(node.id(), i) != null) {
+                throw new FlowFrameworkException("Duplicate node id " + node.id() + ".", RestStatus.BAD_REQUEST);
+            }
+            ids[i] = node.id();
+            types[i] = node.type();
+        }
+        int[] edgeSources = new int[workflowEdges.size()];
+        for (int e = 0; e < workflowEdges.size(); e++) {
+            WorkflowEdge edge = workflowEdges.get(e);
+            String source = edge.source();
+            if (!nodeIndex.containsKey(source)) {
+                throw new FlowFrameworkException("Edge source " + source + " does not correspond to a node.", RestStatus.BAD_REQUEST);
+            }
+            String dest = edge.destination();
+            if (!nodeIndex.containsKey(dest)) {
+                throw new FlowFrameworkException("Edge destination " + dest + " does not correspond to a node.", RestStatus.BAD_REQUEST);
+            }
+            if (source.equals(dest)) {
+                throw new FlowFrameworkException("Edge connects node " + source + " to itself.", RestStatus.BAD_REQUEST);
+            }
+            edgeSources[e] = nodeIndex.get(source);
+        }
+        return new WorkflowGraph(ids, types, List.copyOf(workflowEdges), nodeIndex, edgeSources);
+    }
+
+    /**
+     * Returns the number of nodes in the graph
+     * @return the number of nodes
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the id of the node at the given index
+     * @param index the node index
+     * @return the node id
+     */
+    public String id(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Returns the step type of the node at the given index
+     * @param index the node index
+     * @return the node type
+     */
+    public String type(int index) {
+        return types[index];
+    }
+
+    /**
+     * Returns the index of the node with the given id
+     * @param id the node id
+     * @return the node index, or -1 if no node has this id
+     */
+    public int indexOf(String id) {
+        return nodeIndex.getOrDefault(id, -1);
+    }
+
+    /**
+     * Returns the indices of the predecessors of a node, with one entry per incoming edge in edge list order
+     * @param index the node index
+     * @return the predecessor node indices
+     */
+    public int[] predecessors(int index) {
+        return Arrays.copyOfRange(predecessors, predecessorOffsets[index], predecessorOffsets[index + 1]);
+    }
+
+    /**
+     * Sorts the graph topologically using Kahn's algorithm, dequeuing ready nodes in template order
+     * @return the node indices in topological order
+     * @throws FlowFrameworkException if the graph has no start node or contains a cycle
+     */
+    public int[] topologicalOrder() {
+        // See https://en.wikipedia.org/wiki/Topological_sorting#Kahn's_algorithm
+        int n = ids.length;
+        int[] inDegree = new int[n];
+        // S <- Set of all nodes with no incoming edge, L is the prefix of the queue already dequeued
+        int[] order = new int[n];
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            inDegree[i] = predecessorOffsets[i + 1] - predecessorOffsets[i];
+            if (inDegree[i] == 0) {
+                order[tail++] = i;
+            }
+        }
+        if (tail == 0) {
+            throw new FlowFrameworkException("No start node detected: all nodes have a predecessor.", RestStatus.BAD_REQUEST);
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Start node(s): {}", ids(Arrays.copyOf(order, tail)));
+        }
+
+        // while S is not empty, remove a node from S and release the edges to its successors
+        for (int head = 0; head < tail; head++) {
+            int current = order[head];
+            for (int s = successorOffsets[current]; s < successorOffsets[current + 1]; s++) {
+                // if the successor has no other incoming edges then insert it into S
+                if (--inDegree[successors[s]] == 0) {
+                    order[tail++] = successors[s];
+                }
+            }
+        }
+        if (tail < n) {
+            // Edges which were never released are part of, or downstream of, a cycle
+            boolean[] sorted = new boolean[n];
+            for (int i = 0; i < tail; i++) {
+                sorted[order[i]] = true;
+            }
+            List<WorkflowEdge> remaining = new ArrayList<>();
+            for (int e = 0; e < edges.size(); e++) {
+                if (!sorted[edgeSources[e]]) {
+                    remaining.add(edges.get(e));
+                }
+            }
+            throw new FlowFrameworkException("Cycle detected: " + remaining, RestStatus.BAD_REQUEST);
+        }
+        return order;
+    }
+
+    /**
+     * Computes the critical path of each node: the longest path of estimated step costs from the node to the end of the workflow
+     * @param stepCost estimates the cost of executing the node at an index
+     * @return the critical path of each node, by node index
+     * @throws FlowFrameworkException if the graph has no start node or contains a cycle
+     */
+    public long[] criticalPaths(IntToLongFunction stepCost) {
+        int n = ids.length;
+        int[] topologicalOrder = topologicalOrder();
+        long[] criticalPath = new long[n];
+        for (int i = n - 1; i >= 0; i--) {
+            int current = topologicalOrder[i];
+            long longestSuccessorPath = 0L;
+            for (int s = successorOffsets[current]; s < successorOffsets[current + 1]; s++) {
+                longestSuccessorPath = Math.max(longestSuccessorPath, criticalPath[successors[s]]);
+            }
+            criticalPath[current] = stepCost.applyAsLong(current) + longestSuccessorPath;
+        }
+        return criticalPath;
+    }
+
+    /**
+     * Sorts the graph topologically so that, among the nodes ready to start, those on the longest remaining path come first.
+     * Each node is weighted by the longest path of estimated step costs from it to the end of the workflow.
+     * Ties are broken by the order of the nodes in the template.
+     * @param stepCost estimates the cost of executing the node at an index
+     * @return the node indices in a topological order prioritizing the critical path
+     * @throws FlowFrameworkException if the graph has no start node or contains a cycle
+     */
+    public int[] prioritizedOrder(IntToLongFunction stepCost) {
+        return prioritizedOrder(criticalPaths(stepCost));
+    }
+
+    /**
+     * Sorts the graph topologically so that, among the nodes ready to start, those on the longest remaining path come first.
+     * Ties are broken by the order of the nodes in the template.
+     * @param criticalPath the critical path of each node, by node index, as computed by {@link #criticalPaths(IntToLongFunction)}
+     * @return the node indices in a topological order prioritizing the critical path
+     */
+    public int[] prioritizedOrder(long[] criticalPath) {
+        int n = ids.length;
+        int[] inDegree = new int[n];
+        PriorityQueue<Integer> readyNodes = new PriorityQueue<>(
+            Comparator.<Integer>comparingLong(i -> criticalPath[i]).reversed().thenComparingInt(i -> i)
+        );
+        for (int i = 0; i < n; i++) {
+            inDegree[i] = predecessorOffsets[i + 1] - predecessorOffsets[i];
+            if (inDegree[i] == 0) {
+                readyNodes.add(i);
+            }
+        }
+        int[] order = new int[n];
+        int tail = 0;
+        while (!readyNodes.isEmpty()) {
+            int current = readyNodes.poll();
+            order[tail++] = current;
+            for (int s = successorOffsets[current]; s < successorOffsets[current + 1]; s++) {
+                if (--inDegree[successors[s]] == 0) {
+                    readyNodes.add(successors[s]);
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Maps node indices to the corresponding node ids
+     * @param order node indices
+     * @return the node ids
+     */
+    public List<String> ids(int[] order) {
+        List<String> result = new ArrayList<>(order.length);
+        for (int i : order) {
+            result.add(ids[i]);
+        }
+        return result;
+    }
+}
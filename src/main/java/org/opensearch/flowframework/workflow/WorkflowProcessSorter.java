@@ -10,6 +10,9 @@ package org.opensearch.flowframework.workflow;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.common.cache.Cache;
+import org.opensearch.common.cache.CacheBuilder;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
@@ -18,24 +21,28 @@ import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.model.ResourceCreated;
 import org.opensearch.flowframework.model.Template;
 import org.opensearch.flowframework.model.Workflow;
-import org.opensearch.flowframework.model.WorkflowEdge;
 import org.opensearch.flowframework.model.WorkflowNode;
+import org.opensearch.flowframework.util.EncryptedCredentials;
 import org.opensearch.flowframework.util.ParseUtils;
 import org.opensearch.plugins.PluginInfo;
 import org.opensearch.plugins.PluginsService;
 import org.opensearch.threadpool.ThreadPool;
 
-import java.util.ArrayDeque;
+import java.io.IOException;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.IntToLongFunction;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -67,6 +74,8 @@ public class WorkflowProcessSorter {
     private WorkflowStepFactory workflowStepFactory;
     private ThreadPool threadPool;
     private Integer maxWorkflowSteps;
+    private final Cache<String, CompiledWorkflowPlan> planCache;
+    private final WorkflowTimeoutWheel timeoutWheel;
 
     /**
      * Instantiate this class.
@@ -83,6 +92,11 @@ public class WorkflowProcessSorter {
         this.workflowStepFactory = workflowStepFactory;
         this.threadPool = threadPool;
         this.maxWorkflowSteps = flowFrameworkSettings.getMaxWorkflowSteps();
+        int planCacheSize = flowFrameworkSettings.getWorkflowPlanCacheSize();
+        this.planCache = planCacheSize > 0
+            ? CacheBuilder.<String, CompiledWorkflowPlan>builder().setMaximumWeight(planCacheSize).build()
+            : null;
+        this.timeoutWheel = new WorkflowTimeoutWheel(threadPool);
     }
 
     /**
@@ -94,6 +108,81 @@ public class WorkflowProcessSorter {
      * @return A list of Process Nodes sorted topologically.  All predecessors of any node will occur prior to it in the list.
      */
     public List<ProcessNode> sortProcessNodes(Workflow workflow, String workflowId, Map<String, String> params, String tenantId) {
+        return createProcessSequence(workflow, workflowId, params, tenantId, Collections.emptyMap());
+    }
+
+    /**
+     * Sort a workflow into a topologically sorted list of process nodes, replacing the steps of nodes which completed in a previous
+     * execution with proxy steps returning their checkpointed outputs, so that only the remaining nodes are executed.
+     * @param workflow A workflow with (unsorted) nodes and edges which define predecessors and successors
+     * @param workflowId The workflowId associated with the step
+     * @param params Parameters passed on the REST path
+     * @param tenantId The tenantId associated with the step
+     * @param checkpoints a map of node id to the outputs of the nodes which completed in a previous execution
+     * @return A list of Process Nodes sorted topologically.  All predecessors of any node will occur prior to it in the list.
+     */
+    public List<ProcessNode> createResumeSequence(
+        Workflow workflow,
+        String workflowId,
+        Map<String, String> params,
+        String tenantId,
+        Map<String, Map<String, String>> checkpoints
+    ) {
+        return createProcessSequence(workflow, workflowId, params, tenantId, checkpoints);
+    }
+
+    private List<ProcessNode> createProcessSequence(
+        Workflow workflow,
+        String workflowId,
+        Map<String, String> params,
+        String tenantId,
+        Map<String, Map<String, String>> checkpoints
+    ) {
+        CompiledWorkflowPlan plan = compile(workflow, workflowId);
+        WorkflowGraph graph = plan.graph();
+
+        List<ProcessNode> nodes = new ArrayList<>();
+        ProcessNode[] indexToNode = new ProcessNode[graph.size()];
+        WorkflowCancellationToken cancellationToken = new WorkflowCancellationToken();
+        WorkflowReadyQueue readyQueue = readyQueue(graph, plan::criticalPath);
+        for (int index : plan.order()) {
+            // A cached plan may have been compiled from another copy of this workflow, so take node contents from this one
+            WorkflowNode node = workflow.nodes().get(index);
+            Map<String, String> checkpoint = checkpoints.get(node.id());
+            WorkflowStep step = checkpoint == null ? plan.stepSupplier(index).get() : new WorkflowDataStep(checkpoint);
+            WorkflowData data = new WorkflowData(node.userInputs(), workflow.userParams(), workflowId, node.id());
+            // since we are iterating in topological order we know all predecessors will be in the array
+            List<ProcessNode> predecessorNodes = predecessorNodes(graph, index, indexToNode);
+
+            ProcessNode processNode = new ProcessNode(
+                node.id(),
+                step,
+                node.previousNodeInputs(),
+                params,
+                data,
+                predecessorNodes,
+                threadPool,
+                PROVISION_WORKFLOW_THREAD_POOL,
+                plan.timeout(index),
+                tenantId,
+                cancellationToken,
+                timeoutWheel,
+                readyQueue
+            );
+            indexToNode[index] = processNode;
+            nodes.add(processNode);
+        }
+        return new PlannedProcessSequence(plan, nodes);
+    }
+
+    /**
+     * Sorts and validates a workflow into an execution plan independent of the workflow id, params and tenant.
+     * Plans are cached by a hash of the workflow, so executing the same workflow again skips sorting and validation.
+     * @param workflow A workflow with (unsorted) nodes and edges which define predecessors and successors
+     * @param workflowId The workflowId associated with the workflow
+     * @return the compiled plan
+     */
+    CompiledWorkflowPlan compile(Workflow workflow, String workflowId) {
         if (workflow.nodes().size() > this.maxWorkflowSteps) {
             throw new FlowFrameworkException(
                 "Workflow "
@@ -108,6 +197,28 @@ public class WorkflowProcessSorter {
                 RestStatus.BAD_REQUEST
             );
         }
+        if (planCache == null) {
+            return compile(workflow);
+        }
+        String workflowHash;
+        try {
+            workflowHash = CompiledWorkflowPlan.hash(workflow);
+        } catch (IOException e) {
+            logger.debug("Unable to hash workflow {}, skipping the plan cache", workflowId, e);
+            return compile(workflow);
+        }
+        try {
+            return planCache.computeIfAbsent(workflowHash, k -> compile(workflow));
+        } catch (ExecutionException e) {
+            // Compilation failures are not cached, rethrow the original exception
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new FlowFrameworkException("Failed to compile workflow " + workflowId, ExceptionsHelper.status(e.getCause()));
+        }
+    }
+
+    private CompiledWorkflowPlan compile(Workflow workflow) {
         // Disallow some steps
         for (WorkflowNode node : workflow.nodes()) {
             if (WORKFLOW_STEP_DENYLIST.contains(node.type())) {
@@ -117,37 +228,32 @@ public class WorkflowProcessSorter {
                 );
             }
         }
-        List<WorkflowNode> sortedNodes = topologicalSort(workflow.nodes(), workflow.edges());
-
-        List<ProcessNode> nodes = new ArrayList<>();
-        Map<String, ProcessNode> idToNodeMap = new HashMap<>();
-        for (WorkflowNode node : sortedNodes) {
-            WorkflowStep step = workflowStepFactory.createStep(node.type());
-            WorkflowData data = new WorkflowData(node.userInputs(), workflow.userParams(), workflowId, node.id());
-            List<ProcessNode> predecessorNodes = workflow.edges()
-                .stream()
-                .filter(e -> e.destination().equals(node.id()))
-                // since we are iterating in topological order we know all predecessors will be in the map
-                .map(e -> idToNodeMap.get(e.source()))
-                .collect(Collectors.toList());
-
-            TimeValue nodeTimeout = parseTimeout(node);
-            ProcessNode processNode = new ProcessNode(
-                node.id(),
-                step,
-                node.previousNodeInputs(),
-                params,
-                data,
-                predecessorNodes,
-                threadPool,
-                PROVISION_WORKFLOW_THREAD_POOL,
-                nodeTimeout,
-                tenantId
-            );
-            idToNodeMap.put(processNode.id(), processNode);
-            nodes.add(processNode);
+        WorkflowGraph graph = WorkflowGraph.build(workflow.nodes(), workflow.edges());
+        // Resolve the steps first, so that an unknown step type fails before its cost is estimated
+        List<Supplier<WorkflowStep>> stepSuppliers = new ArrayList<>(graph.size());
+        List<TimeValue> timeouts = new ArrayList<>(graph.size());
+        for (int index = 0; index < graph.size(); index++) {
+            WorkflowNode node = workflow.nodes().get(index);
+            stepSuppliers.add(workflowStepFactory.getStepSupplier(node.type()));
+            timeouts.add(parseTimeout(node));
+        }
+        long[] criticalPaths = graph.criticalPaths(index -> estimateStepCost(graph.type(index)));
+        int[] sortedNodes = graph.prioritizedOrder(criticalPaths);
+        logger.debug("Execution sequence: {}", graph.ids(sortedNodes));
+
+        String graphValidationError = null;
+        try {
+            for (int index : sortedNodes) {
+                WorkflowNode node = workflow.nodes().get(index);
+                List<String> predecessorNodeTypes = Arrays.stream(graph.predecessors(index))
+                    .mapToObj(graph::type)
+                    .collect(Collectors.toList());
+                validateNodeInputs(node.id(), node.type(), predecessorNodeTypes, node.userInputs().keySet());
+            }
+        } catch (FlowFrameworkException e) {
+            graphValidationError = e.getMessage();
         }
-        return nodes;
+        return new CompiledWorkflowPlan(graph, sortedNodes, criticalPaths, stepSuppliers, timeouts, graphValidationError);
     }
 
     /**
@@ -185,7 +291,10 @@ public class WorkflowProcessSorter {
         }
 
         // Topologically sort the updated workflow
-        List<WorkflowNode> sortedUpdatedNodes = topologicalSort(updatedWorkflow.nodes(), updatedWorkflow.edges());
+        WorkflowGraph updatedGraph = WorkflowGraph.build(updatedWorkflow.nodes(), updatedWorkflow.edges());
+        long[] criticalPaths = updatedGraph.criticalPaths(index -> estimateStepCost(updatedGraph.type(index)));
+        int[] sortedUpdatedNodes = updatedGraph.prioritizedOrder(criticalPaths);
+        logger.debug("Execution sequence: {}", updatedGraph.ids(sortedUpdatedNodes));
 
         // Convert original template into node id map
         Map<String, WorkflowNode> originalTemplateMap = originalTemplate.workflows()
@@ -195,7 +304,10 @@ public class WorkflowProcessSorter {
             .collect(Collectors.toMap(WorkflowNode::id, node -> node));
 
         // Temporarily block node deletions until fine-grained deprovisioning is implemented
-        if (!originalTemplateMap.values().stream().allMatch(sortedUpdatedNodes::contains)) {
+        if (!originalTemplateMap.values().stream().allMatch(n -> {
+            int index = updatedGraph.indexOf(n.id());
+            return index >= 0 && updatedWorkflow.nodes().get(index).equals(n);
+        })) {
             throw new FlowFrameworkException(
                 "Workflow Step deletion is not supported when reprovisioning a template.",
                 RestStatus.BAD_REQUEST
@@ -205,7 +317,9 @@ public class WorkflowProcessSorter {
         List<ProcessNode> reprovisionSequence = createReprovisionSequence(
             workflowId,
             updatedWorkflow,
+            updatedGraph,
             sortedUpdatedNodes,
+            criticalPaths,
             originalTemplateMap,
             resourcesCreated,
             tenantId
@@ -223,7 +337,9 @@ public class WorkflowProcessSorter {
      * Compares an original and upated template and creates a list of update, create or workflowdatastep nodes
      * @param workflowId the workflow ID associated with the template
      * @param updatedWorkflow the updated workflow to be processed
-     * @param sortedUpdatedNodes the topologically sorted updated template nodes
+     * @param updatedGraph the graph index of the updated workflow
+     * @param sortedUpdatedNodes the topologically sorted indices of the updated template nodes
+     * @param criticalPaths the critical path of each node of the updated template, by node index
      * @param originalTemplateMap a map of node Id to workflow node of the original template
      * @param resourcesCreated a list of resources created for this template
      * @param tenantId the tenant id
@@ -233,26 +349,33 @@ public class WorkflowProcessSorter {
     private List<ProcessNode> createReprovisionSequence(
         String workflowId,
         Workflow updatedWorkflow,
-        List<WorkflowNode> sortedUpdatedNodes,
+        WorkflowGraph updatedGraph,
+        int[] sortedUpdatedNodes,
+        long[] criticalPaths,
         Map<String, WorkflowNode> originalTemplateMap,
         List<ResourceCreated> resourcesCreated,
         String tenantId
     ) throws Exception {
-        Map<String, ProcessNode> idToNodeMap = new HashMap<>();
+        ProcessNode[] indexToNode = new ProcessNode[updatedGraph.size()];
         List<ProcessNode> reprovisionSequence = new ArrayList<>();
+        // As when provisioning, one token cancels every node of the sequence
+        WorkflowCancellationToken cancellationToken = new WorkflowCancellationToken();
+        WorkflowReadyQueue readyQueue = readyQueue(updatedGraph, index -> criticalPaths[index]);
 
-        for (WorkflowNode node : sortedUpdatedNodes) {
+        for (int index : sortedUpdatedNodes) {
             ProcessNode processNode = createProcessNode(
                 updatedWorkflow,
-                node,
+                updatedWorkflow.nodes().get(index),
                 originalTemplateMap,
                 resourcesCreated,
                 workflowId,
-                idToNodeMap,
-                tenantId
+                predecessorNodes(updatedGraph, index, indexToNode),
+                tenantId,
+                cancellationToken,
+                readyQueue
             );
             if (processNode != null) {
-                idToNodeMap.put(processNode.id(), processNode);
+                indexToNode[index] = processNode;
                 reprovisionSequence.add(processNode);
             }
         }
@@ -267,8 +390,10 @@ public class WorkflowProcessSorter {
      * @param originalTemplateMap a map of node Id to workflow node of the original template
      * @param resourcesCreated a list of resources created for this template
      * @param workflowId the workflow ID associated with the template
-     * @param idToNodeMap a map of the current reprovision sequence
+     * @param predecessorNodes the process nodes preceding the current node
      * @param tenantId the tenant id
+     * @param cancellationToken the cancellation token shared by the nodes of the reprovision sequence
+     * @param readyQueue the ready queue shared by the nodes of the reprovision sequence
      * @return a ProcessNode
      * @throws Exception for issues creating the process node
      */
@@ -278,29 +403,34 @@ public class WorkflowProcessSorter {
         Map<String, WorkflowNode> originalTemplateMap,
         List<ResourceCreated> resourcesCreated,
         String workflowId,
-        Map<String, ProcessNode> idToNodeMap,
-        String tenantId
+        List<ProcessNode> predecessorNodes,
+        String tenantId,
+        WorkflowCancellationToken cancellationToken,
+        WorkflowReadyQueue readyQueue
     ) throws Exception {
         WorkflowData data = new WorkflowData(node.userInputs(), updatedWorkflow.userParams(), workflowId, node.id());
-        List<ProcessNode> predecessorNodes = updatedWorkflow.edges()
-            .stream()
-            .filter(e -> e.destination().equals(node.id()))
-            // since we are iterating in topological order we know all predecessors will be in the map
-            .map(e -> idToNodeMap.get(e.source()))
-            .collect(Collectors.toList());
         TimeValue nodeTimeout = parseTimeout(node);
 
         if (!originalTemplateMap.containsKey(node.id())) {
             // Case 1: Additive modification, create new node
-            return createNewProcessNode(node, data, predecessorNodes, nodeTimeout, tenantId);
+            return createNewProcessNode(node, data, predecessorNodes, nodeTimeout, tenantId, cancellationToken, readyQueue);
         } else {
             WorkflowNode originalNode = originalTemplateMap.get(node.id());
             if (shouldUpdateNode(node, originalNode)) {
                 // Case 2: Existing modification, create update step
-                return createUpdateProcessNode(node, data, predecessorNodes, nodeTimeout, tenantId);
+                return createUpdateProcessNode(node, data, predecessorNodes, nodeTimeout, tenantId, cancellationToken, readyQueue);
             } else {
                 // Case 4: No modification to existing node, create proxy step
-                return createWorkflowDataStepNode(node, data, predecessorNodes, nodeTimeout, resourcesCreated, tenantId);
+                return createWorkflowDataStepNode(
+                    node,
+                    data,
+                    predecessorNodes,
+                    nodeTimeout,
+                    resourcesCreated,
+                    tenantId,
+                    cancellationToken,
+                    readyQueue
+                );
             }
         }
     }
@@ -312,6 +442,8 @@ public class WorkflowProcessSorter {
      * @param predecessorNodes the current node predecessors
      * @param nodeTimeout the current node timeout
      * @param tenantId the tenant id
+     * @param cancellationToken the cancellation token shared by the nodes of the reprovision sequence
+     * @param readyQueue the ready queue shared by the nodes of the reprovision sequence
      * @return a Process Node
      */
     private ProcessNode createNewProcessNode(
@@ -319,7 +451,9 @@ public class WorkflowProcessSorter {
         WorkflowData data,
         List<ProcessNode> predecessorNodes,
         TimeValue nodeTimeout,
-        String tenantId
+        String tenantId,
+        WorkflowCancellationToken cancellationToken,
+        WorkflowReadyQueue readyQueue
     ) {
         WorkflowStep step = workflowStepFactory.createStep(node.type());
         return new ProcessNode(
@@ -332,7 +466,10 @@ public class WorkflowProcessSorter {
             threadPool,
             PROVISION_WORKFLOW_THREAD_POOL,
             nodeTimeout,
-            tenantId
+            tenantId,
+            cancellationToken,
+            timeoutWheel,
+            readyQueue
         );
     }
 
@@ -343,6 +480,8 @@ public class WorkflowProcessSorter {
      * @param predecessorNodes the current node predecessors
      * @param nodeTimeout the current node timeout
      * @param tenantId the tenant id
+     * @param cancellationToken the cancellation token shared by the nodes of the reprovision sequence
+     * @param readyQueue the ready queue shared by the nodes of the reprovision sequence
      * @return a ProcessNode
      * @throws FlowFrameworkException if the current node does not support updates
      */
@@ -351,7 +490,9 @@ public class WorkflowProcessSorter {
         WorkflowData data,
         List<ProcessNode> predecessorNodes,
         TimeValue nodeTimeout,
-        String tenantId
+        String tenantId,
+        WorkflowCancellationToken cancellationToken,
+        WorkflowReadyQueue readyQueue
     ) throws FlowFrameworkException {
         String updateStepName = WorkflowResources.getUpdateStepByWorkflowStep(node.type());
         if (updateStepName != null) {
@@ -366,7 +507,10 @@ public class WorkflowProcessSorter {
                 threadPool,
                 PROVISION_WORKFLOW_THREAD_POOL,
                 nodeTimeout,
-                tenantId
+                tenantId,
+                cancellationToken,
+                timeoutWheel,
+                readyQueue
             );
         } else {
             // Case 3 : Cannot update step (not supported)
@@ -385,6 +529,8 @@ public class WorkflowProcessSorter {
      * @param nodeTimeout the current node timeout
      * @param resourcesCreated the list of resources created for the template assoicated with this node
      * @param tenantId the tenant id
+     * @param cancellationToken the cancellation token shared by the nodes of the reprovision sequence
+     * @param readyQueue the ready queue shared by the nodes of the reprovision sequence
      * @return a Process node
      */
     private ProcessNode createWorkflowDataStepNode(
@@ -393,7 +539,9 @@ public class WorkflowProcessSorter {
         List<ProcessNode> predecessorNodes,
         TimeValue nodeTimeout,
         List<ResourceCreated> resourcesCreated,
-        String tenantId
+        String tenantId,
+        WorkflowCancellationToken cancellationToken,
+        WorkflowReadyQueue readyQueue
     ) {
         ResourceCreated nodeResource = resourcesCreated.stream()
             .filter(rc -> rc.workflowStepId().equals(node.id()))
@@ -411,7 +559,10 @@ public class WorkflowProcessSorter {
                 threadPool,
                 PROVISION_WORKFLOW_THREAD_POOL,
                 nodeTimeout,
-                tenantId
+                tenantId,
+                cancellationToken,
+                timeoutWheel,
+                readyQueue
             );
         } else {
             return null;
@@ -420,7 +571,10 @@ public class WorkflowProcessSorter {
 
     private boolean shouldUpdateNode(WorkflowNode node, WorkflowNode originalNode) throws Exception {
         return !node.previousNodeInputs().equals(originalNode.previousNodeInputs())
-            || !ParseUtils.userInputsEquals(originalNode.userInputs(), node.userInputs());
+            || !ParseUtils.userInputsEquals(
+                EncryptedCredentials.decryptUserInputs(originalNode.userInputs()),
+                EncryptedCredentials.decryptUserInputs(node.userInputs())
+            );
     }
 
     /**
@@ -436,7 +590,15 @@ public class WorkflowProcessSorter {
             .map(PluginInfo::getName)
             .collect(Collectors.toList());
         validatePluginsInstalled(processNodes, installedPlugins);
-        validateGraph(processNodes);
+        if (processNodes instanceof PlannedProcessSequence) {
+            // Input and output validation only depends on the workflow, so it was done once when the plan was compiled
+            String graphValidationError = ((PlannedProcessSequence) processNodes).plan().graphValidationError();
+            if (graphValidationError != null) {
+                throw new FlowFrameworkException(graphValidationError, RestStatus.BAD_REQUEST);
+            }
+        } else {
+            validateGraph(processNodes);
+        }
     }
 
     /**
@@ -481,32 +643,47 @@ public class WorkflowProcessSorter {
                 .map(x -> x.workflowStep().getName())
                 .collect(Collectors.toList());
 
-            // Compile a list of outputs from the predecessor nodes based on type
-            List<String> predecessorOutputs = predecessorNodeTypes.stream()
-                .map(nodeType -> getOutputByWorkflowType(nodeType))
-                .flatMap(Collection::stream)
-                .collect(Collectors.toList());
+            validateNodeInputs(
+                processNode.id(),
+                processNode.workflowStep().getName(),
+                predecessorNodeTypes,
+                processNode.input().getContent().keySet()
+            );
+        }
+    }
 
-            // Retrieve all the user input data from this node
-            List<String> currentNodeUserInputs = new ArrayList<>(processNode.input().getContent().keySet());
+    /**
+     * Determines if a node's user inputs and predecessor outputs match the expected workflow step inputs
+     * @param nodeId the node id
+     * @param nodeType the workflow step type of the node
+     * @param predecessorNodeTypes the workflow step types of the node's predecessors
+     * @param userInputKeys the keys of the node's user inputs
+     * @throws FlowFrameworkException on validation failure
+     */
+    private static void validateNodeInputs(
+        String nodeId,
+        String nodeType,
+        List<String> predecessorNodeTypes,
+        Collection<String> userInputKeys
+    ) {
+        // Compile a list of outputs from the predecessor nodes based on type
+        List<String> predecessorOutputs = predecessorNodeTypes.stream()
+            .map(predecessorType -> getOutputByWorkflowType(predecessorType))
+            .flatMap(Collection::stream)
+            .collect(Collectors.toList());
 
-            // Combine both predecessor outputs and current node user inputs
-            List<String> allInputs = Stream.concat(predecessorOutputs.stream(), currentNodeUserInputs.stream())
-                .collect(Collectors.toList());
+        // Combine both predecessor outputs and current node user inputs
+        Set<String> allInputs = Stream.concat(predecessorOutputs.stream(), userInputKeys.stream()).collect(Collectors.toSet());
 
-            // Retrieve list of required inputs from the current process node and compare
-            List<String> expectedInputs = new ArrayList<>(getInputByWorkflowType(processNode.workflowStep().getName()));
+        // Retrieve list of required inputs from the current process node and compare
+        List<String> expectedInputs = new ArrayList<>(getInputByWorkflowType(nodeType));
 
-            if (!allInputs.containsAll(expectedInputs)) {
-                expectedInputs.removeAll(allInputs);
-                throw new FlowFrameworkException(
-                    "Invalid workflow, node ["
-                        + processNode.id()
-                        + "] missing the following required inputs : "
-                        + expectedInputs.toString(),
-                    RestStatus.BAD_REQUEST
-                );
-            }
+        if (!allInputs.containsAll(expectedInputs)) {
+            expectedInputs.removeAll(allInputs);
+            throw new FlowFrameworkException(
+                "Invalid workflow, node [" + nodeId + "] missing the following required inputs : " + expectedInputs.toString(),
+                RestStatus.BAD_REQUEST
+            );
         }
     }
 
@@ -533,74 +710,65 @@ public class WorkflowProcessSorter {
         return userInputTimeValue;
     }
 
-    private static List<WorkflowNode> topologicalSort(List<WorkflowNode> workflowNodes, List<WorkflowEdge> workflowEdges) {
-        // Basic validation
-        Map<String, WorkflowNode> nodeMap = new HashMap<>();
-        for (WorkflowNode node : workflowNodes) {
-            if (nodeMap.containsKey(node.id())) {
-                throw new FlowFrameworkException("Duplicate node id " + node.id() + ".", RestStatus.BAD_REQUEST);
-            }
-            nodeMap.put(node.id(), node);
+    /**
+     * Looks up the process nodes already created for the predecessors of a node
+     * @param graph the workflow graph
+     * @param index the index of the node in the graph
+     * @param indexToNode the process nodes created so far, by graph index
+     * @return the predecessor process nodes
+     */
+    private static WorkflowReadyQueue readyQueue(WorkflowGraph graph, IntToLongFunction criticalPath) {
+        Map<String, Long> criticalPaths = new HashMap<>();
+        for (int index = 0; index < graph.size(); index++) {
+            criticalPaths.put(graph.id(index), criticalPath.applyAsLong(index));
         }
-        for (WorkflowEdge edge : workflowEdges) {
-            String source = edge.source();
-            if (!nodeMap.containsKey(source)) {
-                throw new FlowFrameworkException("Edge source " + source + " does not correspond to a node.", RestStatus.BAD_REQUEST);
-            }
-            String dest = edge.destination();
-            if (!nodeMap.containsKey(dest)) {
-                throw new FlowFrameworkException("Edge destination " + dest + " does not correspond to a node.", RestStatus.BAD_REQUEST);
-            }
-            if (source.equals(dest)) {
-                throw new FlowFrameworkException("Edge connects node " + source + " to itself.", RestStatus.BAD_REQUEST);
-            }
+        return new WorkflowReadyQueue(criticalPaths);
+    }
+
+    private static List<ProcessNode> predecessorNodes(WorkflowGraph graph, int index, ProcessNode[] indexToNode) {
+        int[] predecessors = graph.predecessors(index);
+        List<ProcessNode> predecessorNodes = new ArrayList<>(predecessors.length);
+        for (int predecessor : predecessors) {
+            predecessorNodes.add(indexToNode[predecessor]);
         }
+        return predecessorNodes;
+    }
+
+    /**
+     * Estimates the cost of executing a node, used to find the critical path of a workflow.
+     * Seeded from the default timeout of the step type, which is larger for long running steps such as local model registration.
+     * @param type the step type of the workflow node
+     * @return the estimated cost in milliseconds
+     */
+    private static long estimateStepCost(String type) {
+        TimeValue timeout = WorkflowStepFactory.WorkflowSteps.getTimeoutByWorkflowType(type);
+        return (timeout == null ? NODE_TIMEOUT_DEFAULT_VALUE : timeout).millis();
+    }
 
-        // Build predecessor and successor maps
-        Map<WorkflowNode, Set<WorkflowEdge>> predecessorEdges = new HashMap<>();
-        Map<WorkflowNode, Set<WorkflowEdge>> successorEdges = new HashMap<>();
-        for (WorkflowEdge edge : workflowEdges) {
-            WorkflowNode source = nodeMap.get(edge.source());
-            WorkflowNode dest = nodeMap.get(edge.destination());
-            predecessorEdges.computeIfAbsent(dest, k -> new HashSet<>()).add(edge);
-            successorEdges.computeIfAbsent(source, k -> new HashSet<>()).add(edge);
+    /**
+     * A sorted list of process nodes which remembers the plan it was created from
+     */
+    private static class PlannedProcessSequence extends AbstractList<ProcessNode> implements RandomAccess {
+        private final CompiledWorkflowPlan plan;
+        private final List<ProcessNode> processNodes;
+
+        PlannedProcessSequence(CompiledWorkflowPlan plan, List<ProcessNode> processNodes) {
+            this.plan = plan;
+            this.processNodes = processNodes;
         }
 
-        // See https://en.wikipedia.org/wiki/Topological_sorting#Kahn's_algorithm
-        Set<WorkflowEdge> graph = new HashSet<>(workflowEdges);
-        // L <- Empty list that will contain the sorted elements
-        List<WorkflowNode> sortedNodes = new ArrayList<>();
-        // S <- Set of all nodes with no incoming edge
-        Queue<WorkflowNode> sourceNodes = workflowNodes.stream()
-            .filter(n -> !predecessorEdges.containsKey(n))
-            .collect(ArrayDeque::new, ArrayDeque::add, ArrayDeque::addAll);
-        if (sourceNodes.isEmpty()) {
-            throw new FlowFrameworkException("No start node detected: all nodes have a predecessor.", RestStatus.BAD_REQUEST);
+        CompiledWorkflowPlan plan() {
+            return plan;
         }
-        logger.debug("Start node(s): {}", sourceNodes);
-
-        // while S is not empty do
-        while (!sourceNodes.isEmpty()) {
-            // remove a node n from S
-            WorkflowNode n = sourceNodes.poll();
-            // add n to L
-            sortedNodes.add(n);
-            // for each node m with an edge e from n to m do
-            for (WorkflowEdge e : successorEdges.getOrDefault(n, Collections.emptySet())) {
-                WorkflowNode m = nodeMap.get(e.destination());
-                // remove edge e from the graph
-                graph.remove(e);
-                // if m has no other incoming edges then
-                if (predecessorEdges.get(m).stream().noneMatch(graph::contains)) {
-                    // insert m into S
-                    sourceNodes.add(m);
-                }
-            }
+
+        @Override
+        public ProcessNode get(int index) {
+            return processNodes.get(index);
         }
-        if (!graph.isEmpty()) {
-            throw new FlowFrameworkException("Cycle detected: " + graph, RestStatus.BAD_REQUEST);
+
+        @Override
+        public int size() {
+            return processNodes.size();
         }
-        logger.debug("Execution sequence: {}", sortedNodes);
-        return sortedNodes;
     }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * The steps of a workflow which are ready to start, dispatched to the thread pool by priority.
+ * <p>
+ * Each ready step submits a task to the thread pool, but which step a task starts is only chosen when the task runs: the ready step
+ * of the workflow with the longest critical path, ties broken by the order in which steps became ready. When the thread pool is
+ * backed up, steps which became ready while waiting for a thread therefore start by priority rather than in the order they became
+ * ready. The nodes of a workflow share a single queue, as they share a {@link WorkflowCancellationToken}.
+ */
+public class WorkflowReadyQueue {
+
+    private final Map<String, Long> criticalPaths;
+    // Guarded by this
+    private final PriorityQueue<ReadyStep> readySteps = new PriorityQueue<>(
+        Comparator.<ReadyStep>comparingLong(step -> step.criticalPath).reversed().thenComparingLong(step -> step.sequence)
+    );
+    // Guarded by this
+    private long sequence;
+
+    /**
+     * Instantiate this class.
+     * @param criticalPaths the estimated cost of the longest path from each node to the end of the workflow, by node id. Nodes
+     *     without a critical path have the lowest priority.
+     */
+    public WorkflowReadyQueue(Map<String, Long> criticalPaths) {
+        this.criticalPaths = Map.copyOf(criticalPaths);
+    }
+
+    /**
+     * Adds a ready step, and submits a task starting the ready step with the highest priority
+     * @param nodeId the id of the node of the step
+     * @param executor the executor of the step
+     * @param step starts the step
+     * @param onRejected fails the step if the executor rejects the task which would have started it
+     */
+    public void submit(String nodeId, Executor executor, Runnable step, Consumer<Exception> onRejected) {
+        ReadyStep readyStep;
+        synchronized (this) {
+            readyStep = new ReadyStep(criticalPaths.getOrDefault(nodeId, 0L), sequence++, step, onRejected);
+            readySteps.add(readyStep);
+        }
+        try {
+            executor.execute(this::startNext);
+        } catch (Exception e) {
+            // Each queued step has one task. If a task of another step started this one, that step has no task left.
+            ReadyStep rejected;
+            synchronized (this) {
+                rejected = readySteps.remove(readyStep) ? readyStep : readySteps.poll();
+            }
+            if (rejected != null) {
+                rejected.onRejected.accept(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of ready steps which have not started
+     * @return the number of queued steps
+     */
+    public synchronized int size() {
+        return readySteps.size();
+    }
+
+    private void startNext() {
+        ReadyStep readyStep;
+        synchronized (this) {
+            readyStep = readySteps.poll();
+        }
+        if (readyStep != null) {
+            readyStep.step.run();
+        }
+    }
+
+    private static class ReadyStep {
+        private final long criticalPath;
+        private final long sequence;
+        private final Runnable step;
+        private final Consumer<Exception> onRejected;
+
+        ReadyStep(long criticalPath, long sequence, Runnable step, Consumer<Exception> onRejected) {
+            this.criticalPath = criticalPath;
+            this.sequence = sequence;
+            this.step = step;
+            this.onRejected = onRejected;
+        }
+    }
+}
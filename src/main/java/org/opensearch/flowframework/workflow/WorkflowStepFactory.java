@@ -86,28 +86,26 @@ public class WorkflowStepFactory {
         FlowFrameworkSettings flowFrameworkSettings,
         Client client
     ) {
+        MLTaskPoller mlTaskPoller = new MLTaskPoller(threadPool, mlClient, flowFrameworkSettings);
         stepMap.put(NoOpStep.NAME, NoOpStep::new);
         stepMap.put(CreateIndexStep.NAME, () -> new CreateIndexStep(client, flowFrameworkIndicesHandler));
         stepMap.put(DeleteIndexStep.NAME, () -> new DeleteIndexStep(client));
         stepMap.put(ReindexStep.NAME, () -> new ReindexStep(client, flowFrameworkIndicesHandler));
         stepMap.put(
             RegisterLocalCustomModelStep.NAME,
-            () -> new RegisterLocalCustomModelStep(threadPool, mlClient, flowFrameworkIndicesHandler, flowFrameworkSettings)
+            () -> new RegisterLocalCustomModelStep(mlClient, flowFrameworkIndicesHandler, mlTaskPoller)
         );
         stepMap.put(
             RegisterLocalSparseEncodingModelStep.NAME,
-            () -> new RegisterLocalSparseEncodingModelStep(threadPool, mlClient, flowFrameworkIndicesHandler, flowFrameworkSettings)
+            () -> new RegisterLocalSparseEncodingModelStep(mlClient, flowFrameworkIndicesHandler, mlTaskPoller)
         );
         stepMap.put(
             RegisterLocalPretrainedModelStep.NAME,
-            () -> new RegisterLocalPretrainedModelStep(threadPool, mlClient, flowFrameworkIndicesHandler, flowFrameworkSettings)
+            () -> new RegisterLocalPretrainedModelStep(mlClient, flowFrameworkIndicesHandler, mlTaskPoller)
         );
         stepMap.put(RegisterRemoteModelStep.NAME, () -> new RegisterRemoteModelStep(mlClient, flowFrameworkIndicesHandler));
         stepMap.put(DeleteModelStep.NAME, () -> new DeleteModelStep(mlClient));
-        stepMap.put(
-            DeployModelStep.NAME,
-            () -> new DeployModelStep(threadPool, mlClient, flowFrameworkIndicesHandler, flowFrameworkSettings)
-        );
+        stepMap.put(DeployModelStep.NAME, () -> new DeployModelStep(mlClient, flowFrameworkIndicesHandler, mlTaskPoller));
         stepMap.put(UndeployModelStep.NAME, () -> new UndeployModelStep(mlClient));
         stepMap.put(CreateConnectorStep.NAME, () -> new CreateConnectorStep(mlClient, flowFrameworkIndicesHandler));
         stepMap.put(DeleteConnectorStep.NAME, () -> new DeleteConnectorStep(mlClient));
@@ -126,7 +124,7 @@ public class WorkflowStepFactory {
     }
 
     /**
-     * Enum encapsulating the different step names, their inputs, outputs, required plugin and timeout of the step
+     * Enum encapsulating the different step names, their inputs, outputs, required plugin, timeout and ML task polling backoff of the step
      */
     public enum WorkflowSteps {
 
@@ -173,7 +171,8 @@ public class WorkflowStepFactory {
             ),
             List.of(MODEL_ID, REGISTER_MODEL_STATUS),
             List.of(OPENSEARCH_ML),
-            TimeValue.timeValueSeconds(60)
+            TimeValue.timeValueSeconds(60),
+            new TaskPollingBackoff(TimeValue.timeValueSeconds(1), TimeValue.timeValueSeconds(30))
         ),
 
         /** Register Local Sparse Encoding Model Step */
@@ -182,7 +181,8 @@ public class WorkflowStepFactory {
             List.of(NAME_FIELD, VERSION_FIELD, MODEL_FORMAT),
             List.of(MODEL_ID, REGISTER_MODEL_STATUS, FUNCTION_NAME, MODEL_CONTENT_HASH_VALUE, URL),
             List.of(OPENSEARCH_ML),
-            TimeValue.timeValueSeconds(60)
+            TimeValue.timeValueSeconds(60),
+            new TaskPollingBackoff(TimeValue.timeValueSeconds(1), TimeValue.timeValueSeconds(30))
         ),
 
         /** Register Local Pretrained Model Step */
@@ -191,7 +191,8 @@ public class WorkflowStepFactory {
             List.of(NAME_FIELD, VERSION_FIELD, MODEL_FORMAT),
             List.of(MODEL_ID, REGISTER_MODEL_STATUS),
             List.of(OPENSEARCH_ML),
-            TimeValue.timeValueSeconds(60)
+            TimeValue.timeValueSeconds(60),
+            new TaskPollingBackoff(TimeValue.timeValueSeconds(1), TimeValue.timeValueSeconds(30))
         ),
 
         /** Register Remote Model Step */
@@ -213,7 +214,14 @@ public class WorkflowStepFactory {
         ),
 
         /** Deploy Model Step */
-        DEPLOY_MODEL(DeployModelStep.NAME, List.of(MODEL_ID), List.of(MODEL_ID), List.of(OPENSEARCH_ML), TimeValue.timeValueSeconds(15)),
+        DEPLOY_MODEL(
+            DeployModelStep.NAME,
+            List.of(MODEL_ID),
+            List.of(MODEL_ID),
+            List.of(OPENSEARCH_ML),
+            TimeValue.timeValueSeconds(15),
+            new TaskPollingBackoff(TimeValue.timeValueMillis(100), TimeValue.timeValueSeconds(5))
+        ),
 
         /** Undeploy Model Step */
         UNDEPLOY_MODEL(UndeployModelStep.NAME, List.of(MODEL_ID), List.of(SUCCESS), List.of(OPENSEARCH_ML), null),
@@ -290,11 +298,16 @@ public class WorkflowStepFactory {
             null
         );
 
+        // Resolves step metadata without scanning values() on every lookup
+        private static final Map<String, WorkflowSteps> STEPS_BY_NAME = Stream.of(values())
+            .collect(Collectors.toMap(WorkflowSteps::getWorkflowStepName, step -> step));
+
         private final String workflowStepName;
         private final List<String> inputs;
         private final List<String> outputs;
         private final List<String> requiredPlugins;
         private final TimeValue timeout;
+        private final TaskPollingBackoff taskPollingBackoff;
 
         WorkflowSteps(
             String workflowStepName,
@@ -302,12 +315,24 @@ public class WorkflowStepFactory {
             Collection<String> outputs,
             List<String> requiredPlugins,
             TimeValue timeout
+        ) {
+            this(workflowStepName, inputs, outputs, requiredPlugins, timeout, null);
+        }
+
+        WorkflowSteps(
+            String workflowStepName,
+            Collection<String> inputs,
+            Collection<String> outputs,
+            List<String> requiredPlugins,
+            TimeValue timeout,
+            TaskPollingBackoff taskPollingBackoff
         ) {
             this.workflowStepName = workflowStepName;
             this.inputs = List.copyOf(inputs);
             this.outputs = List.copyOf(outputs);
             this.requiredPlugins = requiredPlugins;
             this.timeout = timeout;
+            this.taskPollingBackoff = taskPollingBackoff;
         }
 
         /**
@@ -350,6 +375,14 @@ public class WorkflowStepFactory {
             return timeout;
         }
 
+        /**
+         * Get the backoff for polling the ML task started by the step
+         * @return the task polling backoff, or null if the step does not poll an ML task
+         */
+        public TaskPollingBackoff taskPollingBackoff() {
+            return taskPollingBackoff;
+        }
+
         /**
          * Get the workflow step validator object
          * @return the WorkflowStepValidator
@@ -366,10 +399,9 @@ public class WorkflowStepFactory {
          */
         public static TimeValue getTimeoutByWorkflowType(String workflowStep) throws FlowFrameworkException {
             if (!Strings.isNullOrEmpty(workflowStep)) {
-                for (WorkflowSteps mapping : values()) {
-                    if (workflowStep.equals(mapping.getWorkflowStepName())) {
-                        return mapping.timeout();
-                    }
+                WorkflowSteps mapping = STEPS_BY_NAME.get(workflowStep);
+                if (mapping != null) {
+                    return mapping.timeout();
                 }
             }
             String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
@@ -380,6 +412,16 @@ public class WorkflowStepFactory {
             throw new FlowFrameworkException(errorMessage, RestStatus.BAD_REQUEST);
         }
 
+        /**
+         * Gets the ML task polling backoff based on the workflowStep.
+         * @param workflowStep workflow step type
+         * @return the task polling backoff, or null if the step type is unknown or does not poll an ML task
+         */
+        public static TaskPollingBackoff getTaskPollingBackoffByWorkflowType(String workflowStep) {
+            WorkflowSteps mapping = Strings.isNullOrEmpty(workflowStep) ? null : STEPS_BY_NAME.get(workflowStep);
+            return mapping == null ? null : mapping.taskPollingBackoff();
+        }
+
         /**
          * Gets the required plugins based on the workflowStep.
          * @param workflowStep workflow step type
@@ -388,10 +430,9 @@ public class WorkflowStepFactory {
          */
         public static List<String> getRequiredPluginsByWorkflowType(String workflowStep) throws FlowFrameworkException {
             if (!Strings.isNullOrEmpty(workflowStep)) {
-                for (WorkflowSteps mapping : values()) {
-                    if (workflowStep.equals(mapping.getWorkflowStepName())) {
-                        return mapping.requiredPlugins();
-                    }
+                WorkflowSteps mapping = STEPS_BY_NAME.get(workflowStep);
+                if (mapping != null) {
+                    return mapping.requiredPlugins();
                 }
             }
             String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
@@ -410,10 +451,9 @@ public class WorkflowStepFactory {
          */
         public static List<String> getOutputByWorkflowType(String workflowStep) throws FlowFrameworkException {
             if (!Strings.isNullOrEmpty(workflowStep)) {
-                for (WorkflowSteps mapping : values()) {
-                    if (workflowStep.equals(mapping.getWorkflowStepName())) {
-                        return mapping.outputs();
-                    }
+                WorkflowSteps mapping = STEPS_BY_NAME.get(workflowStep);
+                if (mapping != null) {
+                    return mapping.outputs();
                 }
             }
             String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
@@ -432,10 +472,9 @@ public class WorkflowStepFactory {
          */
         public static List<String> getInputByWorkflowType(String workflowStep) throws FlowFrameworkException {
             if (!Strings.isNullOrEmpty(workflowStep)) {
-                for (WorkflowSteps mapping : values()) {
-                    if (workflowStep.equals(mapping.getWorkflowStepName())) {
-                        return mapping.inputs();
-                    }
+                WorkflowSteps mapping = STEPS_BY_NAME.get(workflowStep);
+                if (mapping != null) {
+                    return mapping.inputs();
                 }
             }
             String errorMessage = ParameterizedMessageFactory.INSTANCE.newMessage(
@@ -488,10 +527,20 @@ public class WorkflowStepFactory {
      * @return an instance of the specified type
      */
     public WorkflowStep createStep(String type) {
-        if (stepMap.containsKey(type)) {
-            return stepMap.get(type).get();
+        return getStepSupplier(type).get();
+    }
+
+    /**
+     * Get the supplier creating instances of a {@link WorkflowStep}.
+     * @param type The type of instance to create
+     * @return a supplier of instances of the specified type
+     */
+    public Supplier<WorkflowStep> getStepSupplier(String type) {
+        Supplier<WorkflowStep> stepSupplier = stepMap.get(type);
+        if (stepSupplier == null) {
+            throw new FlowFrameworkException("Workflow step type [" + type + "] is not implemented.", RestStatus.NOT_IMPLEMENTED);
         }
-        throw new FlowFrameworkException("Workflow step type [" + type + "] is not implemented.", RestStatus.NOT_IMPLEMENTED);
+        return stepSupplier;
     }
 
     /**
@@ -0,0 +1,203 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A hashed timing wheel for workflow step timeouts.
+ * <p>
+ * Timeouts are placed in the bucket of the tick on which they expire, and a single periodic task on the generic thread pool
+ * advances the wheel, so that any number of pending step timeouts costs one scheduled task rather than one per step.
+ * The task only runs while timeouts are pending. Timeouts fire up to one tick after their deadline.
+ * <p>
+ * Expired tasks run in the thread context of the caller which scheduled them. The periodic task runs in an empty context, so that
+ * it carries no caller's headers or user.
+ */
+public class WorkflowTimeoutWheel {
+
+    private static final Logger logger = LogManager.getLogger(WorkflowTimeoutWheel.class);
+
+    /** The default interval between ticks of the wheel */
+    public static final TimeValue DEFAULT_TICK_DURATION = TimeValue.timeValueMillis(100);
+    /** The default number of buckets of the wheel, covering timeouts of up to 51.2 seconds in one revolution */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    private final ThreadPool threadPool;
+    private final TimeValue tickDuration;
+    private final long tickNanos;
+    private final List<Set<Timeout>> buckets;
+    private final long startNanos;
+
+    // Guarded by this
+    private long currentTick;
+    private int pendingTimeouts;
+    private Scheduler.Cancellable ticker;
+
+    /**
+     * Instantiate this class with the default tick duration and wheel size.
+     *
+     * @param threadPool The OpenSearch thread pool used to advance the wheel and run expired timeouts
+     */
+    public WorkflowTimeoutWheel(ThreadPool threadPool) {
+        this(threadPool, DEFAULT_TICK_DURATION, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Instantiate this class.
+     *
+     * @param threadPool The OpenSearch thread pool used to advance the wheel and run expired timeouts
+     * @param tickDuration The interval between ticks of the wheel, which bounds how late a timeout may fire
+     * @param wheelSize The number of buckets of the wheel. Timeouts longer than a revolution wait for additional revolutions.
+     */
+    public WorkflowTimeoutWheel(ThreadPool threadPool, TimeValue tickDuration, int wheelSize) {
+        if (tickDuration.nanos() <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Timeout wheel tick duration and size must be positive");
+        }
+        this.threadPool = threadPool;
+        this.tickDuration = tickDuration;
+        this.tickNanos = tickDuration.nanos();
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new HashSet<>());
+        }
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Schedules a task to run on the generic thread pool once the delay has elapsed, in the current thread context
+     * @param task the task to run when the timeout expires
+     * @param delay the delay after which the task runs
+     * @return a handle which cancels the timeout if it has not yet expired
+     */
+    public Scheduler.Cancellable schedule(Runnable task, TimeValue delay) {
+        // Round up so a timeout never fires before its delay has elapsed
+        long ticks = Math.max(1L, (delay.nanos() + tickNanos - 1) / tickNanos);
+        ThreadContext threadContext = threadPool.getThreadContext();
+        Runnable contextPreservingTask = threadContext.preserveContext(task);
+        synchronized (this) {
+            if (ticker == null) {
+                // The wheel was idle, so no bucket holds a timeout relative to an outdated tick
+                currentTick = elapsedTicks();
+                // The periodic task outlives this caller and serves the timeouts of every caller, so it must not keep this context
+                try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+                    ticker = threadPool.scheduleWithFixedDelay(this::advance, tickDuration, ThreadPool.Names.GENERIC);
+                }
+            }
+            // The current tick may lag behind the elapsed ticks until the next advance, and the elapsed ticks are truncated, so the
+            // deadline is one tick past the elapsed ticks plus the delay
+            Timeout timeout = new Timeout(contextPreservingTask, elapsedTicks() + ticks + 1);
+            bucket(timeout.deadlineTick).add(timeout);
+            pendingTimeouts++;
+            return timeout;
+        }
+    }
+
+    /**
+     * Returns the number of timeouts which have neither expired nor been cancelled
+     * @return the number of pending timeouts
+     */
+    public synchronized int pendingTimeouts() {
+        return pendingTimeouts;
+    }
+
+    /**
+     * Processes the buckets of every tick which elapsed since the last run, catching up if the periodic task ran late
+     */
+    private void advance() {
+        List<Timeout> expired = new ArrayList<>();
+        synchronized (this) {
+            long targetTick = elapsedTicks();
+            while (currentTick < targetTick) {
+                currentTick++;
+                Iterator<Timeout> it = bucket(currentTick).iterator();
+                while (it.hasNext()) {
+                    Timeout timeout = it.next();
+                    if (timeout.deadlineTick <= currentTick) {
+                        it.remove();
+                        pendingTimeouts--;
+                        expired.add(timeout);
+                    }
+                }
+            }
+            if (pendingTimeouts == 0 && ticker != null) {
+                ticker.cancel();
+                ticker = null;
+            }
+        }
+        for (Timeout timeout : expired) {
+            timeout.expire();
+        }
+    }
+
+    private long elapsedTicks() {
+        return (System.nanoTime() - startNanos) / tickNanos;
+    }
+
+    private Set<Timeout> bucket(long tick) {
+        return buckets.get((int) (tick % buckets.size()));
+    }
+
+    private synchronized boolean remove(Timeout timeout) {
+        if (bucket(timeout.deadlineTick).remove(timeout)) {
+            pendingTimeouts--;
+            return true;
+        }
+        return false;
+    }
+
+    private class Timeout implements Scheduler.Cancellable {
+        private final Runnable task;
+        private final long deadlineTick;
+        private final AtomicBoolean done = new AtomicBoolean(false);
+        private volatile boolean cancelled;
+
+        Timeout(Runnable task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        void expire() {
+            if (done.compareAndSet(false, true)) {
+                try {
+                    threadPool.generic().execute(task);
+                } catch (Exception e) {
+                    logger.warn("Failed to run expired workflow step timeout", e);
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel() {
+            if (done.compareAndSet(false, true)) {
+                cancelled = true;
+                remove(this);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
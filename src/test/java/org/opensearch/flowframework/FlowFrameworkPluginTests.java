@@ -8,13 +8,19 @@
  */
 package org.opensearch.flowframework;
 
+import org.opensearch.ExceptionsHelper;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Setting;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.core.concurrency.OpenSearchRejectedExecutionException;
+import org.opensearch.core.rest.RestStatus;
 import org.opensearch.env.Environment;
 import org.opensearch.indices.SystemIndexDescriptor;
 import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.ExecutorBuilder;
+import org.opensearch.threadpool.FixedExecutorBuilder;
+import org.opensearch.threadpool.ScalingExecutorBuilder;
 import org.opensearch.threadpool.TestThreadPool;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.AdminClient;
@@ -23,11 +29,17 @@ import org.opensearch.transport.client.ClusterAdminClient;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.opensearch.flowframework.common.CommonValue.FLOW_FRAMEWORK_THREAD_POOL_PREFIX;
+import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW_THREAD_POOL;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.BOUNDED_THREAD_POOL_QUEUES;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FLOW_FRAMEWORK_ENABLED;
 import static org.opensearch.flowframework.common.FlowFrameworkSettings.FLOW_FRAMEWORK_MULTI_TENANCY_ENABLED;
@@ -104,16 +116,71 @@ public class FlowFrameworkPluginTests extends OpenSearchTestCase {
     public void testPlugin() throws IOException {
         try (FlowFrameworkPlugin ffp = new FlowFrameworkPlugin()) {
             assertEquals(
-                7,
+                9,
                 ffp.createComponents(client, clusterService, threadPool, null, null, null, environment, null, null, null, null).size()
             );
-            assertEquals(9, ffp.getRestHandlers(settings, null, null, null, null, null, null).size());
-            assertEquals(10, ffp.getActions().size());
+            assertEquals(10, ffp.getRestHandlers(settings, null, null, null, null, null, null).size());
+            assertEquals(11, ffp.getActions().size());
             assertEquals(3, ffp.getExecutorBuilders(settings).size());
-            assertEquals(13, ffp.getSettings().size());
+            assertEquals(26, ffp.getSettings().size());
 
             Collection<SystemIndexDescriptor> systemIndexDescriptors = ffp.getSystemIndexDescriptors(Settings.EMPTY);
-            assertEquals(3, systemIndexDescriptors.size());
+            assertEquals(4, systemIndexDescriptors.size());
+        }
+    }
+
+    public void testBoundedThreadPools() throws IOException {
+        Settings boundedSettings = Settings.builder()
+            .put(BOUNDED_THREAD_POOL_QUEUES.getKey(), true)
+            .put(FLOW_FRAMEWORK_THREAD_POOL_PREFIX + PROVISION_WORKFLOW_THREAD_POOL + ".size", 1)
+            .put(FLOW_FRAMEWORK_THREAD_POOL_PREFIX + PROVISION_WORKFLOW_THREAD_POOL + ".queue_size", 1)
+            .build();
+        try (FlowFrameworkPlugin ffp = new FlowFrameworkPlugin()) {
+            List<ExecutorBuilder<?>> builders = ffp.getExecutorBuilders(boundedSettings);
+            assertTrue(builders.stream().allMatch(b -> b instanceof FixedExecutorBuilder));
+            assertTrue(ffp.getExecutorBuilders(settings).stream().allMatch(b -> b instanceof ScalingExecutorBuilder));
+
+            ThreadPool boundedThreadPool = new TestThreadPool("bounded", boundedSettings, builders.toArray(new ExecutorBuilder<?>[0]));
+            CountDownLatch blockThread = new CountDownLatch(1);
+            try {
+                ExecutorService provisionExecutor = boundedThreadPool.executor(PROVISION_WORKFLOW_THREAD_POOL);
+                assertEquals(1, boundedThreadPool.info(PROVISION_WORKFLOW_THREAD_POOL).getMax());
+                // One task occupies the only thread and one fills the queue
+                provisionExecutor.execute(() -> {
+                    try {
+                        blockThread.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                provisionExecutor.execute(() -> {});
+                OpenSearchRejectedExecutionException e = assertThrows(
+                    OpenSearchRejectedExecutionException.class,
+                    () -> provisionExecutor.execute(() -> {})
+                );
+                assertEquals(RestStatus.TOO_MANY_REQUESTS, ExceptionsHelper.status(e));
+            } finally {
+                blockThread.countDown();
+                ThreadPool.terminate(boundedThreadPool, 500, TimeUnit.MILLISECONDS);
+            }
+
+            // The sizes of a scaling pool do not apply to a bounded pool, and conversely
+            Settings scalingSizeSettings = Settings.builder()
+                .put(boundedSettings)
+                .put(FLOW_FRAMEWORK_THREAD_POOL_PREFIX + PROVISION_WORKFLOW_THREAD_POOL + ".max", 4)
+                .build();
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> ffp.getExecutorBuilders(scalingSizeSettings));
+            assertEquals(
+                "Setting [thread_pool.flow_framework.opensearch_provision_workflow.max] can not be set when "
+                    + "[plugins.flow_framework.bounded_thread_pool_queues] is true, size the pool with "
+                    + "[thread_pool.flow_framework.opensearch_provision_workflow.size], "
+                    + "[thread_pool.flow_framework.opensearch_provision_workflow.queue_size] instead.",
+                e.getMessage()
+            );
+            Settings fixedSizeSettings = Settings.builder()
+                .put(FLOW_FRAMEWORK_THREAD_POOL_PREFIX + PROVISION_WORKFLOW_THREAD_POOL + ".queue_size", 1)
+                .build();
+            assertThrows(IllegalArgumentException.class, () -> ffp.getExecutorBuilders(fixedSizeSettings));
         }
     }
 }
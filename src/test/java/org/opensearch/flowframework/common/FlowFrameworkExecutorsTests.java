@@ -0,0 +1,163 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.common;
+
+import org.opensearch.ExceptionsHelper;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.core.concurrency.OpenSearchRejectedExecutionException;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.FixedExecutorBuilder;
+import org.opensearch.threadpool.ScalingExecutorBuilder;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.opensearch.flowframework.common.CommonValue.FLOW_FRAMEWORK_THREAD_POOL_PREFIX;
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_THREAD_POOL;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FlowFrameworkExecutorsTests extends OpenSearchTestCase {
+
+    private static final int POOL_SIZE = 2;
+    private static final int QUEUE_SIZE = 3;
+    private static final String BOUNDED_THREAD_POOL = "bounded";
+
+    private TestThreadPool testThreadPool;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        testThreadPool = new TestThreadPool(
+            FlowFrameworkExecutorsTests.class.getName(),
+            new ScalingExecutorBuilder(
+                WORKFLOW_THREAD_POOL,
+                1,
+                POOL_SIZE,
+                TimeValue.timeValueMinutes(1),
+                FLOW_FRAMEWORK_THREAD_POOL_PREFIX + WORKFLOW_THREAD_POOL
+            ),
+            new FixedExecutorBuilder(
+                Settings.EMPTY,
+                BOUNDED_THREAD_POOL,
+                POOL_SIZE,
+                QUEUE_SIZE,
+                FLOW_FRAMEWORK_THREAD_POOL_PREFIX + BOUNDED_THREAD_POOL
+            )
+        );
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        ThreadPool.terminate(testThreadPool, 500, TimeUnit.MILLISECONDS);
+        super.tearDown();
+    }
+
+    public void testPlatformThreads() {
+        assertSame(testThreadPool.executor(WORKFLOW_THREAD_POOL), executors(false).executor(WORKFLOW_THREAD_POOL));
+    }
+
+    public void testVirtualThreadExecutorsCached() {
+        FlowFrameworkExecutors executors = executors(true);
+        assertSame(executors.executor(WORKFLOW_THREAD_POOL), executors.executor(WORKFLOW_THREAD_POOL));
+        assertNotSame(executors.executor(WORKFLOW_THREAD_POOL), executors.executor(BOUNDED_THREAD_POOL));
+    }
+
+    public void testVirtualThreadsPreserveContext() throws Exception {
+        Executor executor = executors(true).executor(WORKFLOW_THREAD_POOL);
+        ThreadContext threadContext = testThreadPool.getThreadContext();
+        AtomicReference<Thread> executingThread = new AtomicReference<>();
+        AtomicReference<String> header = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+            threadContext.putHeader("test", "value");
+            executor.execute(() -> {
+                executingThread.set(Thread.currentThread());
+                header.set(threadContext.getHeader("test"));
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(1, TimeUnit.MINUTES));
+        assertTrue(executingThread.get().isVirtual());
+        assertEquals("opensearch[" + WORKFLOW_THREAD_POOL + "][virtual]", executingThread.get().getName());
+        assertEquals("value", header.get());
+        assertNull(threadContext.getHeader("test"));
+    }
+
+    public void testBlockingTasks() throws Exception {
+        // Virtual threads run at most as many tasks at once as the pool they replace, and the other tasks wait
+        int tasks = 100;
+        assertEquals(POOL_SIZE, maxConcurrentBlockingTasks(executors(false).executor(WORKFLOW_THREAD_POOL), tasks));
+        assertEquals(POOL_SIZE, maxConcurrentBlockingTasks(executors(true).executor(WORKFLOW_THREAD_POOL), tasks));
+    }
+
+    public void testVirtualThreadsRejectBeyondQueueSize() throws Exception {
+        Executor executor = executors(true).executor(BOUNDED_THREAD_POOL);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(POOL_SIZE + QUEUE_SIZE);
+        for (int i = 0; i < POOL_SIZE + QUEUE_SIZE; i++) {
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                finished.countDown();
+            });
+        }
+        // Like the pool, tasks beyond its running and queued tasks are rejected with 429 Too Many Requests
+        OpenSearchRejectedExecutionException e = expectThrows(OpenSearchRejectedExecutionException.class, () -> executor.execute(() -> {}));
+        assertEquals(RestStatus.TOO_MANY_REQUESTS, ExceptionsHelper.status(e));
+        release.countDown();
+        assertTrue(finished.await(1, TimeUnit.MINUTES));
+
+        // Tasks are accepted again once the waiting ones have run
+        CountDownLatch ran = new CountDownLatch(1);
+        assertBusy(() -> {
+            executor.execute(ran::countDown);
+            assertTrue(ran.await(1, TimeUnit.SECONDS));
+        });
+    }
+
+    private FlowFrameworkExecutors executors(boolean virtualThreads) {
+        FlowFrameworkSettings flowFrameworkSettings = mock(FlowFrameworkSettings.class);
+        when(flowFrameworkSettings.isVirtualThreadsEnabled()).thenReturn(virtualThreads);
+        return new FlowFrameworkExecutors(testThreadPool, flowFrameworkSettings);
+    }
+
+    private static int maxConcurrentBlockingTasks(Executor executor, int tasks) throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(tasks);
+        CountDownLatch finished = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                finished.countDown();
+            });
+        }
+        // Give every task which can start the chance to do so
+        started.await(500, TimeUnit.MILLISECONDS);
+        int concurrent = (int) (tasks - started.getCount());
+        release.countDown();
+        assertTrue(finished.await(1, TimeUnit.MINUTES));
+        return concurrent;
+    }
+}
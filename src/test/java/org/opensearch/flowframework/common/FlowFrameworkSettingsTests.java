@@ -69,5 +69,9 @@ public class FlowFrameworkSettingsTests extends OpenSearchTestCase {
         assertFalse(flowFrameworkSettings.isMultiTenancyEnabled());
         assertEquals(Optional.of(2), Optional.ofNullable(flowFrameworkSettings.getMaxActiveProvisionsPerTenant()));
         assertEquals(Optional.of(1), Optional.ofNullable(flowFrameworkSettings.getMaxActiveDeprovisionsPerTenant()));
+        assertEquals(100, flowFrameworkSettings.getWorkflowPlanCacheSize());
+        assertFalse(flowFrameworkSettings.isBoundedThreadPoolQueues());
+        assertFalse(flowFrameworkSettings.isVirtualThreadsEnabled());
+        assertEquals(TimeValue.timeValueSeconds(60), flowFrameworkSettings.getMaxStateWaitTimeout());
     }
 }
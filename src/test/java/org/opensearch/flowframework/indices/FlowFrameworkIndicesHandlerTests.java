@@ -8,15 +8,23 @@
  */
 package org.opensearch.flowframework.indices;
 
+import org.apache.lucene.search.TotalHits;
 import org.opensearch.Version;
 import org.opensearch.action.DocWriteResponse.Result;
 import org.opensearch.action.admin.indices.create.CreateIndexRequest;
+import org.opensearch.action.admin.indices.create.CreateIndexResponse;
 import org.opensearch.action.admin.indices.mapping.put.PutMappingRequest;
 import org.opensearch.action.delete.DeleteRequest;
 import org.opensearch.action.delete.DeleteResponse;
 import org.opensearch.action.get.GetRequest;
 import org.opensearch.action.get.GetResponse;
+import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchResponseSections;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.action.support.clustermanager.AcknowledgedResponse;
 import org.opensearch.action.update.UpdateRequest;
 import org.opensearch.action.update.UpdateResponse;
@@ -25,20 +33,26 @@ import org.opensearch.cluster.ClusterState;
 import org.opensearch.cluster.metadata.IndexMetadata;
 import org.opensearch.cluster.metadata.MappingMetadata;
 import org.opensearch.cluster.metadata.Metadata;
+import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.collect.Tuple;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.ToXContentObject;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.flowframework.TestHelpers;
 import org.opensearch.flowframework.common.WorkflowResources;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.model.ProvisioningProgress;
 import org.opensearch.flowframework.model.ResourceCreated;
+import org.opensearch.flowframework.model.State;
 import org.opensearch.flowframework.model.Template;
 import org.opensearch.flowframework.model.Workflow;
 import org.opensearch.flowframework.model.WorkflowState;
@@ -46,10 +60,15 @@ import org.opensearch.flowframework.util.EncryptorUtils;
 import org.opensearch.flowframework.workflow.CreateConnectorStep;
 import org.opensearch.flowframework.workflow.CreateIndexStep;
 import org.opensearch.flowframework.workflow.WorkflowData;
+import org.opensearch.index.engine.DocumentMissingException;
 import org.opensearch.index.engine.VersionConflictEngineException;
 import org.opensearch.index.get.GetResult;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.remote.metadata.client.impl.SdkClientFactory;
+import org.opensearch.search.DocValueFormat;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.aggregations.InternalAggregations;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.AdminClient;
@@ -58,24 +77,35 @@ import org.opensearch.transport.client.IndicesAdminClient;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX;
+import static org.opensearch.flowframework.common.CommonValue.RESOURCES_INDEX;
+import static org.opensearch.flowframework.common.CommonValue.STATE_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_STATE_INDEX;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -416,6 +446,62 @@ public class FlowFrameworkIndicesHandlerTests extends OpenSearchTestCase {
         verify(function).accept(true);
     }
 
+    public void testGetParsedTemplate() throws Exception {
+        FlowFrameworkIndicesHandler cachingHandler = new FlowFrameworkIndicesHandler(
+            client,
+            sdkClient,
+            clusterService,
+            encryptorUtils,
+            xContentRegistry(),
+            false,
+            false,
+            1024 * 1024
+        );
+        String documentId = randomAlphaOfLength(5);
+        AtomicLong seqNo = new AtomicLong(1);
+        AtomicInteger sourceGets = new AtomicInteger();
+        doAnswer(invocation -> {
+            GetRequest getRequest = invocation.getArgument(0);
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+            BytesReference templateBytesRef = null;
+            if (getRequest.fetchSourceContext() == null || getRequest.fetchSourceContext().fetchSource()) {
+                sourceGets.incrementAndGet();
+                XContentBuilder builder = XContentFactory.jsonBuilder();
+                this.template.toXContent(builder, null);
+                templateBytesRef = BytesReference.bytes(builder);
+            }
+            GetResult getResult = new GetResult(GLOBAL_CONTEXT_INDEX, documentId, seqNo.get(), 1, 1, true, templateBytesRef, null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+
+        Template parsedTemplate = getParsedTemplate(cachingHandler, documentId);
+        assertEquals(this.template.name(), parsedTemplate.name());
+        assertEquals(1, sourceGets.get());
+
+        // The document is unchanged, so its source is not read again
+        assertSame(parsedTemplate, getParsedTemplate(cachingHandler, documentId));
+        assertEquals(1, sourceGets.get());
+
+        // The document changed
+        seqNo.set(2);
+        Template updatedTemplate = getParsedTemplate(cachingHandler, documentId);
+        assertNotSame(parsedTemplate, updatedTemplate);
+        assertEquals(2, sourceGets.get());
+        assertSame(updatedTemplate, getParsedTemplate(cachingHandler, documentId));
+
+        // The document is deleted
+        cachingHandler.invalidateTemplate(documentId, null);
+        assertNotSame(updatedTemplate, getParsedTemplate(cachingHandler, documentId));
+        assertEquals(3, sourceGets.get());
+    }
+
+    private Template getParsedTemplate(FlowFrameworkIndicesHandler handler, String documentId) {
+        PlainActionFuture<Optional<Template>> future = PlainActionFuture.newFuture();
+        handler.getParsedTemplate(documentId, null, future, threadContext.newStoredContext(false));
+        return future.actionGet().orElseThrow();
+    }
+
     public void testUpdateFlowFrameworkSystemIndexDoc() throws IOException {
         ClusterState mockClusterState = mock(ClusterState.class);
         Metadata mockMetaData = mock(Metadata.class);
@@ -672,6 +758,718 @@ public class FlowFrameworkIndicesHandlerTests extends OpenSearchTestCase {
         );
     }
 
+    public void testAddResourcesToStateIndexCoalesced() {
+        ClusterState mockClusterState = mock(ClusterState.class);
+        Metadata mockMetaData = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(mockClusterState);
+        when(mockClusterState.metadata()).thenReturn(mockMetaData);
+        when(mockMetaData.hasIndex(WORKFLOW_STATE_INDEX)).thenReturn(true);
+
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            WorkflowState state = WorkflowState.builder().build();
+            state.toXContent(builder, null);
+            BytesReference workflowBytesRef = BytesReference.bytes(builder);
+            GetResult getResult = new GetResult(WORKFLOW_STATE_INDEX, "this_id", 1, 1, 1, true, workflowBytesRef, null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+        // Hold each update until the test completes it
+        List<ActionListener<UpdateResponse>> pendingUpdates = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            pendingUpdates.add(invocation.getArgument(1));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+        UpdateResponse updateResponse = new UpdateResponse(new ShardId(WORKFLOW_STATE_INDEX, "", 1), "this_id", -2, 0, 0, Result.UPDATED);
+
+        List<ActionListener<WorkflowData>> listeners = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            @SuppressWarnings("unchecked")
+            ActionListener<WorkflowData> listener = mock(ActionListener.class);
+            listeners.add(listener);
+            flowFrameworkIndicesHandler.addResourceToStateIndex(
+                new WorkflowData(Collections.emptyMap(), "this_id", null),
+                "node_" + i,
+                CreateConnectorStep.NAME,
+                "connector_" + i,
+                null,
+                listener
+            );
+            // The first update is written immediately, the others wait for it to complete
+            verify(client, timeout(10000).times(1)).update(any(UpdateRequest.class), any());
+        }
+
+        pendingUpdates.get(0).onResponse(updateResponse);
+        verify(listeners.get(0), timeout(10000)).onResponse(any());
+        ArgumentCaptor<UpdateRequest> updateCaptor = ArgumentCaptor.forClass(UpdateRequest.class);
+        verify(client, timeout(10000).times(2)).update(updateCaptor.capture(), any());
+        // The queued updates are written together
+        List<?> resourcesCreated = (List<?>) updateCaptor.getAllValues().get(1).doc().sourceAsMap().get("resources_created");
+        assertEquals(2, resourcesCreated.size());
+        verify(listeners.get(1), never()).onResponse(any());
+
+        pendingUpdates.get(1).onResponse(updateResponse);
+        ArgumentCaptor<WorkflowData> responseCaptor = ArgumentCaptor.forClass(WorkflowData.class);
+        verify(listeners.get(1), timeout(10000)).onResponse(responseCaptor.capture());
+        assertEquals("connector_1", responseCaptor.getValue().getContent().get(WorkflowResources.CONNECTOR_ID));
+        verify(listeners.get(2), timeout(10000)).onResponse(responseCaptor.capture());
+        assertEquals("connector_2", responseCaptor.getValue().getContent().get(WorkflowResources.CONNECTOR_ID));
+        verify(client, times(2)).update(any(UpdateRequest.class), any());
+    }
+
+    public void testResourceUpdateQueueDrainsWhenWriteThrows() {
+        ClusterState mockClusterState = mock(ClusterState.class);
+        Metadata mockMetaData = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(mockClusterState);
+        when(mockClusterState.metadata()).thenReturn(mockMetaData);
+        when(mockMetaData.hasIndex(WORKFLOW_STATE_INDEX)).thenReturn(true);
+        FlowFrameworkIndicesHandler scriptedHandler = new FlowFrameworkIndicesHandler(
+            client,
+            sdkClient,
+            clusterService,
+            encryptorUtils,
+            xContentRegistry(),
+            true
+        );
+
+        // The first write fails before the update is sent
+        doThrow(new IllegalStateException("update rejected")).when(client).update(any(UpdateRequest.class), any());
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowData> failedListener = mock(ActionListener.class);
+        scriptedHandler.addResourceToStateIndex(
+            new WorkflowData(Collections.emptyMap(), "this_id", null),
+            "node_id",
+            CreateConnectorStep.NAME,
+            "connector_id",
+            null,
+            failedListener
+        );
+        ArgumentCaptor<Exception> exceptionCaptor = ArgumentCaptor.forClass(Exception.class);
+        verify(failedListener, times(1)).onFailure(exceptionCaptor.capture());
+        assertEquals("update rejected", exceptionCaptor.getValue().getMessage());
+
+        // The next update of the workflow is not left queued behind the failed one
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new UpdateResponse(new ShardId(WORKFLOW_STATE_INDEX, "", 1), "this_id", -2, 0, 0, Result.UPDATED));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowData> listener = mock(ActionListener.class);
+        scriptedHandler.addResourceToStateIndex(
+            new WorkflowData(Collections.emptyMap(), "this_id", null),
+            "node_id",
+            CreateConnectorStep.NAME,
+            "connector_id",
+            null,
+            listener
+        );
+        verify(listener, times(1)).onResponse(any());
+        verify(client, times(2)).update(any(UpdateRequest.class), any());
+    }
+
+    public void testUpdateResourcesInStateIndexWithScript() {
+        ClusterState mockClusterState = mock(ClusterState.class);
+        Metadata mockMetaData = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(mockClusterState);
+        when(mockClusterState.metadata()).thenReturn(mockMetaData);
+        when(mockMetaData.hasIndex(WORKFLOW_STATE_INDEX)).thenReturn(true);
+        FlowFrameworkIndicesHandler scriptedHandler = new FlowFrameworkIndicesHandler(
+            client,
+            sdkClient,
+            clusterService,
+            encryptorUtils,
+            xContentRegistry(),
+            true
+        );
+
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new UpdateResponse(new ShardId(WORKFLOW_STATE_INDEX, "", 1), "this_id", -2, 0, 0, Result.UPDATED));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowData> listener = mock(ActionListener.class);
+        scriptedHandler.addResourceToStateIndex(
+            new WorkflowData(Collections.emptyMap(), "this_id", null),
+            "node_id",
+            CreateConnectorStep.NAME,
+            "this_id",
+            null,
+            listener
+        );
+
+        ArgumentCaptor<WorkflowData> responseCaptor = ArgumentCaptor.forClass(WorkflowData.class);
+        verify(listener, times(1)).onResponse(responseCaptor.capture());
+        assertEquals("this_id", responseCaptor.getValue().getContent().get(WorkflowResources.CONNECTOR_ID));
+        ArgumentCaptor<UpdateRequest> updateCaptor = ArgumentCaptor.forClass(UpdateRequest.class);
+        verify(client, times(1)).update(updateCaptor.capture(), any());
+        // The state document is updated in place without being read
+        verify(client, never()).get(any(GetRequest.class), any());
+        UpdateRequest updateRequest = updateCaptor.getValue();
+        assertEquals("this_id", updateRequest.id());
+        assertNull(updateRequest.doc());
+        List<?> updates = (List<?>) updateRequest.script().getParams().get("updates");
+        assertEquals(
+            List.of(
+                Map.of(
+                    "delete",
+                    false,
+                    "resource",
+                    new ResourceCreated(CreateConnectorStep.NAME, "node_id", "connector_id", "this_id").resourceMap()
+                )
+            ),
+            updates
+        );
+
+        // test document not found
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> responseListener = invocation.getArgument(1);
+            responseListener.onFailure(new DocumentMissingException(new ShardId(WORKFLOW_STATE_INDEX, "", 1), "this_id"));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowData> notFoundListener = mock(ActionListener.class);
+        scriptedHandler.deleteResourceFromStateIndex(
+            "this_id",
+            null,
+            new ResourceCreated(CreateConnectorStep.NAME, "node_id", "connector_id", "this_id"),
+            notFoundListener
+        );
+
+        ArgumentCaptor<Exception> exceptionCaptor = ArgumentCaptor.forClass(Exception.class);
+        verify(notFoundListener, times(1)).onFailure(exceptionCaptor.capture());
+        assertEquals("Workflow state not found for this_id", exceptionCaptor.getValue().getMessage());
+
+        // test document of another tenant, left unchanged by the script
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new UpdateResponse(new ShardId(WORKFLOW_STATE_INDEX, "", 1), "this_id", -2, 0, 0, Result.NOOP));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowData> otherTenantListener = mock(ActionListener.class);
+        scriptedHandler.deleteResourceFromStateIndex(
+            "this_id",
+            "tenant_id",
+            new ResourceCreated(CreateConnectorStep.NAME, "node_id", "connector_id", "this_id"),
+            otherTenantListener
+        );
+
+        verify(otherTenantListener, times(1)).onFailure(exceptionCaptor.capture());
+        assertEquals(RestStatus.NOT_FOUND, ((FlowFrameworkException) exceptionCaptor.getValue()).getRestStatus());
+        verify(client, times(3)).update(updateCaptor.capture(), any());
+        assertEquals("tenant_id", updateCaptor.getValue().script().getParams().get("tenant_id"));
+    }
+
+    public void testUpdateResourcesInStateIndexWithScriptsDisallowed() {
+        ClusterState mockClusterState = mock(ClusterState.class);
+        Metadata mockMetaData = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(mockClusterState);
+        when(mockClusterState.metadata()).thenReturn(mockMetaData);
+        when(mockMetaData.hasIndex(WORKFLOW_STATE_INDEX)).thenReturn(true);
+        FlowFrameworkIndicesHandler scriptedHandler = new FlowFrameworkIndicesHandler(
+            client,
+            sdkClient,
+            clusterService,
+            encryptorUtils,
+            xContentRegistry(),
+            true
+        );
+
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            WorkflowState state = WorkflowState.builder().build();
+            state.toXContent(builder, null);
+            BytesReference workflowBytesRef = BytesReference.bytes(builder);
+            GetResult getResult = new GetResult(WORKFLOW_STATE_INDEX, "this_id", 1, 1, 1, true, workflowBytesRef, null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+        // The cluster rejects the update script, as with script.allowed_types set to stored
+        doAnswer(invocation -> {
+            UpdateRequest updateRequest = invocation.getArgument(0);
+            ActionListener<UpdateResponse> responseListener = invocation.getArgument(1);
+            if (updateRequest.script() != null) {
+                responseListener.onFailure(
+                    new IllegalArgumentException(
+                        "failed to execute script",
+                        new IllegalArgumentException("cannot execute [inline] scripts")
+                    )
+                );
+            } else {
+                responseListener.onResponse(
+                    new UpdateResponse(new ShardId(WORKFLOW_STATE_INDEX, "", 1), "this_id", -2, 0, 0, Result.UPDATED)
+                );
+            }
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+
+        for (int i = 0; i < 2; i++) {
+            @SuppressWarnings("unchecked")
+            ActionListener<WorkflowData> listener = mock(ActionListener.class);
+            scriptedHandler.addResourceToStateIndex(
+                new WorkflowData(Collections.emptyMap(), "this_id", null),
+                "node_" + i,
+                CreateConnectorStep.NAME,
+                "connector_" + i,
+                null,
+                listener
+            );
+            ArgumentCaptor<WorkflowData> responseCaptor = ArgumentCaptor.forClass(WorkflowData.class);
+            verify(listener, timeout(10000)).onResponse(responseCaptor.capture());
+            assertEquals("connector_" + i, responseCaptor.getValue().getContent().get(WorkflowResources.CONNECTOR_ID));
+        }
+
+        // Only the first update tried the script, both were written by reading and updating the document
+        ArgumentCaptor<UpdateRequest> updateCaptor = ArgumentCaptor.forClass(UpdateRequest.class);
+        verify(client, times(3)).update(updateCaptor.capture(), any());
+        assertNotNull(updateCaptor.getAllValues().get(0).script());
+        assertNull(updateCaptor.getAllValues().get(1).script());
+        assertNull(updateCaptor.getAllValues().get(2).script());
+        verify(client, times(2)).get(any(GetRequest.class), any());
+    }
+
+    public void testAddResourceToResourcesIndex() {
+        ClusterState mockClusterState = mock(ClusterState.class);
+        Metadata mockMetaData = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(mockClusterState);
+        when(mockClusterState.metadata()).thenReturn(mockMetaData);
+        when(mockMetaData.hasIndex(WORKFLOW_STATE_INDEX)).thenReturn(true);
+        when(mockMetaData.hasIndex(RESOURCES_INDEX)).thenReturn(false);
+        FlowFrameworkIndicesHandler resourcesIndexHandler = new FlowFrameworkIndicesHandler(
+            client,
+            sdkClient,
+            clusterService,
+            encryptorUtils,
+            xContentRegistry(),
+            true,
+            true
+        );
+
+        doAnswer(invocation -> {
+            ActionListener<CreateIndexResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new CreateIndexResponse(true, true, RESOURCES_INDEX));
+            return null;
+        }).when(indicesAdminClient).create(any(CreateIndexRequest.class), any());
+        doAnswer(invocation -> {
+            ActionListener<IndexResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new IndexResponse(new ShardId(RESOURCES_INDEX, "", 1), "id", -2, 0, 0, true));
+            return null;
+        }).when(client).index(any(IndexRequest.class), any());
+
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowData> listener = mock(ActionListener.class);
+        resourcesIndexHandler.addResourceToStateIndex(
+            new WorkflowData(Collections.emptyMap(), "this_id", null),
+            "node_id",
+            CreateConnectorStep.NAME,
+            "connector_1",
+            null,
+            listener
+        );
+
+        ArgumentCaptor<WorkflowData> responseCaptor = ArgumentCaptor.forClass(WorkflowData.class);
+        verify(listener, times(1)).onResponse(responseCaptor.capture());
+        assertEquals("connector_1", responseCaptor.getValue().getContent().get(WorkflowResources.CONNECTOR_ID));
+        ArgumentCaptor<IndexRequest> indexCaptor = ArgumentCaptor.forClass(IndexRequest.class);
+        verify(client, times(1)).index(indexCaptor.capture(), any());
+        // The resource gets its own document, and the state document is not touched
+        verify(client, never()).update(any(UpdateRequest.class), any());
+        verify(client, never()).get(any(GetRequest.class), any());
+        IndexRequest indexRequest = indexCaptor.getValue();
+        assertEquals(RESOURCES_INDEX, indexRequest.index());
+        assertEquals("this_id_node_id_connector_id", indexRequest.id());
+        Map<String, Object> source = indexRequest.sourceAsMap();
+        assertEquals("this_id", source.get("workflow_id"));
+        assertEquals("connector_1", source.get("resource_id"));
+        assertEquals("connector_id", source.get("resource_type"));
+    }
+
+    public void testGetWorkflowStateWithResourcesIndex() throws IOException {
+        FlowFrameworkIndicesHandler resourcesIndexHandler = new FlowFrameworkIndicesHandler(
+            client,
+            sdkClient,
+            clusterService,
+            encryptorUtils,
+            xContentRegistry(),
+            true,
+            true
+        );
+        String documentId = randomAlphaOfLength(5);
+        // A resource written to the state document before the resources index was enabled, and another replaced by a document
+        ResourceCreated legacyResource = new ResourceCreated(CreateIndexStep.NAME, "legacy_node", "index_name", "legacy_index");
+        ResourceCreated replacedResource = new ResourceCreated(CreateConnectorStep.NAME, "node_id", "connector_id", "connector_1");
+        WorkflowState workFlowState = WorkflowState.builder()
+            .workflowId(documentId)
+            .state("COMPLETED")
+            .provisioningProgress("DONE")
+            .resourcesCreated(List.of(legacyResource, replacedResource))
+            .build();
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            workFlowState.toXContent(builder, null);
+            GetResult getResult = new GetResult(WORKFLOW_STATE_INDEX, documentId, 1, 1, 1, true, BytesReference.bytes(builder), null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> responseListener = invocation.getArgument(1);
+            SearchHit[] hits = new SearchHit[] {
+                resourceHit(documentId, new ResourceCreated(CreateConnectorStep.NAME, "node_id", "connector_id", "connector_1")),
+                resourceHit(documentId, new ResourceCreated(CreateConnectorStep.NAME, "other_node", "connector_id", "connector_2")) };
+            SearchHits searchHits = new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0f);
+            SearchResponseSections sections = new SearchResponseSections(
+                searchHits,
+                InternalAggregations.EMPTY,
+                null,
+                false,
+                false,
+                null,
+                1
+            );
+            responseListener.onResponse(
+                new SearchResponse(sections, null, 1, 1, 0, 1, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY)
+            );
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowState> listener = mock(ActionListener.class);
+        resourcesIndexHandler.getWorkflowState(documentId, null, listener, threadContext.newStoredContext(true));
+
+        ArgumentCaptor<WorkflowState> stateCaptor = ArgumentCaptor.forClass(WorkflowState.class);
+        verify(listener, timeout(5000).times(1)).onResponse(stateCaptor.capture());
+        assertEquals(
+            List.of("legacy_index", "connector_1", "connector_2"),
+            stateCaptor.getValue().resourcesCreated().stream().map(ResourceCreated::resourceId).collect(Collectors.toList())
+        );
+        ArgumentCaptor<SearchRequest> searchCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(client, times(1)).search(searchCaptor.capture(), any());
+        assertArrayEquals(new String[] { RESOURCES_INDEX }, searchCaptor.getValue().indices());
+    }
+
+    public void testGetWorkflowStateWithTooManyIndexedResources() throws IOException {
+        FlowFrameworkIndicesHandler resourcesIndexHandler = new FlowFrameworkIndicesHandler(
+            client,
+            sdkClient,
+            clusterService,
+            encryptorUtils,
+            xContentRegistry(),
+            true,
+            true
+        );
+        String documentId = randomAlphaOfLength(5);
+        WorkflowState workFlowState = WorkflowState.builder()
+            .workflowId(documentId)
+            .state("COMPLETED")
+            .provisioningProgress("DONE")
+            .build();
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            workFlowState.toXContent(builder, null);
+            GetResult getResult = new GetResult(WORKFLOW_STATE_INDEX, documentId, 1, 1, 1, true, BytesReference.bytes(builder), null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+        // Every search returns a full page, as if the workflow had endless resources
+        SearchHit[] hits = new SearchHit[FlowFrameworkIndicesHandler.RESOURCES_PAGE_SIZE];
+        for (int i = 0; i < hits.length; i++) {
+            hits[i] = resourceHit(documentId, new ResourceCreated(CreateConnectorStep.NAME, "node_" + i, "connector_id", "connector_" + i));
+            hits[i].sortValues(
+                new Object[] { "node_" + i, "connector_id" },
+                new DocValueFormat[] { DocValueFormat.RAW, DocValueFormat.RAW }
+            );
+        }
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> responseListener = invocation.getArgument(1);
+            SearchHits searchHits = new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0f);
+            SearchResponseSections sections = new SearchResponseSections(
+                searchHits,
+                InternalAggregations.EMPTY,
+                null,
+                false,
+                false,
+                null,
+                1
+            );
+            responseListener.onResponse(
+                new SearchResponse(sections, null, 1, 1, 0, 1, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY)
+            );
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowState> listener = mock(ActionListener.class);
+        resourcesIndexHandler.getWorkflowState(documentId, null, listener, threadContext.newStoredContext(true));
+
+        ArgumentCaptor<Exception> exceptionCaptor = ArgumentCaptor.forClass(Exception.class);
+        verify(listener, timeout(5000).times(1)).onFailure(exceptionCaptor.capture());
+        assertEquals(
+            "Workflow " + documentId + " has more than " + FlowFrameworkIndicesHandler.MAX_INDEXED_RESOURCES + " resources created",
+            exceptionCaptor.getValue().getMessage()
+        );
+        // Reading stops at the first page past the limit
+        int pages = FlowFrameworkIndicesHandler.MAX_INDEXED_RESOURCES / FlowFrameworkIndicesHandler.RESOURCES_PAGE_SIZE + 1;
+        verify(client, times(pages)).search(any(SearchRequest.class), any());
+    }
+
+    public void testResourceDocumentIdsDoNotCollide() {
+        // Joined with underscores, both resources would have the document id wf_a_b_connector_id
+        String id = FlowFrameworkIndicesHandler.getResourceDocumentId(
+            "wf_a",
+            new ResourceCreated(CreateConnectorStep.NAME, "b", "connector_id", "connector_1")
+        );
+        String otherId = FlowFrameworkIndicesHandler.getResourceDocumentId(
+            "wf",
+            new ResourceCreated(CreateConnectorStep.NAME, "a_b", "connector_id", "connector_2")
+        );
+        assertNotEquals(id, otherId);
+        // Writing a resource again replaces its document
+        assertEquals(
+            id,
+            FlowFrameworkIndicesHandler.getResourceDocumentId(
+                "wf_a",
+                new ResourceCreated(CreateConnectorStep.NAME, "b", "connector_id", "x")
+            )
+        );
+    }
+
+    private static SearchHit resourceHit(String workflowId, ResourceCreated resource) throws IOException {
+        Map<String, Object> source = new HashMap<>(resource.resourceMap());
+        source.put("workflow_id", workflowId);
+        XContentBuilder builder = XContentFactory.jsonBuilder().map(source);
+        return new SearchHit(1, FlowFrameworkIndicesHandler.getResourceDocumentId(workflowId, resource), null, null).sourceRef(
+            BytesReference.bytes(builder)
+        );
+    }
+
+    public void testGetInFlightWorkflowStateFromMemory() throws IOException {
+        ClusterState mockClusterState = mock(ClusterState.class);
+        Metadata mockMetaData = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(mockClusterState);
+        when(mockClusterState.metadata()).thenReturn(mockMetaData);
+        when(mockMetaData.hasIndex(WORKFLOW_STATE_INDEX)).thenReturn(true);
+        FlowFrameworkIndicesHandler scriptedHandler = new FlowFrameworkIndicesHandler(
+            client,
+            sdkClient,
+            clusterService,
+            encryptorUtils,
+            xContentRegistry(),
+            true
+        );
+        String documentId = randomAlphaOfLength(5);
+        WorkflowState provisioningState = WorkflowState.builder()
+            .workflowId(documentId)
+            .state(State.PROVISIONING.name())
+            .provisioningProgress(ProvisioningProgress.IN_PROGRESS.name())
+            .resourcesCreated(Collections.emptyList())
+            .build();
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            provisioningState.toXContent(builder, null);
+            GetResult getResult = new GetResult(WORKFLOW_STATE_INDEX, documentId, 1, 1, 1, true, BytesReference.bytes(builder), null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new UpdateResponse(new ShardId(WORKFLOW_STATE_INDEX, "", 1), documentId, -2, 0, 0, Result.UPDATED));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+
+        PlainActionFuture<UpdateResponse> updateFuture = PlainActionFuture.newFuture();
+        scriptedHandler.updateFlowFrameworkSystemIndexDoc(documentId, null, Map.of(STATE_FIELD, State.PROVISIONING), updateFuture);
+        updateFuture.actionGet();
+
+        // Only the first poll after provisioning started reads the state index
+        assertEquals(State.PROVISIONING.name(), getWorkflowState(scriptedHandler, documentId).getState());
+        assertEquals(State.PROVISIONING.name(), getWorkflowState(scriptedHandler, documentId).getState());
+        verify(client, times(1)).get(any(GetRequest.class), any());
+
+        // Created resources are applied in memory
+        PlainActionFuture<WorkflowData> resourceFuture = PlainActionFuture.newFuture();
+        scriptedHandler.addResourceToStateIndex(
+            new WorkflowData(Collections.emptyMap(), documentId, null),
+            "node_id",
+            CreateConnectorStep.NAME,
+            "connector_1",
+            null,
+            resourceFuture
+        );
+        resourceFuture.actionGet();
+        List<ResourceCreated> resourcesCreated = getWorkflowState(scriptedHandler, documentId).resourcesCreated();
+        assertEquals(1, resourcesCreated.size());
+        assertEquals("connector_1", resourcesCreated.get(0).resourceId());
+        verify(client, times(1)).get(any(GetRequest.class), any());
+
+        // Once provisioning ends the state index is read again
+        updateFuture = PlainActionFuture.newFuture();
+        scriptedHandler.updateFlowFrameworkSystemIndexDoc(documentId, null, Map.of(STATE_FIELD, State.COMPLETED), updateFuture);
+        updateFuture.actionGet();
+        getWorkflowState(scriptedHandler, documentId);
+        verify(client, times(2)).get(any(GetRequest.class), any());
+    }
+
+    public void testInFlightWorkflowStateRevalidated() throws IOException {
+        ClusterState mockClusterState = mock(ClusterState.class);
+        Metadata mockMetaData = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(mockClusterState);
+        when(mockClusterState.metadata()).thenReturn(mockMetaData);
+        when(mockMetaData.hasIndex(WORKFLOW_STATE_INDEX)).thenReturn(true);
+        DiscoveryNode localNode = mock(DiscoveryNode.class);
+        when(localNode.getId()).thenReturn("local_node");
+        when(clusterService.localNode()).thenReturn(localNode);
+        String documentId = randomAlphaOfLength(5);
+        AtomicReference<String> provisioningNode = new AtomicReference<>("local_node");
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            WorkflowState.builder()
+                .workflowId(documentId)
+                .state(State.PROVISIONING.name())
+                .provisioningProgress(ProvisioningProgress.IN_PROGRESS.name())
+                .provisioningNode(provisioningNode.get())
+                .build()
+                .toXContent(builder, null);
+            GetResult getResult = new GetResult(WORKFLOW_STATE_INDEX, documentId, 1, 1, 1, true, BytesReference.bytes(builder), null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new UpdateResponse(new ShardId(WORKFLOW_STATE_INDEX, "", 1), documentId, -2, 0, 0, Result.UPDATED));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+
+        PlainActionFuture<UpdateResponse> updateFuture = PlainActionFuture.newFuture();
+        flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
+            documentId,
+            null,
+            Map.of(STATE_FIELD, State.PROVISIONING),
+            updateFuture
+        );
+        updateFuture.actionGet();
+        getWorkflowState(flowFrameworkIndicesHandler, documentId);
+        getWorkflowState(flowFrameworkIndicesHandler, documentId);
+        verify(client, times(1)).get(any(GetRequest.class), any());
+
+        // A failed terminal update stops serving the state from memory, as provisioning ended whether or not it was written
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> responseListener = invocation.getArgument(1);
+            responseListener.onFailure(new Exception("Failed to update state"));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+        PlainActionFuture<UpdateResponse> failedFuture = PlainActionFuture.newFuture();
+        flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(documentId, null, Map.of(STATE_FIELD, State.FAILED), failedFuture);
+        expectThrows(FlowFrameworkException.class, failedFuture::actionGet);
+        getWorkflowState(flowFrameworkIndicesHandler, documentId);
+        getWorkflowState(flowFrameworkIndicesHandler, documentId);
+        verify(client, times(3)).get(any(GetRequest.class), any());
+
+        // A state showing the provisioning moved to another node is not kept
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new UpdateResponse(new ShardId(WORKFLOW_STATE_INDEX, "", 1), documentId, -2, 0, 0, Result.UPDATED));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+        updateFuture = PlainActionFuture.newFuture();
+        flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(
+            documentId,
+            null,
+            Map.of(STATE_FIELD, State.PROVISIONING),
+            updateFuture
+        );
+        updateFuture.actionGet();
+        provisioningNode.set("other_node");
+        getWorkflowState(flowFrameworkIndicesHandler, documentId);
+        getWorkflowState(flowFrameworkIndicesHandler, documentId);
+        verify(client, times(5)).get(any(GetRequest.class), any());
+    }
+
+    public void testAwaitWorkflowState() throws IOException {
+        ClusterState mockClusterState = mock(ClusterState.class);
+        Metadata mockMetaData = mock(Metadata.class);
+        when(clusterService.state()).thenReturn(mockClusterState);
+        when(mockClusterState.metadata()).thenReturn(mockMetaData);
+        when(mockMetaData.hasIndex(WORKFLOW_STATE_INDEX)).thenReturn(true);
+        String documentId = randomAlphaOfLength(5);
+        AtomicReference<State> indexedState = new AtomicReference<>(State.PROVISIONING);
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            WorkflowState.builder().workflowId(documentId).state(indexedState.get().name()).build().toXContent(builder, null);
+            long seqNo = indexedState.get().ordinal();
+            GetResult getResult = new GetResult(
+                WORKFLOW_STATE_INDEX,
+                documentId,
+                seqNo,
+                1,
+                1,
+                true,
+                BytesReference.bytes(builder),
+                null,
+                null
+            );
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> responseListener = invocation.getArgument(1);
+            responseListener.onResponse(new UpdateResponse(new ShardId(WORKFLOW_STATE_INDEX, "", 1), documentId, -2, 0, 0, Result.UPDATED));
+            return null;
+        }).when(client).update(any(UpdateRequest.class), any());
+
+        // A state which already holds responds at once
+        PlainActionFuture<Tuple<WorkflowState, Long>> future = PlainActionFuture.newFuture();
+        flowFrameworkIndicesHandler.awaitWorkflowState(
+            documentId,
+            null,
+            s -> State.PROVISIONING.name().equals(s.v1().getState()),
+            TimeValue.timeValueSeconds(30),
+            future
+        );
+        assertEquals(State.PROVISIONING.name(), future.actionGet().v1().getState());
+
+        // Otherwise the request waits, and a recheck is scheduled
+        future = PlainActionFuture.newFuture();
+        flowFrameworkIndicesHandler.awaitWorkflowState(
+            documentId,
+            null,
+            s -> State.COMPLETED.name().equals(s.v1().getState()),
+            TimeValue.timeValueSeconds(30),
+            future
+        );
+        assertFalse(future.isDone());
+        verify(threadPool, times(1)).schedule(any(Runnable.class), any(TimeValue.class), anyString());
+
+        // An update of the state on this node wakes it up
+        indexedState.set(State.COMPLETED);
+        PlainActionFuture<UpdateResponse> updateFuture = PlainActionFuture.newFuture();
+        flowFrameworkIndicesHandler.updateFlowFrameworkSystemIndexDoc(documentId, null, Map.of(STATE_FIELD, State.COMPLETED), updateFuture);
+        updateFuture.actionGet();
+        Tuple<WorkflowState, Long> stateAndSeqNo = future.actionGet();
+        assertEquals(State.COMPLETED.name(), stateAndSeqNo.v1().getState());
+        assertEquals(State.COMPLETED.ordinal(), stateAndSeqNo.v2().longValue());
+
+        // Once the timeout elapses the current state is returned
+        future = PlainActionFuture.newFuture();
+        flowFrameworkIndicesHandler.awaitWorkflowState(documentId, null, s -> false, TimeValue.ZERO, future);
+        assertEquals(State.COMPLETED.name(), future.actionGet().v1().getState());
+    }
+
+    private WorkflowState getWorkflowState(FlowFrameworkIndicesHandler handler, String workflowId) {
+        PlainActionFuture<WorkflowState> future = PlainActionFuture.newFuture();
+        handler.getWorkflowState(workflowId, null, future, threadContext.newStoredContext(true));
+        return future.actionGet();
+    }
+
     public void testDeleteResourceFromStateIndex() {
         ClusterState mockClusterState = mock(ClusterState.class);
         Metadata mockMetaData = mock(Metadata.class);
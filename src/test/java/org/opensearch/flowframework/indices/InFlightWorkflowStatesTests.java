@@ -0,0 +1,87 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.indices;
+
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.flowframework.model.WorkflowState;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class InFlightWorkflowStatesTests extends OpenSearchTestCase {
+
+    private final InFlightWorkflowStates inFlightStates = new InFlightWorkflowStates();
+    private final WorkflowState provisioning = WorkflowState.builder().workflowId("workflow").state("PROVISIONING").build();
+
+    public void testTrackAndFill() {
+        assertNull(inFlightStates.get("workflow"));
+        inFlightStates.track("workflow");
+        InFlightWorkflowStates.Entry entry = inFlightStates.get("workflow");
+        assertNull(entry.state());
+
+        entry.fill(entry.generation(), provisioning, 1);
+        assertSame(provisioning, entry.state());
+
+        inFlightStates.update("workflow", state -> WorkflowState.builder(state).error("error").build());
+        assertEquals("error", inFlightStates.get("workflow").state().getError());
+        assertEquals(1L, entry.stateAndSeqNo().v2().longValue());
+
+        inFlightStates.update("workflow", state -> WorkflowState.builder(state).error("other").build(), 2);
+        assertEquals("other", entry.stateAndSeqNo().v1().getError());
+        assertEquals(2L, entry.stateAndSeqNo().v2().longValue());
+
+        // An update whose sequence number is unknown discards the state
+        inFlightStates.update("workflow", state -> state, -2);
+        assertNull(entry.stateAndSeqNo());
+
+        inFlightStates.untrack("workflow");
+        assertNull(inFlightStates.get("workflow"));
+        assertEquals(0, inFlightStates.size());
+    }
+
+    public void testReadStartedBeforeUpdateIsNotKept() {
+        inFlightStates.track("workflow");
+        InFlightWorkflowStates.Entry entry = inFlightStates.get("workflow");
+        long generation = entry.generation();
+
+        // An update completes while the state is being read
+        inFlightStates.invalidate("workflow");
+        entry.fill(generation, provisioning, 1);
+        assertNull(entry.state());
+
+        entry.fill(entry.generation(), provisioning, 1);
+        assertSame(provisioning, entry.state());
+
+        inFlightStates.invalidate("workflow");
+        assertNull(entry.state());
+    }
+
+    public void testStateExpires() {
+        AtomicLong nanos = new AtomicLong();
+        InFlightWorkflowStates expiringStates = new InFlightWorkflowStates(nanos::get, TimeValue.timeValueSeconds(30));
+        expiringStates.track("workflow");
+        InFlightWorkflowStates.Entry entry = expiringStates.get("workflow");
+        entry.fill(entry.generation(), provisioning, 1);
+
+        nanos.set(TimeValue.timeValueSeconds(30).nanos());
+        assertSame(provisioning, entry.state());
+
+        // An expired state is read again from the state index
+        nanos.incrementAndGet();
+        assertNull(entry.stateAndSeqNo());
+        entry.fill(entry.generation(), provisioning, 2);
+        assertEquals(2L, entry.stateAndSeqNo().v2().longValue());
+    }
+
+    public void testUpdateUntrackedWorkflow() {
+        inFlightStates.update("workflow", state -> provisioning);
+        inFlightStates.invalidate("workflow");
+        assertNull(inFlightStates.get("workflow"));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.indices;
+
+import org.opensearch.flowframework.model.Template;
+import org.opensearch.index.seqno.SequenceNumbers;
+import org.opensearch.test.OpenSearchTestCase;
+
+public class TemplateCacheTests extends OpenSearchTestCase {
+
+    private final Template template = Template.builder().name("test").build();
+
+    public void testPutAndGet() {
+        TemplateCache templateCache = new TemplateCache(100);
+        assertNull(templateCache.get(null, "workflow"));
+
+        templateCache.put(null, "workflow", template, 1, 1, 10);
+        TemplateCache.Entry entry = templateCache.get(null, "workflow");
+        assertSame(template, entry.template());
+        assertTrue(entry.isCurrent(1, 1));
+        assertFalse(entry.isCurrent(2, 1));
+        assertFalse(entry.isCurrent(1, 2));
+
+        // Templates are keyed by tenant
+        assertNull(templateCache.get("tenant", "workflow"));
+
+        templateCache.invalidate(null, "workflow");
+        assertNull(templateCache.get(null, "workflow"));
+    }
+
+    public void testEvictionBySize() {
+        TemplateCache templateCache = new TemplateCache(100);
+        templateCache.put("tenant", "workflow1", template, 1, 1, 60);
+        templateCache.put("tenant", "workflow2", template, 1, 1, 60);
+        assertEquals(1, templateCache.size());
+        assertNull(templateCache.get("tenant", "workflow1"));
+        assertNotNull(templateCache.get("tenant", "workflow2"));
+    }
+
+    public void testTemplateWithoutSeqNoIsNotCached() {
+        TemplateCache templateCache = new TemplateCache(100);
+        templateCache.put(null, "workflow", template, SequenceNumbers.UNASSIGNED_SEQ_NO, SequenceNumbers.UNASSIGNED_PRIMARY_TERM, 10);
+        assertNull(templateCache.get(null, "workflow"));
+    }
+
+    public void testDisabledCache() {
+        TemplateCache templateCache = new TemplateCache(0);
+        templateCache.put(null, "workflow", template, 1, 1, 10);
+        assertNull(templateCache.get(null, "workflow"));
+        assertEquals(0, templateCache.size());
+        templateCache.invalidate(null, "workflow");
+    }
+}
@@ -9,11 +9,14 @@
 package org.opensearch.flowframework.model;
 
 import org.opensearch.Version;
+import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.common.xcontent.json.JsonXContent;
+import org.opensearch.core.common.io.stream.StreamInput;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.DeprecationHandler;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.XContentParser;
+import org.opensearch.flowframework.common.CommonValue;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.test.OpenSearchTestCase;
 
@@ -107,6 +110,45 @@ public class TemplateTests extends OpenSearchTestCase {
         assertThrows(FlowFrameworkException.class, () -> Template.parse(parser, true));
     }
 
+    public void testTemplateStreamRoundTrip() throws IOException {
+        WorkflowNode nodeA = new WorkflowNode("A", "a-type", Collections.emptyMap(), Map.of("foo", "bar"));
+        WorkflowNode nodeB = new WorkflowNode("B", "b-type", Map.of("A", "foo"), Map.of("baz", 1));
+        Workflow workflow = new Workflow(Map.of("key", "value"), List.of(nodeA, nodeB), List.of(new WorkflowEdge("A", "B")));
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        Template template = new Template(
+            "test",
+            "a test template",
+            "test use case",
+            Version.fromString("1.2.3"),
+            List.of(Version.fromString("4.5.6"), Version.fromString("7.8.9")),
+            Map.of("workflow", workflow),
+            Map.of("foo", "bar"),
+            null,
+            now,
+            now,
+            null,
+            "tenant-id"
+        );
+
+        // Binary format, and JSON for nodes before 3.0.0
+        for (Version version : List.of(Version.CURRENT, CommonValue.VERSION_2_19_0)) {
+            BytesStreamOutput out = new BytesStreamOutput();
+            out.setVersion(version);
+            Template.writeTemplate(out, template);
+            StreamInput in = out.bytes().streamInput();
+            in.setVersion(version);
+            Template templateX = Template.readTemplate(in);
+
+            assertEquals(template.toJson(), templateX.toJson());
+            assertEquals(template.templateVersion(), templateX.templateVersion());
+            assertEquals(template.compatibilityVersion(), templateX.compatibilityVersion());
+            assertEquals(now, templateX.createdTime());
+            assertNull(templateX.lastProvisionedTime());
+            assertEquals("tenant-id", templateX.getTenantId());
+            assertEquals(workflow.toString(), templateX.workflows().get("workflow").toString());
+        }
+    }
+
     public void testUpdateExistingTemplate() {
         // Time travel to guarantee update increments
         Instant now = Instant.now().minusMillis(100);
@@ -9,9 +9,11 @@
 package org.opensearch.flowframework.model;
 
 import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.xcontent.json.JsonXContent;
 import org.opensearch.commons.authuser.User;
 import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.common.io.stream.BytesStreamInput;
+import org.opensearch.core.xcontent.XContentParser;
 import org.opensearch.test.OpenSearchTestCase;
 
 import java.io.IOException;
@@ -48,6 +50,8 @@ public class WorkflowStateTests extends OpenSearchTestCase {
             .user(user)
             .userOutputs(userOutputs)
             .resourcesCreated(resourcesCreated)
+            .skippedSteps(List.of("skipped"))
+            .provisioningNode("node")
             .build();
 
         assertEquals(workflowId, wfs.getWorkflowId());
@@ -65,6 +69,8 @@ public class WorkflowStateTests extends OpenSearchTestCase {
         assertEquals("stepId", rc.workflowStepId());
         assertEquals("type", rc.resourceType());
         assertEquals("id", rc.resourceId());
+        assertEquals(List.of("skipped"), wfs.skippedSteps());
+        assertEquals("node", wfs.getProvisioningNode());
 
         try (BytesStreamOutput out = new BytesStreamOutput()) {
             wfs.writeTo(out);
@@ -86,10 +92,23 @@ public class WorkflowStateTests extends OpenSearchTestCase {
                 assertEquals("stepId", rc.workflowStepId());
                 assertEquals("type", rc.resourceType());
                 assertEquals("id", rc.resourceId());
+                assertEquals(List.of("skipped"), wfs.skippedSteps());
+                assertEquals("node", wfs.getProvisioningNode());
             }
         }
     }
 
+    public void testParseClearedUserOutputs() throws IOException {
+        String json = "{\"workflow_id\":\"id\",\"state\":\"PROVISIONING\",\"user_outputs\":null}";
+        try (XContentParser parser = createParser(JsonXContent.jsonXContent, json)) {
+            parser.nextToken();
+            WorkflowState wfs = WorkflowState.parse(parser);
+            assertEquals("id", wfs.getWorkflowId());
+            assertEquals("PROVISIONING", wfs.getState());
+            assertTrue(wfs.userOutputs().isEmpty());
+        }
+    }
+
     public void testWorkflowStateUpdate() {
         // Time travel to guarantee update increments
         Instant now = Instant.now().minusMillis(100);
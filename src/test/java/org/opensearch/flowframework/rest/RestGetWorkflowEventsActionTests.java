@@ -0,0 +1,81 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.rest;
+
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.workflow.ProvisioningEvent;
+import org.opensearch.rest.RestHandler;
+import org.opensearch.rest.RestRequest;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.test.rest.FakeRestChannel;
+import org.opensearch.test.rest.FakeRestRequest;
+import org.opensearch.transport.client.node.NodeClient;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_URI;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RestGetWorkflowEventsActionTests extends OpenSearchTestCase {
+    private RestGetWorkflowEventsAction restGetWorkflowEventsAction;
+    private String getPath;
+    private NodeClient nodeClient;
+    private FlowFrameworkSettings flowFrameworkFeatureEnabledSetting;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+
+        this.getPath = String.format(Locale.ROOT, "%s/{%s}/%s", WORKFLOW_URI, "workflow_id", "_events");
+        flowFrameworkFeatureEnabledSetting = mock(FlowFrameworkSettings.class);
+        when(flowFrameworkFeatureEnabledSetting.isFlowFrameworkEnabled()).thenReturn(true);
+        this.restGetWorkflowEventsAction = new RestGetWorkflowEventsAction(flowFrameworkFeatureEnabledSetting);
+        this.nodeClient = mock(NodeClient.class);
+    }
+
+    public void testRestGetWorkflowEventsActionRoutes() {
+        assertEquals("get_workflow_events", restGetWorkflowEventsAction.getName());
+        List<RestHandler.Route> routes = restGetWorkflowEventsAction.routes();
+        assertEquals(1, routes.size());
+        assertEquals(RestRequest.Method.GET, routes.get(0).getMethod());
+        assertEquals(this.getPath, routes.get(0).getPath());
+    }
+
+    public void testInvalidParams() throws Exception {
+        RestRequest request = new FakeRestRequest.Builder(xContentRegistry()).withMethod(RestRequest.Method.GET)
+            .withPath(this.getPath)
+            .withParams(Map.of("workflow_id", "workflow", "after", "-5"))
+            .build();
+
+        FakeRestChannel channel = new FakeRestChannel(request, true, 1);
+        restGetWorkflowEventsAction.handleRequest(request, channel, nodeClient);
+
+        assertEquals(RestStatus.BAD_REQUEST, channel.capturedResponse().status());
+        assertTrue(channel.capturedResponse().content().utf8ToString().contains("after must be an event sequence number"));
+    }
+
+    public void testToNdjson() throws Exception {
+        String ndjson = RestGetWorkflowEventsAction.toNdjson(
+            List.of(
+                ProvisioningEvent.stepStarted("step_1", "create_connector"),
+                ProvisioningEvent.stepCompleted("step_1", "create_connector", 5, Map.of("connector_id", "connector_1"))
+            )
+        ).utf8ToString();
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(ndjson.endsWith("\n"));
+        assertTrue(lines[0].contains("\"type\":\"STEP_STARTED\""));
+        assertTrue(lines[1].contains("\"resources\":{\"connector_id\":\"connector_1\"}"));
+        assertTrue(lines[1].contains("\"duration_ms\":5"));
+    }
+}
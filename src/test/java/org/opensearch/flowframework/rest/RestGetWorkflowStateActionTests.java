@@ -8,6 +8,7 @@
  */
 package org.opensearch.flowframework.rest;
 
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.rest.RestHandler;
@@ -19,6 +20,7 @@ import org.opensearch.transport.client.node.NodeClient;
 
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 import static org.opensearch.flowframework.common.CommonValue.WORKFLOW_URI;
 import static org.mockito.Mockito.mock;
@@ -37,6 +39,7 @@ public class RestGetWorkflowStateActionTests extends OpenSearchTestCase {
         this.getPath = String.format(Locale.ROOT, "%s/{%s}/%s", WORKFLOW_URI, "workflow_id", "_status");
         flowFrameworkFeatureEnabledSetting = mock(FlowFrameworkSettings.class);
         when(flowFrameworkFeatureEnabledSetting.isFlowFrameworkEnabled()).thenReturn(true);
+        when(flowFrameworkFeatureEnabledSetting.getMaxStateWaitTimeout()).thenReturn(TimeValue.timeValueSeconds(60));
         this.restGetWorkflowStateAction = new RestGetWorkflowStateAction(flowFrameworkFeatureEnabledSetting);
         this.nodeClient = mock(NodeClient.class);
     }
@@ -73,6 +76,27 @@ public class RestGetWorkflowStateActionTests extends OpenSearchTestCase {
         assertTrue(channel.capturedResponse().content().utf8ToString().contains("workflow_id cannot be null"));
     }
 
+    public void testWaitTimeoutExceedsMax() throws Exception {
+        RestRequest request = new FakeRestRequest.Builder(xContentRegistry()).withMethod(RestRequest.Method.GET)
+            .withPath(this.getPath)
+            .withParams(Map.of("workflow_id", "abc", "wait_for_state", "COMPLETED", "timeout", "61s"))
+            .build();
+
+        FakeRestChannel channel = new FakeRestChannel(request, true, 1);
+        restGetWorkflowStateAction.handleRequest(request, channel, nodeClient);
+
+        assertEquals(1, channel.errors().get());
+        assertEquals(RestStatus.BAD_REQUEST, channel.capturedResponse().status());
+        assertTrue(
+            channel.capturedResponse()
+                .content()
+                .utf8ToString()
+                .contains(
+                    "timeout must not exceed 1m. Change the setting [plugins.flow_framework.max_state_wait_timeout] to increase this."
+                )
+        );
+    }
+
     public void testFeatureFlagNotEnabled() throws Exception {
         when(flowFrameworkFeatureEnabledSetting.isFlowFrameworkEnabled()).thenReturn(false);
         RestRequest request = new FakeRestRequest.Builder(xContentRegistry()).withMethod(RestRequest.Method.GET)
@@ -20,6 +20,7 @@ import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.flowframework.common.FlowFrameworkExecutors;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
@@ -138,7 +139,8 @@ public class DeprovisionWorkflowTransportActionTests extends OpenSearchTestCase
             flowFrameworkSettings,
             clusterService,
             xContentRegistry(),
-            Settings.EMPTY
+            Settings.EMPTY,
+            new FlowFrameworkExecutors(clientThreadPool, flowFrameworkSettings)
         );
     }
 
@@ -8,13 +8,19 @@
  */
 package org.opensearch.flowframework.transport;
 
+import org.opensearch.Version;
 import org.opensearch.action.get.GetRequest;
 import org.opensearch.action.get.GetResponse;
 import org.opensearch.action.support.ActionFilters;
+import org.opensearch.cluster.ClusterState;
+import org.opensearch.cluster.node.DiscoveryNode;
+import org.opensearch.cluster.node.DiscoveryNodes;
 import org.opensearch.cluster.service.ClusterService;
+import org.opensearch.common.collect.Tuple;
 import org.opensearch.common.io.stream.BytesStreamOutput;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Settings;
+import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.core.action.ActionListener;
@@ -32,27 +38,36 @@ import org.opensearch.flowframework.model.WorkflowState;
 import org.opensearch.flowframework.util.EncryptorUtils;
 import org.opensearch.index.IndexNotFoundException;
 import org.opensearch.index.get.GetResult;
+import org.opensearch.index.seqno.SequenceNumbers;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.remote.metadata.client.impl.SdkClientFactory;
 import org.opensearch.tasks.Task;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ThreadPool;
+import org.opensearch.transport.TransportException;
+import org.opensearch.transport.TransportRequest;
+import org.opensearch.transport.TransportResponseHandler;
 import org.opensearch.transport.TransportService;
 import org.opensearch.transport.client.Client;
 import org.junit.Assert;
 
 import java.io.IOException;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -72,6 +87,8 @@ public class GetWorkflowStateTransportActionTests extends OpenSearchTestCase {
     private ActionListener<GetWorkflowStateResponse> response;
     private Task task;
     private EncryptorUtils encryptorUtils;
+    private ClusterService clusterService;
+    private TransportService transportService;
 
     @Override
     public void setUp() throws Exception {
@@ -80,19 +97,26 @@ public class GetWorkflowStateTransportActionTests extends OpenSearchTestCase {
         this.flowFrameworkSettings = mock(FlowFrameworkSettings.class);
         this.client = mock(Client.class);
         this.sdkClient = SdkClientFactory.createSdkClient(client, NamedXContentRegistry.EMPTY, Collections.emptyMap());
-        ClusterService clusterService = mock(ClusterService.class);
+        this.clusterService = mock(ClusterService.class);
+        this.transportService = mock(TransportService.class);
         ClusterSettings clusterSettings = new ClusterSettings(
             Settings.EMPTY,
             Collections.unmodifiableSet(new HashSet<>(Arrays.asList(FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES)))
         );
         when(clusterService.getClusterSettings()).thenReturn(clusterSettings);
+        DiscoveryNode localNode = new DiscoveryNode("local_node", buildNewFakeTransportAddress(), Version.CURRENT);
+        DiscoveryNode remoteNode = new DiscoveryNode("remote_node", buildNewFakeTransportAddress(), Version.CURRENT);
+        ClusterState clusterState = mock(ClusterState.class);
+        when(clusterState.nodes()).thenReturn(DiscoveryNodes.builder().add(localNode).add(remoteNode).localNodeId("local_node").build());
+        when(clusterService.state()).thenReturn(clusterState);
+        when(clusterService.localNode()).thenReturn(localNode);
         this.encryptorUtils = new EncryptorUtils(mock(ClusterService.class), client, sdkClient, xContentRegistry);
         this.flowFrameworkIndicesHandler = spy(
             new FlowFrameworkIndicesHandler(client, sdkClient, clusterService, encryptorUtils, xContentRegistry)
         );
 
         this.getWorkflowStateTransportAction = new GetWorkflowStateTransportAction(
-            mock(TransportService.class),
+            transportService,
             mock(ActionFilters.class),
             flowFrameworkIndicesHandler,
             flowFrameworkSettings,
@@ -143,6 +167,175 @@ public class GetWorkflowStateTransportActionTests extends OpenSearchTestCase {
         Assert.assertNull(newRequest.validate());
     }
 
+    public void testGetWorkflowStateWaitRequest() throws IOException {
+        GetWorkflowStateRequest request = new GetWorkflowStateRequest(
+            "1234",
+            false,
+            null,
+            List.of("COMPLETED", "FAILED"),
+            5,
+            TimeValue.timeValueSeconds(10)
+        );
+        assertTrue(request.isWait());
+        BytesStreamOutput out = new BytesStreamOutput();
+        request.writeTo(out);
+        GetWorkflowStateRequest newRequest = new GetWorkflowStateRequest(out.bytes().streamInput());
+        assertEquals(List.of("COMPLETED", "FAILED"), newRequest.getWaitForStates());
+        assertEquals(5, newRequest.getWaitForChangeSince());
+        assertEquals(TimeValue.timeValueSeconds(10), newRequest.getTimeout());
+        assertTrue(newRequest.isWait());
+        assertFalse(newRequest.isForwarded());
+        out = new BytesStreamOutput();
+        request.forwarded().writeTo(out);
+        assertTrue(new GetWorkflowStateRequest(out.bytes().streamInput()).isForwarded());
+
+        assertFalse(new GetWorkflowStateRequest("1234", false, null).isWait());
+    }
+
+    public void testWaitForwardedToProvisioningNode() {
+        String workflowId = "test-workflow";
+        doAnswer(invocation -> {
+            ActionListener<Tuple<WorkflowState, Long>> stateListener = invocation.getArgument(2);
+            stateListener.onResponse(
+                new Tuple<>(
+                    WorkflowState.builder().workflowId(workflowId).state("PROVISIONING").provisioningNode("remote_node").build(),
+                    3L
+                )
+            );
+            return null;
+        }).when(flowFrameworkIndicesHandler).getWorkflowStateAndSeqNo(any(), any(), any(), any());
+        doAnswer(invocation -> null).when(flowFrameworkIndicesHandler).awaitWorkflowState(any(), any(), any(), any(), any());
+        GetWorkflowStateRequest request = new GetWorkflowStateRequest(
+            workflowId,
+            false,
+            null,
+            List.of("COMPLETED"),
+            SequenceNumbers.UNASSIGNED_SEQ_NO,
+            TimeValue.timeValueSeconds(10)
+        );
+        @SuppressWarnings("unchecked")
+        ActionListener<GetWorkflowStateResponse> listener = mock(ActionListener.class);
+
+        // The wait is sent to the node provisioning the workflow
+        getWorkflowStateTransportAction.doExecute(null, request, listener);
+        ArgumentCaptor<TransportRequest> requestCaptor = ArgumentCaptor.forClass(TransportRequest.class);
+        verify(transportService, times(1)).sendRequest(
+            argThat((DiscoveryNode node) -> "remote_node".equals(node.getId())),
+            eq(GetWorkflowStateAction.NAME),
+            requestCaptor.capture(),
+            any()
+        );
+        assertTrue(((GetWorkflowStateRequest) requestCaptor.getValue()).isForwarded());
+        verify(flowFrameworkIndicesHandler, never()).awaitWorkflowState(any(), any(), any(), any(), any());
+
+        // The provisioning node waits itself rather than forwarding the request again
+        getWorkflowStateTransportAction.doExecute(null, request.forwarded(), listener);
+        verify(flowFrameworkIndicesHandler, times(1)).awaitWorkflowState(any(), any(), any(), any(), any());
+        verify(transportService, times(1)).sendRequest(any(DiscoveryNode.class), any(), any(), any());
+    }
+
+    public void testStatusForwardedToProvisioningNode() {
+        String workflowId = "test-workflow";
+        AtomicReference<String> state = new AtomicReference<>("PROVISIONING");
+        doAnswer(invocation -> {
+            ActionListener<Tuple<WorkflowState, Long>> stateListener = invocation.getArgument(2);
+            stateListener.onResponse(
+                new Tuple<>(WorkflowState.builder().workflowId(workflowId).state(state.get()).provisioningNode("remote_node").build(), 3L)
+            );
+            return null;
+        }).when(flowFrameworkIndicesHandler).getWorkflowStateAndSeqNo(any(), any(), any(), any());
+        List<TransportResponseHandler<GetWorkflowStateResponse>> handlers = new ArrayList<>();
+        doAnswer(invocation -> {
+            handlers.add(invocation.getArgument(3));
+            return null;
+        }).when(transportService).sendRequest(any(DiscoveryNode.class), eq(GetWorkflowStateAction.NAME), any(), any());
+        @SuppressWarnings("unchecked")
+        ActionListener<GetWorkflowStateResponse> listener = mock(ActionListener.class);
+
+        // The first request reads the state to find the provisioning node
+        getWorkflowStateTransportAction.doExecute(null, new GetWorkflowStateRequest(workflowId, false, null), listener);
+        verify(transportService, times(1)).sendRequest(
+            argThat((DiscoveryNode node) -> "remote_node".equals(node.getId())),
+            eq(GetWorkflowStateAction.NAME),
+            any(),
+            any()
+        );
+        verify(flowFrameworkIndicesHandler, times(1)).getWorkflowStateAndSeqNo(any(), any(), any(), any());
+        handlers.get(0).handleResponse(provisioningResponse(workflowId, "PROVISIONING"));
+
+        // Later requests are forwarded to the remembered node without reading the state
+        getWorkflowStateTransportAction.doExecute(null, new GetWorkflowStateRequest(workflowId, false, null), listener);
+        verify(transportService, times(2)).sendRequest(any(DiscoveryNode.class), any(), any(), any());
+        verify(flowFrameworkIndicesHandler, times(1)).getWorkflowStateAndSeqNo(any(), any(), any(), any());
+        state.set("COMPLETED");
+        handlers.get(1).handleResponse(provisioningResponse(workflowId, "COMPLETED"));
+        verify(listener, times(2)).onResponse(any());
+
+        // Once provisioning ended the node is forgotten, and the state read by this node is returned
+        getWorkflowStateTransportAction.doExecute(null, new GetWorkflowStateRequest(workflowId, false, null), listener);
+        ArgumentCaptor<GetWorkflowStateResponse> responseCaptor = ArgumentCaptor.forClass(GetWorkflowStateResponse.class);
+        verify(listener, times(3)).onResponse(responseCaptor.capture());
+        assertEquals("COMPLETED", responseCaptor.getValue().getWorkflowState().getState());
+        verify(flowFrameworkIndicesHandler, times(2)).getWorkflowStateAndSeqNo(any(), any(), any(), any());
+        verify(transportService, times(2)).sendRequest(any(DiscoveryNode.class), any(), any(), any());
+    }
+
+    public void testForwardFailureReadsState() {
+        String workflowId = "test-workflow";
+        AtomicReference<String> state = new AtomicReference<>("PROVISIONING");
+        doAnswer(invocation -> {
+            ActionListener<Tuple<WorkflowState, Long>> stateListener = invocation.getArgument(2);
+            stateListener.onResponse(
+                new Tuple<>(WorkflowState.builder().workflowId(workflowId).state(state.get()).provisioningNode("remote_node").build(), 3L)
+            );
+            return null;
+        }).when(flowFrameworkIndicesHandler).getWorkflowStateAndSeqNo(any(), any(), any(), any());
+        List<TransportResponseHandler<GetWorkflowStateResponse>> handlers = new ArrayList<>();
+        doAnswer(invocation -> {
+            handlers.add(invocation.getArgument(3));
+            return null;
+        }).when(transportService).sendRequest(any(DiscoveryNode.class), eq(GetWorkflowStateAction.NAME), any(), any());
+        @SuppressWarnings("unchecked")
+        ActionListener<GetWorkflowStateResponse> listener = mock(ActionListener.class);
+
+        getWorkflowStateTransportAction.doExecute(null, new GetWorkflowStateRequest(workflowId, false, null), listener);
+        handlers.get(0).handleResponse(provisioningResponse(workflowId, "PROVISIONING"));
+
+        // The remembered node no longer answers, so this node reads the state itself instead of failing the request
+        getWorkflowStateTransportAction.doExecute(null, new GetWorkflowStateRequest(workflowId, false, null), listener);
+        state.set("FAILED");
+        handlers.get(1).handleException(new TransportException("node disconnected"));
+        ArgumentCaptor<GetWorkflowStateResponse> responseCaptor = ArgumentCaptor.forClass(GetWorkflowStateResponse.class);
+        verify(listener, times(2)).onResponse(responseCaptor.capture());
+        assertEquals("FAILED", responseCaptor.getValue().getWorkflowState().getState());
+        verify(listener, never()).onFailure(any());
+        verify(flowFrameworkIndicesHandler, times(2)).getWorkflowStateAndSeqNo(any(), any(), any(), any());
+    }
+
+    private static GetWorkflowStateResponse provisioningResponse(String workflowId, String state) {
+        return new GetWorkflowStateResponse(WorkflowState.builder().workflowId(workflowId).state(state).build(), false);
+    }
+
+    public void testGetWorkflowStateResponseWithSeqNo() throws IOException {
+        WorkflowState workFlowState = WorkflowState.builder().workflowId("1234").state("PROVISIONING").build();
+        GetWorkflowStateResponse response = new GetWorkflowStateResponse(workFlowState, false, 7);
+        BytesStreamOutput out = new BytesStreamOutput();
+        response.writeTo(out);
+        NamedWriteableAwareStreamInput input = new NamedWriteableAwareStreamInput(out.bytes().streamInput(), writableRegistry());
+        GetWorkflowStateResponse newResponse = new GetWorkflowStateResponse(input);
+        assertEquals(7, newResponse.getSeqNo());
+
+        XContentBuilder builder = TestHelpers.builder();
+        newResponse.toXContent(builder, ToXContent.EMPTY_PARAMS);
+        Map<String, Object> map = TestHelpers.XContentBuilderToMap(builder);
+        assertEquals("PROVISIONING", map.get("state"));
+        assertEquals(7, map.get("seq_no"));
+
+        builder = TestHelpers.builder();
+        new GetWorkflowStateResponse(workFlowState, false).toXContent(builder, ToXContent.EMPTY_PARAMS);
+        assertFalse(TestHelpers.XContentBuilderToMap(builder).containsKey("seq_no"));
+    }
+
     public void testGetWorkflowStateResponse() throws IOException {
         BytesStreamOutput out = new BytesStreamOutput();
         String workflowId = randomAlphaOfLength(5);
@@ -14,6 +14,7 @@ import org.opensearch.action.get.GetResponse;
 import org.opensearch.action.index.IndexResponse;
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.update.UpdateResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Settings;
@@ -22,18 +23,26 @@ import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.common.xcontent.XContentFactory;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.common.bytes.BytesReference;
+import org.opensearch.core.concurrency.OpenSearchRejectedExecutionException;
 import org.opensearch.core.index.shard.ShardId;
+import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
 import org.opensearch.core.xcontent.XContentBuilder;
 import org.opensearch.flowframework.TestHelpers;
+import org.opensearch.flowframework.common.FlowFrameworkExecutors;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
 import org.opensearch.flowframework.model.ProvisioningProgress;
+import org.opensearch.flowframework.model.ResourceCreated;
+import org.opensearch.flowframework.model.State;
 import org.opensearch.flowframework.model.Template;
 import org.opensearch.flowframework.model.Workflow;
 import org.opensearch.flowframework.model.WorkflowEdge;
 import org.opensearch.flowframework.model.WorkflowNode;
+import org.opensearch.flowframework.model.WorkflowState;
 import org.opensearch.flowframework.util.EncryptorUtils;
+import org.opensearch.flowframework.workflow.ProvisioningEventLog;
 import org.opensearch.flowframework.workflow.WorkflowProcessSorter;
 import org.opensearch.index.get.GetResult;
 import org.opensearch.plugins.PluginsService;
@@ -51,18 +60,26 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 
 import org.mockito.ArgumentCaptor;
 
 import static org.opensearch.flowframework.common.CommonValue.GLOBAL_CONTEXT_INDEX;
+import static org.opensearch.flowframework.common.CommonValue.RESUME_WORKFLOW;
+import static org.opensearch.flowframework.common.CommonValue.STATE_FIELD;
+import static org.opensearch.flowframework.common.CommonValue.USER_OUTPUTS_FIELD;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -95,10 +112,20 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
             Collections.unmodifiableSet(new HashSet<>(Arrays.asList(FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES)))
         );
         when(clusterService.getClusterSettings()).thenReturn(clusterSettings);
+        DiscoveryNode localNode = mock(DiscoveryNode.class);
+        when(localNode.getId()).thenReturn("local_node");
+        when(clusterService.localNode()).thenReturn(localNode);
         this.flowFrameworkIndicesHandler = spy(
             new FlowFrameworkIndicesHandler(client, sdkClient, clusterService, encryptorUtils, xContentRegistry())
         );
 
+        ThreadPool clientThreadPool = mock(ThreadPool.class);
+        ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
+
+        when(client.threadPool()).thenReturn(clientThreadPool);
+        when(clientThreadPool.getThreadContext()).thenReturn(threadContext);
+        when(clientThreadPool.executor(anyString())).thenReturn(OpenSearchExecutors.newDirectExecutorService());
+
         this.provisionWorkflowTransportAction = new ProvisionWorkflowTransportAction(
             mock(TransportService.class),
             mock(ActionFilters.class),
@@ -111,7 +138,9 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
             pluginsService,
             clusterService,
             xContentRegistry(),
-            Settings.EMPTY
+            Settings.EMPTY,
+            mock(ProvisioningEventLog.class),
+            new FlowFrameworkExecutors(clientThreadPool, flowFrameworkSettings)
         );
 
         Version templateVersion = Version.fromString("1.0.0");
@@ -137,13 +166,6 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
             null,
             null
         );
-
-        ThreadPool clientThreadPool = mock(ThreadPool.class);
-        ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
-
-        when(client.threadPool()).thenReturn(clientThreadPool);
-        when(clientThreadPool.getThreadContext()).thenReturn(threadContext);
-        when(clientThreadPool.executor(anyString())).thenReturn(OpenSearchExecutors.newDirectExecutorService());
     }
 
     public void testProvisionWorkflow() {
@@ -165,7 +187,7 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
             return null;
         }).when(client).get(any(GetRequest.class), any());
 
-        when(encryptorUtils.decryptTemplateCredentials(any())).thenReturn(template);
+        when(encryptorUtils.lazilyDecryptTemplateCredentials(any())).thenReturn(template);
 
         // Bypass isWorkflowNotStarted and force true response
         doAnswer(invocation -> {
@@ -192,6 +214,74 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
         ArgumentCaptor<WorkflowResponse> responseCaptor = ArgumentCaptor.forClass(WorkflowResponse.class);
         verify(listener, times(1)).onResponse(responseCaptor.capture());
         assertEquals(workflowId, responseCaptor.getValue().getWorkflowId());
+        // Checkpoints of a previous execution are cleared so that a later resume does not skip the steps they name
+        verify(flowFrameworkIndicesHandler, times(1)).updateFlowFrameworkSystemIndexDoc(
+            eq(workflowId),
+            nullable(String.class),
+            argThat(
+                (Map<String, Object> map) -> State.PROVISIONING.equals(map.get(STATE_FIELD))
+                    && map.containsKey(USER_OUTPUTS_FIELD)
+                    && map.get(USER_OUTPUTS_FIELD) == null
+            ),
+            any()
+        );
+    }
+
+    public void testProvisionWorkflowRejected() {
+
+        String workflowId = "1";
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowResponse> listener = mock(ActionListener.class);
+        WorkflowRequest workflowRequest = new WorkflowRequest(workflowId, null);
+
+        // A bounded provision thread pool with a full queue
+        ExecutorService rejectingExecutor = mock(ExecutorService.class);
+        doThrow(new OpenSearchRejectedExecutionException("rejected")).when(rejectingExecutor).execute(any(Runnable.class));
+        when(client.threadPool().executor(anyString())).thenReturn(rejectingExecutor);
+
+        // Bypass client.get and stub success case
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            this.template.toXContent(builder, null);
+            BytesReference templateBytesRef = BytesReference.bytes(builder);
+            GetResult getResult = new GetResult(GLOBAL_CONTEXT_INDEX, workflowId, 1, 1, 1, true, templateBytesRef, null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+
+        when(encryptorUtils.lazilyDecryptTemplateCredentials(any())).thenReturn(template);
+
+        // Bypass isWorkflowNotStarted and force true response
+        doAnswer(invocation -> {
+            Consumer<Optional<ProvisioningProgress>> progressConsumer = invocation.getArgument(2);
+            progressConsumer.accept(Optional.of(ProvisioningProgress.NOT_STARTED));
+            return null;
+        }).when(flowFrameworkIndicesHandler).getProvisioningProgress(any(), any(), any(), any());
+
+        // Bypass updateFlowFrameworkSystemIndexDoc and stub on response
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> actionListener = invocation.getArgument(3);
+            actionListener.onResponse(mock(UpdateResponse.class));
+            return null;
+        }).when(flowFrameworkIndicesHandler).updateFlowFrameworkSystemIndexDoc(any(), nullable(String.class), anyMap(), any());
+
+        provisionWorkflowTransportAction.doExecute(mock(Task.class), workflowRequest, listener);
+
+        ArgumentCaptor<Exception> exceptionCaptor = ArgumentCaptor.forClass(Exception.class);
+        verify(listener, times(1)).onFailure(exceptionCaptor.capture());
+        verify(listener, never()).onResponse(any());
+        assertEquals("Failed to execute workflow 1", exceptionCaptor.getValue().getMessage());
+        assertEquals(RestStatus.TOO_MANY_REQUESTS, ((FlowFrameworkException) exceptionCaptor.getValue()).getRestStatus());
+        // The workflow is failed rather than left provisioning
+        verify(flowFrameworkIndicesHandler, times(1)).updateFlowFrameworkSystemIndexDoc(
+            eq(workflowId),
+            nullable(String.class),
+            argThat((Map<String, Object> map) -> State.FAILED.equals(map.get(STATE_FIELD))),
+            any()
+        );
+        verify(flowFrameworkIndicesHandler, never()).updateTemplateInGlobalContext(any(), any(Template.class), any(), anyBoolean());
     }
 
     public void testProvisionWorkflowTwice() {
@@ -212,7 +302,7 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
             responseListener.onResponse(new GetResponse(getResult));
             return null;
         }).when(client).get(any(GetRequest.class), any());
-        when(encryptorUtils.decryptTemplateCredentials(any())).thenReturn(template);
+        when(encryptorUtils.lazilyDecryptTemplateCredentials(any())).thenReturn(template);
 
         // Bypass isWorkflowNotStarted and force false response
         doAnswer(invocation -> {
@@ -238,6 +328,121 @@ public class ProvisionWorkflowTransportActionTests extends OpenSearchTestCase {
         );
     }
 
+    public void testResumeProvisionWorkflow() {
+
+        String workflowId = "3";
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowResponse> listener = mock(ActionListener.class);
+        WorkflowRequest workflowRequest = new WorkflowRequest(workflowId, null, Map.of(RESUME_WORKFLOW, "true"));
+
+        // Bypass client.get and stub success case
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            this.template.toXContent(builder, null);
+            BytesReference templateBytesRef = BytesReference.bytes(builder);
+            GetResult getResult = new GetResult(GLOBAL_CONTEXT_INDEX, workflowId, 1, 1, 1, true, templateBytesRef, null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+        when(encryptorUtils.lazilyDecryptTemplateCredentials(any())).thenReturn(template);
+
+        // Step A completed before the failure, step B created its connector but failed before its checkpoint was written
+        doAnswer(invocation -> {
+            ActionListener<WorkflowState> stateListener = invocation.getArgument(2);
+            stateListener.onResponse(
+                WorkflowState.builder()
+                    .workflowId(workflowId)
+                    .state(State.FAILED.name())
+                    .provisioningProgress(ProvisioningProgress.FAILED.name())
+                    .error("failed during step B")
+                    .userOutputs(Map.of("A", Map.of("model_id", "model")))
+                    .resourcesCreated(
+                        List.of(
+                            new ResourceCreated("register_remote_model", "A", "model_id", "model"),
+                            new ResourceCreated("create_connector", "B", "connector_id", "connector")
+                        )
+                    )
+                    .build()
+            );
+            return null;
+        }).when(flowFrameworkIndicesHandler).getWorkflowState(any(), nullable(String.class), any(), any());
+
+        ArgumentCaptor<WorkflowState> stateCaptor = ArgumentCaptor.forClass(WorkflowState.class);
+        doAnswer(invocation -> {
+            ActionListener<UpdateResponse> actionListener = invocation.getArgument(3);
+            actionListener.onResponse(mock(UpdateResponse.class));
+            return null;
+        }).when(flowFrameworkIndicesHandler).updateFlowFrameworkSystemIndexDoc(any(), nullable(String.class), stateCaptor.capture(), any());
+
+        doAnswer(invocation -> {
+            ActionListener<IndexResponse> responseListener = invocation.getArgument(2);
+            responseListener.onResponse(new IndexResponse(new ShardId(GLOBAL_CONTEXT_INDEX, "", 1), "1", 1L, 1L, 1L, true));
+            return null;
+        }).when(flowFrameworkIndicesHandler).updateTemplateInGlobalContext(any(), any(Template.class), any(), anyBoolean());
+
+        provisionWorkflowTransportAction.doExecute(mock(Task.class), workflowRequest, listener);
+
+        verify(workflowProcessSorter, times(1)).createResumeSequence(
+            any(Workflow.class),
+            eq(workflowId),
+            anyMap(),
+            nullable(String.class),
+            eq(Map.of("A", Map.of("model_id", "model"), "B", Map.of("connector_id", "connector")))
+        );
+        // Resources created by completed steps are kept
+        assertEquals(ProvisioningProgress.IN_PROGRESS.name(), stateCaptor.getValue().getProvisioningProgress());
+        assertNull(stateCaptor.getValue().getError());
+        assertEquals("local_node", stateCaptor.getValue().getProvisioningNode());
+        assertEquals(2, stateCaptor.getValue().resourcesCreated().size());
+
+        ArgumentCaptor<WorkflowResponse> responseCaptor = ArgumentCaptor.forClass(WorkflowResponse.class);
+        verify(listener, times(1)).onResponse(responseCaptor.capture());
+        assertEquals(workflowId, responseCaptor.getValue().getWorkflowId());
+    }
+
+    public void testResumeProvisionWorkflowNotFailed() {
+
+        String workflowId = "4";
+        @SuppressWarnings("unchecked")
+        ActionListener<WorkflowResponse> listener = mock(ActionListener.class);
+        WorkflowRequest workflowRequest = new WorkflowRequest(workflowId, null, Map.of(RESUME_WORKFLOW, "true"));
+
+        doAnswer(invocation -> {
+            ActionListener<GetResponse> responseListener = invocation.getArgument(1);
+
+            XContentBuilder builder = XContentFactory.jsonBuilder();
+            this.template.toXContent(builder, null);
+            BytesReference templateBytesRef = BytesReference.bytes(builder);
+            GetResult getResult = new GetResult(GLOBAL_CONTEXT_INDEX, workflowId, 1, 1, 1, true, templateBytesRef, null, null);
+            responseListener.onResponse(new GetResponse(getResult));
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+        when(encryptorUtils.lazilyDecryptTemplateCredentials(any())).thenReturn(template);
+
+        doAnswer(invocation -> {
+            ActionListener<WorkflowState> stateListener = invocation.getArgument(2);
+            stateListener.onResponse(
+                WorkflowState.builder()
+                    .workflowId(workflowId)
+                    .state(State.COMPLETED.name())
+                    .provisioningProgress(ProvisioningProgress.DONE.name())
+                    .build()
+            );
+            return null;
+        }).when(flowFrameworkIndicesHandler).getWorkflowState(any(), nullable(String.class), any(), any());
+
+        provisionWorkflowTransportAction.doExecute(mock(Task.class), workflowRequest, listener);
+
+        ArgumentCaptor<Exception> exceptionCaptor = ArgumentCaptor.forClass(Exception.class);
+        verify(listener, times(1)).onFailure(exceptionCaptor.capture());
+        assertEquals(
+            "The workflow provisioning state is DONE and can not be resumed unless its state is FAILED: 4",
+            exceptionCaptor.getValue().getMessage()
+        );
+    }
+
     public void testFailedToRetrieveTemplateFromGlobalContext() {
         @SuppressWarnings("unchecked")
         ActionListener<WorkflowResponse> listener = mock(ActionListener.class);
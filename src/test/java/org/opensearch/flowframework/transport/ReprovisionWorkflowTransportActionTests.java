@@ -10,6 +10,7 @@ package org.opensearch.flowframework.transport;
 
 import org.opensearch.action.support.ActionFilters;
 import org.opensearch.action.update.UpdateResponse;
+import org.opensearch.cluster.node.DiscoveryNode;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Settings;
@@ -18,6 +19,7 @@ import org.opensearch.common.util.concurrent.OpenSearchExecutors;
 import org.opensearch.common.util.concurrent.ThreadContext;
 import org.opensearch.core.action.ActionListener;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.flowframework.common.FlowFrameworkExecutors;
 import org.opensearch.flowframework.common.FlowFrameworkSettings;
 import org.opensearch.flowframework.indices.FlowFrameworkIndicesHandler;
 import org.opensearch.flowframework.model.ResourceCreated;
@@ -95,6 +97,9 @@ public class ReprovisionWorkflowTransportActionTests extends OpenSearchTestCase
             Collections.unmodifiableSet(new HashSet<>(Arrays.asList(FlowFrameworkSettings.FILTER_BY_BACKEND_ROLES)))
         );
         when(clusterService.getClusterSettings()).thenReturn(clusterSettings);
+        DiscoveryNode localNode = mock(DiscoveryNode.class);
+        when(localNode.getId()).thenReturn("local_node");
+        when(clusterService.localNode()).thenReturn(localNode);
 
         ThreadPool clientThreadPool = mock(ThreadPool.class);
         ThreadContext threadContext = new ThreadContext(Settings.EMPTY);
@@ -117,7 +122,8 @@ public class ReprovisionWorkflowTransportActionTests extends OpenSearchTestCase
             pluginsService,
             clusterService,
             xContentRegistry(),
-            Settings.EMPTY
+            Settings.EMPTY,
+            new FlowFrameworkExecutors(clientThreadPool, flowFrameworkSettings)
         );
 
     }
@@ -135,7 +141,7 @@ public class ReprovisionWorkflowTransportActionTests extends OpenSearchTestCase
         when(mockTemplate.workflows()).thenReturn(mockWorkflows);
         when(workflowProcessSorter.sortProcessNodes(any(), any(), any(), any())).thenReturn(List.of());
         doNothing().when(workflowProcessSorter).validate(any(), any());
-        when(encryptorUtils.decryptTemplateCredentials(any())).thenReturn(mockTemplate);
+        when(encryptorUtils.lazilyDecryptTemplateCredentials(any())).thenReturn(mockTemplate);
 
         // Stub state and resources created
         doAnswer(invocation -> {
@@ -185,7 +191,7 @@ public class ReprovisionWorkflowTransportActionTests extends OpenSearchTestCase
         when(mockTemplate.workflows()).thenReturn(mockWorkflows);
         when(workflowProcessSorter.sortProcessNodes(any(), any(), any(), any())).thenReturn(List.of());
         doNothing().when(workflowProcessSorter).validate(any(), any());
-        when(encryptorUtils.decryptTemplateCredentials(any())).thenReturn(mockTemplate);
+        when(encryptorUtils.lazilyDecryptTemplateCredentials(any())).thenReturn(mockTemplate);
 
         // Stub state and resources created
         doAnswer(invocation -> {
@@ -225,7 +231,7 @@ public class ReprovisionWorkflowTransportActionTests extends OpenSearchTestCase
         when(mockTemplate.workflows()).thenReturn(mockWorkflows);
         when(workflowProcessSorter.sortProcessNodes(any(), any(), any(), any())).thenReturn(List.of());
         doNothing().when(workflowProcessSorter).validate(any(), any());
-        when(encryptorUtils.decryptTemplateCredentials(any())).thenReturn(mockTemplate);
+        when(encryptorUtils.lazilyDecryptTemplateCredentials(any())).thenReturn(mockTemplate);
 
         // Stub state and resources created
         doAnswer(invocation -> {
@@ -265,7 +271,7 @@ public class ReprovisionWorkflowTransportActionTests extends OpenSearchTestCase
         when(mockTemplate.workflows()).thenReturn(mockWorkflows);
         when(workflowProcessSorter.sortProcessNodes(any(), any(), any(), any())).thenReturn(List.of());
         doNothing().when(workflowProcessSorter).validate(any(), any());
-        when(encryptorUtils.decryptTemplateCredentials(any())).thenReturn(mockTemplate);
+        when(encryptorUtils.lazilyDecryptTemplateCredentials(any())).thenReturn(mockTemplate);
 
         // Stub state and resources created
         doAnswer(invocation -> {
@@ -315,7 +321,7 @@ public class ReprovisionWorkflowTransportActionTests extends OpenSearchTestCase
         when(mockTemplate.workflows()).thenReturn(mockWorkflows);
         when(workflowProcessSorter.sortProcessNodes(any(), any(), any(), any())).thenReturn(List.of());
         doNothing().when(workflowProcessSorter).validate(any(), any());
-        when(encryptorUtils.decryptTemplateCredentials(any())).thenReturn(mockTemplate);
+        when(encryptorUtils.lazilyDecryptTemplateCredentials(any())).thenReturn(mockTemplate);
 
         // Stub state index retrieval failure
         doAnswer(invocation -> {
@@ -8,20 +8,32 @@
  */
 package org.opensearch.flowframework.util;
 
+import org.apache.lucene.search.TotalHits;
 import org.opensearch.Version;
 import org.opensearch.action.get.GetRequest;
 import org.opensearch.action.get.GetResponse;
 import org.opensearch.action.index.IndexRequest;
 import org.opensearch.action.index.IndexResponse;
+import org.opensearch.action.search.ClearScrollRequest;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchResponseSections;
+import org.opensearch.action.search.SearchScrollRequest;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.cluster.ClusterState;
 import org.opensearch.cluster.metadata.Metadata;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.common.xcontent.json.JsonXContent;
 import org.opensearch.commons.authuser.User;
 import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.core.common.bytes.BytesReference;
 import org.opensearch.core.rest.RestStatus;
 import org.opensearch.core.xcontent.NamedXContentRegistry;
+import org.opensearch.core.xcontent.ToXContent;
 import org.opensearch.flowframework.TestHelpers;
 import org.opensearch.flowframework.exception.FlowFrameworkException;
 import org.opensearch.flowframework.model.Config;
@@ -30,6 +42,9 @@ import org.opensearch.flowframework.model.Workflow;
 import org.opensearch.flowframework.model.WorkflowNode;
 import org.opensearch.remote.metadata.client.SdkClient;
 import org.opensearch.remote.metadata.client.impl.SdkClientFactory;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.aggregations.InternalAggregations;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ThreadPool;
 import org.opensearch.transport.client.Client;
@@ -37,6 +52,8 @@ import org.opensearch.transport.client.Client;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -44,13 +61,22 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
+import com.amazonaws.encryptionsdk.ParsedCiphertext;
+
 import static org.opensearch.flowframework.common.CommonValue.CONFIG_INDEX;
 import static org.opensearch.flowframework.common.CommonValue.CREDENTIAL_FIELD;
 import static org.opensearch.flowframework.common.CommonValue.MASTER_KEY;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.DATA_KEY_CACHE_ENABLED;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.DATA_KEY_CACHE_MAX_MESSAGES;
+import static org.opensearch.flowframework.common.FlowFrameworkSettings.MASTER_KEY_CACHE_SIZE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class EncryptorUtilsTests extends OpenSearchTestCase {
@@ -145,6 +171,35 @@ public class EncryptorUtilsTests extends OpenSearchTestCase {
         assertNotEquals(encrypted1, encrypted2);
     }
 
+    public void testEncryptWithDataKeyCache() {
+        EncryptorUtils cachingEncryptorUtils = new EncryptorUtils(
+            clusterService,
+            client,
+            sdkClient,
+            xContentRegistry,
+            Settings.builder().put(DATA_KEY_CACHE_ENABLED.getKey(), true).put(DATA_KEY_CACHE_MAX_MESSAGES.getKey(), 2).build()
+        );
+        cachingEncryptorUtils.setMasterKey(null, testMasterKey);
+        encryptorUtils.setMasterKey(null, testMasterKey);
+
+        String encrypted1 = cachingEncryptorUtils.encrypt("credential1", null);
+        String encrypted2 = cachingEncryptorUtils.encrypt("credential2", null);
+        String encrypted3 = cachingEncryptorUtils.encrypt("credential3", null);
+
+        // The data key is reused up to the max number of messages
+        assertArrayEquals(encryptedDataKey(encrypted1), encryptedDataKey(encrypted2));
+        assertFalse(Arrays.equals(encryptedDataKey(encrypted2), encryptedDataKey(encrypted3)));
+        assertFalse(Arrays.equals(encryptedDataKey(encryptorUtils.encrypt("credential1", null)), encryptedDataKey(encrypted1)));
+
+        // Credentials encrypted with cached data keys are decrypted with or without the cache
+        assertEquals("credential1", cachingEncryptorUtils.decrypt(encrypted1, null));
+        assertEquals("credential2", encryptorUtils.decrypt(encrypted2, null));
+    }
+
+    private static byte[] encryptedDataKey(String encryptedCredential) {
+        return new ParsedCiphertext(Base64.getDecoder().decode(encryptedCredential)).getEncryptedKeyBlobs().get(0).getEncryptedDataKey();
+    }
+
     public void testInitializeMasterKeySuccess() throws IOException {
         String masterKey = encryptorUtils.generateMasterKey();
 
@@ -220,6 +275,103 @@ public class EncryptorUtilsTests extends OpenSearchTestCase {
         assertEquals(RestStatus.NOT_FOUND, ffException.status());
     }
 
+    public void testMissingMasterKeyIsCached() throws Exception {
+        encryptorUtils = new EncryptorUtils(clusterService, client, sdkClient, xContentRegistry);
+
+        doAnswer(invocation -> {
+            GetResponse getResponse = TestHelpers.createGetResponse(null, MASTER_KEY, CONFIG_INDEX);
+            ActionListener<GetResponse> getRequestActionListener = invocation.getArgument(1);
+            getRequestActionListener.onResponse(getResponse);
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+
+        CompletableFuture<Void> firstFuture = encryptorUtils.initializeMasterKeyIfAbsent(null);
+        assertThrows(ExecutionException.class, () -> firstFuture.get(5, TimeUnit.SECONDS));
+        assertBusy(() -> assertEquals(1, encryptorUtils.getMissingMasterKeyCacheStats().getMisses()));
+
+        // The missing key is not read again from the config index
+        CompletableFuture<Void> secondFuture = encryptorUtils.initializeMasterKeyIfAbsent(null);
+        ExecutionException executionException = assertThrows(ExecutionException.class, () -> secondFuture.get(5, TimeUnit.SECONDS));
+        assertEquals(RestStatus.NOT_FOUND, ((FlowFrameworkException) executionException.getCause()).status());
+        assertEquals(1, encryptorUtils.getMissingMasterKeyCacheStats().getHits());
+        verify(client, times(1)).get(any(GetRequest.class), any());
+
+        // Setting the key discards the missing entry
+        encryptorUtils.setMasterKey(null, testMasterKey);
+        encryptorUtils.initializeMasterKeyIfAbsent(null).get(5, TimeUnit.SECONDS);
+        assertEquals(testMasterKey, encryptorUtils.getMasterKey(null));
+    }
+
+    public void testMasterKeyCacheStats() {
+        encryptorUtils = new EncryptorUtils(
+            clusterService,
+            client,
+            sdkClient,
+            xContentRegistry,
+            Settings.builder().put(MASTER_KEY_CACHE_SIZE.getKey(), 1).build()
+        );
+        assertNull(encryptorUtils.getMasterKey(null));
+        assertEquals(1, encryptorUtils.getMasterKeyCacheStats().getMisses());
+
+        encryptorUtils.setMasterKey(null, testMasterKey);
+        assertEquals(testMasterKey, encryptorUtils.getMasterKey(null));
+        assertEquals(1, encryptorUtils.getMasterKeyCacheStats().getHits());
+
+        // The cache holds a single key, so caching the key of a tenant evicts the default key
+        encryptorUtils.setMasterKey("tenant", encryptorUtils.generateMasterKey());
+        assertNull(encryptorUtils.getMasterKey(null));
+        assertEquals(1, encryptorUtils.getMasterKeyCacheStats().getEvictions());
+    }
+
+    public void testPreloadMasterKeys() throws Exception {
+        encryptorUtils = new EncryptorUtils(clusterService, client, sdkClient, xContentRegistry);
+        String tenantMasterKey = encryptorUtils.generateMasterKey();
+        encryptorUtils.setMasterKey("tenant", tenantMasterKey);
+
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            listener.onResponse(
+                searchResponse(
+                    new SearchHit(0, MASTER_KEY, null, null).sourceRef(configSource(testMasterKey)),
+                    new SearchHit(1, "other", null, null).sourceRef(new BytesArray("{}"))
+                )
+            );
+            return null;
+        }).when(client).search(any(SearchRequest.class), any());
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            listener.onResponse(searchResponse());
+            return null;
+        }).when(client).searchScroll(any(SearchScrollRequest.class), any());
+
+        PlainActionFuture<Integer> future = PlainActionFuture.newFuture();
+        encryptorUtils.preloadMasterKeys(future);
+        assertEquals(1, future.actionGet().intValue());
+        assertEquals(testMasterKey, encryptorUtils.getMasterKey(null));
+        assertEquals(tenantMasterKey, encryptorUtils.getMasterKey("tenant"));
+        verify(client).clearScroll(any(ClearScrollRequest.class), any());
+    }
+
+    private static BytesReference configSource(String masterKey) throws IOException {
+        return BytesReference.bytes(
+            new Config(masterKey, Instant.now()).toXContent(JsonXContent.contentBuilder(), ToXContent.EMPTY_PARAMS)
+        );
+    }
+
+    private static SearchResponse searchResponse(SearchHit... hits) {
+        SearchHits searchHits = new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0f);
+        SearchResponseSections searchSections = new SearchResponseSections(
+            searchHits,
+            InternalAggregations.EMPTY,
+            null,
+            false,
+            false,
+            null,
+            1
+        );
+        return new SearchResponse(searchSections, "scrollId", 1, 1, 0, 1, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+
     public void testEncryptDecryptTemplateCredential() {
         encryptorUtils.setMasterKey(null, testMasterKey);
 
@@ -238,13 +390,7 @@ public class EncryptorUtilsTests extends OpenSearchTestCase {
         assertNotEquals(testCredentialValue, encryptedCredential);
 
         // Decrypt credential field
-        processedtemplate = encryptorUtils.decryptTemplateCredentials(processedtemplate);
-
-        // Validate the decrypted field
-        node = processedtemplate.workflows().get("provision").nodes().get(0);
-
-        @SuppressWarnings("unchecked")
-        Map<String, String> decryptedCredentialMap = (Map<String, String>) node.userInputs().get(CREDENTIAL_FIELD);
+        Map<String, String> decryptedCredentialMap = encryptorUtils.decryptCredentials(encryptedCredentialMap, null);
         assertEquals(1, decryptedCredentialMap.size());
 
         String decryptedCredential = decryptedCredentialMap.get(testCredentialKey);
@@ -252,6 +398,78 @@ public class EncryptorUtilsTests extends OpenSearchTestCase {
         assertEquals(testCredentialValue, decryptedCredential);
     }
 
+    public void testEncryptDecryptTemplateCredentialAsync() throws Exception {
+        encryptorUtils.setMasterKey(null, testMasterKey);
+
+        PlainActionFuture<Template> encryptFuture = PlainActionFuture.newFuture();
+        encryptorUtils.encryptTemplateCredentials(testTemplate, encryptFuture);
+        Template encryptedTemplate = encryptFuture.actionGet();
+
+        @SuppressWarnings("unchecked")
+        Map<String, String> encryptedCredentialMap = (Map<String, String>) encryptedTemplate.workflows()
+            .get("provision")
+            .nodes()
+            .get(0)
+            .userInputs()
+            .get(CREDENTIAL_FIELD);
+        assertNotEquals(testCredentialValue, encryptedCredentialMap.get(testCredentialKey));
+
+        Map<String, String> decryptedCredentialMap = encryptorUtils.decryptCredentials(encryptedCredentialMap, null);
+        assertEquals(testCredentialValue, decryptedCredentialMap.get(testCredentialKey));
+
+        // The master key was cached, so it was never fetched from the config index
+        verify(client, never()).get(any(GetRequest.class), any());
+    }
+
+    public void testEncryptTemplateCredentialAsyncWithoutMasterKey() {
+        doAnswer(invocation -> {
+            GetResponse getResponse = TestHelpers.createGetResponse(null, MASTER_KEY, CONFIG_INDEX);
+            ActionListener<GetResponse> getRequestActionListener = invocation.getArgument(1);
+            getRequestActionListener.onResponse(getResponse);
+            return null;
+        }).when(client).get(any(GetRequest.class), any());
+
+        PlainActionFuture<Template> encryptFuture = PlainActionFuture.newFuture();
+        encryptorUtils.encryptTemplateCredentials(testTemplate, encryptFuture);
+        FlowFrameworkException exception = expectThrows(FlowFrameworkException.class, encryptFuture::actionGet);
+        assertEquals(RestStatus.NOT_FOUND, exception.status());
+    }
+
+    public void testLazilyDecryptTemplateCredential() throws Exception {
+        encryptorUtils.setMasterKey(null, testMasterKey);
+        Template encryptedTemplate = encryptorUtils.encryptTemplateCredentials(testTemplate);
+        @SuppressWarnings("unchecked")
+        Map<String, String> encryptedCredentialMap = (Map<String, String>) encryptedTemplate.workflows()
+            .get("provision")
+            .nodes()
+            .get(0)
+            .userInputs()
+            .get(CREDENTIAL_FIELD);
+
+        // Nothing is decrypted until the credentials are used
+        EncryptorUtils lazyEncryptorUtils = spy(encryptorUtils);
+        Template lazyTemplate = lazyEncryptorUtils.lazilyDecryptTemplateCredentials(encryptedTemplate);
+        Object credentials = lazyTemplate.workflows().get("provision").nodes().get(0).userInputs().get(CREDENTIAL_FIELD);
+        assertTrue(credentials instanceof EncryptedCredentials);
+        EncryptedCredentials encryptedCredentials = (EncryptedCredentials) credentials;
+        assertEquals(encryptedCredentialMap, encryptedCredentials.encrypted());
+        assertTrue(lazyTemplate.toJson().contains(encryptedCredentialMap.get(testCredentialKey)));
+        assertFalse(lazyTemplate.toJson().contains(testCredentialValue));
+        verify(lazyEncryptorUtils, never()).decryptCredentials(any(), any());
+
+        // The credentials are decrypted on each use rather than kept in plain text
+        assertEquals(Map.of(testCredentialKey, testCredentialValue), encryptedCredentials.decrypt());
+        assertEquals(Map.of(testCredentialKey, testCredentialValue), encryptedCredentials.decrypt());
+        verify(lazyEncryptorUtils, times(2)).decryptCredentials(any(), any());
+
+        // Encrypting the template keeps the encrypted credentials rather than encrypting them again
+        Template reencryptedTemplate = encryptorUtils.encryptTemplateCredentials(lazyTemplate);
+        assertEquals(
+            encryptedCredentialMap,
+            reencryptedTemplate.workflows().get("provision").nodes().get(0).userInputs().get(CREDENTIAL_FIELD)
+        );
+    }
+
     public void testRedactTemplateCredential() {
         // Confirm credentials are present in the non-redacted template
         WorkflowNode node = testTemplate.workflows().get("provision").nodes().get(0);
@@ -95,10 +95,9 @@ public class DeployModelStepTests extends OpenSearchTestCase {
             )
         );
         this.deployModel = new DeployModelStep(
-            testThreadPool,
             machineLearningNodeClient,
             flowFrameworkIndicesHandler,
-            flowFrameworkSettings
+            new MLTaskPoller(testThreadPool, machineLearningNodeClient, flowFrameworkSettings)
         );
         this.inputData = new WorkflowData(Map.ofEntries(Map.entry("model_id", "modelId")), "test-id", "test-node-id");
     }
@@ -0,0 +1,308 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.apache.lucene.search.TotalHits;
+import org.opensearch.action.search.SearchRequest;
+import org.opensearch.action.search.SearchResponse;
+import org.opensearch.action.search.SearchResponseSections;
+import org.opensearch.action.search.ShardSearchFailure;
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.commons.ConfigConstants;
+import org.opensearch.core.action.ActionListener;
+import org.opensearch.core.common.bytes.BytesArray;
+import org.opensearch.flowframework.common.FlowFrameworkSettings;
+import org.opensearch.index.query.IdsQueryBuilder;
+import org.opensearch.ml.client.MachineLearningNodeClient;
+import org.opensearch.ml.common.MLTask;
+import org.opensearch.ml.common.MLTaskState;
+import org.opensearch.search.SearchHit;
+import org.opensearch.search.SearchHits;
+import org.opensearch.search.aggregations.InternalAggregations;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.mockito.ArgumentCaptor;
+
+import static org.opensearch.ml.common.CommonValue.ML_TASK_INDEX;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MLTaskPollerTests extends OpenSearchTestCase {
+
+    private TestThreadPool testThreadPool;
+    private MachineLearningNodeClient mlClient;
+    private MLTaskPoller mlTaskPoller;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        testThreadPool = new TestThreadPool(MLTaskPollerTests.class.getName());
+        mlClient = mock(MachineLearningNodeClient.class);
+        FlowFrameworkSettings flowFrameworkSettings = mock(FlowFrameworkSettings.class);
+        when(flowFrameworkSettings.getRetryDuration()).thenReturn(TimeValue.timeValueMillis(10));
+        mlTaskPoller = new MLTaskPoller(testThreadPool, mlClient, flowFrameworkSettings);
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        ThreadPool.terminate(testThreadPool, 500, TimeUnit.MILLISECONDS);
+        super.tearDown();
+    }
+
+    public void testPollUntilTerminalState() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        doAnswer(invocation -> {
+            ActionListener<MLTask> listener = invocation.getArgument(2);
+            MLTaskState state = requests.incrementAndGet() < 3 ? MLTaskState.RUNNING : MLTaskState.COMPLETED;
+            listener.onResponse(MLTask.builder().taskId("taskId").state(state).build());
+            return null;
+        }).when(mlClient).getTask(eq("taskId"), eq("tenantId"), any());
+
+        PlainActionFuture<MLTask> listener = PlainActionFuture.newFuture();
+        // Tasks of a tenant are always looked up individually
+        mlTaskPoller.poll("taskId", "tenantId", null, PlainActionFuture.<WorkflowData>newFuture(), listener);
+
+        assertEquals(MLTaskState.COMPLETED, listener.actionGet(10, TimeUnit.SECONDS).getState());
+        assertEquals(3, requests.get());
+        assertEquals(0, mlTaskPoller.outstandingTasks());
+        verify(mlClient, never()).searchTask(any(), any());
+    }
+
+    public void testBatchedLookup() throws Exception {
+        int taskCount = 200;
+        // Poll less often so that every task is registered before the first one is due again
+        FlowFrameworkSettings flowFrameworkSettings = mock(FlowFrameworkSettings.class);
+        when(flowFrameworkSettings.getRetryDuration()).thenReturn(TimeValue.timeValueSeconds(1));
+        mlTaskPoller = new MLTaskPoller(testThreadPool, mlClient, flowFrameworkSettings);
+        doAnswer(invocation -> {
+            ActionListener<MLTask> listener = invocation.getArgument(2);
+            listener.onResponse(MLTask.builder().taskId(invocation.getArgument(0)).state(MLTaskState.RUNNING).build());
+            return null;
+        }).when(mlClient).getTask(any(), nullable(String.class), any());
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            SearchHit[] hits = new SearchHit[taskCount];
+            for (int i = 0; i < taskCount; i++) {
+                hits[i] = new SearchHit(i, "task" + i, null, null).sourceRef(
+                    new BytesArray("{\"model_id\":\"model" + i + "\",\"state\":\"COMPLETED\"}")
+                );
+            }
+            listener.onResponse(searchResponse(hits));
+            return null;
+        }).when(mlClient).searchTask(any(), any());
+
+        List<PlainActionFuture<MLTask>> listeners = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            PlainActionFuture<MLTask> listener = PlainActionFuture.newFuture();
+            mlTaskPoller.poll("task" + i, null, null, PlainActionFuture.<WorkflowData>newFuture(), listener);
+            listeners.add(listener);
+        }
+        for (int i = 0; i < taskCount; i++) {
+            MLTask mlTask = listeners.get(i).actionGet(10, TimeUnit.SECONDS);
+            assertEquals(MLTaskState.COMPLETED, mlTask.getState());
+            assertEquals("model" + i, mlTask.getModelId());
+        }
+
+        // One get task request per task when polling starts, then one search per tick in which tasks were due
+        verify(mlClient, times(taskCount)).getTask(any(), nullable(String.class), any());
+        ArgumentCaptor<SearchRequest> searchRequestCaptor = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(mlClient, atLeastOnce()).searchTask(searchRequestCaptor.capture(), any());
+        assertTrue(searchRequestCaptor.getAllValues().size() <= 5);
+        assertArrayEquals(new String[] { ML_TASK_INDEX }, searchRequestCaptor.getValue().indices());
+        assertEquals(0, mlTaskPoller.outstandingTasks());
+    }
+
+    public void testPollWithBackoff() throws Exception {
+        List<Long> requestTimes = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            ActionListener<MLTask> listener = invocation.getArgument(2);
+            requestTimes.add(System.nanoTime());
+            MLTaskState state = requestTimes.size() < 4 ? MLTaskState.RUNNING : MLTaskState.COMPLETED;
+            listener.onResponse(MLTask.builder().taskId("taskId").state(state).build());
+            return null;
+        }).when(mlClient).getTask(eq("taskId"), eq("tenantId"), any());
+
+        TaskPollingBackoff backoff = new TaskPollingBackoff(TimeValue.timeValueMillis(10), TimeValue.timeValueMillis(40));
+        PlainActionFuture<MLTask> listener = PlainActionFuture.newFuture();
+        mlTaskPoller.poll("taskId", "tenantId", backoff, PlainActionFuture.<WorkflowData>newFuture(), listener);
+
+        assertEquals(MLTaskState.COMPLETED, listener.actionGet(10, TimeUnit.SECONDS).getState());
+        assertEquals(4, requestTimes.size());
+        // Three delays of at most 10, 20 and 40 milliseconds, each polled on the first tick after it elapsed
+        assertTrue(requestTimes.get(3) - requestTimes.get(0) < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    public void testSearchFailureFallsBackToGetTask() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        doAnswer(invocation -> {
+            ActionListener<MLTask> listener = invocation.getArgument(2);
+            MLTaskState state = requests.incrementAndGet() < 2 ? MLTaskState.RUNNING : MLTaskState.COMPLETED;
+            listener.onResponse(MLTask.builder().taskId("taskId").state(state).build());
+            return null;
+        }).when(mlClient).getTask(eq("taskId"), nullable(String.class), any());
+        doAnswer(invocation -> {
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            listener.onFailure(new IllegalStateException("no permissions"));
+            return null;
+        }).when(mlClient).searchTask(any(), any());
+
+        PlainActionFuture<MLTask> listener = PlainActionFuture.newFuture();
+        mlTaskPoller.poll("taskId", null, null, PlainActionFuture.<WorkflowData>newFuture(), listener);
+
+        assertEquals(MLTaskState.COMPLETED, listener.actionGet(10, TimeUnit.SECONDS).getState());
+        assertEquals(2, requests.get());
+        verify(mlClient, times(1)).searchTask(any(), any());
+    }
+
+    public void testPollInCallerContext() throws Exception {
+        ThreadContext threadContext = testThreadPool.getThreadContext();
+        Map<String, String> getTaskCallers = new ConcurrentHashMap<>();
+        AtomicInteger requests = new AtomicInteger();
+        doAnswer(invocation -> {
+            String taskId = invocation.getArgument(0);
+            getTaskCallers.put(taskId, threadContext.getHeader("caller"));
+            ActionListener<MLTask> listener = invocation.getArgument(2);
+            MLTaskState state = requests.incrementAndGet() < 6 ? MLTaskState.RUNNING : MLTaskState.COMPLETED;
+            listener.onResponse(MLTask.builder().taskId(taskId).state(state).build());
+            return null;
+        }).when(mlClient).getTask(any(), nullable(String.class), any());
+        Map<String, String> users = Map.of("a", "alice||", "b", "bob||", "c", "alice||");
+        List<String> searchErrors = new CopyOnWriteArrayList<>();
+        AtomicInteger searches = new AtomicInteger();
+        doAnswer(invocation -> {
+            searches.incrementAndGet();
+            String caller = threadContext.getHeader("caller");
+            SearchRequest searchRequest = invocation.getArgument(0);
+            for (String id : ((IdsQueryBuilder) searchRequest.source().query()).ids()) {
+                String taskCaller = id.substring("task_".length());
+                if (caller == null || !users.get(caller).equals(users.get(taskCaller))) {
+                    searchErrors.add(id + " searched by " + caller);
+                }
+            }
+            ActionListener<SearchResponse> listener = invocation.getArgument(1);
+            listener.onFailure(new IllegalStateException("no permissions"));
+            return null;
+        }).when(mlClient).searchTask(any(), any());
+
+        List<PlainActionFuture<String>> callers = new ArrayList<>();
+        for (String caller : List.of("a", "b", "c")) {
+            PlainActionFuture<String> notifiedCaller = PlainActionFuture.newFuture();
+            try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+                threadContext.putHeader("caller", caller);
+                threadContext.putTransient(ConfigConstants.OPENSEARCH_SECURITY_USER_INFO_THREAD_CONTEXT, users.get(caller));
+                mlTaskPoller.poll(
+                    "task_" + caller,
+                    null,
+                    null,
+                    PlainActionFuture.<WorkflowData>newFuture(),
+                    ActionListener.wrap(task -> notifiedCaller.onResponse(threadContext.getHeader("caller")), notifiedCaller::onFailure)
+                );
+            }
+            callers.add(notifiedCaller);
+        }
+
+        // Each caller is notified in its own context, and each task is looked up in the context of the caller polling it
+        assertEquals("a", callers.get(0).actionGet(10, TimeUnit.SECONDS));
+        assertEquals("b", callers.get(1).actionGet(10, TimeUnit.SECONDS));
+        assertEquals("c", callers.get(2).actionGet(10, TimeUnit.SECONDS));
+        assertEquals(Map.of("task_a", "a", "task_b", "b", "task_c", "c"), getTaskCallers);
+        // Each batched search only covers the tasks of one user, and runs in the context of a caller authenticated as that user
+        assertTrue(searches.get() > 0);
+        assertEquals(List.of(), searchErrors);
+    }
+
+    public void testAtMostOneRequestInFlight() throws Exception {
+        List<ActionListener<MLTask>> pending = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            pending.add(invocation.getArgument(2));
+            return null;
+        }).when(mlClient).getTask(eq("taskId"), nullable(String.class), any());
+
+        PlainActionFuture<MLTask> first = PlainActionFuture.newFuture();
+        PlainActionFuture<MLTask> second = PlainActionFuture.newFuture();
+        mlTaskPoller.poll("taskId", null, null, PlainActionFuture.<WorkflowData>newFuture(), first);
+        mlTaskPoller.poll("taskId", null, null, PlainActionFuture.<WorkflowData>newFuture(), second);
+        // Let several ticks pass while the first request is unanswered
+        Thread.sleep(100);
+
+        verify(mlClient, times(1)).getTask(eq("taskId"), nullable(String.class), any());
+        assertEquals(1, mlTaskPoller.outstandingTasks());
+
+        pending.get(0).onResponse(MLTask.builder().taskId("taskId").state(MLTaskState.FAILED).error("error").build());
+        assertEquals(MLTaskState.FAILED, first.actionGet(10, TimeUnit.SECONDS).getState());
+        assertEquals(MLTaskState.FAILED, second.actionGet(10, TimeUnit.SECONDS).getState());
+        assertEquals(0, mlTaskPoller.outstandingTasks());
+    }
+
+    public void testPollFailure() {
+        doAnswer(invocation -> {
+            ActionListener<MLTask> listener = invocation.getArgument(2);
+            listener.onFailure(new IllegalStateException("unavailable"));
+            return null;
+        }).when(mlClient).getTask(eq("taskId"), nullable(String.class), any());
+
+        PlainActionFuture<MLTask> listener = PlainActionFuture.newFuture();
+        mlTaskPoller.poll("taskId", null, null, PlainActionFuture.<WorkflowData>newFuture(), listener);
+
+        IllegalStateException e = expectThrows(IllegalStateException.class, () -> listener.actionGet(10, TimeUnit.SECONDS));
+        assertEquals("unavailable", e.getMessage());
+        assertEquals(0, mlTaskPoller.outstandingTasks());
+    }
+
+    public void testStopPollingWhenStepIsDone() throws Exception {
+        doAnswer(invocation -> {
+            ActionListener<MLTask> listener = invocation.getArgument(2);
+            listener.onResponse(MLTask.builder().taskId("taskId").state(MLTaskState.RUNNING).build());
+            return null;
+        }).when(mlClient).getTask(eq("taskId"), nullable(String.class), any());
+
+        PlainActionFuture<WorkflowData> stepFuture = PlainActionFuture.newFuture();
+        PlainActionFuture<MLTask> listener = PlainActionFuture.newFuture();
+        mlTaskPoller.poll("taskId", null, null, stepFuture, listener);
+        assertEquals(1, mlTaskPoller.outstandingTasks());
+
+        stepFuture.cancel(true);
+        assertBusy(() -> assertEquals(0, mlTaskPoller.outstandingTasks()), 10, TimeUnit.SECONDS);
+        assertFalse(listener.isDone());
+    }
+
+    private static SearchResponse searchResponse(SearchHit[] hits) {
+        SearchHits searchHits = new SearchHits(hits, new TotalHits(hits.length, TotalHits.Relation.EQUAL_TO), 1.0f);
+        SearchResponseSections searchSections = new SearchResponseSections(
+            searchHits,
+            InternalAggregations.EMPTY,
+            null,
+            false,
+            false,
+            null,
+            1
+        );
+        return new SearchResponse(searchSections, null, 1, 1, 0, 1, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+}
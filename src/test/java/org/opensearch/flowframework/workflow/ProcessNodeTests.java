@@ -13,6 +13,7 @@ import org.opensearch.action.support.PlainActionFuture;
 import org.opensearch.common.settings.Settings;
 import org.opensearch.common.unit.TimeValue;
 import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.flowframework.common.ListenablePlainActionFuture;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ScalingExecutorBuilder;
 import org.opensearch.threadpool.TestThreadPool;
@@ -26,6 +27,7 @@ import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.opensearch.flowframework.common.CommonValue.FLOW_FRAMEWORK_THREAD_POOL_PREFIX;
 import static org.opensearch.flowframework.common.CommonValue.PROVISION_WORKFLOW_THREAD_POOL;
@@ -207,6 +209,47 @@ public class ProcessNodeTests extends OpenSearchTestCase {
         assertEquals(TimeoutException.class, exception.getCause().getClass());
     }
 
+    public void testNodeTimeoutOnWheelCancelsStep() throws Exception {
+        WorkflowTimeoutWheel timeoutWheel = new WorkflowTimeoutWheel(testThreadPool, TimeValue.timeValueMillis(10), 8);
+        PlainActionFuture<WorkflowData> stepFuture = ListenablePlainActionFuture.newListenableFuture();
+        ProcessNode node = new ProcessNode("slow", new WorkflowStep() {
+            @Override
+            public PlainActionFuture<WorkflowData> execute(
+                String currentNodeId,
+                WorkflowData currentNodeInputs,
+                Map<String, WorkflowData> outputs,
+                Map<String, String> previousNodeInputs,
+                Map<String, String> params,
+                String tenantId
+            ) {
+                return stepFuture;
+            }
+
+            @Override
+            public String getName() {
+                return "slow";
+            }
+        },
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            WorkflowData.EMPTY,
+            Collections.emptyList(),
+            testThreadPool,
+            PROVISION_WORKFLOW_THREAD_POOL,
+            TimeValue.timeValueMillis(100),
+            null,
+            new WorkflowCancellationToken(),
+            timeoutWheel
+        );
+
+        PlainActionFuture<WorkflowData> f = node.execute();
+        OpenSearchTimeoutException exception = assertThrows(OpenSearchTimeoutException.class, () -> f.actionGet(1, TimeUnit.MINUTES));
+        assertEquals("Timeout waiting for 100ms on node slow", exception.getCause().getMessage());
+        // The step is cancelled rather than left running after its node timed out
+        assertBusy(() -> assertTrue(stepFuture.isCancelled()), 1, TimeUnit.MINUTES);
+        assertTrue(node.cancellationToken().isCancelled());
+    }
+
     public void testExceptions() {
         // Tests where a predecessor future completed exceptionally
         ProcessNode nodeE = new ProcessNode("E", new WorkflowStep() {
@@ -250,4 +293,203 @@ public class ProcessNodeTests extends OpenSearchTestCase {
         // Tests where we already called execute
         assertThrows(IllegalStateException.class, () -> nodeE.execute());
     }
+
+    public void testSuccessorsDoNotHoldThreads() {
+        // A single thread pool would deadlock if waiting successors parked the only thread
+        TestThreadPool singleThreadPool = new TestThreadPool(
+            "single-thread",
+            new ScalingExecutorBuilder(
+                PROVISION_WORKFLOW_THREAD_POOL,
+                1,
+                1,
+                TimeValue.timeValueMinutes(5),
+                FLOW_FRAMEWORK_THREAD_POOL_PREFIX + PROVISION_WORKFLOW_THREAD_POOL
+            )
+        );
+        try {
+            PlainActionFuture<WorkflowData> stepFuture = ListenablePlainActionFuture.newListenableFuture();
+            ProcessNode nodeA = new ProcessNode("A", new WorkflowStep() {
+                @Override
+                public PlainActionFuture<WorkflowData> execute(
+                    String currentNodeId,
+                    WorkflowData currentNodeInputs,
+                    Map<String, WorkflowData> outputs,
+                    Map<String, String> previousNodeInputs,
+                    Map<String, String> params,
+                    String tenantId
+                ) {
+                    return stepFuture;
+                }
+
+                @Override
+                public String getName() {
+                    return "test";
+                }
+            },
+                Collections.emptyMap(),
+                Collections.emptyMap(),
+                WorkflowData.EMPTY,
+                Collections.emptyList(),
+                singleThreadPool,
+                PROVISION_WORKFLOW_THREAD_POOL,
+                TimeValue.timeValueSeconds(15),
+                null
+            );
+            WorkflowStep passThroughStep = new WorkflowStep() {
+                @Override
+                public PlainActionFuture<WorkflowData> execute(
+                    String currentNodeId,
+                    WorkflowData currentNodeInputs,
+                    Map<String, WorkflowData> outputs,
+                    Map<String, String> previousNodeInputs,
+                    Map<String, String> params,
+                    String tenantId
+                ) {
+                    PlainActionFuture<WorkflowData> f = ListenablePlainActionFuture.newListenableFuture();
+                    f.onResponse(new WorkflowData(outputs.get("A").getContent(), "test-id", currentNodeId));
+                    return f;
+                }
+
+                @Override
+                public String getName() {
+                    return "test";
+                }
+            };
+            ProcessNode nodeB = new ProcessNode(
+                "B",
+                passThroughStep,
+                Collections.emptyMap(),
+                Collections.emptyMap(),
+                WorkflowData.EMPTY,
+                List.of(nodeA),
+                singleThreadPool,
+                PROVISION_WORKFLOW_THREAD_POOL,
+                TimeValue.timeValueSeconds(15),
+                null
+            );
+            ProcessNode nodeC = new ProcessNode(
+                "C",
+                passThroughStep,
+                Collections.emptyMap(),
+                Collections.emptyMap(),
+                WorkflowData.EMPTY,
+                List.of(nodeA),
+                singleThreadPool,
+                PROVISION_WORKFLOW_THREAD_POOL,
+                TimeValue.timeValueSeconds(15),
+                null
+            );
+
+            // Successors are executed first, they must not occupy the only thread
+            PlainActionFuture<WorkflowData> futureB = nodeB.execute();
+            PlainActionFuture<WorkflowData> futureC = nodeC.execute();
+            PlainActionFuture<WorkflowData> futureA = nodeA.execute();
+            assertFalse(futureB.isDone());
+            assertFalse(futureC.isDone());
+
+            stepFuture.onResponse(new WorkflowData(Map.of("test", "output"), "test-id", "A"));
+            assertEquals("output", futureA.actionGet(1, TimeUnit.MINUTES).getContent().get("test"));
+            assertEquals("output", futureB.actionGet(1, TimeUnit.MINUTES).getContent().get("test"));
+            assertEquals("output", futureC.actionGet(1, TimeUnit.MINUTES).getContent().get("test"));
+        } finally {
+            ThreadPool.terminate(singleThreadPool, 500, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void testFailureCancelsWorkflow() throws Exception {
+        WorkflowCancellationToken cancellationToken = new WorkflowCancellationToken();
+        AtomicInteger startedSteps = new AtomicInteger();
+        PlainActionFuture<WorkflowData> runningStepFuture = ListenablePlainActionFuture.newListenableFuture();
+        PlainActionFuture<WorkflowData> failingStepFuture = ListenablePlainActionFuture.newListenableFuture();
+
+        ProcessNode running = cancellableNode("running", runningStepFuture, startedSteps, Collections.emptyList(), cancellationToken);
+        ProcessNode failing = cancellableNode("failing", failingStepFuture, startedSteps, Collections.emptyList(), cancellationToken);
+        ProcessNode pending = cancellableNode(
+            "pending",
+            ListenablePlainActionFuture.newListenableFuture(),
+            startedSteps,
+            List.of(running),
+            cancellationToken
+        );
+        running.execute();
+        failing.execute();
+        pending.execute();
+        assertBusy(() -> assertEquals(2, startedSteps.get()), 1, TimeUnit.MINUTES);
+
+        failingStepFuture.onFailure(new IllegalArgumentException("step failed"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> failing.future().get());
+        assertEquals("step failed", e.getCause().getMessage());
+        assertTrue(cancellationToken.isCancelled());
+        assertEquals("step failed", cancellationToken.cause().getMessage());
+
+        // The running step is cancelled, which stops any polling for its completion
+        assertTrue(runningStepFuture.isCancelled());
+        e = assertThrows(ExecutionException.class, () -> running.future().get());
+        assertEquals("Workflow step running was cancelled because workflow execution was cancelled", e.getCause().getMessage());
+        assertFalse(running.isSkipped());
+
+        // The pending step never starts, failing with the cancellation of its predecessor
+        e = assertThrows(ExecutionException.class, () -> pending.future().get());
+        assertEquals("Workflow step running was cancelled because workflow execution was cancelled", e.getCause().getMessage());
+        assertTrue(pending.isSkipped());
+        assertEquals(2, startedSteps.get());
+
+        assertEquals(List.of("pending"), ProcessNode.cancel(List.of(running, failing, pending), new IllegalArgumentException("other")));
+        assertEquals("step failed", cancellationToken.cause().getMessage());
+    }
+
+    public void testStartListener() throws Exception {
+        AtomicInteger startedSteps = new AtomicInteger();
+        PlainActionFuture<WorkflowData> stepFuture = ListenablePlainActionFuture.newListenableFuture();
+        ProcessNode node = cancellableNode("node", stepFuture, startedSteps, Collections.emptyList(), new WorkflowCancellationToken());
+        AtomicInteger startsBeforeStep = new AtomicInteger(-1);
+        node.addStartListener(() -> startsBeforeStep.set(startedSteps.get()));
+        node.addStartListener(() -> { throw new IllegalStateException("listener failed"); });
+        node.execute();
+
+        // Listeners run before the step, and a failing listener does not fail the step
+        assertBusy(() -> assertEquals(1, startedSteps.get()), 1, TimeUnit.MINUTES);
+        assertEquals(0, startsBeforeStep.get());
+        stepFuture.onResponse(WorkflowData.EMPTY);
+        assertEquals(WorkflowData.EMPTY, node.future().get(1, TimeUnit.MINUTES));
+    }
+
+    private static ProcessNode cancellableNode(
+        String id,
+        PlainActionFuture<WorkflowData> stepFuture,
+        AtomicInteger startedSteps,
+        List<ProcessNode> predecessors,
+        WorkflowCancellationToken cancellationToken
+    ) {
+        return new ProcessNode(id, new WorkflowStep() {
+            @Override
+            public PlainActionFuture<WorkflowData> execute(
+                String currentNodeId,
+                WorkflowData currentNodeInputs,
+                Map<String, WorkflowData> outputs,
+                Map<String, String> previousNodeInputs,
+                Map<String, String> params,
+                String tenantId
+            ) {
+                startedSteps.incrementAndGet();
+                return stepFuture;
+            }
+
+            @Override
+            public String getName() {
+                return "test";
+            }
+        },
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            WorkflowData.EMPTY,
+            predecessors,
+            testThreadPool,
+            PROVISION_WORKFLOW_THREAD_POOL,
+            TimeValue.ZERO,
+            null,
+            cancellationToken
+        );
+    }
 }
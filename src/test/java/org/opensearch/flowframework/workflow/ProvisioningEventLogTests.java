@@ -0,0 +1,122 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.common.io.stream.BytesStreamOutput;
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.flowframework.workflow.ProvisioningEvent.Type;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class ProvisioningEventLogTests extends OpenSearchTestCase {
+
+    private TestThreadPool threadPool;
+    private ProvisioningEventLog eventLog;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        threadPool = new TestThreadPool(ProvisioningEventLogTests.class.getName());
+        eventLog = new ProvisioningEventLog(threadPool);
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        ThreadPool.terminate(threadPool, 500, TimeUnit.MILLISECONDS);
+        super.tearDown();
+    }
+
+    public void testReadEvents() {
+        assertNull(read("workflow", -1, TimeValue.ZERO));
+
+        eventLog.start("workflow");
+        eventLog.record("workflow", ProvisioningEvent.stepStarted("step_1", "create_connector"));
+        List<ProvisioningEvent> events = read("workflow", -1, TimeValue.ZERO);
+        assertEquals(2, events.size());
+        assertEquals(Type.WORKFLOW_STARTED, events.get(0).type());
+        assertEquals(0, events.get(0).sequence());
+        assertEquals(Type.STEP_STARTED, events.get(1).type());
+        assertEquals("workflow", events.get(1).workflowId());
+        assertEquals("step_1", events.get(1).stepId());
+
+        // Nothing new before the timeout
+        assertTrue(read("workflow", 1, TimeValue.timeValueMillis(10)).isEmpty());
+    }
+
+    public void testWaitForEvent() {
+        eventLog.start("workflow");
+        PlainActionFuture<List<ProvisioningEvent>> future = PlainActionFuture.newFuture();
+        eventLog.read("workflow", 0, TimeValue.timeValueSeconds(30), future);
+        assertFalse(future.isDone());
+
+        eventLog.record(
+            "workflow",
+            ProvisioningEvent.stepCompleted("step_1", "create_connector", 5, Map.of("connector_id", "connector_1"))
+        );
+        List<ProvisioningEvent> events = future.actionGet(10, TimeUnit.SECONDS);
+        assertEquals(1, events.size());
+        assertEquals(Map.of("connector_id", "connector_1"), events.get(0).resources());
+        assertEquals(5, events.get(0).durationMillis());
+    }
+
+    public void testTerminalEvent() {
+        eventLog.start("workflow");
+        PlainActionFuture<List<ProvisioningEvent>> future = PlainActionFuture.newFuture();
+        eventLog.read("workflow", 0, TimeValue.timeValueSeconds(30), future);
+
+        eventLog.record("workflow", ProvisioningEvent.workflow(Type.WORKFLOW_FAILED, "error during step step_1"));
+        ProvisioningEvent failed = future.actionGet(10, TimeUnit.SECONDS).get(0);
+        assertEquals("error during step step_1", failed.error());
+        assertTrue(failed.durationMillis() >= 0);
+
+        // Events after the end of provisioning are not recorded, and readers do not wait
+        eventLog.record("workflow", ProvisioningEvent.stepStarted("step_2", "create_connector"));
+        assertTrue(read("workflow", 1, TimeValue.timeValueSeconds(30)).isEmpty());
+    }
+
+    public void testOldestEventsDropped() {
+        eventLog.start("workflow");
+        for (int i = 0; i < ProvisioningEventLog.MAX_EVENTS_PER_WORKFLOW; i++) {
+            eventLog.record("workflow", ProvisioningEvent.stepStarted("step_" + i, "noop"));
+        }
+        List<ProvisioningEvent> events = read("workflow", -1, TimeValue.ZERO);
+        assertEquals(ProvisioningEventLog.MAX_EVENTS_PER_WORKFLOW, events.size());
+        // The start event was dropped, leaving a gap in the sequence numbers
+        assertEquals(1, events.get(0).sequence());
+    }
+
+    public void testSerialization() throws IOException {
+        eventLog.start("workflow");
+        eventLog.record("workflow", ProvisioningEvent.stepFailed(Type.STEP_SKIPPED, "step_1", null, -1, "error"));
+        ProvisioningEvent event = read("workflow", 0, TimeValue.ZERO).get(0);
+
+        BytesStreamOutput out = new BytesStreamOutput();
+        event.writeTo(out);
+        ProvisioningEvent newEvent = new ProvisioningEvent(out.bytes().streamInput());
+        assertEquals(event.sequence(), newEvent.sequence());
+        assertEquals(Type.STEP_SKIPPED, newEvent.type());
+        assertEquals("step_1", newEvent.stepId());
+        assertNull(newEvent.stepName());
+        assertEquals("error", newEvent.error());
+        assertEquals(event.timestamp(), newEvent.timestamp());
+    }
+
+    private List<ProvisioningEvent> read(String workflowId, long after, TimeValue timeout) {
+        PlainActionFuture<List<ProvisioningEvent>> future = PlainActionFuture.newFuture();
+        eventLog.read(workflowId, after, timeout, future);
+        return future.actionGet(10, TimeUnit.SECONDS);
+    }
+}
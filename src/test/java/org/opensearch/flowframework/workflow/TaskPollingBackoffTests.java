@@ -0,0 +1,80 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+
+import static org.opensearch.flowframework.model.WorkflowNode.TASK_POLL_INITIAL_DELAY_FIELD;
+import static org.opensearch.flowframework.model.WorkflowNode.TASK_POLL_MAX_DELAY_FIELD;
+
+public class TaskPollingBackoffTests extends OpenSearchTestCase {
+
+    private final TaskPollingBackoff backoff = new TaskPollingBackoff(TimeValue.timeValueMillis(100), TimeValue.timeValueSeconds(1));
+
+    public void testDelayCeilingGrowsToMax() {
+        Random random = random();
+        for (int i = 0; i < 100; i++) {
+            assertDelayAtMost(backoff.delayNanos(0, random), TimeValue.timeValueMillis(100));
+            assertDelayAtMost(backoff.delayNanos(2, random), TimeValue.timeValueMillis(400));
+            assertDelayAtMost(backoff.delayNanos(4, random), TimeValue.timeValueSeconds(1));
+            // Large attempts are capped rather than overflowing
+            assertDelayAtMost(backoff.delayNanos(Integer.MAX_VALUE, random), TimeValue.timeValueSeconds(1));
+        }
+    }
+
+    public void testInvalidDelays() {
+        expectThrows(IllegalArgumentException.class, () -> new TaskPollingBackoff(TimeValue.ZERO, TimeValue.timeValueSeconds(1)));
+        expectThrows(
+            IllegalArgumentException.class,
+            () -> new TaskPollingBackoff(TimeValue.timeValueSeconds(2), TimeValue.timeValueSeconds(1))
+        );
+    }
+
+    public void testFromUserInputs() {
+        assertSame(backoff, TaskPollingBackoff.fromUserInputs("node", Collections.emptyMap(), backoff));
+
+        TaskPollingBackoff overridden = TaskPollingBackoff.fromUserInputs(
+            "node",
+            Map.of(TASK_POLL_INITIAL_DELAY_FIELD, "50ms", TASK_POLL_MAX_DELAY_FIELD, "10s"),
+            backoff
+        );
+        assertEquals(TimeValue.timeValueMillis(50), overridden.initialDelay());
+        assertEquals(TimeValue.timeValueSeconds(10), overridden.maxDelay());
+
+        overridden = TaskPollingBackoff.fromUserInputs("node", Map.of(TASK_POLL_MAX_DELAY_FIELD, "5s"), backoff);
+        assertEquals(TimeValue.timeValueMillis(100), overridden.initialDelay());
+        assertEquals(TimeValue.timeValueSeconds(5), overridden.maxDelay());
+    }
+
+    public void testFromInvalidUserInputs() {
+        FlowFrameworkException e = expectThrows(
+            FlowFrameworkException.class,
+            () -> TaskPollingBackoff.fromUserInputs("node", Map.of(TASK_POLL_INITIAL_DELAY_FIELD, "soon"), backoff)
+        );
+        assertEquals(RestStatus.BAD_REQUEST, e.getRestStatus());
+        assertTrue(e.getMessage().contains("node.user_inputs.task_poll_initial_delay"));
+
+        e = expectThrows(
+            FlowFrameworkException.class,
+            () -> TaskPollingBackoff.fromUserInputs("node", Map.of(TASK_POLL_MAX_DELAY_FIELD, "10ms"), backoff)
+        );
+        assertEquals(RestStatus.BAD_REQUEST, e.getRestStatus());
+    }
+
+    private static void assertDelayAtMost(long delayNanos, TimeValue max) {
+        assertTrue(delayNanos >= 0 && delayNanos <= max.nanos());
+    }
+}
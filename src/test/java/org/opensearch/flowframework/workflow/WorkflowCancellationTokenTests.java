@@ -0,0 +1,52 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class WorkflowCancellationTokenTests extends OpenSearchTestCase {
+
+    public void testCancel() {
+        WorkflowCancellationToken token = new WorkflowCancellationToken();
+        AtomicInteger notified = new AtomicInteger();
+        token.addListener(notified::incrementAndGet);
+        assertFalse(token.isCancelled());
+        assertNull(token.cause());
+        assertEquals(0, notified.get());
+
+        assertTrue(token.cancel(new IllegalArgumentException("first")));
+        assertTrue(token.isCancelled());
+        assertEquals("first", token.cause().getMessage());
+        assertEquals(1, notified.get());
+
+        // Only the first cancellation has an effect
+        assertFalse(token.cancel(new IllegalArgumentException("second")));
+        assertEquals("first", token.cause().getMessage());
+        assertEquals(1, notified.get());
+    }
+
+    public void testListenerAddedAfterCancel() {
+        WorkflowCancellationToken token = new WorkflowCancellationToken();
+        token.cancel(new IllegalArgumentException("failed"));
+        AtomicInteger notified = new AtomicInteger();
+        token.addListener(notified::incrementAndGet);
+        assertEquals(1, notified.get());
+    }
+
+    public void testFailingListener() {
+        WorkflowCancellationToken token = new WorkflowCancellationToken();
+        AtomicInteger notified = new AtomicInteger();
+        token.addListener(() -> { throw new IllegalStateException("listener failed"); });
+        token.addListener(notified::incrementAndGet);
+        assertTrue(token.cancel(new IllegalArgumentException("failed")));
+        assertEquals(1, notified.get());
+    }
+}
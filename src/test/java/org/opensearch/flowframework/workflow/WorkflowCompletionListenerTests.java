@@ -0,0 +1,121 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.opensearch.action.support.PlainActionFuture;
+import org.opensearch.common.settings.Settings;
+import org.opensearch.common.util.concurrent.OpenSearchExecutors;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.flowframework.common.ListenablePlainActionFuture;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class WorkflowCompletionListenerTests extends OpenSearchTestCase {
+
+    private ThreadContext threadContext;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        threadContext = new ThreadContext(Settings.EMPTY);
+    }
+
+    public void testCompletesWhenAllStepsComplete() {
+        Map<String, PlainActionFuture<WorkflowData>> futures = new LinkedHashMap<>();
+        PlainActionFuture<WorkflowData> first = ListenablePlainActionFuture.newListenableFuture();
+        PlainActionFuture<WorkflowData> second = ListenablePlainActionFuture.newListenableFuture();
+        futures.put("first", first);
+        futures.put("second", second);
+
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicReference<String> failedStep = new AtomicReference<>();
+        WorkflowCompletionListener.listen(
+            futures,
+            threadContext,
+            OpenSearchExecutors.newDirectExecutorService(),
+            successCount::incrementAndGet,
+            (stepId, e) -> failedStep.set(stepId)
+        );
+        assertEquals(0, successCount.get());
+
+        second.onResponse(WorkflowData.EMPTY);
+        assertEquals(0, successCount.get());
+        first.onResponse(WorkflowData.EMPTY);
+        assertEquals(1, successCount.get());
+        assertNull(failedStep.get());
+    }
+
+    public void testFailsOnFirstFailure() {
+        Map<String, PlainActionFuture<WorkflowData>> futures = new LinkedHashMap<>();
+        PlainActionFuture<WorkflowData> first = ListenablePlainActionFuture.newListenableFuture();
+        PlainActionFuture<WorkflowData> second = ListenablePlainActionFuture.newListenableFuture();
+        futures.put("first", first);
+        futures.put("second", second);
+
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failureCount = new AtomicInteger();
+        AtomicReference<String> failedStep = new AtomicReference<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        WorkflowCompletionListener.listen(
+            futures,
+            threadContext,
+            OpenSearchExecutors.newDirectExecutorService(),
+            successCount::incrementAndGet,
+            (stepId, e) -> {
+                failureCount.incrementAndGet();
+                failedStep.set(stepId);
+                failure.set(e);
+            }
+        );
+
+        second.onFailure(new IllegalArgumentException("second failed"));
+        first.onFailure(new IllegalArgumentException("first failed"));
+        assertEquals(0, successCount.get());
+        assertEquals(1, failureCount.get());
+        assertEquals("second", failedStep.get());
+        assertEquals("second failed", failure.get().getMessage());
+    }
+
+    public void testRestoresThreadContext() {
+        Map<String, PlainActionFuture<WorkflowData>> futures = new LinkedHashMap<>();
+        PlainActionFuture<WorkflowData> step = ListenablePlainActionFuture.newListenableFuture();
+        futures.put("step", step);
+
+        AtomicReference<String> header = new AtomicReference<>();
+        try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+            threadContext.putHeader("test-header", "test-value");
+            WorkflowCompletionListener.listen(
+                futures,
+                threadContext,
+                OpenSearchExecutors.newDirectExecutorService(),
+                () -> header.set(threadContext.getHeader("test-header")),
+                (stepId, e) -> {}
+            );
+        }
+        assertNull(threadContext.getHeader("test-header"));
+        step.onResponse(WorkflowData.EMPTY);
+        assertEquals("test-value", header.get());
+    }
+
+    public void testNoSteps() {
+        AtomicInteger successCount = new AtomicInteger();
+        WorkflowCompletionListener.listen(
+            Map.of(),
+            threadContext,
+            OpenSearchExecutors.newDirectExecutorService(),
+            successCount::incrementAndGet,
+            (stepId, e) -> {}
+        );
+        assertEquals(1, successCount.get());
+    }
+}
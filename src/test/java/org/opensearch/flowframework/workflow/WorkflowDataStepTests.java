@@ -56,4 +56,21 @@ public class WorkflowDataStepTests extends OpenSearchTestCase {
 
     }
 
+    public void testExecuteCheckpointedWorkflowDataStep() throws ExecutionException, InterruptedException {
+        WorkflowDataStep checkpointStep = new WorkflowDataStep(Map.of("model_id", "model", "register_model_status", "CREATED"));
+
+        PlainActionFuture<WorkflowData> future = checkpointStep.execute(
+            inputData.getNodeId(),
+            inputData,
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            Collections.emptyMap(),
+            null
+        );
+
+        assertTrue(future.isDone());
+        assertEquals(Map.of("model_id", "model", "register_model_status", "CREATED"), future.get().getContent());
+        assertEquals(workflowId, future.get().getWorkflowId());
+        assertEquals(workflowStepId, future.get().getNodeId());
+    }
 }
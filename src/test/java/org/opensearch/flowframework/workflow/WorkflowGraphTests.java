@@ -0,0 +1,134 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.opensearch.core.rest.RestStatus;
+import org.opensearch.flowframework.exception.FlowFrameworkException;
+import org.opensearch.flowframework.model.WorkflowEdge;
+import org.opensearch.flowframework.model.WorkflowNode;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class WorkflowGraphTests extends OpenSearchTestCase {
+
+    private static WorkflowNode node(String id) {
+        return new WorkflowNode(id, NoOpStep.NAME, Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    public void testIndex() {
+        WorkflowGraph graph = WorkflowGraph.build(
+            List.of(node("A"), node("B"), node("C")),
+            List.of(new WorkflowEdge("A", "C"), new WorkflowEdge("B", "C"))
+        );
+        assertEquals(3, graph.size());
+        assertEquals(2, graph.indexOf("C"));
+        assertEquals(-1, graph.indexOf("D"));
+        assertEquals("C", graph.id(2));
+        assertEquals(NoOpStep.NAME, graph.type(2));
+        assertArrayEquals(new int[] { 0, 1 }, graph.predecessors(2));
+        assertArrayEquals(new int[0], graph.predecessors(0));
+    }
+
+    public void testTopologicalOrder() {
+        WorkflowGraph graph = WorkflowGraph.build(
+            List.of(node("A"), node("B"), node("C"), node("D")),
+            List.of(new WorkflowEdge("D", "C"), new WorkflowEdge("C", "B"), new WorkflowEdge("A", "B"))
+        );
+        assertEquals(List.of("A", "D", "C", "B"), graph.ids(graph.topologicalOrder()));
+    }
+
+    public void testPrioritizedOrder() {
+        WorkflowGraph graph = WorkflowGraph.build(
+            List.of(node("A"), node("B"), node("C"), node("D")),
+            List.of(new WorkflowEdge("B", "C"), new WorkflowEdge("C", "D"))
+        );
+        assertEquals(List.of("B", "C", "A", "D"), graph.ids(graph.prioritizedOrder(i -> 1L)));
+        // A single expensive node outweighs the chain
+        assertEquals(List.of("A", "B", "C", "D"), graph.ids(graph.prioritizedOrder(i -> graph.id(i).equals("A") ? 10L : 1L)));
+    }
+
+    public void testCriticalPaths() {
+        WorkflowGraph graph = WorkflowGraph.build(
+            List.of(node("A"), node("B"), node("C"), node("D")),
+            List.of(new WorkflowEdge("A", "B"), new WorkflowEdge("A", "C"), new WorkflowEdge("C", "D"))
+        );
+        long[] criticalPaths = graph.criticalPaths(i -> 1L);
+        assertArrayEquals(new long[] { 3L, 1L, 2L, 1L }, criticalPaths);
+        assertEquals(List.of("A", "C", "B", "D"), graph.ids(graph.prioritizedOrder(criticalPaths)));
+    }
+
+    public void testValidation() {
+        FlowFrameworkException ex = assertThrows(
+            FlowFrameworkException.class,
+            () -> WorkflowGraph.build(List.of(node("A"), node("A")), Collections.emptyList())
+        );
+        assertEquals("Duplicate node id A.", ex.getMessage());
+        assertEquals(RestStatus.BAD_REQUEST, ex.getRestStatus());
+
+        ex = assertThrows(FlowFrameworkException.class, () -> WorkflowGraph.build(List.of(node("A")), List.of(new WorkflowEdge("B", "A"))));
+        assertEquals("Edge source B does not correspond to a node.", ex.getMessage());
+
+        ex = assertThrows(FlowFrameworkException.class, () -> WorkflowGraph.build(List.of(node("A")), List.of(new WorkflowEdge("A", "B"))));
+        assertEquals("Edge destination B does not correspond to a node.", ex.getMessage());
+
+        ex = assertThrows(FlowFrameworkException.class, () -> WorkflowGraph.build(List.of(node("A")), List.of(new WorkflowEdge("A", "A"))));
+        assertEquals("Edge connects node A to itself.", ex.getMessage());
+    }
+
+    public void testCycles() {
+        WorkflowGraph noStart = WorkflowGraph.build(
+            List.of(node("A"), node("B")),
+            List.of(new WorkflowEdge("A", "B"), new WorkflowEdge("B", "A"))
+        );
+        FlowFrameworkException ex = assertThrows(FlowFrameworkException.class, noStart::topologicalOrder);
+        assertEquals("No start node detected: all nodes have a predecessor.", ex.getMessage());
+
+        WorkflowGraph cycle = WorkflowGraph.build(
+            List.of(node("A"), node("B"), node("C")),
+            List.of(new WorkflowEdge("A", "B"), new WorkflowEdge("B", "C"), new WorkflowEdge("C", "B"))
+        );
+        ex = assertThrows(FlowFrameworkException.class, () -> cycle.prioritizedOrder(i -> 1L));
+        assertEquals("Cycle detected: [B->C, C->B]", ex.getMessage());
+        assertEquals(RestStatus.BAD_REQUEST, ex.getRestStatus());
+    }
+
+    public void testLargeGraph() {
+        // Each node depends on the two before it
+        int size = 5000;
+        List<WorkflowNode> nodes = new ArrayList<>();
+        List<WorkflowEdge> edges = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            nodes.add(node("node_" + i));
+            if (i > 0) {
+                edges.add(new WorkflowEdge("node_" + (i - 1), "node_" + i));
+            }
+            if (i > 1) {
+                edges.add(new WorkflowEdge("node_" + (i - 2), "node_" + i));
+            }
+        }
+        Collections.reverse(nodes);
+        WorkflowGraph graph = WorkflowGraph.build(nodes, edges);
+        int[] order = graph.prioritizedOrder(i -> 1L);
+        assertEquals(size, order.length);
+        assertEquals("node_0", graph.id(order[0]));
+        assertEquals("node_" + (size - 1), graph.id(order[size - 1]));
+        int[] position = new int[size];
+        for (int i = 0; i < size; i++) {
+            position[order[i]] = i;
+        }
+        for (int i = 0; i < size; i++) {
+            int current = i;
+            assertTrue(Arrays.stream(graph.predecessors(current)).allMatch(p -> position[p] < position[current]));
+        }
+    }
+}
@@ -9,6 +9,7 @@
 package org.opensearch.flowframework.workflow;
 
 import org.opensearch.Version;
+import org.opensearch.action.admin.cluster.node.info.PluginsAndModules;
 import org.opensearch.cluster.service.ClusterService;
 import org.opensearch.common.settings.ClusterSettings;
 import org.opensearch.common.settings.Setting;
@@ -26,6 +27,7 @@ import org.opensearch.flowframework.model.Workflow;
 import org.opensearch.flowframework.model.WorkflowEdge;
 import org.opensearch.flowframework.model.WorkflowNode;
 import org.opensearch.ml.client.MachineLearningNodeClient;
+import org.opensearch.plugins.PluginsService;
 import org.opensearch.test.OpenSearchTestCase;
 import org.opensearch.threadpool.ScalingExecutorBuilder;
 import org.opensearch.threadpool.TestThreadPool;
@@ -36,8 +38,11 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 
 import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.time.Instant;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -247,6 +252,31 @@ public class WorkflowProcessSorterTests extends OpenSearchTestCase {
         assertEquals(4, workflow.indexOf("E"));
     }
 
+    public void testCriticalPathOrdering() throws IOException {
+        List<String> workflow;
+
+        // Independent nodes: the longer running step starts first
+        workflow = parse(workflow(List.of(node("A"), nodeWithType("B", DeployModelStep.NAME)), Collections.emptyList()));
+        assertEquals(List.of("B", "A"), workflow);
+
+        // The start of the longest chain is dispatched ahead of a shorter independent node
+        workflow = parse(workflow(List.of(node("D"), node("A"), node("B"), node("C")), List.of(edge("A", "B"), edge("B", "C"))));
+        assertEquals(List.of("A", "B", "D", "C"), workflow);
+
+        // A ready node on the critical path is preferred over one which became ready earlier
+        workflow = parse(
+            workflow(
+                List.of(node("A"), node("B"), node("C"), node("D"), node("E")),
+                List.of(edge("A", "B"), edge("A", "C"), edge("C", "D"), edge("D", "E"))
+            )
+        );
+        assertEquals(List.of("A", "C", "D", "B", "E"), workflow);
+
+        // Ties keep template order
+        workflow = parse(workflow(List.of(node("C"), node("A"), node("B")), Collections.emptyList()));
+        assertEquals(List.of("C", "A", "B"), workflow);
+    }
+
     public void testCycles() {
         Exception ex;
 
@@ -488,6 +518,168 @@ public class WorkflowProcessSorterTests extends OpenSearchTestCase {
         assertEquals(RestStatus.FORBIDDEN, ex.getRestStatus());
     }
 
+    public void testCompiledPlanCache() throws Exception {
+        FlowFrameworkSettings cachingSettings = mock(FlowFrameworkSettings.class);
+        when(cachingSettings.getMaxWorkflowSteps()).thenReturn(5);
+        when(cachingSettings.getWorkflowPlanCacheSize()).thenReturn(1);
+        WorkflowProcessSorter cachingSorter = new WorkflowProcessSorter(workflowStepFactory, testThreadPool, cachingSettings);
+
+        Workflow workflow = parseToWorkflow(workflow(List.of(node("A"), node("B")), List.of(edge("A", "B"))));
+        Workflow sameWorkflow = parseToWorkflow(workflow(List.of(node("A"), node("B")), List.of(edge("A", "B"))));
+        Workflow otherWorkflow = parseToWorkflow(workflow(List.of(node("A"), node("B")), List.of(edge("B", "A"))));
+
+        CompiledWorkflowPlan plan = cachingSorter.compile(workflow, "123");
+        assertSame(plan, cachingSorter.compile(sameWorkflow, "456"));
+        assertNotSame(plan, cachingSorter.compile(otherWorkflow, "123"));
+        // The cache holds one plan, so the first plan was evicted
+        assertNotSame(plan, cachingSorter.compile(workflow, "123"));
+
+        // Process nodes are created fresh for each execution
+        List<ProcessNode> first = cachingSorter.sortProcessNodes(workflow, "123", Collections.emptyMap(), null);
+        List<ProcessNode> second = cachingSorter.sortProcessNodes(sameWorkflow, "456", Collections.emptyMap(), "tenant");
+        assertEquals(List.of("A", "B"), first.stream().map(ProcessNode::id).collect(Collectors.toList()));
+        assertEquals(List.of("A", "B"), second.stream().map(ProcessNode::id).collect(Collectors.toList()));
+        assertNotSame(first.get(0), second.get(0));
+        assertNotSame(first.get(0).workflowStep(), second.get(0).workflowStep());
+        assertEquals("456", second.get(1).input().getWorkflowId());
+        assertEquals("tenant", second.get(1).tenantId());
+        assertEquals(List.of(second.get(0)), second.get(1).predecessors());
+    }
+
+    public void testCompiledPlanCacheHoldsNoUserInputs() throws Exception {
+        FlowFrameworkSettings cachingSettings = mock(FlowFrameworkSettings.class);
+        when(cachingSettings.getMaxWorkflowSteps()).thenReturn(5);
+        when(cachingSettings.getWorkflowPlanCacheSize()).thenReturn(10);
+        WorkflowProcessSorter cachingSorter = new WorkflowProcessSorter(workflowStepFactory, testThreadPool, cachingSettings);
+
+        String secret = "plaintext-secret";
+        WorkflowNode connector = new WorkflowNode("A", NoOpStep.NAME, Collections.emptyMap(), Map.of("credential", Map.of("key", secret)));
+        WorkflowNode next = new WorkflowNode("B", NoOpStep.NAME, Collections.emptyMap(), Collections.emptyMap());
+        Workflow workflow = new Workflow(Collections.emptyMap(), List.of(connector, next), List.of(new WorkflowEdge("A", "B")));
+
+        // The inputs of the execution reach its process nodes
+        List<ProcessNode> processNodes = cachingSorter.sortProcessNodes(workflow, "123", Collections.emptyMap(), null);
+        assertEquals(Map.of("key", secret), processNodes.get(0).input().getContent().get("credential"));
+
+        // The cached plan only holds the ids, types and edges of the nodes
+        CompiledWorkflowPlan plan = cachingSorter.compile(workflow, "456");
+        assertSame(plan, cachingSorter.compile(workflow, "789"));
+        assertEquals("A", plan.graph().id(0));
+        assertEquals(NoOpStep.NAME, plan.graph().type(0));
+        assertFalse(isReachable(plan, secret, Collections.newSetFromMap(new IdentityHashMap<>())));
+    }
+
+    /**
+     * Whether a string is reachable from an object through the fields of flow framework classes, collections, maps and arrays
+     */
+    private static boolean isReachable(Object object, String value, Set<Object> visited) throws IllegalAccessException {
+        if (object == null || !visited.add(object)) {
+            return false;
+        }
+        if (object instanceof String) {
+            return ((String) object).contains(value);
+        }
+        if (object instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                if (isReachable(entry.getKey(), value, visited) || isReachable(entry.getValue(), value, visited)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (object instanceof Iterable) {
+            for (Object element : (Iterable<?>) object) {
+                if (isReachable(element, value, visited)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (object instanceof Object[]) {
+            for (Object element : (Object[]) object) {
+                if (isReachable(element, value, visited)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        Class<?> type = object.getClass();
+        while (type != null && type.getName().startsWith("org.opensearch.flowframework.")) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+                    continue;
+                }
+                field.setAccessible(true);
+                if (isReachable(field.get(object), value, visited)) {
+                    return true;
+                }
+            }
+            type = type.getSuperclass();
+        }
+        return false;
+    }
+
+    public void testCreateResumeSequence() throws Exception {
+        Workflow workflow = parseToWorkflow(workflow(List.of(node("A"), node("B"), node("C")), List.of(edge("A", "B"), edge("B", "C"))));
+
+        List<ProcessNode> resumeSequence = workflowProcessSorter.createResumeSequence(
+            workflow,
+            "123",
+            Collections.emptyMap(),
+            null,
+            Map.of("A", Map.of("model_id", "model"))
+        );
+        assertEquals(List.of("A", "B", "C"), resumeSequence.stream().map(ProcessNode::id).collect(Collectors.toList()));
+        // Completed steps are replaced by proxies returning their checkpointed outputs
+        assertEquals(WorkflowDataStep.NAME, resumeSequence.get(0).workflowStep().getName());
+        assertEquals(NoOpStep.NAME, resumeSequence.get(1).workflowStep().getName());
+        assertEquals(NoOpStep.NAME, resumeSequence.get(2).workflowStep().getName());
+        assertEquals(List.of(resumeSequence.get(0)), resumeSequence.get(1).predecessors());
+        assertEquals(
+            Map.of("model_id", "model"),
+            resumeSequence.get(0)
+                .workflowStep()
+                .execute("A", resumeSequence.get(0).input(), Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(), null)
+                .get()
+                .getContent()
+        );
+    }
+
+    public void testCompiledPlanCachesGraphValidation() throws Exception {
+        FlowFrameworkSettings cachingSettings = mock(FlowFrameworkSettings.class);
+        when(cachingSettings.getMaxWorkflowSteps()).thenReturn(5);
+        when(cachingSettings.getWorkflowPlanCacheSize()).thenReturn(10);
+        WorkflowProcessSorter cachingSorter = new WorkflowProcessSorter(workflowStepFactory, testThreadPool, cachingSettings);
+
+        WorkflowNode createIndex = new WorkflowNode(
+            "workflow_step_1",
+            CreateIndexStep.NAME,
+            Collections.emptyMap(),
+            Map.of(INDEX_NAME, "test-index")
+        );
+        Workflow workflow = new Workflow(Collections.emptyMap(), List.of(createIndex), Collections.emptyList());
+
+        CompiledWorkflowPlan plan = cachingSorter.compile(workflow, "123");
+        assertEquals(
+            "Invalid workflow, node [workflow_step_1] missing the following required inputs : [configurations]",
+            plan.graphValidationError()
+        );
+        PluginsService pluginsService = mock(PluginsService.class);
+        when(pluginsService.info()).thenReturn(new PluginsAndModules(Collections.emptyList(), Collections.emptyList()));
+        for (int i = 0; i < 2; i++) {
+            List<ProcessNode> sortedProcessNodes = cachingSorter.sortProcessNodes(workflow, "123", Collections.emptyMap(), null);
+            FlowFrameworkException ex = expectThrows(
+                FlowFrameworkException.class,
+                () -> cachingSorter.validate(sortedProcessNodes, pluginsService)
+            );
+            assertEquals(
+                "Invalid workflow, node [workflow_step_1] missing the following required inputs : [configurations]",
+                ex.getMessage()
+            );
+            assertEquals(RestStatus.BAD_REQUEST, ex.getRestStatus());
+        }
+    }
+
     public void testSuccessfulInstalledPluginValidation() throws Exception {
 
         WorkflowNode createConnector = new WorkflowNode(
@@ -762,6 +954,9 @@ public class WorkflowProcessSorterTests extends OpenSearchTestCase {
         assertTrue(
             reprovisionWorkflowStepNames.stream().filter(x -> x.equals(WorkflowDataStep.NAME)).collect(Collectors.toList()).size() == 2
         );
+        // Cancelling the reprovisioning cancels the created and proxy steps alike
+        WorkflowCancellationToken cancellationToken = reprovisionSequence.get(0).cancellationToken();
+        assertTrue(reprovisionSequence.stream().allMatch(n -> n.cancellationToken() == cancellationToken));
     }
 
     public void testCreateReprovisionSequenceWithUpdates() throws Exception {
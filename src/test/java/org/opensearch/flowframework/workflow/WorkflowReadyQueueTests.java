@@ -0,0 +1,75 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.opensearch.core.concurrency.OpenSearchRejectedExecutionException;
+import org.opensearch.test.OpenSearchTestCase;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+public class WorkflowReadyQueueTests extends OpenSearchTestCase {
+
+    public void testStepsStartByCriticalPath() {
+        WorkflowReadyQueue readyQueue = new WorkflowReadyQueue(Map.of("short", 1L, "long", 10L, "medium", 5L));
+        // Holds the submitted tasks until the thread pool has a free thread
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        Executor executor = tasks::add;
+        List<String> started = new ArrayList<>();
+
+        readyQueue.submit("short", executor, () -> started.add("short"), e -> fail());
+        readyQueue.submit("long", executor, () -> started.add("long"), e -> fail());
+        readyQueue.submit("medium", executor, () -> started.add("medium"), e -> fail());
+        readyQueue.submit("unknown", executor, () -> started.add("unknown"), e -> fail());
+        readyQueue.submit("other", executor, () -> started.add("other"), e -> fail());
+        assertEquals(5, readyQueue.size());
+        assertEquals(5, tasks.size());
+
+        while (!tasks.isEmpty()) {
+            tasks.poll().run();
+        }
+        // Steps without a critical path start last, in the order they became ready
+        assertEquals(List.of("long", "medium", "short", "unknown", "other"), started);
+        assertEquals(0, readyQueue.size());
+    }
+
+    public void testRejectedTaskFailsAQueuedStep() {
+        WorkflowReadyQueue readyQueue = new WorkflowReadyQueue(Map.of("first", 1L, "second", 5L, "third", 10L));
+        Queue<Runnable> tasks = new ArrayDeque<>();
+        List<String> started = new ArrayList<>();
+        List<String> rejected = new ArrayList<>();
+
+        readyQueue.submit("first", tasks::add, () -> started.add("first"), e -> rejected.add("first"));
+        readyQueue.submit(
+            "second",
+            command -> { throw new OpenSearchRejectedExecutionException("rejected"); },
+            () -> started.add("second"),
+            e -> rejected.add("second")
+        );
+        assertEquals(List.of("second"), rejected);
+        assertEquals(1, readyQueue.size());
+
+        // A task which started the step before being rejected leaves another queued step without a task, which fails instead
+        readyQueue.submit("third", command -> {
+            command.run();
+            throw new OpenSearchRejectedExecutionException("rejected");
+        }, () -> started.add("third"), e -> rejected.add("third"));
+        assertEquals(List.of("third"), started);
+        assertEquals(List.of("second", "first"), rejected);
+        assertEquals(0, readyQueue.size());
+
+        // The remaining task has no step left to start
+        tasks.poll().run();
+        assertEquals(List.of("third"), started);
+    }
+}
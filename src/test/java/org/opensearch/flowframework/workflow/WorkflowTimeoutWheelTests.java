@@ -0,0 +1,104 @@
+/*
+ * Copyright OpenSearch Contributors
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ * compatible open source license.
+ */
+package org.opensearch.flowframework.workflow;
+
+import org.opensearch.common.unit.TimeValue;
+import org.opensearch.common.util.concurrent.ThreadContext;
+import org.opensearch.test.OpenSearchTestCase;
+import org.opensearch.threadpool.Scheduler;
+import org.opensearch.threadpool.TestThreadPool;
+import org.opensearch.threadpool.ThreadPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class WorkflowTimeoutWheelTests extends OpenSearchTestCase {
+
+    private TestThreadPool testThreadPool;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        testThreadPool = new TestThreadPool(WorkflowTimeoutWheelTests.class.getName());
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        ThreadPool.terminate(testThreadPool, 500, TimeUnit.MILLISECONDS);
+        super.tearDown();
+    }
+
+    public void testTimeoutsExpire() throws Exception {
+        // Delays span several revolutions of a small wheel
+        WorkflowTimeoutWheel timeoutWheel = new WorkflowTimeoutWheel(testThreadPool, TimeValue.timeValueMillis(5), 4);
+        int count = 50;
+        CountDownLatch latch = new CountDownLatch(count);
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            timeoutWheel.schedule(latch::countDown, TimeValue.timeValueMillis(i));
+        }
+        assertTrue(latch.await(1, TimeUnit.MINUTES));
+        assertTrue(System.nanoTime() - start >= TimeValue.timeValueMillis(count - 1).nanos());
+        assertBusy(() -> assertEquals(0, timeoutWheel.pendingTimeouts()), 1, TimeUnit.MINUTES);
+    }
+
+    public void testCancelledTimeoutsDoNotRun() throws Exception {
+        WorkflowTimeoutWheel timeoutWheel = new WorkflowTimeoutWheel(testThreadPool, TimeValue.timeValueMillis(5), 8);
+        AtomicInteger cancelledRuns = new AtomicInteger();
+        List<Scheduler.Cancellable> timeouts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            timeouts.add(timeoutWheel.schedule(cancelledRuns::incrementAndGet, TimeValue.timeValueMillis(50)));
+        }
+        assertEquals(100, timeoutWheel.pendingTimeouts());
+        for (Scheduler.Cancellable timeout : timeouts) {
+            assertTrue(timeout.cancel());
+            assertTrue(timeout.isCancelled());
+            assertFalse(timeout.cancel());
+        }
+        assertEquals(0, timeoutWheel.pendingTimeouts());
+
+        CountDownLatch latch = new CountDownLatch(1);
+        Scheduler.Cancellable expired = timeoutWheel.schedule(latch::countDown, TimeValue.timeValueMillis(100));
+        assertTrue(latch.await(1, TimeUnit.MINUTES));
+        assertFalse(expired.cancel());
+        assertFalse(expired.isCancelled());
+        assertEquals(0, cancelledRuns.get());
+    }
+
+    public void testTimeoutsRunInSchedulingContext() throws Exception {
+        WorkflowTimeoutWheel timeoutWheel = new WorkflowTimeoutWheel(testThreadPool, TimeValue.timeValueMillis(5), 8);
+        ThreadContext threadContext = testThreadPool.getThreadContext();
+        int count = 3;
+        CountDownLatch latch = new CountDownLatch(count);
+        Map<String, String> headers = new ConcurrentHashMap<>();
+        for (int i = 0; i < count; i++) {
+            String caller = "caller" + i;
+            try (ThreadContext.StoredContext ignored = threadContext.stashContext()) {
+                threadContext.putHeader("caller", caller);
+                timeoutWheel.schedule(() -> {
+                    headers.put(caller, String.valueOf(threadContext.getHeader("caller")));
+                    latch.countDown();
+                }, TimeValue.timeValueMillis(10 * (count - i)));
+            }
+        }
+        assertNull(threadContext.getHeader("caller"));
+        assertTrue(latch.await(1, TimeUnit.MINUTES));
+        assertEquals(Map.of("caller0", "caller0", "caller1", "caller1", "caller2", "caller2"), headers);
+    }
+
+    public void testInvalidWheel() {
+        expectThrows(IllegalArgumentException.class, () -> new WorkflowTimeoutWheel(testThreadPool, TimeValue.ZERO, 8));
+        expectThrows(IllegalArgumentException.class, () -> new WorkflowTimeoutWheel(testThreadPool, TimeValue.timeValueMillis(5), 0));
+    }
+}